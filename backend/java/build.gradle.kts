@@ -2,13 +2,17 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.2.5"
 	id("io.spring.dependency-management") version "1.1.4"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.numetrify"
 version = "0.0.1-SNAPSHOT"
 
+// Java 21 for virtual threads (spring.threads.virtual.enabled)
 java {
-	sourceCompatibility = JavaVersion.VERSION_17
+	toolchain {
+		languageVersion.set(JavaLanguageVersion.of(21))
+	}
 }
 
 repositories {
@@ -21,6 +25,13 @@ dependencies {
 
 	implementation("org.springframework.boot:spring-boot-starter")
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+
+	// Metrics dependencies
+	implementation("io.micrometer:micrometer-registry-prometheus")
+
+	// Result cache dependencies
+	implementation("com.github.ben-manes.caffeine:caffeine")
 
 	// Swagger dependencies
 	implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.1.0")
@@ -34,8 +45,175 @@ dependencies {
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 }
 
+// The dense kernels use the Java Vector API (com.numetrify.service.matrix.DenseKernels), an incubator module
+// that must be added to the compilation and to every JVM that runs them; without it they fall back to scalar
+// loops. Launch the boot jar with java --add-modules=jdk.incubator.vector -jar ... for the same effect.
+val vectorModule = "--add-modules=jdk.incubator.vector"
+
+// javac warns about the incubator module on every compilation. -Xlint:-incubating silences the warning, but
+// compilers that do not know the lint category reject it as an invalid flag, so the toolchain's javac is probed
+val incubatingLint = providers.exec {
+	commandLine(javaToolchains.compilerFor(java.toolchain).get().executablePath.asFile.absolutePath, "-Xlint:-incubating", "--version")
+	isIgnoreExitValue = true
+}.result.map { it.exitValue == 0 }
+
+tasks.withType<JavaCompile>().configureEach {
+	options.compilerArgs.add(vectorModule)
+	if (incubatingLint.get()) {
+		options.compilerArgs.add("-Xlint:-incubating")
+	}
+}
+
 tasks.withType<Test> {
 	useJUnitPlatform()
+	jvmArgs(vectorModule)
+}
+
+tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
+	jvmArgs(vectorModule)
+}
+
+// Benchmarks live in src/jmh/java, run them with ./gradlew jmh
+// (e.g. ./gradlew jmh -Pjmh.includes=DirectSolverBenchmark to run a single suite)
+jmh {
+	jmhVersion.set("1.37")
+	resultFormat.set("JSON")
+	jvmArgsAppend.add(vectorModule)
+	providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+}
+
+// Performance regression gate: ./gradlew perfGate runs RegressionGateBenchmark with the GC profiler and
+// compares throughput (ops/s, higher is better) and allocation (gc.alloc.rate.norm in B/op, lower is better)
+// with perf/baseline.json. Each baseline entry may override the default tolerances. The baseline must be
+// recorded on the reference machine with ./gradlew updatePerfBaseline, which also records the host it ran on
+// (perfGate warns when run elsewhere): until every benchmark of the suite has an entry, perfGate fails rather
+// than passing unchecked, and while the baseline is empty the gate is on hold. Pass -PperfGate to make check
+// run the gate.
+val perfResults = layout.buildDirectory.file("reports/perf/results.json")
+val perfBaseline = layout.projectDirectory.file("perf/baseline.json")
+
+data class PerfScore(val throughput: Double, val allocation: Double?)
+
+fun readPerfResults(file: File): Map<String, PerfScore> {
+	@Suppress("UNCHECKED_CAST")
+	val runs = groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>
+	return runs.associate { run ->
+		@Suppress("UNCHECKED_CAST")
+		val params = (run["params"] as Map<String, Any?>?).orEmpty().toSortedMap()
+		val name = (run["benchmark"] as String).substringAfterLast("RegressionGateBenchmark.")
+		val id = if (params.isEmpty()) name else name + params.entries.joinToString(",", "{", "}") { "${it.key}=${it.value}" }
+		@Suppress("UNCHECKED_CAST")
+		val primary = run["primaryMetric"] as Map<String, Any?>
+		@Suppress("UNCHECKED_CAST")
+		val secondary = (run["secondaryMetrics"] as Map<String, Map<String, Any?>>?).orEmpty()
+		val allocation = secondary.entries.firstOrNull { it.key.endsWith("gc.alloc.rate.norm") }?.value?.get("score") as Number?
+		id to PerfScore((primary["score"] as Number).toDouble(), allocation?.toDouble())
+	}
+}
+
+/**
+ * Describes the machine and JVM the benchmarks ran on, the JVM being read from the JMH results.
+ */
+fun perfHost(file: File): Map<String, Any?> {
+	@Suppress("UNCHECKED_CAST")
+	val run = (groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>).firstOrNull().orEmpty()
+	return linkedMapOf(
+		"os" to "${System.getProperty("os.name")} ${System.getProperty("os.arch")}",
+		"processors" to Runtime.getRuntime().availableProcessors(),
+		"jvm" to "${run["vmName"]} ${run["jdkVersion"]}"
+	)
+}
+
+val perfRun by tasks.registering(JavaExec::class) {
+	group = "verification"
+	description = "Runs the compact JMH regression suite with the GC profiler."
+	classpath = files(tasks.named("jmhJar"))
+	mainClass.set("org.openjdk.jmh.Main")
+	jvmArgs(vectorModule)
+	val output = perfResults.get().asFile
+	args("RegressionGateBenchmark", "-prof", "gc", "-rf", "json", "-rff", output.absolutePath)
+	outputs.file(output)
+	outputs.upToDateWhen { false }
+	doFirst { output.parentFile.mkdirs() }
+}
+
+tasks.register("perfGate") {
+	group = "verification"
+	description = "Fails when RegressionGateBenchmark regresses against perf/baseline.json."
+	dependsOn(perfRun)
+	doLast {
+		val results = readPerfResults(perfResults.get().asFile)
+		@Suppress("UNCHECKED_CAST")
+		val baseline = groovy.json.JsonSlurper().parse(perfBaseline.asFile) as Map<String, Any?>
+		val defaultThroughputTolerance = (baseline["defaultThroughputTolerance"] as Number).toDouble()
+		val defaultAllocationTolerance = (baseline["defaultAllocationTolerance"] as Number).toDouble()
+		@Suppress("UNCHECKED_CAST")
+		val entries = baseline["benchmarks"] as Map<String, Map<String, Any?>>
+		if (entries.isEmpty()) {
+			throw GradleException("Performance gate on hold: perf/baseline.json has no benchmarks yet, record them with ./gradlew updatePerfBaseline on the reference machine")
+		}
+		val host = perfHost(perfResults.get().asFile)
+		if (baseline["host"] != host) {
+			logger.warn("perfGate: the baseline was recorded on ${baseline["host"]}, this run is on $host; the tolerances may not cover the difference")
+		}
+
+		val failures = mutableListOf<String>()
+		results.forEach { (id, score) ->
+			val entry = entries[id]
+			if (entry == null) {
+				failures += "$id: no baseline (${"%.1f".format(score.throughput)} ops/s), record one with updatePerfBaseline on the reference machine"
+				return@forEach
+			}
+			val throughputTolerance = (entry["throughputTolerance"] as Number?)?.toDouble() ?: defaultThroughputTolerance
+			val allocationTolerance = (entry["allocationTolerance"] as Number?)?.toDouble() ?: defaultAllocationTolerance
+			val expectedThroughput = (entry["throughput"] as Number).toDouble()
+			if (score.throughput < expectedThroughput * (1 - throughputTolerance)) {
+				failures += "$id: throughput %.1f ops/s is below baseline %.1f ops/s (-%.0f%% allowed)"
+					.format(score.throughput, expectedThroughput, throughputTolerance * 100)
+			}
+			val expectedAllocation = (entry["allocation"] as Number?)?.toDouble()
+			if (expectedAllocation != null && score.allocation != null
+				&& score.allocation > expectedAllocation * (1 + allocationTolerance) + 16) {
+				failures += "$id: allocation %.0f B/op is above baseline %.0f B/op (+%.0f%% allowed)"
+					.format(score.allocation, expectedAllocation, allocationTolerance * 100)
+			}
+		}
+		if (failures.isNotEmpty()) {
+			throw GradleException("Performance gate failed:\n" + failures.joinToString("\n"))
+		}
+		logger.lifecycle("perfGate: ${results.size} benchmarks within tolerance")
+	}
+}
+
+tasks.register("updatePerfBaseline") {
+	group = "verification"
+	description = "Records the latest RegressionGateBenchmark results as perf/baseline.json, keeping the tolerances."
+	dependsOn(perfRun)
+	doLast {
+		val results = readPerfResults(perfResults.get().asFile)
+		@Suppress("UNCHECKED_CAST")
+		val baseline = groovy.json.JsonSlurper().parse(perfBaseline.asFile) as Map<String, Any?>
+		@Suppress("UNCHECKED_CAST")
+		val previous = baseline["benchmarks"] as Map<String, Map<String, Any?>>
+		val benchmarks = results.toSortedMap().mapValues { (id, score) ->
+			val entry = linkedMapOf<String, Any?>("throughput" to score.throughput)
+			score.allocation?.let { entry["allocation"] = it }
+			previous[id]?.filterKeys { it.endsWith("Tolerance") }?.let { entry.putAll(it) }
+			entry
+		}
+		val updated = linkedMapOf(
+			"host" to perfHost(perfResults.get().asFile),
+			"defaultThroughputTolerance" to baseline["defaultThroughputTolerance"],
+			"defaultAllocationTolerance" to baseline["defaultAllocationTolerance"],
+			"benchmarks" to benchmarks
+		)
+		perfBaseline.asFile.writeText(groovy.json.JsonOutput.prettyPrint(groovy.json.JsonOutput.toJson(updated)) + "\n")
+		logger.lifecycle("updatePerfBaseline: recorded ${benchmarks.size} benchmarks")
+	}
+}
+
+if (providers.gradleProperty("perfGate").isPresent) {
+	tasks.named("check") { dependsOn("perfGate") }
 }
 
 tasks.getByName<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar") {
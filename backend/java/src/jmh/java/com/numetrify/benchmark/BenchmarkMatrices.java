@@ -0,0 +1,95 @@
+package com.numetrify.benchmark;
+
+import java.util.Random;
+
+/**
+ * Deterministic test matrices for the benchmarks.
+ *
+ * Every structure is built in O(n^2) so that the setup of the 4000 x 4000 cases stays cheap.
+ */
+final class BenchmarkMatrices {
+
+    private BenchmarkMatrices() {
+    }
+
+    /**
+     * Builds a square matrix with the given structure.
+     *
+     * @param structure "spd" (symmetric, strictly diagonally dominant with a positive diagonal, hence positive
+     *                  definite), "diagonally-dominant" (non-symmetric, strictly diagonally dominant),
+     *                  "tridiagonal" (sparse, strictly diagonally dominant) or "dense" (uniform random entries)
+     * @param n the number of rows and columns
+     * @param seed the seed of the random entries
+     * @return the matrix
+     */
+    static double[][] matrix(String structure, int n, long seed) {
+        Random random = new Random(seed);
+        double[][] A = new double[n][n];
+        switch (structure) {
+            case "spd" -> {
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < i; j++) {
+                        A[i][j] = A[j][i] = random.nextDouble() * 2 - 1;
+                    }
+                    A[i][i] = n + 1;
+                }
+            }
+            case "diagonally-dominant" -> {
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        A[i][j] = random.nextDouble() * 2 - 1;
+                    }
+                    A[i][i] = n + 1;
+                }
+            }
+            case "tridiagonal" -> {
+                for (int i = 0; i < n; i++) {
+                    A[i][i] = 4;
+                    if (i > 0) {
+                        A[i][i - 1] = -1;
+                    }
+                    if (i < n - 1) {
+                        A[i][i + 1] = -1;
+                    }
+                }
+            }
+            case "dense" -> {
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        A[i][j] = random.nextDouble() * 2 - 1;
+                    }
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown matrix structure " + structure);
+        }
+        return A;
+    }
+
+    static double[] vector(int n, long seed) {
+        Random random = new Random(seed);
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) {
+            b[i] = random.nextDouble() * 2 - 1;
+        }
+        return b;
+    }
+
+    /**
+     * Formats a matrix in the textual format accepted by the form endpoints.
+     */
+    static String format(double[][] A) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < A.length; i++) {
+            if (i > 0) {
+                text.append("; ");
+            }
+            for (int j = 0; j < A[i].length; j++) {
+                if (j > 0) {
+                    text.append(' ');
+                }
+                text.append(A[i][j]);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,78 @@
+package com.numetrify.benchmark;
+
+import com.numetrify.service.matrix.DenseKernels;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the dense micro-kernels, the implementation selected at startup (the Vector API one when the
+ * JVM has jdk.incubator.vector, which the jmh task adds) against the scalar loops: the dot product and the
+ * AXPY update on vectors of the given length, and the GEMM update C -= A B on square blocks of that order,
+ * capped at 256 so that the blocks stay within the sizes of the out-of-core tiles. The speedups are read against
+ * the {@code kernels = scalar} rows; they depend on the vector width of the host (4 doubles with AVX2, 8 with
+ * AVX-512). The end-to-end effect on the solvers is measured by running DirectSolverBenchmark twice, once with
+ * {@code -jvmArgsAppend -Dnumetrify.kernels=scalar}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DenseKernelBenchmark {
+
+    @Param({"16", "64", "256", "1024", "4096"})
+    public int length;
+
+    @Param({"selected", "scalar"})
+    public String kernels;
+
+    private DenseKernels implementation;
+
+    private double[] x;
+    private double[] y;
+
+    private int order;
+    private double[] a;
+    private double[] b;
+    private double[] c;
+
+    @Setup
+    public void setup() {
+        implementation = kernels.equals("scalar") ? DenseKernels.scalar() : DenseKernels.selected();
+        x = random(length, 42);
+        y = random(length, 7);
+        order = Math.min(length, 256);
+        a = random(order * order, 1);
+        b = random(order * order, 2);
+        c = new double[order * order];
+    }
+
+    @Benchmark
+    public double dot() {
+        return implementation.dot(x, 0, y, 0, length);
+    }
+
+    @Benchmark
+    public double[] axpy() {
+        implementation.axpy(1e-9, x, 0, y, 0, length);
+        return y;
+    }
+
+    @Benchmark
+    public double[] gemm() {
+        implementation.subtractProduct(c, order, a, order, b, order, order, order, order);
+        return c;
+    }
+
+    private static double[] random(int n, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextDouble() * 2 - 1;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,79 @@
+package com.numetrify.benchmark;
+
+import com.numetrify.dto.*;
+import com.numetrify.service.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the direct linear-system services, parameterized over the size and the structure of the
+ * matrix. Services that do not apply to a structure (e.g. Cholesky on a non-symmetric matrix) fail fast and
+ * measure the cost of detecting it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DirectSolverBenchmark {
+
+    @Param({"10", "100", "500", "1000", "2000", "4000"})
+    public int size;
+
+    @Param({"spd", "diagonally-dominant", "tridiagonal", "dense"})
+    public String structure;
+
+    private double[][] A;
+    private double[] b;
+
+    private final CholeskyService choleskyService = new CholeskyService();
+    private final CroutService croutService = new CroutService();
+    private final DoolittleService doolittleService = new DoolittleService();
+    private final SimpleGaussianEliminationService simpleGaussianEliminationService = new SimpleGaussianEliminationService();
+    private final PivotGaussianEliminationService pivotGaussianEliminationService = new PivotGaussianEliminationService();
+    private final LUGaussianEliminationService luGaussianEliminationService = new LUGaussianEliminationService();
+    private final SolverSelectionService solverSelectionService = new SolverSelectionService();
+
+    @Setup
+    public void setup() {
+        A = BenchmarkMatrices.matrix(structure, size, 42);
+        b = BenchmarkMatrices.vector(size, 7);
+    }
+
+    @Benchmark
+    public CholeskyResponse cholesky() {
+        return choleskyService.cholesky(A, b);
+    }
+
+    @Benchmark
+    public CroutResponse crout() {
+        return croutService.crout(A, b);
+    }
+
+    @Benchmark
+    public DoolittleResponse doolittle() {
+        return doolittleService.doolittle(A, b);
+    }
+
+    @Benchmark
+    public SimpleGaussianEliminationResponse simpleGaussianElimination() {
+        return simpleGaussianEliminationService.simpleGaussianElimination(A, b);
+    }
+
+    @Benchmark
+    public PivotGaussianEliminationResponse pivotGaussianElimination() {
+        return pivotGaussianEliminationService.pivotGaussianElimination(A, b);
+    }
+
+    @Benchmark
+    public LUGaussianEliminationResponse luGaussianElimination() {
+        return luGaussianEliminationService.luGaussianElimination(A, b);
+    }
+
+    @Benchmark
+    public SolveResponse solve() {
+        return solverSelectionService.solve(A, b);
+    }
+}
@@ -0,0 +1,87 @@
+package com.numetrify.benchmark;
+
+import com.numetrify.expression.CompiledFunction;
+import com.numetrify.expression.EvaluationBudget;
+import org.mariuszgromada.math.mxparser.Argument;
+import org.mariuszgromada.math.mxparser.Expression;
+import org.mariuszgromada.math.mxparser.Function;
+import org.mariuszgromada.math.mxparser.License;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of mXparser, the expression layer behind every root-finding service: parsing a function,
+ * evaluating it, and evaluating the symbolic derivative used by the multiple roots method. The array benchmarks
+ * evaluate {@value #SAMPLES} points, with mXparser point by point and with the batch evaluation of
+ * {@link CompiledFunction#evaluate(double[], double[])} (Horner's scheme for the polynomial, the expression tree
+ * for the others).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"POLYNOMIAL", "TRANSCENDENTAL", "COMPOSITE"})
+    public TestFunctions function;
+
+    private Function compiled;
+    private Argument x;
+    private Expression derivative;
+    private double point;
+    private CompiledFunction batch;
+    private double[] samples;
+    private double[] values;
+
+    @Setup
+    public void setup() {
+        License.iConfirmNonCommercialUse("numetrify");
+        compiled = new Function("f(x) = " + function.function);
+        x = new Argument("x = " + function.initialGuess);
+        derivative = new Expression("der(" + function.function + ", x)", x);
+        point = function.initialGuess;
+        batch = CompiledFunction.of("f(x) = " + function.function, new EvaluationBudget(0));
+        samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = function.lowerBound + (function.upperBound - function.lowerBound) * i / (SAMPLES - 1);
+        }
+        values = new double[SAMPLES];
+    }
+
+    @Benchmark
+    public Function parse() {
+        Function parsed = new Function("f(x) = " + function.function);
+        parsed.checkSyntax();
+        return parsed;
+    }
+
+    @Benchmark
+    public double evaluate() {
+        point = point * 0.999999 + 1e-9;
+        return compiled.calculate(point);
+    }
+
+    @Benchmark
+    public double[] evaluateArrayPointwise() {
+        for (int i = 0; i < SAMPLES; i++) {
+            values[i] = compiled.calculate(samples[i]);
+        }
+        return values;
+    }
+
+    @Benchmark
+    public double[] evaluateArrayBatch() {
+        batch.evaluate(samples, values);
+        return values;
+    }
+
+    @Benchmark
+    public double evaluateDerivative() {
+        return derivative.calculate();
+    }
+}
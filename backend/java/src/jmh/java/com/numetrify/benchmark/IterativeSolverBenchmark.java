@@ -0,0 +1,63 @@
+package com.numetrify.benchmark;
+
+import com.numetrify.config.CheckpointProperties;
+import com.numetrify.dto.GaussSeidelResponse;
+import com.numetrify.dto.JacobiResponse;
+import com.numetrify.service.CheckpointStore;
+import com.numetrify.service.GaussSeidelService;
+import com.numetrify.service.IterationOptions;
+import com.numetrify.service.JacobiService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the iterative linear-system services, parameterized over the size and the structure of the
+ * matrix (all structures are strictly diagonally dominant, so both methods converge) and the tolerance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IterativeSolverBenchmark {
+
+    private static final int MAX_ITERATIONS = 1000;
+
+    @Param({"10", "100", "500", "1000", "2000", "4000"})
+    public int size;
+
+    @Param({"spd", "diagonally-dominant", "tridiagonal"})
+    public String structure;
+
+    @Param({"3", "8"})
+    public double toleranceValue;
+
+    private double[][] A;
+    private double[] b;
+    private double[] x0;
+
+    private JacobiService jacobiService;
+    private GaussSeidelService gaussSeidelService;
+
+    @Setup
+    public void setup() {
+        CheckpointStore checkpointStore = new CheckpointStore(new CheckpointProperties());
+        jacobiService = new JacobiService(checkpointStore);
+        gaussSeidelService = new GaussSeidelService(checkpointStore);
+        A = BenchmarkMatrices.matrix(structure, size, 42);
+        b = BenchmarkMatrices.vector(size, 7);
+        x0 = new double[size];
+    }
+
+    @Benchmark
+    public JacobiResponse jacobi() {
+        return jacobiService.jacobi(size, A, b, x0, 1, toleranceValue, MAX_ITERATIONS, IterationOptions.DEFAULT);
+    }
+
+    @Benchmark
+    public GaussSeidelResponse gaussSeidel() {
+        return gaussSeidelService.gaussSeidel(size, A, b, x0, 1, toleranceValue, MAX_ITERATIONS, IterationOptions.DEFAULT);
+    }
+}
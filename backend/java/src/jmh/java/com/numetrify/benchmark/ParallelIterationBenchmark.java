@@ -0,0 +1,175 @@
+package com.numetrify.benchmark;
+
+import com.numetrify.service.matrix.CsrMatrix;
+import com.numetrify.service.matrix.MulticolorGaussSeidel;
+import com.numetrify.service.matrix.ParallelKernels;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strong-scaling benchmarks of the parallel sweeps, one sweep per invocation, parameterized over the number of
+ * worker threads: the dense affine map of the Jacobi and Gauss-Seidel services, the sparse Jacobi sweep, and the
+ * multicolor Gauss-Seidel sweep on a 2D Poisson grid (red-black) and on a random sparse matrix (greedy coloring).
+ * Speedups are read against the {@code threads = 1} rows; counts above the available processors measure the
+ * oversubscription overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelIterationBenchmark {
+
+    private static final int DENSE_SIZE = 2000;
+
+    private static final int GRID_SIDE = 500;
+
+    private static final int RANDOM_SIZE = 250_000;
+
+    private static final int RANDOM_ROW_NON_ZEROS = 8;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private ForkJoinPool pool;
+
+    private double[][] T;
+    private double[] c;
+    private double[] denseX;
+    private double[] denseNext;
+
+    private CsrMatrix poisson;
+    private MulticolorGaussSeidel redBlack;
+    private double[] poissonB;
+    private double[] poissonX;
+    private double[] poissonNext;
+
+    private CsrMatrix random;
+    private MulticolorGaussSeidel greedy;
+    private double[] randomB;
+    private double[] randomX;
+
+    @Setup
+    public void setup() {
+        pool = new ForkJoinPool(threads);
+
+        double[][] A = BenchmarkMatrices.matrix("diagonally-dominant", DENSE_SIZE, 42);
+        T = new double[DENSE_SIZE][DENSE_SIZE];
+        for (int i = 0; i < DENSE_SIZE; i++) {
+            for (int j = 0; j < DENSE_SIZE; j++) {
+                T[i][j] = i == j ? 0 : -A[i][j] / A[i][i];
+            }
+        }
+        c = BenchmarkMatrices.vector(DENSE_SIZE, 7);
+        denseX = new double[DENSE_SIZE];
+        denseNext = new double[DENSE_SIZE];
+
+        poisson = poisson(GRID_SIDE);
+        redBlack = new MulticolorGaussSeidel(poisson);
+        poissonB = new double[poisson.getSize()];
+        Arrays.fill(poissonB, 1.0);
+        poissonX = new double[poisson.getSize()];
+        poissonNext = new double[poisson.getSize()];
+
+        random = randomDiagonallyDominant(RANDOM_SIZE, RANDOM_ROW_NON_ZEROS, 42);
+        greedy = new MulticolorGaussSeidel(random);
+        randomB = BenchmarkMatrices.vector(RANDOM_SIZE, 7);
+        randomX = new double[RANDOM_SIZE];
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double[] denseAffineMap() {
+        ParallelKernels.affineMap(pool, T, c, denseX, denseNext);
+        return denseNext;
+    }
+
+    @Benchmark
+    public double sparseJacobiSweep() {
+        return poisson.jacobiSweep(pool, poissonB, poissonX, poissonNext);
+    }
+
+    @Benchmark
+    public double redBlackGaussSeidelSweep() {
+        return redBlack.sweep(pool, poissonB, poissonX);
+    }
+
+    @Benchmark
+    public double greedyGaussSeidelSweep() {
+        return greedy.sweep(pool, randomB, randomX);
+    }
+
+    /**
+     * Builds the 5-point Laplacian of a side x side grid, with Dirichlet boundaries.
+     */
+    private static CsrMatrix poisson(int side) {
+        int n = side * side;
+        int[] rowPointers = new int[n + 1];
+        int[] columnIndices = new int[5 * n];
+        double[] values = new double[5 * n];
+        int position = 0;
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int i = row * side + column;
+                if (row > 0) {
+                    columnIndices[position] = i - side;
+                    values[position++] = -1;
+                }
+                if (column > 0) {
+                    columnIndices[position] = i - 1;
+                    values[position++] = -1;
+                }
+                columnIndices[position] = i;
+                values[position++] = 4;
+                if (column < side - 1) {
+                    columnIndices[position] = i + 1;
+                    values[position++] = -1;
+                }
+                if (row < side - 1) {
+                    columnIndices[position] = i + side;
+                    values[position++] = -1;
+                }
+                rowPointers[i + 1] = position;
+            }
+        }
+        return CsrMatrix.fromArrays(n, rowPointers, Arrays.copyOf(columnIndices, position), Arrays.copyOf(values, position));
+    }
+
+    /**
+     * Builds a strictly diagonally dominant matrix with random off-diagonal columns in every row.
+     */
+    private static CsrMatrix randomDiagonallyDominant(int n, int rowNonZeros, long seed) {
+        Random random = new Random(seed);
+        int[] rowPointers = new int[n + 1];
+        int[] columnIndices = new int[n * rowNonZeros];
+        double[] values = new double[n * rowNonZeros];
+        int position = 0;
+        for (int i = 0; i < n; i++) {
+            double offDiagonalSum = 0;
+            int diagonalPosition = position++;
+            for (int k = 1; k < rowNonZeros; k++) {
+                int j = random.nextInt(n);
+                if (j == i) {
+                    j = (j + 1) % n;
+                }
+                double value = random.nextDouble() * 2 - 1;
+                columnIndices[position] = j;
+                values[position++] = value;
+                offDiagonalSum += Math.abs(value);
+            }
+            columnIndices[diagonalPosition] = i;
+            values[diagonalPosition] = offDiagonalSum + 1;
+            rowPointers[i + 1] = position;
+        }
+        return CsrMatrix.fromArrays(n, rowPointers, columnIndices, values);
+    }
+}
@@ -0,0 +1,40 @@
+package com.numetrify.benchmark;
+
+import com.numetrify.util.MatrixParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the textual matrix parsing done by CommonController for every linear-system request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsingBenchmark {
+
+    @Param({"10", "100", "500", "1000", "2000"})
+    public int size;
+
+    private String matrixText;
+    private String vectorText;
+
+    @Setup
+    public void setup() {
+        matrixText = BenchmarkMatrices.format(BenchmarkMatrices.matrix("dense", size, 42));
+        vectorText = BenchmarkMatrices.format(new double[][]{BenchmarkMatrices.vector(size, 7)});
+    }
+
+    @Benchmark
+    public double[][] parseMatrix() {
+        return MatrixParser.parseMatrix(matrixText);
+    }
+
+    @Benchmark
+    public double[] parseVector() {
+        return MatrixParser.parseVector(vectorText);
+    }
+}
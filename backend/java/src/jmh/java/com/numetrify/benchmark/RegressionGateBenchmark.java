@@ -0,0 +1,93 @@
+package com.numetrify.benchmark;
+
+import com.numetrify.config.CheckpointProperties;
+import com.numetrify.dto.*;
+import com.numetrify.service.*;
+import org.mariuszgromada.math.mxparser.License;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compact suite run by the {@code perfGate} Gradle task and compared against {@code perf/baseline.json}.
+ *
+ * It covers a few root finders and the Cholesky, Doolittle and Jacobi solvers at several sizes, with short
+ * iterations so that the whole gate runs in a few minutes. Throughput is measured, and the allocation per
+ * operation is collected by running it with {@code -prof gc}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegressionGateBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RootFinding {
+
+        @Param({"POLYNOMIAL", "TRANSCENDENTAL"})
+        public TestFunctions function;
+
+        final BisectionService bisectionService = new BisectionService();
+        final NewtonRaphsonService newtonRaphsonService = new NewtonRaphsonService();
+        final SecantService secantService = new SecantService();
+
+        @Setup
+        public void setup() {
+            License.iConfirmNonCommercialUse("numetrify");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LinearSystem {
+
+        @Param({"50", "200", "500"})
+        public int size;
+
+        double[][] A;
+        double[] b;
+        double[] x0;
+
+        final CholeskyService choleskyService = new CholeskyService();
+        final DoolittleService doolittleService = new DoolittleService();
+        JacobiService jacobiService;
+
+        @Setup
+        public void setup() {
+            jacobiService = new JacobiService(new CheckpointStore(new CheckpointProperties()));
+            A = BenchmarkMatrices.matrix("spd", size, 42);
+            b = BenchmarkMatrices.vector(size, 7);
+            x0 = new double[size];
+        }
+    }
+
+    @Benchmark
+    public BisectionResponse bisection(RootFinding state) {
+        return state.bisectionService.bisection(state.function.function, state.function.lowerBound, state.function.upperBound, 1, 8, 1000, 0);
+    }
+
+    @Benchmark
+    public NewtonRaphsonResponse newtonRaphson(RootFinding state) {
+        return state.newtonRaphsonService.newtonRaphson(state.function.function, state.function.initialGuess, 1, 8, 1000, 0);
+    }
+
+    @Benchmark
+    public SecantResponse secant(RootFinding state) {
+        return state.secantService.secant(state.function.function, state.function.lowerBound, state.function.upperBound, 1, 8, 1000, 0);
+    }
+
+    @Benchmark
+    public CholeskyResponse cholesky(LinearSystem state) {
+        return state.choleskyService.cholesky(state.A, state.b);
+    }
+
+    @Benchmark
+    public DoolittleResponse doolittle(LinearSystem state) {
+        return state.doolittleService.doolittle(state.A, state.b);
+    }
+
+    @Benchmark
+    public JacobiResponse jacobi(LinearSystem state) {
+        return state.jacobiService.jacobi(state.size, state.A, state.b, state.x0, 1, 8, 1000, IterationOptions.DEFAULT);
+    }
+}
@@ -0,0 +1,78 @@
+package com.numetrify.benchmark;
+
+import com.numetrify.dto.*;
+import com.numetrify.service.*;
+import org.mariuszgromada.math.mxparser.License;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the root-finding services, parameterized over the complexity of the function and the
+ * requested tolerance (number of correct decimal places).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RootFindingBenchmark {
+
+    private static final int MAX_ITERATIONS = 1000;
+
+    @Param({"POLYNOMIAL", "TRANSCENDENTAL", "COMPOSITE"})
+    public TestFunctions function;
+
+    @Param({"3", "8", "14"})
+    public double toleranceValue;
+
+    private final BisectionService bisectionService = new BisectionService();
+    private final FalseRuleService falseRuleService = new FalseRuleService();
+    private final FixedPointService fixedPointService = new FixedPointService();
+    private final NewtonRaphsonService newtonRaphsonService = new NewtonRaphsonService();
+    private final SecantService secantService = new SecantService();
+    private final MultipleRootsService multipleRootsService = new MultipleRootsService();
+    private final IncrementalSearchService incrementalSearchService = new IncrementalSearchService();
+
+    @Setup
+    public void setup() {
+        License.iConfirmNonCommercialUse("numetrify");
+    }
+
+    @Benchmark
+    public BisectionResponse bisection() {
+        return bisectionService.bisection(function.function, function.lowerBound, function.upperBound, 1, toleranceValue, MAX_ITERATIONS, 0);
+    }
+
+    @Benchmark
+    public FalseRuleResponse falseRule() {
+        return falseRuleService.falseRule(function.function, function.lowerBound, function.upperBound, 1, toleranceValue, MAX_ITERATIONS, 0);
+    }
+
+    @Benchmark
+    public FixedPointResponse fixedPoint() {
+        return fixedPointService.fixedPoint(function.function, function.gFunction, function.initialGuess, 1, toleranceValue, MAX_ITERATIONS, 0);
+    }
+
+    @Benchmark
+    public NewtonRaphsonResponse newtonRaphson() {
+        return newtonRaphsonService.newtonRaphson(function.function, function.initialGuess, 1, toleranceValue, MAX_ITERATIONS, 0);
+    }
+
+    @Benchmark
+    public SecantResponse secant() {
+        return secantService.secant(function.function, function.lowerBound, function.upperBound, 1, toleranceValue, MAX_ITERATIONS, 0);
+    }
+
+    @Benchmark
+    public MultipleRootsResponse multipleRoots() {
+        return multipleRootsService.multipleRoots(function.function, function.initialGuess, 1, toleranceValue, MAX_ITERATIONS, 0);
+    }
+
+    @Benchmark
+    public IncrementalSearchResponse incrementalSearch() {
+        double h = (function.upperBound - function.lowerBound) / MAX_ITERATIONS;
+        return incrementalSearchService.incrementalSearch(function.function, function.lowerBound, h, MAX_ITERATIONS, 1, toleranceValue, 0);
+    }
+}
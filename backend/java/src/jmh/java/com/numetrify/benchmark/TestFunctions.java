@@ -0,0 +1,32 @@
+package com.numetrify.benchmark;
+
+/**
+ * Root-finding problems of increasing expression complexity, each with a bracket, a fixed-point form and a
+ * starting point that converge for every method.
+ */
+enum TestFunctions {
+
+    /** A cubic polynomial, root near 1.5214. */
+    POLYNOMIAL("x^3 - x - 2", "(x + 2)^(1/3)", 1.0, 2.0, 1.5),
+
+    /** A single transcendental term, root near 0.5671. */
+    TRANSCENDENTAL("exp(-x) - x", "exp(-x)", 0.0, 1.0, 0.5),
+
+    /** A longer expression mixing several elementary functions, root near 0.74. */
+    COMPOSITE("x - cos(x) + 0.1*sin(3*x)*exp(-x^2) + 0.01*ln(x + 2)*sqrt(x + 1)",
+            "cos(x) - 0.1*sin(3*x)*exp(-x^2) - 0.01*ln(x + 2)*sqrt(x + 1)", 0.0, 1.0, 0.5);
+
+    final String function;
+    final String gFunction;
+    final double lowerBound;
+    final double upperBound;
+    final double initialGuess;
+
+    TestFunctions(String function, String gFunction, double lowerBound, double upperBound, double initialGuess) {
+        this.function = function;
+        this.gFunction = gFunction;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.initialGuess = initialGuess;
+    }
+}
@@ -0,0 +1,64 @@
+package com.numetrify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Admission control of the solves, configured under {@code numetrify.admission}.
+ *
+ * Every solve is assigned to the first lane whose {@code max-cost} covers its estimated cost. A lane runs at
+ * most {@code concurrency} solves at a time (0 derives it from the compute pool size) and accepts waiting
+ * solves until their total estimated cost reaches {@code max-queued-cost}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "numetrify.admission")
+public class AdmissionProperties {
+
+    /**
+     * Whether solves are admitted through the lanes at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Longest time a solve waits in its lane before being rejected.
+     */
+    private Duration queueTimeout = Duration.ofSeconds(10);
+
+    private Lane light = new Lane(1e7, 0, 1e10);
+
+    private Lane medium = new Lane(1e10, 0, 1e12);
+
+    private Lane heavy = new Lane(1e13, 0, 1e14);
+
+    @Data
+    public static class Lane {
+
+        /**
+         * Largest estimated cost of the solves of the lane.
+         */
+        private double maxCost;
+
+        /**
+         * Solves of the lane running at the same time, 0 to derive it from the compute pool size.
+         */
+        private int concurrency;
+
+        /**
+         * Largest total estimated cost of the solves waiting in the lane.
+         */
+        private double maxQueuedCost;
+
+        public Lane() {
+        }
+
+        public Lane(double maxCost, int concurrency, double maxQueuedCost) {
+            this.maxCost = maxCost;
+            this.concurrency = concurrency;
+            this.maxQueuedCost = maxQueuedCost;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.numetrify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binary request bodies of the linear-system endpoints, configured under {@code numetrify.binary}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "numetrify.binary")
+public class BinaryMatrixProperties {
+
+    /**
+     * Largest number of equations of a binary system, larger ones are rejected before being allocated.
+     */
+    private int maxSize = 4096;
+}
@@ -0,0 +1,37 @@
+package com.numetrify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Result cache of the solves, configured under {@code numetrify.cache}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "numetrify.cache")
+public class CacheProperties {
+
+    /**
+     * Whether identical requests are answered from the cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time a response is kept after it was computed.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Largest number of cached responses.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Largest estimated memory of the cached responses.
+     */
+    private DataSize maxMemory = DataSize.ofMegabytes(256);
+}
@@ -0,0 +1,32 @@
+package com.numetrify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Checkpoints of the Jacobi and Gauss-Seidel solves, configured under {@code numetrify.checkpoints}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "numetrify.checkpoints")
+public class CheckpointProperties {
+
+    /**
+     * Time a checkpoint can be resumed after it was created.
+     */
+    private Duration ttl = Duration.ofMinutes(15);
+
+    /**
+     * Largest estimated memory of the iteration matrices, kept once per method and system for its checkpoints.
+     */
+    private DataSize maxMemory = DataSize.ofMegabytes(512);
+
+    /**
+     * Largest estimated memory of the iterates held by the checkpoints.
+     */
+    private DataSize maxIterateMemory = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,34 @@
+package com.numetrify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compute pool running the solves, configured under {@code numetrify.compute}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "numetrify.compute")
+public class ComputeProperties {
+
+    /**
+     * Number of platform threads of the compute pool, 0 to use the number of available processors.
+     */
+    private int threads = 0;
+
+    /**
+     * Largest estimated cost of the solves run directly on the request thread, e.g. short root findings and
+     * small systems.
+     */
+    private double inlineMaxCost = 1e7;
+
+    /**
+     * Largest number of solves waiting for a compute thread.
+     */
+    private int queueCapacity = 256;
+
+    public int poolSize() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
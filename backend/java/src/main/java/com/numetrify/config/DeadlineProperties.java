@@ -0,0 +1,52 @@
+package com.numetrify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deadlines of the solves, configured under {@code numetrify.deadline}.
+ *
+ * The default limits apply to every method; {@code numetrify.deadline.methods.<method>.*} overrides them for
+ * one method, named like its endpoint (e.g. {@code numetrify.deadline.methods.fixed-point.timeout=5s}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "numetrify.deadline")
+public class DeadlineProperties {
+
+    /**
+     * Default wall-clock limit of a solve.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * Default limit on the iterations of an iterative method, whatever maxIterations the request asks for.
+     */
+    private long maxIterations = 1_000_000;
+
+    /**
+     * Overrides per method.
+     */
+    private Map<String, Limits> methods = new HashMap<>();
+
+    @Data
+    public static class Limits {
+        private Duration timeout;
+        private Long maxIterations;
+    }
+
+    public Duration timeoutFor(String method) {
+        Limits limits = methods.get(method);
+        return limits != null && limits.getTimeout() != null ? limits.getTimeout() : timeout;
+    }
+
+    public long maxIterationsFor(String method) {
+        Limits limits = methods.get(method);
+        return limits != null && limits.getMaxIterations() != null ? limits.getMaxIterations() : maxIterations;
+    }
+}
@@ -0,0 +1,47 @@
+package com.numetrify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Asynchronous jobs, configured under {@code numetrify.jobs}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "numetrify.jobs")
+public class JobProperties {
+
+    /**
+     * Jobs running at the same time.
+     */
+    private int threads = 2;
+
+    /**
+     * Jobs waiting for a thread, further submissions are rejected with 429.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Jobs held by the store, finished or not, further submissions are rejected with 429.
+     */
+    private int maxJobs = 1000;
+
+    /**
+     * Time a finished job and its result are kept.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * Wall-clock limit of a job, replacing the deadline of its method.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Directory where results are written as JSON instead of being held in memory, unset to keep them in memory.
+     */
+    private Path spillDirectory;
+}
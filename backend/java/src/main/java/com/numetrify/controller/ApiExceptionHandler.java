@@ -0,0 +1,74 @@
+package com.numetrify.controller;
+
+import com.numetrify.execution.AdmissionRejectedException;
+import com.numetrify.execution.SolveTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.EOFException;
+import java.nio.file.NoSuchFileException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maps the exceptions raised by the solves to API responses.
+ */
+@Slf4j
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * A direct method cancelled by its deadline has no partial result to return.
+     */
+    @ExceptionHandler(SolveTimeoutException.class)
+    public ResponseEntity<Map<String, Object>> solveTimeout(SolveTimeoutException e) {
+        log.warn(e.getMessage());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", e.getMessage());
+        body.put("timedOut", true);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
+    /**
+     * A solve not admitted by the compute scheduler, retried later by the client if it was only shed.
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> admissionRejected(AdmissionRejectedException e) {
+        log.warn(e.getMessage());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", e.getMessage());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (e.getRetryAfterSeconds() > 0) {
+            builder.header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()));
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * Invalid parameters or request bodies, e.g. a malformed matrix or a binary body shorter than its header
+     * announces: the services and codecs report them as {@link IllegalArgumentException} (which includes
+     * {@link NumberFormatException}) with an "Error: ..." message.
+     */
+    @ExceptionHandler({IllegalArgumentException.class, EOFException.class})
+    public ResponseEntity<Map<String, Object>> invalidRequest(Exception e) {
+        log.debug("Invalid request: {}", e.getMessage());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    /**
+     * A file of the out-of-core working directory that does not exist, e.g. a factor file deleted or expired.
+     */
+    @ExceptionHandler(NoSuchFileException.class)
+    public ResponseEntity<Map<String, Object>> noSuchFile(NoSuchFileException e) {
+        log.debug("No such file: {}", e.getMessage());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", "Error: the file does not exist in the out-of-core working directory.");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+}
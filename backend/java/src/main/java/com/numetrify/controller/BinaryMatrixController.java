@@ -0,0 +1,226 @@
+package com.numetrify.controller;
+
+import com.numetrify.config.BinaryMatrixProperties;
+import com.numetrify.dto.*;
+import com.numetrify.execution.SolveKey;
+import com.numetrify.execution.SolverRunner;
+import com.numetrify.execution.Workload;
+import com.numetrify.service.*;
+import com.numetrify.service.matrix.NormType;
+import com.numetrify.util.BinaryMatrixCodec;
+import com.numetrify.util.LinearSystem;
+import com.numetrify.util.MatrixParser;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Binary variants of the linear-system endpoints.
+ *
+ * The request body holds the augmented matrix [A | b] as raw little-endian doubles or as a NumPy {@code .npy}
+ * array (see {@link BinaryMatrixCodec}); the remaining parameters stay in the query string. The result is
+ * returned as JSON by default, or as binary with {@code responseFormat=raw} (little-endian doubles, layout
+ * described by the {@value #LAYOUT_HEADER} header) or {@code responseFormat=npz} (NumPy archive). Binary
+ * responses carry the outcome of the solve in the {@value #OUTCOME_HEADER} header; the full message, which
+ * may embed the iterates, is only part of the JSON response.
+ */
+@Slf4j
+@RestController
+@CrossOrigin(origins = "*", exposedHeaders = {BinaryMatrixController.LAYOUT_HEADER, BinaryMatrixController.OUTCOME_HEADER})
+@RequestMapping(value = "/api/v1", consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, BinaryMatrixCodec.NPY_MEDIA_TYPE})
+public class BinaryMatrixController {
+
+    static final String LAYOUT_HEADER = "X-Numetrify-Layout";
+
+    static final String OUTCOME_HEADER = "X-Numetrify-Outcome";
+
+    private static final String[] ARRAY_NAMES = {"solution", "L", "U"};
+
+    @Autowired
+    private CholeskyService choleskyService;
+
+    @Autowired
+    private CroutService croutService;
+
+    @Autowired
+    private DoolittleService doolittleService;
+
+    @Autowired
+    private SimpleGaussianEliminationService simpleGaussianEliminationService;
+
+    @Autowired
+    private PivotGaussianEliminationService pivotGaussianEliminationService;
+
+    @Autowired
+    private LUGaussianEliminationService luGaussianEliminationService;
+
+    @Autowired
+    private JacobiService jacobiService;
+
+    @Autowired
+    private GaussSeidelService gaussSeidelService;
+
+    @Autowired
+    private SolverSelectionService solverSelectionService;
+
+    @Autowired
+    private SolverRunner solverRunner;
+
+    @Autowired
+    private BinaryMatrixProperties binaryMatrixProperties;
+
+    @Operation(summary = "Solves a binary system using the Cholesky method", description = "Solves a system of linear equations, sent as a binary augmented matrix, using the Cholesky decomposition method.")
+    @PostMapping("/cholesky")
+    public ResponseEntity<?> cholesky(
+            HttpServletRequest request,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "json") String responseFormat) throws IOException {
+        LinearSystem system = readLinearSystem(request, size);
+        CholeskyResponse response = solverRunner.run("cholesky", Workload.direct(system.size()), SolveKey.of(system.matrix(), system.vector()), () -> choleskyService.cholesky(system.matrix(), system.vector()));
+        return respond(responseFormat, response, response.getSolution(), response.getL(), response.getU());
+    }
+
+    @Operation(summary = "Solves a binary system using the Crout method", description = "Solves a system of linear equations, sent as a binary augmented matrix, using the Crout decomposition method.")
+    @PostMapping("/crout")
+    public ResponseEntity<?> crout(
+            HttpServletRequest request,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "json") String responseFormat) throws IOException {
+        LinearSystem system = readLinearSystem(request, size);
+        CroutResponse response = solverRunner.run("crout", Workload.direct(system.size()), SolveKey.of(system.matrix(), system.vector()), () -> croutService.crout(system.matrix(), system.vector()));
+        return respond(responseFormat, response, response.getSolution(), response.getL(), response.getU());
+    }
+
+    @Operation(summary = "Solves a binary system using the Doolittle method", description = "Solves a system of linear equations, sent as a binary augmented matrix, using the Doolittle decomposition method.")
+    @PostMapping("/doolittle")
+    public ResponseEntity<?> doolittle(
+            HttpServletRequest request,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "json") String responseFormat) throws IOException {
+        LinearSystem system = readLinearSystem(request, size);
+        DoolittleResponse response = solverRunner.run("doolittle", Workload.direct(system.size()), SolveKey.of(system.matrix(), system.vector()), () -> doolittleService.doolittle(system.matrix(), system.vector()));
+        return respond(responseFormat, response, response.getSolution(), response.getL(), response.getU());
+    }
+
+    @Operation(summary = "Solves a binary system using Simple Gaussian Elimination", description = "Solves a system of linear equations, sent as a binary augmented matrix, using the Simple Gaussian Elimination method.")
+    @PostMapping("/simple-gaussian-elimination")
+    public ResponseEntity<?> simpleGaussianElimination(
+            HttpServletRequest request,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "json") String responseFormat) throws IOException {
+        LinearSystem system = readLinearSystem(request, size);
+        SimpleGaussianEliminationResponse response = solverRunner.run("simple-gaussian-elimination", Workload.direct(system.size()), SolveKey.of(system.matrix(), system.vector()), () -> simpleGaussianEliminationService.simpleGaussianElimination(system.matrix(), system.vector()));
+        return respond(responseFormat, response, response.getSolution(), null, null);
+    }
+
+    @Operation(summary = "Solves a binary system using Pivot Gaussian Elimination", description = "Solves a system of linear equations, sent as a binary augmented matrix, using the Pivot Gaussian Elimination method.")
+    @PostMapping("/pivot-gaussian-elimination")
+    public ResponseEntity<?> pivotGaussianElimination(
+            HttpServletRequest request,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "json") String responseFormat) throws IOException {
+        LinearSystem system = readLinearSystem(request, size);
+        PivotGaussianEliminationResponse response = solverRunner.run("pivot-gaussian-elimination", Workload.direct(system.size()), SolveKey.of(system.matrix(), system.vector()), () -> pivotGaussianEliminationService.pivotGaussianElimination(system.matrix(), system.vector()));
+        return respond(responseFormat, response, response.getSolution(), null, null);
+    }
+
+    @Operation(summary = "Performs LU Gaussian Elimination on a binary system", description = "Solves a system of linear equations, sent as a binary augmented matrix, using the LU Gaussian Elimination method.")
+    @PostMapping("/lu-gaussian-elimination")
+    public ResponseEntity<?> luDecomposition(
+            HttpServletRequest request,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "json") String responseFormat) throws IOException {
+        LinearSystem system = readLinearSystem(request, size);
+        LUGaussianEliminationResponse response = solverRunner.run("lu-gaussian-elimination", Workload.direct(system.size()), SolveKey.of(system.matrix(), system.vector()), () -> luGaussianEliminationService.luGaussianElimination(system.matrix(), system.vector()));
+        return respond(responseFormat, response, response.getSolution(), response.getL(), response.getU());
+    }
+
+    @Operation(summary = "Solves a binary system using the Jacobi method", description = "Solves a system of linear equations, sent as a binary augmented matrix, using the Jacobi iterative method. The binary response holds the last iterate.")
+    @PostMapping("/jacobi")
+    public ResponseEntity<?> jacobi(
+            HttpServletRequest request,
+            @RequestParam(required = false) Integer size,
+            @RequestParam String x0,
+            @RequestParam int errorType,
+            @RequestParam double toleranceValue,
+            @RequestParam int maxIterations,
+            @RequestParam(required = false) String checkpoint,
+            @RequestParam(defaultValue = "false") boolean saveCheckpoint,
+            @RequestParam(defaultValue = "L2") NormType normType,
+            @RequestParam(defaultValue = "false") boolean residual,
+            @RequestParam(defaultValue = "NONE") Acceleration acceleration,
+            @RequestParam(defaultValue = "json") String responseFormat) throws IOException {
+        LinearSystem system = readLinearSystem(request, size);
+        double[] x0Value = MatrixParser.parseVector(x0, system.size());
+        JacobiResponse response = solverRunner.run("jacobi", Workload.iterative(system.size(), maxIterations), SolveKey.of(system.size(), system.matrix(), system.vector(), x0Value, errorType, toleranceValue, maxIterations, checkpoint, saveCheckpoint ? 1 : 0, normType.name(), residual ? 1 : 0, acceleration.name()), () -> jacobiService.jacobi(system.size(), system.matrix(), system.vector(), x0Value, errorType, toleranceValue, maxIterations, new IterationOptions(checkpoint, saveCheckpoint, normType, residual, acceleration)));
+        return respond(responseFormat, response, lastIterate(response.getXValues()), null, null);
+    }
+
+    @Operation(summary = "Solves a binary system using the Gauss-Seidel method", description = "Solves a system of linear equations, sent as a binary augmented matrix, using the Gauss-Seidel iterative method. The binary response holds the last iterate.")
+    @PostMapping("/gauss-seidel")
+    public ResponseEntity<?> gaussSeidel(
+            HttpServletRequest request,
+            @RequestParam(required = false) Integer size,
+            @RequestParam String x0,
+            @RequestParam int errorType,
+            @RequestParam double toleranceValue,
+            @RequestParam int maxIterations,
+            @RequestParam(required = false) String checkpoint,
+            @RequestParam(defaultValue = "false") boolean saveCheckpoint,
+            @RequestParam(defaultValue = "L2") NormType normType,
+            @RequestParam(defaultValue = "false") boolean residual,
+            @RequestParam(defaultValue = "NONE") Acceleration acceleration,
+            @RequestParam(defaultValue = "json") String responseFormat) throws IOException {
+        LinearSystem system = readLinearSystem(request, size);
+        double[] x0Value = MatrixParser.parseVector(x0, system.size());
+        GaussSeidelResponse response = solverRunner.run("gauss-seidel", Workload.iterative(system.size(), maxIterations), SolveKey.of(system.size(), system.matrix(), system.vector(), x0Value, errorType, toleranceValue, maxIterations, checkpoint, saveCheckpoint ? 1 : 0, normType.name(), residual ? 1 : 0, acceleration.name()), () -> gaussSeidelService.gaussSeidel(system.size(), system.matrix(), system.vector(), x0Value, errorType, toleranceValue, maxIterations, new IterationOptions(checkpoint, saveCheckpoint, normType, residual, acceleration)));
+        return respond(responseFormat, response, lastIterate(response.getXValues()), null, null);
+    }
+
+    @Operation(summary = "Solves a binary system choosing the method automatically", description = "Solves a system of linear equations, sent as a binary augmented matrix, with the fastest applicable method.")
+    @PostMapping("/solve")
+    public ResponseEntity<?> solve(
+            HttpServletRequest request,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "json") String responseFormat) throws IOException {
+        LinearSystem system = readLinearSystem(request, size);
+        SolveResponse response = solverRunner.run("solve", Workload.direct(system.size()), SolveKey.of(system.matrix(), system.vector()), () -> solverSelectionService.solve(system.matrix(), system.vector()));
+        return respond(responseFormat, response, response.getSolution(), null, null);
+    }
+
+    private LinearSystem readLinearSystem(HttpServletRequest request, Integer size) throws IOException {
+        return BinaryMatrixCodec.readLinearSystem(request.getInputStream(), request.getContentLengthLong(), size, binaryMatrixProperties.getMaxSize());
+    }
+
+    private ResponseEntity<?> respond(String responseFormat, SolverResult response, double[] solution, double[][] L, double[][] U) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().header(OUTCOME_HEADER, response.outcome().getTag());
+        switch (responseFormat) {
+            case "json":
+                return ResponseEntity.ok(response);
+            case "raw":
+                StreamingResponseBody raw = out -> BinaryMatrixCodec.writeRaw(out, solution, L, U);
+                return builder.contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(LAYOUT_HEADER, BinaryMatrixCodec.describeLayout(ARRAY_NAMES, solution, L, U))
+                        .body(raw);
+            case "npz":
+                StreamingResponseBody npz = out -> BinaryMatrixCodec.writeNpz(out, ARRAY_NAMES, solution, L, U);
+                return builder.contentType(MediaType.parseMediaType(BinaryMatrixCodec.NPZ_MEDIA_TYPE))
+                        .header(LAYOUT_HEADER, BinaryMatrixCodec.describeLayout(ARRAY_NAMES, solution, L, U))
+                        .body(npz);
+            default:
+                throw new IllegalArgumentException("Error: unknown response format " + responseFormat + ", expected json, raw or npz.");
+        }
+    }
+
+    private static double[] lastIterate(List<double[]> xValues) {
+        return xValues.isEmpty() ? null : xValues.get(xValues.size() - 1);
+    }
+}
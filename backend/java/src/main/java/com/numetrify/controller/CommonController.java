@@ -1,12 +1,27 @@
 package com.numetrify.controller;
 
 import com.numetrify.dto.*;
+import com.numetrify.execution.SolveKey;
+import com.numetrify.execution.SolverRunner;
+import com.numetrify.execution.Workload;
 import com.numetrify.service.*;
+import com.numetrify.service.matrix.NormType;
+import com.numetrify.util.BinaryMatrixCodec;
+import com.numetrify.util.MatrixParser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 @Slf4j
 @RestController
 @CrossOrigin(origins = "*")
@@ -31,6 +46,21 @@ public class CommonController {
     @Autowired
     private SecantService secantService;
 
+    @Autowired
+    private NewtonSystemService newtonSystemService;
+
+    @Autowired
+    private PolynomialRootsService polynomialRootsService;
+
+    @Autowired
+    private IntervalRootsService intervalRootsService;
+
+    @Autowired
+    private ChebyshevRootsService chebyshevRootsService;
+
+    @Autowired
+    private EvaluationService evaluationService;
+
     @Autowired
     private JacobiService jacobiService;
 
@@ -58,6 +88,15 @@ public class CommonController {
     @Autowired
     private LUGaussianEliminationService luGaussianEliminationService;
 
+    @Autowired
+    private SolverSelectionService solverSelectionService;
+
+    @Autowired
+    private OutOfCoreService outOfCoreService;
+
+    @Autowired
+    private SolverRunner solverRunner;
+
     @Operation(summary = "Performs the bisection method", description = "Calculates the root of a function using the bisection method.")
     @PostMapping("/bisection")
     public BisectionResponse bisection(
@@ -66,8 +105,9 @@ public class CommonController {
             @RequestParam double b,
             @RequestParam int errorType,
             @RequestParam double toleranceValue,
-            @RequestParam int maxIterations) {
-        return bisectionService.bisection(function, a, b, errorType, toleranceValue, maxIterations);
+            @RequestParam int maxIterations,
+            @RequestParam(defaultValue = "0") long maxFunctionEvaluations) {
+        return solverRunner.run("bisection", Workload.rootFinding(maxIterations, function), SolveKey.of(function, a, b, errorType, toleranceValue, maxIterations, maxFunctionEvaluations), () -> bisectionService.bisection(function, a, b, errorType, toleranceValue, maxIterations, maxFunctionEvaluations));
     }
 
     @Operation(summary = "Performs the false rule method", description = "Calculates the root of a function using the false rule method.")
@@ -78,11 +118,12 @@ public class CommonController {
             @RequestParam double upperBound,
             @RequestParam int errorType,
             @RequestParam double toleranceValue,
-            @RequestParam int maxIterations) {
-        return falseRuleService.falseRule(function, lowerBound, upperBound, errorType, toleranceValue, maxIterations);
+            @RequestParam int maxIterations,
+            @RequestParam(defaultValue = "0") long maxFunctionEvaluations) {
+        return solverRunner.run("false-rule", Workload.rootFinding(maxIterations, function), SolveKey.of(function, lowerBound, upperBound, errorType, toleranceValue, maxIterations, maxFunctionEvaluations), () -> falseRuleService.falseRule(function, lowerBound, upperBound, errorType, toleranceValue, maxIterations, maxFunctionEvaluations));
     }
 
-    @Operation(summary = "Performs the fixed point method", description = "Calculates the root of a function using the fixed point method.")
+    @Operation(summary = "Performs the fixed point method", description = "Calculates the root of a function using the fixed point method. acceleration (NONE, AITKEN, STEFFENSEN or ANDERSON) speeds up linearly convergent iterations; reportInterval evaluates f only every few iterations and at the last one.")
     @PostMapping("/fixed-point")
     public FixedPointResponse fixedPoint(
             @RequestParam String function,
@@ -90,8 +131,11 @@ public class CommonController {
             @RequestParam double initialGuess,
             @RequestParam int errorType,
             @RequestParam double toleranceValue,
-            @RequestParam int maxIterations) {
-        return fixedPointService.fixedPoint(function, gFunction, initialGuess, errorType, toleranceValue, maxIterations);
+            @RequestParam int maxIterations,
+            @RequestParam(defaultValue = "0") long maxFunctionEvaluations,
+            @RequestParam(defaultValue = "NONE") Acceleration acceleration,
+            @RequestParam(defaultValue = "1") int reportInterval) {
+        return solverRunner.run("fixed-point", Workload.rootFinding(maxIterations, function, gFunction), SolveKey.of(function, gFunction, initialGuess, errorType, toleranceValue, maxIterations, maxFunctionEvaluations, acceleration.name(), reportInterval), () -> fixedPointService.fixedPoint(function, gFunction, initialGuess, errorType, toleranceValue, maxIterations, maxFunctionEvaluations, acceleration, reportInterval));
     }
 
     @Operation(summary = "Performs incremental search", description = "Searches for roots of a function using the incremental search method.")
@@ -102,8 +146,9 @@ public class CommonController {
             @RequestParam double h,
             @RequestParam int maxIterations,
             @RequestParam int errorType,
-            @RequestParam double toleranceValue) {
-        return incrementalSearchService.incrementalSearch(function, x0, h, maxIterations, errorType, toleranceValue);
+            @RequestParam double toleranceValue,
+            @RequestParam(defaultValue = "0") long maxFunctionEvaluations) {
+        return solverRunner.run("incremental-search", Workload.rootFinding(maxIterations, function), SolveKey.of(function, x0, h, maxIterations, errorType, toleranceValue, maxFunctionEvaluations), () -> incrementalSearchService.incrementalSearch(function, x0, h, maxIterations, errorType, toleranceValue, maxFunctionEvaluations));
     }
 
     @Operation(summary = "Performs the multiple roots method", description = "Calculates the root of a function using the multiple roots method.")
@@ -113,8 +158,9 @@ public class CommonController {
             @RequestParam double initialGuess,
             @RequestParam int errorType,
             @RequestParam double toleranceValue,
-            @RequestParam int maxIterations) {
-        return multipleRootsService.multipleRoots(function, initialGuess, errorType, toleranceValue, maxIterations);
+            @RequestParam int maxIterations,
+            @RequestParam(defaultValue = "0") long maxFunctionEvaluations) {
+        return solverRunner.run("multiple-roots", Workload.rootFinding(maxIterations, function), SolveKey.of(function, initialGuess, errorType, toleranceValue, maxIterations, maxFunctionEvaluations), () -> multipleRootsService.multipleRoots(function, initialGuess, errorType, toleranceValue, maxIterations, maxFunctionEvaluations));
     }
 
     @Operation(summary = "Performs the Newton-Raphson method", description = "Calculates the root of a function using the Newton-Raphson method.")
@@ -124,8 +170,59 @@ public class CommonController {
             @RequestParam double initialGuess,
             @RequestParam int errorType,
             @RequestParam double toleranceValue,
-            @RequestParam int maxIterations) {
-        return newtonRaphsonService.newtonRaphson(function, initialGuess, errorType, toleranceValue, maxIterations);
+            @RequestParam int maxIterations,
+            @RequestParam(defaultValue = "0") long maxFunctionEvaluations) {
+        return solverRunner.run("newton-raphson", Workload.rootFinding(maxIterations, function), SolveKey.of(function, initialGuess, errorType, toleranceValue, maxIterations, maxFunctionEvaluations), () -> newtonRaphsonService.newtonRaphson(function, initialGuess, errorType, toleranceValue, maxIterations, maxFunctionEvaluations));
+    }
+
+    @Operation(summary = "Performs Newton's method for nonlinear systems", description = "Calculates a root of a system of nonlinear equations F(x) = 0, sent as JSON, using Newton's method. The Jacobian comes from the given expressions or from finite differences, and is re-evaluated at every step (NEWTON), only at x0 (CHORD), every refreshInterval steps (SHAMANSKII) or corrected by rank-one updates in between (BROYDEN).")
+    @PostMapping(value = "/newton-system", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public NewtonSystemResponse newtonSystem(@RequestBody NonlinearSystemRequest request) {
+        String[] functions = request.getFunctions() != null ? request.getFunctions() : new String[0];
+        return solverRunner.run("newton-system", Workload.nonlinearSystem(functions.length, request.getMaxIterations(), functions), SolveKey.of(request.getFunctions(), request.getVariables(), request.getX0(), request.getJacobian(), request.getUpdate().name(), request.getRefreshInterval(), request.isPivoting() ? 1 : 0, request.getErrorType(), request.getToleranceValue(), request.getMaxIterations(), request.getMaxFunctionEvaluations()), () -> newtonSystemService.newtonSystem(request.getFunctions(), request.getVariables(), request.getX0(), request.getJacobian(), request.getUpdate(), request.getRefreshInterval(), request.isPivoting(), request.getErrorType(), request.getToleranceValue(), request.getMaxIterations(), request.getMaxFunctionEvaluations()));
+    }
+
+    @Operation(summary = "Computes all the roots of a polynomial", description = "Calculates all the real and complex roots of a polynomial in x at once, by the Aberth-Ehrlich iteration (ABERTH) or as the eigenvalues of its companion matrix (COMPANION).")
+    @PostMapping("/polynomial-roots")
+    public PolynomialRootsResponse polynomialRoots(
+            @RequestParam String function,
+            @RequestParam(defaultValue = "ABERTH") PolynomialRootMethod method,
+            @RequestParam double toleranceValue,
+            @RequestParam(defaultValue = "100") int maxIterations) {
+        return solverRunner.run("polynomial-roots", Workload.rootFinding(maxIterations, function), SolveKey.of(function, method.name(), toleranceValue, maxIterations), () -> polynomialRootsService.polynomialRoots(function, method, toleranceValue, maxIterations));
+    }
+
+    @Operation(summary = "Isolates all the roots in an interval", description = "Finds every root of a function in [lowerBound, upperBound] by interval arithmetic: a branch and bound with interval Newton steps returns an enclosure proven to hold exactly one root for every simple root, and the narrow intervals that may hold multiple roots or poles.")
+    @PostMapping("/interval-roots")
+    public IntervalRootsResponse intervalRoots(
+            @RequestParam String function,
+            @RequestParam double lowerBound,
+            @RequestParam double upperBound,
+            @RequestParam double toleranceValue,
+            @RequestParam(defaultValue = "100000") int maxIterations) {
+        return solverRunner.run("interval-roots", Workload.rootFinding(maxIterations, function), SolveKey.of(function, lowerBound, upperBound, toleranceValue, maxIterations), () -> intervalRootsService.intervalRoots(function, lowerBound, upperBound, toleranceValue, maxIterations));
+    }
+
+    @Operation(summary = "Finds all the roots in an interval through a Chebyshev proxy", description = "Interpolates a smooth function at Chebyshev points of [lowerBound, upperBound], doubling the degree until the Chebyshev coefficients decay below the tolerance, and returns the roots of the interpolant computed as eigenvalues of its colleague matrix.")
+    @PostMapping("/chebyshev-roots")
+    public ChebyshevRootsResponse chebyshevRoots(
+            @RequestParam String function,
+            @RequestParam double lowerBound,
+            @RequestParam double upperBound,
+            @RequestParam double toleranceValue,
+            @RequestParam(defaultValue = "4096") int maxDegree,
+            @RequestParam(defaultValue = "0") long maxFunctionEvaluations) {
+        return solverRunner.run("chebyshev-roots", Workload.rootFinding(maxDegree, function), SolveKey.of(function, lowerBound, upperBound, toleranceValue, maxDegree, maxFunctionEvaluations), () -> chebyshevRootsService.chebyshevRoots(function, lowerBound, upperBound, toleranceValue, maxDegree, maxFunctionEvaluations));
+    }
+
+    @Operation(summary = "Samples a function on an interval", description = "Evaluates a function at equally spaced points of [lowerBound, upperBound], both bounds included, e.g. to plot it. Points where the function is not defined have NaN values.")
+    @PostMapping("/evaluate")
+    public EvaluationResponse evaluate(
+            @RequestParam String function,
+            @RequestParam double lowerBound,
+            @RequestParam double upperBound,
+            @RequestParam(defaultValue = "200") int points) {
+        return solverRunner.run("evaluate", Workload.rootFinding(points, function), SolveKey.of(function, lowerBound, upperBound, points), () -> evaluationService.evaluate(function, lowerBound, upperBound, points));
     }
 
     @Operation(summary = "Performs the secant method", description = "Calculates the root of a function using the secant method.")
@@ -136,8 +233,9 @@ public class CommonController {
             @RequestParam double initialGuess2,
             @RequestParam int errorType,
             @RequestParam double toleranceValue,
-            @RequestParam int maxIterations) {
-        return secantService.secant(function, initialGuess1, initialGuess2, errorType, toleranceValue, maxIterations);
+            @RequestParam int maxIterations,
+            @RequestParam(defaultValue = "0") long maxFunctionEvaluations) {
+        return solverRunner.run("secant", Workload.rootFinding(maxIterations, function), SolveKey.of(function, initialGuess1, initialGuess2, errorType, toleranceValue, maxIterations, maxFunctionEvaluations), () -> secantService.secant(function, initialGuess1, initialGuess2, errorType, toleranceValue, maxIterations, maxFunctionEvaluations));
     }
 
     @Operation(summary = "Solves a system using the Cholesky method", description = "Solves a system of linear equations using the Cholesky decomposition method.")
@@ -145,9 +243,9 @@ public class CommonController {
     public CholeskyResponse cholesky(
             @RequestParam String matrix,
             @RequestParam String vector) {
-        double[][] A = parseMatrix(matrix);
-        double[] B = parseVector(vector);
-        return choleskyService.cholesky(A, B);
+        double[][] A = MatrixParser.parseMatrix(matrix);
+        double[] B = MatrixParser.parseVector(vector);
+        return solverRunner.run("cholesky", Workload.direct(A.length), SolveKey.of(A, B), () -> choleskyService.cholesky(A, B));
     }
 
     @Operation(summary = "Solves a system using the Crout method", description = "Solves a system of linear equations using the Crout decomposition method.")
@@ -155,7 +253,9 @@ public class CommonController {
     public CroutResponse crout(
             @RequestParam String matrixData,
             @RequestParam String vectorData) {
-        return croutService.crout(parseMatrix(matrixData), parseVector(vectorData));
+        double[][] A = MatrixParser.parseMatrix(matrixData);
+        double[] b = MatrixParser.parseVector(vectorData);
+        return solverRunner.run("crout", Workload.direct(A.length), SolveKey.of(A, b), () -> croutService.crout(A, b));
     }
 
     @Operation(summary = "Solves a system using the Doolittle method", description = "Solves a system of linear equations using the Doolittle decomposition method.")
@@ -163,9 +263,9 @@ public class CommonController {
     public DoolittleResponse doolittle(
             @RequestParam String matrixData,
             @RequestParam String bData) {
-        double[][] matrix = parseMatrix(matrixData);
-        double[] b = parseVector(bData);
-        return doolittleService.doolittle(matrix, b);
+        double[][] matrix = MatrixParser.parseMatrix(matrixData);
+        double[] b = MatrixParser.parseVector(bData);
+        return solverRunner.run("doolittle", Workload.direct(matrix.length), SolveKey.of(matrix, b), () -> doolittleService.doolittle(matrix, b));
     }
 
     @Operation(summary = "Solves a system using Simple Gaussian Elimination", description = "Solves a system of linear equations using the Simple Gaussian Elimination method.")
@@ -173,7 +273,9 @@ public class CommonController {
     public SimpleGaussianEliminationResponse simpleGaussianElimination(
             @RequestParam String matrixA,
             @RequestParam String vectorB) {
-        return simpleGaussianEliminationService.simpleGaussianElimination(parseMatrix(matrixA), parseVector(vectorB));
+        double[][] A = MatrixParser.parseMatrix(matrixA);
+        double[] b = MatrixParser.parseVector(vectorB);
+        return solverRunner.run("simple-gaussian-elimination", Workload.direct(A.length), SolveKey.of(A, b), () -> simpleGaussianEliminationService.simpleGaussianElimination(A, b));
     }
 
     @Operation(summary = "Solves a system using Pivot Gaussian Elimination", description = "Solves a system of linear equations using the Pivot Gaussian Elimination method.")
@@ -181,7 +283,9 @@ public class CommonController {
     public PivotGaussianEliminationResponse pivotGaussianElimination(
             @RequestParam String matrixA,
             @RequestParam String vectorB) {
-        return pivotGaussianEliminationService.pivotGaussianElimination(parseMatrix(matrixA), parseVector(vectorB));
+        double[][] A = MatrixParser.parseMatrix(matrixA);
+        double[] b = MatrixParser.parseVector(vectorB);
+        return solverRunner.run("pivot-gaussian-elimination", Workload.direct(A.length), SolveKey.of(A, b), () -> pivotGaussianEliminationService.pivotGaussianElimination(A, b));
     }
 
     @Operation(summary = "Performs LU Gaussian Elimination", description = "Solves a system of linear equations using the LU Gaussian Elimination method.")
@@ -189,12 +293,12 @@ public class CommonController {
     public LUGaussianEliminationResponse luDecomposition(
             @RequestParam String matrixA,
             @RequestParam String vectorB) {
-        double[][] A = parseMatrix(matrixA);
-        double[] b = parseVector(vectorB);
-        return luGaussianEliminationService.luGaussianElimination(A, b);
+        double[][] A = MatrixParser.parseMatrix(matrixA);
+        double[] b = MatrixParser.parseVector(vectorB);
+        return solverRunner.run("lu-gaussian-elimination", Workload.direct(A.length), SolveKey.of(A, b), () -> luGaussianEliminationService.luGaussianElimination(A, b));
     }
 
-    @Operation(summary = "Solves a system of linear equations using the Jacobi method", description = "Solves a system of linear equations using the Jacobi iterative method.")
+    @Operation(summary = "Solves a system of linear equations using the Jacobi method", description = "Solves a system of linear equations using the Jacobi iterative method. normType (L1, L2 or LINF) selects the norm of the errors; residual reports the norm of b - Ax of every iterate; acceleration ANDERSON mixes the last iterates. A run that stops without converging returns the handle of a checkpoint to continue from; saveCheckpoint returns one for a converged run too. A checkpoint that expired or was made for another system fails the solve.")
     @PostMapping("/jacobi")
     public JacobiResponse jacobi(
             @RequestParam int size,
@@ -203,13 +307,19 @@ public class CommonController {
             @RequestParam String x0,
             @RequestParam int errorType,
             @RequestParam double toleranceValue,
-            @RequestParam int maxIterations) {
-        double[][] matrixValue = parseMatrix(matrix);
-        double[] bValue = parseVector(b);
-        return jacobiService.jacobi(size, matrixValue, bValue, x0, errorType, toleranceValue, maxIterations);
+            @RequestParam int maxIterations,
+            @RequestParam(required = false) String checkpoint,
+            @RequestParam(defaultValue = "false") boolean saveCheckpoint,
+            @RequestParam(defaultValue = "L2") NormType normType,
+            @RequestParam(defaultValue = "false") boolean residual,
+            @RequestParam(defaultValue = "NONE") Acceleration acceleration) {
+        double[][] matrixValue = MatrixParser.parseMatrix(matrix);
+        double[] bValue = MatrixParser.parseVector(b);
+        double[] x0Value = MatrixParser.parseVector(x0, size);
+        return solverRunner.run("jacobi", Workload.iterative(size, maxIterations), SolveKey.of(size, matrixValue, bValue, x0Value, errorType, toleranceValue, maxIterations, checkpoint, saveCheckpoint ? 1 : 0, normType.name(), residual ? 1 : 0, acceleration.name()), () -> jacobiService.jacobi(size, matrixValue, bValue, x0Value, errorType, toleranceValue, maxIterations, new IterationOptions(checkpoint, saveCheckpoint, normType, residual, acceleration)));
     }
 
-    @Operation(summary = "Solves a system of linear equations using the Gauss-Seidel method", description = "Solves a system of linear equations using the Gauss-Seidel iterative method.")
+    @Operation(summary = "Solves a system of linear equations using the Gauss-Seidel method", description = "Solves a system of linear equations using the Gauss-Seidel iterative method. normType (L1, L2 or LINF) selects the norm of the errors; residual reports the norm of b - Ax of every iterate; acceleration ANDERSON mixes the last iterates. A run that stops without converging returns the handle of a checkpoint to continue from; saveCheckpoint returns one for a converged run too. A checkpoint that expired or was made for another system fails the solve.")
     @PostMapping("/gauss-seidel")
     public GaussSeidelResponse gaussSeidel(
             @RequestParam int size,
@@ -218,37 +328,81 @@ public class CommonController {
             @RequestParam String x0,
             @RequestParam int errorType,
             @RequestParam double toleranceValue,
-            @RequestParam int maxIterations) {
-        return gaussSeidelService.gaussSeidel(size, matrixData, b, x0, errorType, toleranceValue, maxIterations);
+            @RequestParam int maxIterations,
+            @RequestParam(required = false) String checkpoint,
+            @RequestParam(defaultValue = "false") boolean saveCheckpoint,
+            @RequestParam(defaultValue = "L2") NormType normType,
+            @RequestParam(defaultValue = "false") boolean residual,
+            @RequestParam(defaultValue = "NONE") Acceleration acceleration) {
+        double[][] A = MatrixParser.parseMatrix(matrixData);
+        double[] bValue = MatrixParser.parseVector(b, size);
+        double[] x0Value = MatrixParser.parseVector(x0, size);
+        return solverRunner.run("gauss-seidel", Workload.iterative(size, maxIterations), SolveKey.of(size, A, bValue, x0Value, errorType, toleranceValue, maxIterations, checkpoint, saveCheckpoint ? 1 : 0, normType.name(), residual ? 1 : 0, acceleration.name()), () -> gaussSeidelService.gaussSeidel(size, A, bValue, x0Value, errorType, toleranceValue, maxIterations, new IterationOptions(checkpoint, saveCheckpoint, normType, residual, acceleration)));
     }
 
-    private double[][] parseMatrix(String matrixText) {
-        String[] rows = matrixText.split(";");
-        int n = rows.length;
-        String[] firstRowElements = rows[0].trim().split(" ");
-        int m = firstRowElements.length;
-        double[][] matrix = new double[n][m];
+    @Operation(summary = "Solves a system choosing the method automatically", description = "Inspects the matrix (size, sparsity, symmetry, positive definiteness and diagonal dominance) and solves the system of linear equations with the fastest applicable method.")
+    @PostMapping("/solve")
+    public SolveResponse solve(
+            @RequestParam String matrix,
+            @RequestParam String vector) {
+        double[][] A = MatrixParser.parseMatrix(matrix);
+        double[] b = MatrixParser.parseVector(vector);
+        return solverRunner.run("solve", Workload.direct(A.length), SolveKey.of(A, b), () -> solverSelectionService.solve(A, b));
+    }
 
-        for (int i = 0; i < n; i++) {
-            String[] elements = rows[i].trim().split(" ");
-            if (elements.length != m) {
-                throw new IllegalArgumentException("Error: all rows must have the same number of columns.");
-            }
-            for (int j = 0; j < m; j++) {
-                matrix[i][j] = Double.parseDouble(elements[j]);
-            }
+    @Operation(summary = "Factorizes a very large system out of core", description = "Factorizes a dense matrix stored in a file (raw little-endian doubles or .npy) with a blocked Cholesky or LU factorization that streams memory-mapped tiles, writes the factors to a .npy factor file and optionally solves the system. The matrix is either uploaded or named by its path inside the out-of-core working directory. The factor file is downloaded and deleted with /out-of-core/factors/{factorFile}, and deleted after numetrify.out-of-core.factor-retention (1 hour by default) otherwise. The LU factorization does not pivot: it fails on a zero pivot or when the entries of its factors grow beyond 1e8 times those of A, and may lose accuracy below that on matrices that are not diagonally dominant; use Cholesky for symmetric positive definite matrices.")
+    @PostMapping("/out-of-core/{method}")
+    public OutOfCoreResponse outOfCore(
+            @PathVariable String method,
+            @RequestParam(required = false) MultipartFile file,
+            @RequestParam(required = false) String path,
+            @RequestParam(required = false) String vector) throws IOException {
+        if ((file == null) == (path == null)) {
+            throw new IllegalArgumentException("Error: either an uploaded file or a path is required.");
+        }
+        double[] b = vector != null ? MatrixParser.parseVector(vector) : null;
+        if (path != null) {
+            return factorizeOutOfCore(method, path, b);
+        }
+        String uploaded = outOfCoreService.store(file.getInputStream());
+        try {
+            return factorizeOutOfCore(method, uploaded, b);
+        } finally {
+            outOfCoreService.delete(uploaded);
         }
-        return matrix;
     }
 
-    private double[] parseVector(String vectorText) {
-        String[] elements = vectorText.trim().split(" ");
-        int n = elements.length;
-        double[] vector = new double[n];
-        for (int i = 0; i < n; i++) {
-            vector[i] = Double.parseDouble(elements[i]);
-        }
-        return vector;
+    /**
+     * Not cached: every factorization writes its own factor file, and the content of the input may change.
+     */
+    private OutOfCoreResponse factorizeOutOfCore(String method, String inputFile, double[] b) {
+        Workload workload = Workload.outOfCore(outOfCoreService.size(inputFile), method);
+        return solverRunner.run("out-of-core-" + method, workload, () -> outOfCoreService.factorize(method, inputFile, b));
+    }
+
+    @Operation(summary = "Downloads an out-of-core factor file", description = "Streams the .npy factor file named in the response of an out-of-core factorization, until it is deleted or expires.")
+    @GetMapping("/out-of-core/factors/{factorFile}")
+    public ResponseEntity<StreamingResponseBody> outOfCoreFactor(@PathVariable String factorFile) throws IOException {
+        Path factor = outOfCoreService.factorFile(factorFile);
+        long length = Files.size(factor);
+        // Opened before streaming, so that the file stays readable if it expires meanwhile
+        InputStream content = Files.newInputStream(factor);
+        StreamingResponseBody body = out -> {
+            try (content) {
+                content.transferTo(out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(BinaryMatrixCodec.NPY_MEDIA_TYPE))
+                .contentLength(length)
+                .body(body);
+    }
+
+    @Operation(summary = "Deletes an out-of-core factor file", description = "Deletes the .npy factor file named in the response of an out-of-core factorization.")
+    @DeleteMapping("/out-of-core/factors/{factorFile}")
+    public ResponseEntity<Void> deleteOutOfCoreFactor(@PathVariable String factorFile) {
+        outOfCoreService.deleteFactor(factorFile);
+        return ResponseEntity.noContent().build();
     }
 
 }
\ No newline at end of file
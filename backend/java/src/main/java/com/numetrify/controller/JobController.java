@@ -0,0 +1,55 @@
+package com.numetrify.controller;
+
+import com.numetrify.dto.JobRequest;
+import com.numetrify.dto.JobState;
+import com.numetrify.dto.JobStatusResponse;
+import com.numetrify.service.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Asynchronous variant of every method, for solves too long for a synchronous request.
+ *
+ * A job is submitted with {@code POST /api/v1/jobs}, polled with {@code GET /api/v1/jobs/{id}} and its response,
+ * the same as the synchronous endpoint's, fetched with {@code GET /api/v1/jobs/{id}/result} once it succeeded.
+ */
+@Slf4j
+@RestController
+@CrossOrigin(origins = "*", exposedHeaders = "Location")
+@RequestMapping("/api/v1/jobs")
+public class JobController {
+
+    @Autowired
+    private JobService jobService;
+
+    @Operation(summary = "Submits an asynchronous job", description = "Queues any method, named like its endpoint (e.g. doolittle or gauss-seidel), with its parameters as JSON. Returns 202 with the job status and its URL in the Location header, or 429 when too many jobs are queued.")
+    @PostMapping
+    public ResponseEntity<JobStatusResponse> submit(@RequestBody JobRequest request) {
+        JobStatusResponse status = jobService.submit(request);
+        return ResponseEntity.accepted().location(URI.create("/api/v1/jobs/" + status.getId())).body(status);
+    }
+
+    @Operation(summary = "Returns the status of a job", description = "Returns the state of the job and, while an iterative matrix method runs, its current iteration and residual.")
+    @GetMapping("/{id}")
+    public ResponseEntity<JobStatusResponse> status(@PathVariable String id) {
+        JobStatusResponse status = jobService.status(id);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    @Operation(summary = "Returns the result of a job", description = "Returns the response of the method once the job succeeded, 409 with the job status while it is queued or running or if it failed, 404 if the job is unknown or expired.")
+    @GetMapping("/{id}/result")
+    public ResponseEntity<?> result(@PathVariable String id) {
+        JobStatusResponse status = jobService.status(id);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Object result = status.getState() == JobState.SUCCEEDED ? jobService.result(id) : null;
+        return result != null ? ResponseEntity.ok(result) : ResponseEntity.status(HttpStatus.CONFLICT).body(status);
+    }
+}
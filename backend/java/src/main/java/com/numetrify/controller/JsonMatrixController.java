@@ -0,0 +1,118 @@
+package com.numetrify.controller;
+
+import com.numetrify.dto.*;
+import com.numetrify.execution.SolveKey;
+import com.numetrify.execution.SolverRunner;
+import com.numetrify.execution.Workload;
+import com.numetrify.service.*;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * JSON variants of the linear-system endpoints.
+ *
+ * The body is a {@link LinearSystemRequest} with the matrix as nested arrays, parsed in streaming fashion
+ * straight into primitive arrays. The form parameter variants in {@link CommonController} stay available
+ * for the existing frontend.
+ */
+@Slf4j
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping(value = "/api/v1", consumes = MediaType.APPLICATION_JSON_VALUE)
+public class JsonMatrixController {
+
+    @Autowired
+    private CholeskyService choleskyService;
+
+    @Autowired
+    private CroutService croutService;
+
+    @Autowired
+    private DoolittleService doolittleService;
+
+    @Autowired
+    private SimpleGaussianEliminationService simpleGaussianEliminationService;
+
+    @Autowired
+    private PivotGaussianEliminationService pivotGaussianEliminationService;
+
+    @Autowired
+    private LUGaussianEliminationService luGaussianEliminationService;
+
+    @Autowired
+    private JacobiService jacobiService;
+
+    @Autowired
+    private GaussSeidelService gaussSeidelService;
+
+    @Autowired
+    private SolverSelectionService solverSelectionService;
+
+    @Autowired
+    private SolverRunner solverRunner;
+
+    @Operation(summary = "Solves a JSON system using the Cholesky method", description = "Solves a system of linear equations, sent as a JSON body, using the Cholesky decomposition method.")
+    @PostMapping("/cholesky")
+    public CholeskyResponse cholesky(@RequestBody LinearSystemRequest request) {
+        return solverRunner.run("cholesky", Workload.direct(request.getVector().length), SolveKey.of(request.getMatrix(), request.getVector()), () -> choleskyService.cholesky(request.getMatrix(), request.getVector()));
+    }
+
+    @Operation(summary = "Solves a JSON system using the Crout method", description = "Solves a system of linear equations, sent as a JSON body, using the Crout decomposition method.")
+    @PostMapping("/crout")
+    public CroutResponse crout(@RequestBody LinearSystemRequest request) {
+        return solverRunner.run("crout", Workload.direct(request.getVector().length), SolveKey.of(request.getMatrix(), request.getVector()), () -> croutService.crout(request.getMatrix(), request.getVector()));
+    }
+
+    @Operation(summary = "Solves a JSON system using the Doolittle method", description = "Solves a system of linear equations, sent as a JSON body, using the Doolittle decomposition method.")
+    @PostMapping("/doolittle")
+    public DoolittleResponse doolittle(@RequestBody LinearSystemRequest request) {
+        return solverRunner.run("doolittle", Workload.direct(request.getVector().length), SolveKey.of(request.getMatrix(), request.getVector()), () -> doolittleService.doolittle(request.getMatrix(), request.getVector()));
+    }
+
+    @Operation(summary = "Solves a JSON system using Simple Gaussian Elimination", description = "Solves a system of linear equations, sent as a JSON body, using the Simple Gaussian Elimination method.")
+    @PostMapping("/simple-gaussian-elimination")
+    public SimpleGaussianEliminationResponse simpleGaussianElimination(@RequestBody LinearSystemRequest request) {
+        return solverRunner.run("simple-gaussian-elimination", Workload.direct(request.getVector().length), SolveKey.of(request.getMatrix(), request.getVector()), () -> simpleGaussianEliminationService.simpleGaussianElimination(request.getMatrix(), request.getVector()));
+    }
+
+    @Operation(summary = "Solves a JSON system using Pivot Gaussian Elimination", description = "Solves a system of linear equations, sent as a JSON body, using the Pivot Gaussian Elimination method.")
+    @PostMapping("/pivot-gaussian-elimination")
+    public PivotGaussianEliminationResponse pivotGaussianElimination(@RequestBody LinearSystemRequest request) {
+        return solverRunner.run("pivot-gaussian-elimination", Workload.direct(request.getVector().length), SolveKey.of(request.getMatrix(), request.getVector()), () -> pivotGaussianEliminationService.pivotGaussianElimination(request.getMatrix(), request.getVector()));
+    }
+
+    @Operation(summary = "Performs LU Gaussian Elimination on a JSON system", description = "Solves a system of linear equations, sent as a JSON body, using the LU Gaussian Elimination method.")
+    @PostMapping("/lu-gaussian-elimination")
+    public LUGaussianEliminationResponse luDecomposition(@RequestBody LinearSystemRequest request) {
+        return solverRunner.run("lu-gaussian-elimination", Workload.direct(request.getVector().length), SolveKey.of(request.getMatrix(), request.getVector()), () -> luGaussianEliminationService.luGaussianElimination(request.getMatrix(), request.getVector()));
+    }
+
+    @Operation(summary = "Solves a JSON system using the Jacobi method", description = "Solves a system of linear equations, sent as a JSON body, using the Jacobi iterative method. x0 defaults to the zero vector; a checkpoint returned by a previous solve of the same system continues from its last iterate. normType (L1, L2 or LINF) selects the norm of the errors; residual reports the norm of b - Ax of every iterate; acceleration ANDERSON mixes the last iterates.")
+    @PostMapping("/jacobi")
+    public JacobiResponse jacobi(@RequestBody LinearSystemRequest request) {
+        int size = request.getVector().length;
+        double[] x0 = initialGuess(request);
+        return solverRunner.run("jacobi", Workload.iterative(size, request.getMaxIterations()), SolveKey.of(size, request.getMatrix(), request.getVector(), x0, request.getErrorType(), request.getToleranceValue(), request.getMaxIterations(), request.getCheckpoint(), request.isSaveCheckpoint() ? 1 : 0, request.getNormType().name(), request.isResidual() ? 1 : 0, request.getAcceleration().name()), () -> jacobiService.jacobi(size, request.getMatrix(), request.getVector(), x0, request.getErrorType(), request.getToleranceValue(), request.getMaxIterations(), request.options()));
+    }
+
+    @Operation(summary = "Solves a JSON system using the Gauss-Seidel method", description = "Solves a system of linear equations, sent as a JSON body, using the Gauss-Seidel iterative method. x0 defaults to the zero vector; a checkpoint returned by a previous solve of the same system continues from its last iterate. normType (L1, L2 or LINF) selects the norm of the errors; residual reports the norm of b - Ax of every iterate; acceleration ANDERSON mixes the last iterates.")
+    @PostMapping("/gauss-seidel")
+    public GaussSeidelResponse gaussSeidel(@RequestBody LinearSystemRequest request) {
+        int size = request.getVector().length;
+        double[] x0 = initialGuess(request);
+        return solverRunner.run("gauss-seidel", Workload.iterative(size, request.getMaxIterations()), SolveKey.of(size, request.getMatrix(), request.getVector(), x0, request.getErrorType(), request.getToleranceValue(), request.getMaxIterations(), request.getCheckpoint(), request.isSaveCheckpoint() ? 1 : 0, request.getNormType().name(), request.isResidual() ? 1 : 0, request.getAcceleration().name()), () -> gaussSeidelService.gaussSeidel(size, request.getMatrix(), request.getVector(), x0, request.getErrorType(), request.getToleranceValue(), request.getMaxIterations(), request.options()));
+    }
+
+    @Operation(summary = "Solves a JSON system choosing the method automatically", description = "Solves a system of linear equations, sent as a JSON body, with the fastest applicable method.")
+    @PostMapping("/solve")
+    public SolveResponse solve(@RequestBody LinearSystemRequest request) {
+        return solverRunner.run("solve", Workload.direct(request.getVector().length), SolveKey.of(request.getMatrix(), request.getVector()), () -> solverSelectionService.solve(request.getMatrix(), request.getVector()));
+    }
+
+    private static double[] initialGuess(LinearSystemRequest request) {
+        return request.getX0() != null ? request.getX0() : new double[request.getVector().length];
+    }
+}
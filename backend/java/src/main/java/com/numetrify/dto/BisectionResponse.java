@@ -1,5 +1,6 @@
 package com.numetrify.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -8,10 +9,23 @@ import java.util.List;
 
 @Data
 @AllArgsConstructor
-public class BisectionResponse {
+public class BisectionResponse extends SolverResponse {
+    @JsonIgnore
+    private SolverOutcome outcome;
+
     private String message;
     private List<BigDecimal> xVals;
     private List<Double> fVals;
     private List<BigDecimal> errors;
     private List<Integer> iterations;
+
+    @Override
+    public SolverOutcome outcome() {
+        return outcome;
+    }
+
+    @Override
+    public int iterationCount() {
+        return iterations.isEmpty() ? 0 : iterations.get(iterations.size() - 1);
+    }
 }
@@ -0,0 +1,39 @@
+package com.numetrify.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ChebyshevRootsResponse extends SolverResponse {
+    @JsonIgnore
+    private SolverOutcome outcome;
+
+    private String message;
+    private List<Double> roots;
+
+    /**
+     * Chebyshev coefficients of the chopped interpolant, in the variable mapped from the interval to [-1, 1].
+     */
+    private double[] coefficients;
+
+    private int degree;
+
+    /**
+     * Number of times the degree of the interpolant was doubled.
+     */
+    private int refinements;
+
+    @Override
+    public SolverOutcome outcome() {
+        return outcome;
+    }
+
+    @Override
+    public int iterationCount() {
+        return refinements;
+    }
+}
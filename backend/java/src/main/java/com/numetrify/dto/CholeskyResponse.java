@@ -5,9 +5,19 @@ import lombok.Data;
 
 @Data
 @AllArgsConstructor
-public class CholeskyResponse {
+public class CholeskyResponse extends SolverResponse {
     private final String message;
     private final double[] solution;
     private final double[][] L;
     private final double[][] U;
-}
\ No newline at end of file
+
+    @Override
+    public SolverOutcome outcome() {
+        return SolverOutcome.fromSolution(solution);
+    }
+
+    @Override
+    public int iterationCount() {
+        return 0;
+    }
+}
@@ -5,8 +5,18 @@ import lombok.Data;
 
 @Data
 @AllArgsConstructor
-public class CroutResponse {
+public class CroutResponse extends SolverResponse {
     private final double[] solution;
     private final double[][] L;
     private final double[][] U;
-}
\ No newline at end of file
+
+    @Override
+    public SolverOutcome outcome() {
+        return SolverOutcome.fromSolution(solution);
+    }
+
+    @Override
+    public int iterationCount() {
+        return 0;
+    }
+}
@@ -5,8 +5,18 @@ import lombok.Data;
 
 @Data
 @AllArgsConstructor
-public class DoolittleResponse {
+public class DoolittleResponse extends SolverResponse {
     private double[] solution;
     private double[][] L;
     private double[][] U;
-}
\ No newline at end of file
+
+    @Override
+    public SolverOutcome outcome() {
+        return SolverOutcome.fromSolution(solution);
+    }
+
+    @Override
+    public int iterationCount() {
+        return 0;
+    }
+}
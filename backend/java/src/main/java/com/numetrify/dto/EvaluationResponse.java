@@ -0,0 +1,30 @@
+package com.numetrify.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EvaluationResponse extends SolverResponse {
+    @JsonIgnore
+    private SolverOutcome outcome;
+
+    private String message;
+    private double[] xValues;
+
+    /**
+     * Values of the function at the points, NaN where it is not defined.
+     */
+    private double[] functionValues;
+
+    @Override
+    public SolverOutcome outcome() {
+        return outcome;
+    }
+
+    @Override
+    public int iterationCount() {
+        return 0;
+    }
+}
@@ -1,5 +1,6 @@
 package com.numetrify.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,10 +8,23 @@ import java.util.List;
 
 @Data
 @AllArgsConstructor
-public class FalseRuleResponse {
+public class FalseRuleResponse extends SolverResponse {
+    @JsonIgnore
+    private SolverOutcome outcome;
+
     private String message;
     private List<Double> xValues;
     private List<Double> functionValues;
     private List<Double> errors;
     private List<Integer> iterations;
-}
\ No newline at end of file
+
+    @Override
+    public SolverOutcome outcome() {
+        return outcome;
+    }
+
+    @Override
+    public int iterationCount() {
+        return iterations.isEmpty() ? 0 : iterations.get(iterations.size() - 1);
+    }
+}
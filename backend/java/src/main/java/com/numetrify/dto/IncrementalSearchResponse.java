@@ -1,5 +1,6 @@
 package com.numetrify.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,11 +8,25 @@ import java.util.List;
 
 @Data
 @AllArgsConstructor
-public class IncrementalSearchResponse {
+public class IncrementalSearchResponse extends SolverResponse {
+    @JsonIgnore
+    private SolverOutcome outcome;
+
+    private String message;
     private double a;
     private double b;
     private int iterations;
     private List<Double> xValues;
     private List<Double> functionValues;
     private List<Double> errors;
-}
\ No newline at end of file
+
+    @Override
+    public SolverOutcome outcome() {
+        return outcome;
+    }
+
+    @Override
+    public int iterationCount() {
+        return iterations;
+    }
+}
@@ -0,0 +1,47 @@
+package com.numetrify.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class IntervalRootsResponse extends SolverResponse {
+    @JsonIgnore
+    private SolverOutcome outcome;
+
+    private String message;
+
+    /**
+     * Midpoints of the enclosures of the roots proven to exist and to be unique in them.
+     */
+    private List<Double> roots;
+
+    /**
+     * Bounds of the interval proven to hold exactly one root, for every root.
+     */
+    private List<double[]> enclosures;
+
+    /**
+     * Bounds of the intervals that may hold further roots: multiple or tangential roots, poles, or boxes left
+     * unexamined when the search was stopped. Every root of the range lies in an enclosure or in a candidate.
+     */
+    private List<double[]> candidates;
+
+    /**
+     * Number of boxes examined by the branch and bound.
+     */
+    private int boxes;
+
+    @Override
+    public SolverOutcome outcome() {
+        return outcome;
+    }
+
+    @Override
+    public int iterationCount() {
+        return boxes;
+    }
+}
@@ -1,5 +1,7 @@
 package com.numetrify.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,8 +9,34 @@ import java.util.List;
 
 @Data
 @AllArgsConstructor
-public class JacobiResponse {
+public class JacobiResponse extends SolverResponse {
+    @JsonIgnore
+    private SolverOutcome outcome;
+
     private String message;
     private List<double[]> xValues;
     private List<Double> errors;
-}
\ No newline at end of file
+
+    /**
+     * Norm of the residual b - Ax of every iterate, null unless requested.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Double> residuals;
+
+    /**
+     * Handle of the checkpoint to pass back to continue iterating from the last iterate, null if the setup failed
+     * or if the method converged and no checkpoint was requested.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String checkpoint;
+
+    @Override
+    public SolverOutcome outcome() {
+        return outcome;
+    }
+
+    @Override
+    public int iterationCount() {
+        return errors.size();
+    }
+}
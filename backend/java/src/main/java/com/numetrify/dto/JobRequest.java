@@ -0,0 +1,52 @@
+package com.numetrify.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.numetrify.service.Acceleration;
+import com.numetrify.service.JacobianUpdate;
+import com.numetrify.service.PolynomialRootMethod;
+import com.numetrify.service.matrix.NormType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of {@code POST /api/v1/jobs}: the method, named like its endpoint, and its parameters.
+ *
+ * Root-finding methods use the function fields, the interval or the initial guesses; linear-system methods
+ * use the matrix fields; newton-system uses the functions, variables and jacobian fields with x0;
+ * polynomial-roots uses the function and polynomialMethod, chebyshev-roots the interval and maxDegree.
+ * Parameters a method does not use are ignored.
+ */
+@Data
+@NoArgsConstructor
+public class JobRequest {
+    private String method;
+    private String function;
+    @JsonProperty("gFunction")
+    private String gFunction;
+    private double lowerBound;
+    private double upperBound;
+    private double initialGuess;
+    private double secondGuess;
+    private double step;
+    private double[][] matrix;
+    private double[] vector;
+    private double[] x0;
+    private int errorType = 1;
+    private double toleranceValue;
+    private int maxIterations = 100;
+    private long maxFunctionEvaluations;
+    private String checkpoint;
+    private boolean saveCheckpoint;
+    private NormType normType = NormType.L2;
+    private boolean residual;
+    private Acceleration acceleration = Acceleration.NONE;
+    private int reportInterval = 1;
+    private String[] functions;
+    private String[] variables;
+    private String[][] jacobian;
+    private JacobianUpdate update = JacobianUpdate.NEWTON;
+    private int refreshInterval = 5;
+    private boolean pivoting = true;
+    private PolynomialRootMethod polynomialMethod = PolynomialRootMethod.ABERTH;
+    private int maxDegree = 4096;
+}
@@ -0,0 +1,11 @@
+package com.numetrify.dto;
+
+/**
+ * Lifecycle of an asynchronous job.
+ */
+public enum JobState {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
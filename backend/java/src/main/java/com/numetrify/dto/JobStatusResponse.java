@@ -0,0 +1,27 @@
+package com.numetrify.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Status of an asynchronous job. The iteration and the residual are reported while the iterative matrix
+ * methods run; the outcome once the job succeeded, the message once it failed.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobStatusResponse {
+    private String id;
+    private String method;
+    private JobState state;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long iteration;
+    private Double residual;
+    private String outcome;
+    private String message;
+}
@@ -7,9 +7,19 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class LUGaussianEliminationResponse {
+public class LUGaussianEliminationResponse extends SolverResponse {
     private String message;
     private double[] solution;
     private double[][] L;
     private double[][] U;
-}
\ No newline at end of file
+
+    @Override
+    public SolverOutcome outcome() {
+        return SolverOutcome.fromSolution(solution);
+    }
+
+    @Override
+    public int iterationCount() {
+        return 0;
+    }
+}
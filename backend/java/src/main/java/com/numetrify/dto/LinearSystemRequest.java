@@ -0,0 +1,33 @@
+package com.numetrify.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.numetrify.service.Acceleration;
+import com.numetrify.service.IterationOptions;
+import com.numetrify.service.matrix.NormType;
+import com.numetrify.util.LinearSystemRequestDeserializer;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@JsonDeserialize(using = LinearSystemRequestDeserializer.class)
+public class LinearSystemRequest {
+    private double[][] matrix;
+    private double[] vector;
+    private double[] x0;
+    private int errorType = 1;
+    private double toleranceValue;
+    private int maxIterations;
+    private String checkpoint;
+    private boolean saveCheckpoint;
+    private NormType normType = NormType.L2;
+    private boolean residual;
+    private Acceleration acceleration = Acceleration.NONE;
+
+    /**
+     * Returns the options of the iterative methods given by the request.
+     */
+    public IterationOptions options() {
+        return new IterationOptions(checkpoint, saveCheckpoint, normType, residual, acceleration);
+    }
+}
@@ -1,5 +1,6 @@
 package com.numetrify.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,7 +8,10 @@ import java.util.List;
 
 @Data
 @AllArgsConstructor
-public class MultipleRootsResponse {
+public class MultipleRootsResponse extends SolverResponse {
+    @JsonIgnore
+    private SolverOutcome outcome;
+
     private String message;
     private List<Double> xValues;
     private List<Double> functionValues;
@@ -15,4 +19,14 @@ public class MultipleRootsResponse {
     private List<Double> secondDerivatives;
     private List<Double> errors;
     private List<Integer> iterations;
-}
\ No newline at end of file
+
+    @Override
+    public SolverOutcome outcome() {
+        return outcome;
+    }
+
+    @Override
+    public int iterationCount() {
+        return iterations.isEmpty() ? 0 : iterations.get(iterations.size() - 1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.numetrify.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class NewtonSystemResponse extends SolverResponse {
+    @JsonIgnore
+    private SolverOutcome outcome;
+
+    private String message;
+    private List<double[]> xValues;
+
+    /**
+     * Euclidean norm of F at every iterate.
+     */
+    private List<Double> functionNorms;
+
+    private List<Double> errors;
+
+    /**
+     * Number of Jacobians evaluated, by finite differences or from the given expressions.
+     */
+    private int jacobianEvaluations;
+
+    /**
+     * Number of LU factorizations of the Jacobian.
+     */
+    private int factorizations;
+
+    @Override
+    public SolverOutcome outcome() {
+        return outcome;
+    }
+
+    @Override
+    public int iterationCount() {
+        return errors.size();
+    }
+}
@@ -0,0 +1,29 @@
+package com.numetrify.dto;
+
+import com.numetrify.service.JacobianUpdate;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of {@code POST /api/v1/newton-system}, e.g.
+ * {@code {"functions": ["x^2 + y^2 - 4", "x*y - 1"], "variables": ["x", "y"], "x0": [2, 0.5], "toleranceValue": 7,
+ * "maxIterations": 50, "update": "BROYDEN"}}.
+ *
+ * The variables default to x1, ..., xn. The Jacobian is approximated by finite differences unless its entries
+ * are given as expressions, row by row.
+ */
+@Data
+@NoArgsConstructor
+public class NonlinearSystemRequest {
+    private String[] functions;
+    private String[] variables;
+    private double[] x0;
+    private String[][] jacobian;
+    private JacobianUpdate update = JacobianUpdate.NEWTON;
+    private int refreshInterval = 5;
+    private boolean pivoting = true;
+    private int errorType = 1;
+    private double toleranceValue;
+    private int maxIterations = 100;
+    private long maxFunctionEvaluations;
+}
@@ -0,0 +1,21 @@
+package com.numetrify.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Time and heap allocation of one phase of a profiled request.
+ */
+@Data
+@AllArgsConstructor
+public class PhaseTiming {
+    private long nanos;
+
+    /**
+     * Bytes allocated by the thread running the phase, null when the phase ran on a virtual thread (the parsing
+     * and serialization of the request), whose allocation the JVM does not measure.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long allocatedBytes;
+}
@@ -6,7 +6,17 @@ import lombok.NoArgsConstructor;
 
 @Data
 @AllArgsConstructor
-public class PivotGaussianEliminationResponse {
+public class PivotGaussianEliminationResponse extends SolverResponse {
     private final String message;
     private final double[] solution;
-}
\ No newline at end of file
+
+    @Override
+    public SolverOutcome outcome() {
+        return SolverOutcome.fromSolution(solution);
+    }
+
+    @Override
+    public int iterationCount() {
+        return 0;
+    }
+}
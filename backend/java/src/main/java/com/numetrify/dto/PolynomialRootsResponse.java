@@ -0,0 +1,42 @@
+package com.numetrify.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PolynomialRootsResponse extends SolverResponse {
+    @JsonIgnore
+    private SolverOutcome outcome;
+
+    private String message;
+
+    /**
+     * Coefficients of the polynomial by increasing power.
+     */
+    private double[] coefficients;
+
+    /**
+     * Real and imaginary parts of the roots, repeated by multiplicity and sorted by real then imaginary part.
+     */
+    private double[] realParts;
+    private double[] imaginaryParts;
+
+    /**
+     * Modulus of the polynomial at every root.
+     */
+    private double[] residuals;
+
+    private int iterations;
+
+    @Override
+    public SolverOutcome outcome() {
+        return outcome;
+    }
+
+    @Override
+    public int iterationCount() {
+        return iterations;
+    }
+}
@@ -5,6 +5,16 @@ import lombok.Data;
 
 @Data
 @AllArgsConstructor
-public class SimpleGaussianEliminationResponse {
+public class SimpleGaussianEliminationResponse extends SolverResponse {
     private final double[] solution;
-}
\ No newline at end of file
+
+    @Override
+    public SolverOutcome outcome() {
+        return SolverOutcome.fromSolution(solution);
+    }
+
+    @Override
+    public int iterationCount() {
+        return 0;
+    }
+}
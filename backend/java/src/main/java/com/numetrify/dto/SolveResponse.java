@@ -0,0 +1,35 @@
+package com.numetrify.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class SolveResponse extends SolverResponse {
+    @JsonIgnore
+    private SolverOutcome outcome;
+
+    private String message;
+    private String method;
+    private double[] solution;
+    private int size;
+    private double density;
+    private boolean symmetric;
+    private boolean diagonallyDominant;
+    private Boolean positiveDefinite;
+    private int iterations;
+    private Map<String, Long> phaseNanos;
+
+    @Override
+    public SolverOutcome outcome() {
+        return outcome;
+    }
+
+    @Override
+    public int iterationCount() {
+        return iterations;
+    }
+}
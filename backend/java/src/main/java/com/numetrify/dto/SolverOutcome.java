@@ -0,0 +1,65 @@
+package com.numetrify.dto;
+
+import java.util.List;
+
+/**
+ * How a solve ended, used to tag the solver metrics.
+ *
+ * The iterative and root-finding methods set it where they build their message; the direct methods derive it
+ * from their solution with {@link #fromSolution(double[])}.
+ */
+public enum SolverOutcome {
+
+    CONVERGED("converged"),
+    FAILED("failed"),
+    DIVERGED("diverged"),
+    INVALID_INTERVAL("invalid_interval"),
+    BUDGET_EXHAUSTED("budget_exhausted"),
+    TIMED_OUT("timed_out"),
+    ERROR("error");
+
+    private final String tag;
+
+    SolverOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Returns the outcome of an iterative method that stopped without converging: it diverged if its last
+     * iterate is no longer finite, it failed otherwise.
+     *
+     * @param iterates the iterates of the method, scalars or vectors
+     * @return DIVERGED or FAILED
+     */
+    public static SolverOutcome failedOrDiverged(List<?> iterates) {
+        return !iterates.isEmpty() && !isFinite(iterates.get(iterates.size() - 1)) ? DIVERGED : FAILED;
+    }
+
+    /**
+     * Classifies the response of a direct method by its solution.
+     *
+     * @param solution the solution vector, null when the method failed
+     * @return CONVERGED if the solution exists and is finite, FAILED otherwise
+     */
+    public static SolverOutcome fromSolution(double[] solution) {
+        return solution != null && isFinite(solution) ? CONVERGED : FAILED;
+    }
+
+    private static boolean isFinite(Object value) {
+        if (value instanceof Number number) {
+            return Double.isFinite(number.doubleValue());
+        }
+        if (value instanceof double[] vector) {
+            for (double v : vector) {
+                if (!Double.isFinite(v)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
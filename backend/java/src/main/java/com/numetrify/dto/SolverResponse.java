@@ -0,0 +1,33 @@
+package com.numetrify.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Base class of the responses of the numerical methods, holding the fields shared by every method.
+ *
+ * They are filled after the service returns, so they are not part of the constructors of the subclasses.
+ */
+@Data
+public abstract class SolverResponse implements SolverResult {
+
+    /**
+     * Phase timings of the request, present only when it was sent with {@code profile=true}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, PhaseTiming> timings;
+
+    /**
+     * Number of function evaluations, present only for the root-finding methods.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long functionEvaluations;
+
+    /**
+     * True when the solve was stopped by its deadline, the rest of the response then holds a partial result.
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean timedOut;
+}
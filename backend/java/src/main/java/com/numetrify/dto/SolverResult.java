@@ -0,0 +1,19 @@
+package com.numetrify.dto;
+
+/**
+ * Response of a numerical method, summarized for the solver metrics.
+ *
+ * The methods are not bean getters, so they are not serialized with the response.
+ */
+public interface SolverResult {
+
+    /**
+     * Returns how the solve ended.
+     */
+    SolverOutcome outcome();
+
+    /**
+     * Returns the number of iterations performed, 0 for direct methods.
+     */
+    int iterationCount();
+}
@@ -0,0 +1,21 @@
+package com.numetrify.execution;
+
+/**
+ * Thrown when a solve is not admitted by the {@link ComputeScheduler}, mapped to 429 Too Many Requests.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns the suggested delay before retrying, 0 if retrying the same request is pointless.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,137 @@
+package com.numetrify.execution;
+
+import com.numetrify.config.ComputeProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of platform threads running the CPU-heavy solves.
+ *
+ * Requests are handled on virtual threads, which are cheap to block but share a few carrier threads: a long
+ * factorization running on one of them would hold its carrier and delay every other request. Solves whose
+ * estimated {@link Workload} cost exceeds {@code numetrify.compute.inline-max-cost} are therefore handed to this
+ * pool, sized to the number of processors, while the request thread waits for them; cheap solves run directly on
+ * the request thread, so they never queue behind expensive ones. The size of a problem alone does not tell them
+ * apart: a root finder of size 1 may iterate over a long expression, a small system may iterate for long.
+ *
+ * At most {@code numetrify.compute.queue-capacity} solves wait for a compute thread; beyond that a solve is
+ * rejected like one not admitted by the {@link ComputeScheduler}. Profiled solves always run on the pool, the
+ * JVM measuring the allocation of platform threads only.
+ *
+ * The pool is a fork/join pool, and the parallel parts of a solve (row blocks, bisected boxes) are forked on it
+ * through {@link #current()}: they take turns with the other solves on the same threads instead of adding the
+ * threads of the common pool, so the admitted solves never keep more than the processors busy.
+ *
+ * The {@link Deadline}, the {@link PhaseProfiler} and the {@link Progress} of the request are bound to the
+ * compute thread for the duration of the solve. The pool is monitored under {@code numetrify.compute} (queued,
+ * running and stolen tasks).
+ */
+@Component
+public class ComputePool {
+
+    private final ExecutorService executor;
+
+    private final double inlineMaxCost;
+
+    /**
+     * Solves running or waiting on the pool, at most the threads plus the queue capacity.
+     */
+    private final Semaphore slots;
+
+    public ComputePool(ComputeProperties properties, MeterRegistry registry) {
+        int threads = properties.poolSize();
+        AtomicInteger counter = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(threads, forkJoinPool -> {
+            ComputeThread thread = new ComputeThread(forkJoinPool);
+            thread.setName("numetrify-compute-" + counter.incrementAndGet());
+            return thread;
+        }, null, false);
+        this.executor = ExecutorServiceMetrics.monitor(registry, pool, "numetrify.compute", Collections.emptyList());
+        this.inlineMaxCost = properties.getInlineMaxCost();
+        this.slots = new Semaphore(threads + properties.getQueueCapacity());
+    }
+
+    /**
+     * Returns the pool to fork the parallel parts of the current solve on, or null when the solve runs on the
+     * request thread, where they run sequentially.
+     */
+    public static ForkJoinPool current() {
+        return Thread.currentThread() instanceof ComputeThread thread ? thread.getPool() : null;
+    }
+
+    /**
+     * Runs a solve on the compute pool, or on the current thread if it is cheap, and waits for its result.
+     *
+     * @param cost the estimated cost of the solve, see {@link Workload#cost(long)}
+     * @param solver the solve
+     * @return the result of the solve
+     * @throws AdmissionRejectedException if too many solves already wait for a compute thread
+     */
+    public <T> T execute(double cost, Supplier<T> solver) {
+        PhaseProfiler profiler = PhaseProfiler.current();
+        if (cost <= inlineMaxCost && profiler == null) {
+            return solver.get();
+        }
+        if (!slots.tryAcquire()) {
+            throw new AdmissionRejectedException("Error: too many solves are waiting for a compute thread, retry later.", 1);
+        }
+        Deadline deadline = Deadline.current();
+        Progress progress = Progress.current();
+        Future<T> future = executor.submit(() -> {
+            Deadline.attach(deadline);
+            PhaseProfiler.attach(profiler);
+            Progress.bind(progress);
+            try {
+                return solver.get();
+            } finally {
+                Progress.bind(null);
+                PhaseProfiler.end();
+                Deadline.clear();
+            }
+        });
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the solve", e);
+        } finally {
+            slots.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Worker thread of the compute pool, telling the solves running on it apart from those on other threads.
+     */
+    private static final class ComputeThread extends ForkJoinWorkerThread {
+
+        ComputeThread(ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+}
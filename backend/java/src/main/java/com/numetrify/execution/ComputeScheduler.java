@@ -0,0 +1,188 @@
+package com.numetrify.execution;
+
+import com.numetrify.config.AdmissionProperties;
+import com.numetrify.config.ComputeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the solves.
+ *
+ * Each solve is assigned by its estimated cost (see {@link Workload}) to one of three lanes, light, medium and
+ * heavy, configured by {@link AdmissionProperties}. A lane runs a limited number of solves at a time and queues
+ * the others in arrival order, so a burst of large factorizations only ever occupies the heavy lane and the
+ * light lane keeps serving small requests. A solve is rejected with an {@link AdmissionRejectedException}
+ * (429 Too Many Requests) when:
+ * <ul>
+ *     <li>its estimated cost exceeds the largest cost of the heavy lane ({@code too_large});</li>
+ *     <li>the solves already waiting in its lane add up to more than the lane accepts ({@code capacity});</li>
+ *     <li>it waits longer than {@code numetrify.admission.queue-timeout} ({@code timeout}).</li>
+ * </ul>
+ * The lanes are monitored under {@code numetrify.admission}: {@code queue.depth}, {@code queued.cost} and
+ * {@code running} gauges and a {@code rejected} counter tagged with the reason.
+ *
+ * Example usage:
+ * <pre>
+ * {@code
+ * try (ComputeScheduler.Permit permit = computeScheduler.admit(Workload.direct(n).cost(1))) {
+ *     // ... solve
+ * }
+ * }
+ * </pre>
+ */
+@Component
+public class ComputeScheduler {
+
+    private static final Permit UNLIMITED = new Permit(null);
+
+    private final boolean enabled;
+
+    private final Duration queueTimeout;
+
+    private final List<Lane> lanes;
+
+    private final MeterRegistry registry;
+
+    public ComputeScheduler(AdmissionProperties properties, ComputeProperties computeProperties, MeterRegistry registry) {
+        int threads = computeProperties.poolSize();
+        this.enabled = properties.isEnabled();
+        this.queueTimeout = properties.getQueueTimeout();
+        this.registry = registry;
+        this.lanes = List.of(
+                new Lane("light", properties.getLight(), threads * 4),
+                new Lane("medium", properties.getMedium(), threads),
+                new Lane("heavy", properties.getHeavy(), Math.max(1, threads / 2)));
+    }
+
+    /**
+     * Waits until a solve of the given cost may run.
+     *
+     * @param cost the estimated operations of the solve
+     * @return the permit to close once the solve is over
+     * @throws AdmissionRejectedException if the solve is not admitted
+     */
+    public Permit admit(double cost) {
+        if (!enabled) {
+            return UNLIMITED;
+        }
+        Lane lane = laneFor(cost);
+        if (lane == null) {
+            throw reject(lanes.get(lanes.size() - 1), "too_large", String.format(
+                    "Error: the estimated cost of the solve (%.3g operations) exceeds the largest admitted cost of %.3g operations.",
+                    cost, lanes.get(lanes.size() - 1).maxCost), 0);
+        }
+        // Skip the queue accounting when nothing is waiting, without barging ahead of waiting solves otherwise
+        if (lane.waiting == 0 && lane.permits.tryAcquire()) {
+            return new Permit(lane);
+        }
+        if (!lane.enqueue(cost)) {
+            throw reject(lane, "capacity", "Error: too many solves are waiting in the " + lane.name + " lane, retry later.",
+                    Math.max(1, queueTimeout.toSeconds()));
+        }
+        boolean acquired;
+        try {
+            acquired = lane.permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for admission", e);
+        } finally {
+            lane.dequeue(cost);
+        }
+        if (!acquired) {
+            throw reject(lane, "timeout", "Error: the solve waited more than " + queueTimeout.toMillis()
+                    + " ms in the " + lane.name + " lane, retry later.", Math.max(1, queueTimeout.toSeconds()));
+        }
+        return new Permit(lane);
+    }
+
+    private Lane laneFor(double cost) {
+        for (Lane lane : lanes) {
+            if (cost <= lane.maxCost) {
+                return lane;
+            }
+        }
+        return null;
+    }
+
+    private AdmissionRejectedException reject(Lane lane, String reason, String message, long retryAfterSeconds) {
+        Counter.builder("numetrify.admission.rejected")
+                .description("Solves rejected by admission control")
+                .tags(Tags.of("lane", lane.name, "reason", reason))
+                .register(registry)
+                .increment();
+        return new AdmissionRejectedException(message, retryAfterSeconds);
+    }
+
+    /**
+     * Right to run a solve in a lane, released by {@link #close()}.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final Lane lane;
+
+        private Permit(Lane lane) {
+            this.lane = lane;
+        }
+
+        @Override
+        public void close() {
+            if (lane != null) {
+                lane.permits.release();
+            }
+        }
+    }
+
+    private final class Lane {
+
+        private final String name;
+        private final double maxCost;
+        private final double maxQueuedCost;
+        private final int concurrency;
+        private final Semaphore permits;
+        private volatile int waiting;
+        private volatile double queuedCost;
+
+        Lane(String name, AdmissionProperties.Lane properties, int defaultConcurrency) {
+            this.name = name;
+            this.maxCost = properties.getMaxCost();
+            this.maxQueuedCost = properties.getMaxQueuedCost();
+            this.concurrency = properties.getConcurrency() > 0 ? properties.getConcurrency() : defaultConcurrency;
+            this.permits = new Semaphore(concurrency, true);
+            Tags tags = Tags.of("lane", name);
+            Gauge.builder("numetrify.admission.queue.depth", this, lane -> lane.waiting)
+                    .description("Solves waiting for admission")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("numetrify.admission.queued.cost", this, lane -> lane.queuedCost)
+                    .description("Estimated operations of the solves waiting for admission")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("numetrify.admission.running", this, lane -> lane.concurrency - lane.permits.availablePermits())
+                    .description("Admitted solves currently running")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        synchronized boolean enqueue(double cost) {
+            if (waiting > 0 && queuedCost + cost > maxQueuedCost) {
+                return false;
+            }
+            waiting++;
+            queuedCost += cost;
+            return true;
+        }
+
+        synchronized void dequeue(double cost) {
+            waiting--;
+            queuedCost = waiting == 0 ? 0 : queuedCost - cost;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.numetrify.execution;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Wall-clock and iteration deadline of the solve running on the current thread.
+ *
+ * The {@link SolverRunner} installs a deadline around every solve and the methods check it cooperatively:
+ * iterative methods call {@link #reached(int)} in their loop condition and return their partial result once it
+ * is true, direct methods call {@link #check()} once per row or column of their factorization loops. When no
+ * deadline is installed (e.g. a service called directly), every check passes.
+ *
+ * Example usage:
+ * <pre>
+ * {@code
+ * while (error >= tolerance && iterationCount < maxIterations && !Deadline.reached(iterationCount)) {
+ *     // ...
+ * }
+ * String message = ... : Deadline.expired() ? Deadline.timeoutMessage(iterationCount) : ...;
+ * }
+ * </pre>
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final long timeoutNanos;
+    private final long maxIterations;
+    private volatile boolean expired;
+
+    Deadline(Duration timeout, long maxIterations) {
+        this.startNanos = System.nanoTime();
+        this.timeoutNanos = timeout.toNanos();
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Returns whether the current solve must stop before performing the given iteration.
+     *
+     * @param iteration the number of iterations already performed
+     * @return true if the wall-clock or the iteration deadline is reached
+     */
+    public static boolean reached(long iteration) {
+        Deadline deadline = CURRENT.get();
+        return deadline != null && deadline.reachedAt(iteration);
+    }
+
+    /**
+     * Stops a direct method that ran past the wall-clock deadline.
+     *
+     * @throws SolveTimeoutException if the deadline is reached
+     */
+    public static void check() {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null && deadline.reachedAt(0)) {
+            throw new SolveTimeoutException("Error: the solve exceeded its time limit of "
+                    + Duration.ofNanos(deadline.timeoutNanos).toMillis() + " ms and was cancelled.");
+        }
+    }
+
+    /**
+     * Returns a check of the deadline of the current solve for the tasks it forks to other threads, which do not
+     * see the deadline of the solve thread. The check is true once the wall-clock deadline is reached, and always
+     * false when no deadline is installed.
+     */
+    public static BooleanSupplier shared() {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? () -> false : () -> deadline.reachedAt(0);
+    }
+
+    /**
+     * Returns whether the current solve stopped because of its deadline.
+     */
+    public static boolean expired() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null && deadline.expired;
+    }
+
+    /**
+     * Returns the message of an iterative method stopped by its deadline.
+     *
+     * @param iterations the number of iterations performed
+     */
+    public static String timeoutMessage(long iterations) {
+        return "Timed out after " + iterations + " iterations, the result is partial";
+    }
+
+    static Deadline install(Duration timeout, long maxIterations) {
+        Deadline deadline = new Deadline(timeout, maxIterations);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the deadline of a request to the compute thread running its solve.
+     */
+    static void attach(Deadline deadline) {
+        if (deadline != null) {
+            CURRENT.set(deadline);
+        }
+    }
+
+    boolean isExpired() {
+        return expired;
+    }
+
+    private boolean reachedAt(long iteration) {
+        if (expired || iteration >= maxIterations || System.nanoTime() - startNanos >= timeoutNanos) {
+            expired = true;
+        }
+        return expired;
+    }
+}
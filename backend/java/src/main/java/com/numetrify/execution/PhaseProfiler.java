@@ -0,0 +1,163 @@
+package com.numetrify.execution;
+
+import com.numetrify.dto.PhaseTiming;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-request phase profiler, active only for requests sent with {@code profile=true}.
+ *
+ * The profiler works like a lap timer bound to the request thread: every {@link #mark(String)} attributes the
+ * wall-clock time and the heap allocation since the previous mark to the given phase. Services call
+ * {@code mark} at the end of each of their phases; when the request is not profiled, a mark costs a single
+ * thread-local lookup. Allocation is measured with {@code ThreadMXBean#getCurrentThreadAllocatedBytes()}, which
+ * only supports platform threads: the solve of a profiled request always runs on the {@link ComputePool}, and
+ * the phases spent on the virtual request thread ({@code parsing}, {@code queue}, {@code serialization}) report
+ * no allocation.
+ *
+ * Example usage:
+ * <pre>
+ * {@code
+ * // ... factorize A
+ * PhaseProfiler.mark("factorization");
+ * // ... forward and backward substitution
+ * PhaseProfiler.mark("substitution");
+ * }
+ * </pre>
+ */
+public final class PhaseProfiler {
+
+    private static final ThreadLocal<PhaseProfiler> CURRENT = new ThreadLocal<>();
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    private final Map<String, PhaseTiming> timings = new LinkedHashMap<>();
+    private long lastNanos;
+    private long lastBytes;
+    private String lastPhase;
+    private int serviceMarks;
+
+    private PhaseProfiler() {
+        lastNanos = System.nanoTime();
+        lastBytes = allocatedBytes();
+    }
+
+    /**
+     * Starts profiling the current request on the current thread.
+     */
+    public static void begin() {
+        CURRENT.set(new PhaseProfiler());
+    }
+
+    /**
+     * Stops profiling the current request on the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the profiler of the current request, or null if the request is not profiled.
+     */
+    public static PhaseProfiler current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Attributes the time and allocation since the previous mark to the given phase. A phase marked several
+     * times accumulates.
+     *
+     * @param phase the name of the phase that just ended
+     */
+    public static void mark(String phase) {
+        PhaseProfiler profiler = CURRENT.get();
+        if (profiler != null) {
+            profiler.serviceMarks++;
+            profiler.record(phase);
+        }
+    }
+
+    /**
+     * Binds the profiler of a request to the compute thread running its solve. The time spent waiting for the
+     * compute thread is attributed to {@code queue}; allocation is measured on the compute thread from then on.
+     */
+    static void attach(PhaseProfiler profiler) {
+        if (profiler != null) {
+            CURRENT.set(profiler);
+            profiler.switchThread();
+        }
+    }
+
+    /**
+     * Attributes everything since the request started to {@code parsing}, before the solve is dispatched.
+     */
+    void parsed() {
+        record("parsing");
+    }
+
+    /**
+     * Runs a numerical method, attributing the part of the method not covered by its own marks to its last
+     * phase, or to {@code solve} if it has none. Must be called on the thread running the method.
+     */
+    <T> T profile(Supplier<T> solver) {
+        serviceMarks = 0;
+        T result = solver.get();
+        record(serviceMarks == 0 ? "solve" : lastPhase);
+        return result;
+    }
+
+    /**
+     * Measures an action as the given phase, e.g. the serialization of the response.
+     */
+    public void measure(String phase, Runnable action) {
+        lastNanos = System.nanoTime();
+        lastBytes = allocatedBytes();
+        action.run();
+        record(phase);
+    }
+
+    public Map<String, PhaseTiming> getTimings() {
+        return timings;
+    }
+
+    private void record(String phase) {
+        long nanos = System.nanoTime();
+        long bytes = allocatedBytes();
+        Long allocated = bytes < 0 || lastBytes < 0 ? null : bytes - lastBytes;
+        timings.merge(phase, new PhaseTiming(nanos - lastNanos, allocated), (previous, current) ->
+                new PhaseTiming(previous.getNanos() + current.getNanos(),
+                        previous.getAllocatedBytes() == null || current.getAllocatedBytes() == null ? null
+                                : previous.getAllocatedBytes() + current.getAllocatedBytes()));
+        lastNanos = nanos;
+        lastBytes = bytes;
+        lastPhase = phase;
+    }
+
+    private void switchThread() {
+        long nanos = System.nanoTime();
+        timings.merge("queue", new PhaseTiming(nanos - lastNanos, null), (previous, current) ->
+                new PhaseTiming(previous.getNanos() + current.getNanos(), previous.getAllocatedBytes()));
+        lastNanos = nanos;
+        lastBytes = allocatedBytes();
+    }
+
+    /**
+     * Returns the bytes allocated so far by the current thread, -1 if they cannot be measured.
+     */
+    private static long allocatedBytes() {
+        return THREADS != null && !Thread.currentThread().isVirtual() ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean allocation && allocation.isThreadAllocatedMemorySupported()) {
+            allocation.setThreadAllocatedMemoryEnabled(true);
+            return allocation;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.numetrify.execution;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Starts the {@link PhaseProfiler} for requests sent with {@code profile=true} and stops it once the response
+ * has been written.
+ */
+public class ProfilingInterceptor implements HandlerInterceptor {
+
+    static final String PROFILE_PARAMETER = "profile";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (Boolean.parseBoolean(request.getParameter(PROFILE_PARAMETER))) {
+            PhaseProfiler.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        PhaseProfiler.end();
+    }
+}
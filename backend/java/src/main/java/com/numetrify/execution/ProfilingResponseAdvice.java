@@ -0,0 +1,55 @@
+package com.numetrify.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.numetrify.dto.SolverResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Attaches the phase timings of a profiled request to its JSON response.
+ *
+ * The serialization phase is measured by serializing the response once, without its timings, before Spring
+ * writes it; profiled requests therefore pay for serialization twice.
+ */
+@ControllerAdvice
+public class ProfilingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ObjectMapper objectMapper;
+
+    public ProfilingResponseAdvice(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        PhaseProfiler profiler = PhaseProfiler.current();
+        if (profiler != null && body instanceof SolverResponse solverResponse) {
+            profiler.measure("serialization", () -> {
+                try {
+                    objectMapper.writeValue(OutputStream.nullOutputStream(), solverResponse);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            solverResponse.setTimings(profiler.getTimings());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,69 @@
+package com.numetrify.execution;
+
+/**
+ * Progress of the solve running on the current thread, observed while it runs by the job API.
+ *
+ * The iterative matrix methods call {@link #report(long, double)} once per iteration; when no progress is bound
+ * to the thread (every synchronous request), a report costs a single thread-local lookup.
+ *
+ * Example usage:
+ * <pre>
+ * {@code
+ * errors.add(error);
+ * Progress.report(iterations + 1, error);
+ * }
+ * </pre>
+ */
+public final class Progress {
+
+    private static final ThreadLocal<Progress> CURRENT = new ThreadLocal<>();
+
+    private volatile long iteration = -1;
+
+    private volatile double residual = Double.NaN;
+
+    /**
+     * Publishes the progress of the current solve.
+     *
+     * @param iteration the number of iterations performed
+     * @param residual the error of the last iteration
+     */
+    public static void report(long iteration, double residual) {
+        Progress progress = CURRENT.get();
+        if (progress != null) {
+            progress.residual = residual;
+            progress.iteration = iteration;
+        }
+    }
+
+    /**
+     * Binds the given progress to the current thread, null to unbind it.
+     */
+    public static void bind(Progress progress) {
+        if (progress != null) {
+            CURRENT.set(progress);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    static Progress current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns the number of iterations performed, or null if the solve reported none.
+     */
+    public Long getIteration() {
+        long value = iteration;
+        return value < 0 ? null : value;
+    }
+
+    /**
+     * Returns the error of the last iteration, or null if the solve reported none.
+     */
+    public Double getResidual() {
+        double value = residual;
+        return Double.isNaN(value) ? null : value;
+    }
+}
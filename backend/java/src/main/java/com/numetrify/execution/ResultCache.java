@@ -0,0 +1,114 @@
+package com.numetrify.execution;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.numetrify.config.CacheProperties;
+import com.numetrify.dto.SolverResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the responses of identical solves, with request coalescing.
+ *
+ * Responses are keyed by the method and the {@link SolveKey} of its parameters, and expire
+ * {@code numetrify.cache.ttl} after they were computed. The first request for a key computes the response on
+ * its own thread; identical requests arriving meanwhile wait for it instead of solving again. The methods are
+ * deterministic, so failed and diverged runs are cached as well; only solves that threw or were stopped by their
+ * deadline are handed to the waiting requests but not kept.
+ *
+ * The cache is bounded by {@code numetrify.cache.max-memory}, each response weighing its estimated size and at
+ * least {@code max-memory / max-entries}, which also bounds the number of entries. It is monitored under
+ * {@code numetrify.solver.cache} (gets by result, evictions, size), with a {@code hit.ratio} gauge and a
+ * {@code coalesced} counter of the requests that waited for an identical one.
+ */
+@Component
+public class ResultCache {
+
+    private final boolean enabled;
+
+    private final AsyncCache<Key, Entry> cache;
+
+    private final Counter coalesced;
+
+    public ResultCache(CacheProperties properties, MeterRegistry registry) {
+        long maxKilobytes = Math.max(1, properties.getMaxMemory().toKilobytes());
+        int minWeight = (int) Math.max(1, maxKilobytes / Math.max(1, properties.getMaxEntries()));
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumWeight(maxKilobytes)
+                .<Key, Entry>weigher((key, entry) -> Math.max(minWeight, entry.kilobytes()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "numetrify.solver.cache");
+        Gauge.builder("numetrify.solver.cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .description("Fraction of the cache lookups answered from the cache or by an identical running solve")
+                .register(registry);
+        this.coalesced = Counter.builder("numetrify.solver.cache.coalesced")
+                .description("Requests that waited for an identical running solve")
+                .register(registry);
+    }
+
+    /**
+     * Returns the cached response of an identical solve, waits for an identical running solve, or runs the solve.
+     *
+     * @param method the name of the method
+     * @param size the size of the problem, used to estimate the size of the response
+     * @param key the key of the parameters of the solve
+     * @param solver the solve
+     * @return the response, possibly shared with other requests
+     */
+    @SuppressWarnings("unchecked")
+    <T extends SolverResponse> T get(String method, int size, SolveKey key, Supplier<T> solver) {
+        if (!enabled) {
+            return solver.get();
+        }
+        Key cacheKey = new Key(method, key);
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> future = cache.get(cacheKey, (k, executor) -> mine);
+        if (future != mine) {
+            if (!future.isDone()) {
+                coalesced.increment();
+            }
+            try {
+                return (T) future.join().response();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+        T response;
+        try {
+            response = solver.get();
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        mine.complete(new Entry(response, kilobytes(size, response.iterationCount())));
+        if (response.isTimedOut()) {
+            cache.asMap().remove(cacheKey, mine);
+        }
+        return response;
+    }
+
+    /**
+     * Estimates the size of a response: the factors of a direct method, or one iterate and a few scalars per
+     * iteration of an iterative method.
+     */
+    private static int kilobytes(int size, int iterations) {
+        long doubles = 3L * size * size + (iterations + 1L) * (size + 3L);
+        return (int) Math.min(Integer.MAX_VALUE, doubles * Double.BYTES / 1024 + 1);
+    }
+
+    private record Key(String method, SolveKey parameters) {
+    }
+
+    private record Entry(SolverResponse response, int kilobytes) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.numetrify.execution;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Canonical hash of the parameters of a solve, identifying identical requests for the {@link ResultCache}.
+ *
+ * The parameters are encoded with a type tag, a length prefix for strings and arrays and the exact bits of every
+ * double, then hashed with SHA-256, so the key does not retain the matrices it was computed from. Two requests
+ * get the same key if and only if (up to SHA-256 collisions) they pass the same values to the method, whatever
+ * the format (form parameters, JSON or binary) they were sent in.
+ *
+ * Example usage:
+ * <pre>
+ * {@code
+ * SolveKey key = SolveKey.of(A, b);
+ * }
+ * </pre>
+ */
+public final class SolveKey {
+
+    private static final int CHUNK = 8192;
+
+    private final byte[] digest;
+
+    private final int hash;
+
+    private SolveKey(byte[] digest) {
+        this.digest = digest;
+        this.hash = Arrays.hashCode(digest);
+    }
+
+    /**
+     * Hashes the parameters of a solve: strings, numbers, double arrays and matrices, string arrays and tables, or
+     * null.
+     *
+     * @param parameters the parameters, in the order the method takes them
+     * @return the key of the solve
+     * @throws IllegalArgumentException if a parameter has another type
+     */
+    public static SolveKey of(Object... parameters) {
+        MessageDigest sha256 = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK);
+        for (Object parameter : parameters) {
+            if (parameter == null) {
+                put(sha256, buffer, 0);
+            } else if (parameter instanceof String string) {
+                put(sha256, buffer, 1);
+                putString(sha256, buffer, string);
+            } else if (parameter instanceof Double || parameter instanceof Float) {
+                put(sha256, buffer, 2);
+                putLong(sha256, buffer, Double.doubleToLongBits(((Number) parameter).doubleValue()));
+            } else if (parameter instanceof Number number) {
+                put(sha256, buffer, 3);
+                putLong(sha256, buffer, number.longValue());
+            } else if (parameter instanceof double[] vector) {
+                put(sha256, buffer, 4);
+                putVector(sha256, buffer, vector);
+            } else if (parameter instanceof double[][] matrix) {
+                put(sha256, buffer, 5);
+                putLong(sha256, buffer, matrix.length);
+                for (double[] row : matrix) {
+                    putVector(sha256, buffer, row);
+                }
+            } else if (parameter instanceof String[] strings) {
+                put(sha256, buffer, 6);
+                putStrings(sha256, buffer, strings);
+            } else if (parameter instanceof String[][] table) {
+                put(sha256, buffer, 7);
+                putLong(sha256, buffer, table.length);
+                for (String[] row : table) {
+                    putStrings(sha256, buffer, row);
+                }
+            } else {
+                throw new IllegalArgumentException("Unsupported parameter type " + parameter.getClass().getName());
+            }
+        }
+        flush(sha256, buffer);
+        return new SolveKey(sha256.digest());
+    }
+
+    private static void putString(MessageDigest sha256, ByteBuffer buffer, String string) {
+        if (string == null) {
+            putLong(sha256, buffer, -1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        putLong(sha256, buffer, bytes.length);
+        flush(sha256, buffer);
+        sha256.update(bytes);
+    }
+
+    private static void putStrings(MessageDigest sha256, ByteBuffer buffer, String[] strings) {
+        if (strings == null) {
+            putLong(sha256, buffer, -1);
+            return;
+        }
+        putLong(sha256, buffer, strings.length);
+        for (String string : strings) {
+            putString(sha256, buffer, string);
+        }
+    }
+
+    private static void putVector(MessageDigest sha256, ByteBuffer buffer, double[] vector) {
+        if (vector == null) {
+            putLong(sha256, buffer, -1);
+            return;
+        }
+        putLong(sha256, buffer, vector.length);
+        for (double value : vector) {
+            putLong(sha256, buffer, Double.doubleToLongBits(value));
+        }
+    }
+
+    private static void put(MessageDigest sha256, ByteBuffer buffer, int tag) {
+        if (!buffer.hasRemaining()) {
+            flush(sha256, buffer);
+        }
+        buffer.put((byte) tag);
+    }
+
+    private static void putLong(MessageDigest sha256, ByteBuffer buffer, long value) {
+        if (buffer.remaining() < Long.BYTES) {
+            flush(sha256, buffer);
+        }
+        buffer.putLong(value);
+    }
+
+    private static void flush(MessageDigest sha256, ByteBuffer buffer) {
+        buffer.flip();
+        sha256.update(buffer);
+        buffer.clear();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SolveKey key && Arrays.equals(digest, key.digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return HexFormat.of().formatHex(digest);
+    }
+}
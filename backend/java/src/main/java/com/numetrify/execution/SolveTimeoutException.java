@@ -0,0 +1,12 @@
+package com.numetrify.execution;
+
+/**
+ * Thrown by {@link Deadline#check()} when a direct method runs past the deadline of its request. Iterative
+ * methods do not throw it: they stop and return their partial result instead.
+ */
+public class SolveTimeoutException extends RuntimeException {
+
+    public SolveTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,194 @@
+package com.numetrify.execution;
+
+import com.numetrify.config.DeadlineProperties;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.dto.SolverResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the numerical methods on behalf of the controllers and records their metrics.
+ *
+ * Every solve is recorded under the following meters, exposed by the Actuator Prometheus endpoint:
+ * <ul>
+ *     <li>{@code numetrify.solver.duration}: timer tagged with the method, the size bucket and the outcome</li>
+ *     <li>{@code numetrify.solver.iterations}: distribution of the iterations per solve, same tags</li>
+ *     <li>{@code numetrify.solver.function.evaluations}: counter of the function evaluations of the root-finding
+ *     methods, tagged with the method and the outcome</li>
+ *     <li>{@code numetrify.solver.in.flight}: gauge of the solves currently running, tagged with the method</li>
+ * </ul>
+ * The outcome comes from {@link SolverResponse#outcome()}, or is {@code error} when the method throws.
+ *
+ * When the request is profiled, the time before the solve is recorded as the {@code parsing} phase of the
+ * {@link PhaseProfiler}.
+ *
+ * Every solve runs under a {@link Deadline} configured by {@link DeadlineProperties} for its method. A solve
+ * stopped by its deadline is marked {@code timedOut} and recorded with the {@code timed_out} outcome.
+ *
+ * Solves are first admitted by the {@link ComputeScheduler} according to their estimated {@link Workload}, then
+ * run on the {@link ComputePool}; the deadline covers the time spent waiting for a compute thread, not the time
+ * spent waiting for admission.
+ *
+ * Solves run with a {@link SolveKey} are answered from the {@link ResultCache} when an identical solve ran
+ * recently; cache hits are not recorded under the solver meters.
+ */
+@Component
+public class SolverRunner {
+
+    private final MeterRegistry registry;
+
+    private final DeadlineProperties deadlineProperties;
+
+    private final ComputePool computePool;
+
+    private final ComputeScheduler computeScheduler;
+
+    private final ResultCache resultCache;
+
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public SolverRunner(MeterRegistry registry, DeadlineProperties deadlineProperties, ComputePool computePool,
+                        ComputeScheduler computeScheduler, ResultCache resultCache) {
+        this.registry = registry;
+        this.deadlineProperties = deadlineProperties;
+        this.computePool = computePool;
+        this.computeScheduler = computeScheduler;
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Runs a numerical method and records its metrics.
+     *
+     * @param method the name of the method, used as the {@code method} tag (e.g. the endpoint name)
+     * @param workload the estimated work of the solve, computed from its inputs
+     * @param solver the call to the service
+     * @return the response of the service
+     * @throws AdmissionRejectedException if the solve is not admitted by the {@link ComputeScheduler}
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * CholeskyResponse response = solverRunner.run("cholesky", Workload.direct(A.length), () -> choleskyService.cholesky(A, b));
+     * }
+     * </pre>
+     */
+    public <T extends SolverResponse> T run(String method, Workload workload, Supplier<T> solver) {
+        return run(method, workload, deadlineProperties.timeoutFor(method), solver);
+    }
+
+    /**
+     * Runs a numerical method, or answers from the {@link ResultCache} if an identical solve ran recently or is
+     * running. Profiled requests always solve, their response carrying their own timings.
+     *
+     * @param method the name of the method, used as the {@code method} tag (e.g. the endpoint name)
+     * @param workload the estimated work of the solve, computed from its inputs
+     * @param key the key of the parameters of the solve
+     * @param solver the call to the service
+     * @return the response of the service, possibly shared with other requests and not to be modified
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * CholeskyResponse response = solverRunner.run("cholesky", Workload.direct(A.length), SolveKey.of(A, b), () -> choleskyService.cholesky(A, b));
+     * }
+     * </pre>
+     */
+    public <T extends SolverResponse> T run(String method, Workload workload, SolveKey key, Supplier<T> solver) {
+        if (PhaseProfiler.current() != null) {
+            return run(method, workload, solver);
+        }
+        return resultCache.get(method, workload.size(), key, () -> run(method, workload, solver));
+    }
+
+    /**
+     * Runs a numerical method with the given wall-clock limit instead of the one configured for the method, e.g.
+     * for an asynchronous job.
+     */
+    public <T extends SolverResponse> T run(String method, Workload workload, Duration timeout, Supplier<T> solver) {
+        try (ComputeScheduler.Permit permit = computeScheduler.admit(workload.cost(deadlineProperties.maxIterationsFor(method)))) {
+            return solve(method, workload, timeout, solver);
+        }
+    }
+
+    private <T extends SolverResponse> T solve(String method, Workload workload, Duration timeout, Supplier<T> solver) {
+        AtomicInteger running = inFlight.computeIfAbsent(method,
+                key -> registry.gauge("numetrify.solver.in.flight", Tags.of("method", key), new AtomicInteger()));
+        Tags tags = Tags.of("method", method, "size", sizeBucket(workload.size()));
+        running.incrementAndGet();
+        long start = System.nanoTime();
+        SolverOutcome outcome = SolverOutcome.ERROR;
+        int iterations = 0;
+        Long functionEvaluations = null;
+        Deadline deadline = Deadline.install(timeout, deadlineProperties.maxIterationsFor(method));
+        try {
+            PhaseProfiler profiler = PhaseProfiler.current();
+            if (profiler != null) {
+                profiler.parsed();
+            }
+            T response = computePool.execute(workload.cost(deadlineProperties.maxIterationsFor(method)), () -> {
+                PhaseProfiler current = PhaseProfiler.current();
+                return current != null ? current.profile(solver) : solver.get();
+            });
+            outcome = response.outcome();
+            iterations = response.iterationCount();
+            functionEvaluations = response.getFunctionEvaluations();
+            if (deadline.isExpired()) {
+                response.setTimedOut(true);
+                outcome = SolverOutcome.TIMED_OUT;
+            }
+            return response;
+        } catch (SolveTimeoutException e) {
+            outcome = SolverOutcome.TIMED_OUT;
+            throw e;
+        } finally {
+            Deadline.clear();
+            long elapsed = System.nanoTime() - start;
+            running.decrementAndGet();
+            Tags outcomeTags = tags.and("outcome", outcome.getTag());
+            Timer.builder("numetrify.solver.duration")
+                    .description("Wall-clock time of a solve")
+                    .tags(outcomeTags)
+                    .register(registry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("numetrify.solver.iterations")
+                    .description("Iterations performed by a solve")
+                    .tags(outcomeTags)
+                    .register(registry)
+                    .record(iterations);
+            if (functionEvaluations != null) {
+                Counter.builder("numetrify.solver.function.evaluations")
+                        .description("Function evaluations performed by the root-finding methods")
+                        .tags(Tags.of("method", method, "outcome", outcome.getTag()))
+                        .register(registry)
+                        .increment(functionEvaluations);
+            }
+        }
+    }
+
+    /**
+     * Groups problem sizes by order of magnitude, keeping the number of time series small.
+     */
+    static String sizeBucket(int size) {
+        if (size <= 1) {
+            return "1";
+        } else if (size <= 10) {
+            return "2-10";
+        } else if (size <= 100) {
+            return "11-100";
+        } else if (size <= 1000) {
+            return "101-1000";
+        }
+        return "1001+";
+    }
+}
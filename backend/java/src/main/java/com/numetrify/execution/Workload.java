@@ -0,0 +1,87 @@
+package com.numetrify.execution;
+
+/**
+ * Estimated work of a solve, computed from its inputs before it runs.
+ *
+ * The cost is a rough operation count, only meant to tell a 20-iteration secant from an n^3 factorization:
+ * <ul>
+ *     <li>direct methods: n^3 for the factorization or elimination;</li>
+ *     <li>out-of-core factorizations: their n^3 / 3 (Cholesky) or 2 n^3 / 3 (LU) floating-point operations,
+ *     the tiles being streamed from disk at a rate close to that of the in-memory methods;</li>
+ *     <li>iterative methods: n^2 per iteration, for at most maxIterations iterations;</li>
+ *     <li>root finding: {@value #OPERATIONS_PER_CHARACTER} operations per character of the expressions per
+ *     iteration, the evaluation of the function dominating;</li>
+ *     <li>nonlinear systems: per iteration, n^3 for the factorization of the Jacobian and n + 1 evaluations of the
+ *     expressions for F and its finite-difference Jacobian.</li>
+ * </ul>
+ * The iterations are capped by the iteration deadline of the method (see {@link #cost(long)}), since a solve
+ * never runs past it.
+ *
+ * @param size the size of the problem: the order of the matrix, or 1 for root finding
+ * @param iterations the maximum number of iterations, 1 for direct methods
+ * @param costPerIteration the estimated operations per iteration
+ */
+public record Workload(int size, long iterations, double costPerIteration) {
+
+    /**
+     * Estimated operations to evaluate one character of an mXparser expression.
+     */
+    static final int OPERATIONS_PER_CHARACTER = 100;
+
+    /**
+     * Workload of a direct method on a system of order n.
+     */
+    public static Workload direct(int n) {
+        return new Workload(n, 1, (double) n * n * n);
+    }
+
+    /**
+     * Workload of an out-of-core factorization of a matrix of order n.
+     *
+     * @param method the factorization, "cholesky" or "lu"
+     */
+    public static Workload outOfCore(int n, String method) {
+        double cube = (double) n * n * n;
+        return new Workload(n, 1, method.equals("cholesky") ? cube / 3 : 2 * cube / 3);
+    }
+
+    /**
+     * Workload of an iterative method on a system of order n.
+     */
+    public static Workload iterative(int n, long maxIterations) {
+        return new Workload(n, Math.max(1, maxIterations), (double) n * n);
+    }
+
+    /**
+     * Workload of a root-finding method evaluating the given expressions at each iteration.
+     */
+    public static Workload rootFinding(long maxIterations, String... expressions) {
+        long characters = 0;
+        for (String expression : expressions) {
+            characters += expression != null ? expression.length() : 0;
+        }
+        return new Workload(1, Math.max(1, maxIterations), (double) Math.max(1, characters) * OPERATIONS_PER_CHARACTER);
+    }
+
+    /**
+     * Workload of Newton's method on a system of n nonlinear equations, the worst case of a new Jacobian at
+     * every iteration.
+     */
+    public static Workload nonlinearSystem(int n, long maxIterations, String... expressions) {
+        long characters = 0;
+        for (String expression : expressions) {
+            characters += expression != null ? expression.length() : 0;
+        }
+        double evaluations = (double) (n + 1) * Math.max(1, characters) * OPERATIONS_PER_CHARACTER;
+        return new Workload(n, Math.max(1, maxIterations), (double) n * n * n + evaluations);
+    }
+
+    /**
+     * Returns the estimated operations of the solve.
+     *
+     * @param maxIterations the iteration deadline of the method
+     */
+    public double cost(long maxIterations) {
+        return Math.min(iterations, maxIterations) * costPerIteration;
+    }
+}
@@ -0,0 +1,136 @@
+package com.numetrify.expression;
+
+import org.mariuszgromada.math.mxparser.Argument;
+import org.mariuszgromada.math.mxparser.Expression;
+import org.mariuszgromada.math.mxparser.Function;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A function of x, compiled once and evaluated many times, that counts its evaluations against an
+ * {@link EvaluationBudget}.
+ *
+ * Besides the point evaluations of {@link #calculate(double)}, {@link #evaluate(double[], double[])} evaluates
+ * whole arrays of points, for the methods that scan or sample the function: polynomials by Horner's scheme over
+ * the array, expressions in the subset of {@link ExpressionTree} node by node over the array, and the others
+ * point by point with mXparser.
+ */
+public final class CompiledFunction {
+
+    private final DoubleUnaryOperator evaluator;
+    private final EvaluationBudget budget;
+    private final boolean validSyntax;
+    private final Polynomial polynomial;
+    private final ExpressionTree tree;
+
+    private CompiledFunction(DoubleUnaryOperator evaluator, EvaluationBudget budget, boolean validSyntax, Polynomial polynomial, ExpressionTree tree) {
+        this.evaluator = evaluator;
+        this.budget = budget;
+        this.validSyntax = validSyntax;
+        this.polynomial = polynomial;
+        this.tree = tree;
+    }
+
+    /**
+     * Compiles a function definition such as {@code "f(x) = x^3 - x - 2"}. Polynomials written as a sum of
+     * monomials are evaluated by Horner's scheme instead of mXparser; factored ones, which expanding would make
+     * cancel near their roots, are evaluated as written.
+     *
+     * @param definition the mXparser function definition
+     * @param budget the budget the evaluations are counted against
+     * @return the compiled function
+     */
+    public static CompiledFunction of(String definition, EvaluationBudget budget) {
+        Polynomial polynomial = Polynomial.parseDefinition(definition);
+        if (polynomial != null) {
+            return of(polynomial, budget);
+        }
+        Function function = new Function(definition);
+        return new CompiledFunction(function::calculate, budget, function.checkSyntax(), null, ExpressionTree.parseDefinition(definition));
+    }
+
+    /**
+     * Wraps a polynomial, evaluated by Horner's scheme.
+     *
+     * @param polynomial the polynomial
+     * @param budget the budget the evaluations are counted against
+     * @return the compiled function
+     */
+    public static CompiledFunction of(Polynomial polynomial, EvaluationBudget budget) {
+        return new CompiledFunction(polynomial::evaluate, budget, true, polynomial, null);
+    }
+
+    /**
+     * Wraps an expression of the given argument, e.g. one using {@code der(...)}.
+     *
+     * @param expression the mXparser expression
+     * @param argument the argument of the expression, set before each evaluation
+     * @param budget the budget the evaluations are counted against
+     * @return the compiled function
+     */
+    public static CompiledFunction of(Expression expression, Argument argument, EvaluationBudget budget) {
+        return new CompiledFunction(value -> {
+            argument.setArgumentValue(value);
+            return expression.calculate();
+        }, budget, expression.checkSyntax(), null, null);
+    }
+
+    /**
+     * Evaluates the function and counts the evaluation.
+     *
+     * @param x the point at which to evaluate the function
+     * @return the value of the function, NaN where it is not defined
+     */
+    public double calculate(double x) {
+        budget.count();
+        return evaluator.applyAsDouble(x);
+    }
+
+    /**
+     * Evaluates the function at every point of an array and counts one evaluation per point. The values agree
+     * with those of {@link #calculate(double)} up to rounding.
+     *
+     * @param xs the points
+     * @param out the values of the function at the points, NaN where it is not defined, at least as long as xs
+     */
+    public void evaluate(double[] xs, double[] out) {
+        budget.count(xs.length);
+        if (polynomial != null) {
+            polynomial.evaluate(xs, out);
+        } else if (tree != null) {
+            tree.evaluate(xs, out);
+        } else {
+            for (int i = 0; i < xs.length; i++) {
+                out[i] = evaluator.applyAsDouble(xs[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns whether {@link #evaluate(double[], double[])} evaluates whole arrays at once, by Horner's scheme or
+     * node by node over the tree, rather than point by point with mXparser.
+     */
+    public boolean evaluatesInBatches() {
+        return polynomial != null || tree != null;
+    }
+
+    /**
+     * Returns the exact derivative when the function is a polynomial, counted against the same budget.
+     *
+     * @return the derivative, or null if the function is not a polynomial
+     */
+    public CompiledFunction derivative() {
+        return polynomial != null ? of(polynomial.derivative(), budget) : null;
+    }
+
+    public boolean checkSyntax() {
+        return validSyntax;
+    }
+
+    /**
+     * @return the polynomial the function was recognized as, or null
+     */
+    public Polynomial getPolynomial() {
+        return polynomial;
+    }
+}
@@ -0,0 +1,65 @@
+package com.numetrify.expression;
+
+import org.mariuszgromada.math.mxparser.Function;
+
+/**
+ * A vector of functions of several variables, compiled once and evaluated many times, that counts its
+ * evaluations against an {@link EvaluationBudget}.
+ *
+ * Evaluating the whole vector at a point counts as one evaluation, so a finite-difference Jacobian of n
+ * variables costs n evaluations.
+ */
+public final class CompiledVectorFunction {
+
+    private final Function[] components;
+    private final EvaluationBudget budget;
+    private final boolean validSyntax;
+
+    private CompiledVectorFunction(Function[] components, EvaluationBudget budget, boolean validSyntax) {
+        this.components = components;
+        this.budget = budget;
+        this.validSyntax = validSyntax;
+    }
+
+    /**
+     * Compiles the components, e.g. {@code {"x^2 + y^2 - 4", "x*y - 1"}} of the variables {@code {"x", "y"}}.
+     *
+     * @param expressions the mXparser expressions of the components
+     * @param variables the names of the variables, in the order of the points the function is evaluated at
+     * @param budget the budget the evaluations are counted against
+     * @return the compiled function
+     */
+    public static CompiledVectorFunction of(String[] expressions, String[] variables, EvaluationBudget budget) {
+        String parameters = String.join(", ", variables);
+        Function[] components = new Function[expressions.length];
+        boolean validSyntax = true;
+        for (int i = 0; i < expressions.length; i++) {
+            components[i] = new Function("f" + (i + 1) + "(" + parameters + ") = " + expressions[i]);
+            validSyntax &= components[i].checkSyntax();
+        }
+        return new CompiledVectorFunction(components, budget, validSyntax);
+    }
+
+    /**
+     * Evaluates all the components and counts one evaluation.
+     *
+     * @param x the point, one value per variable
+     * @return the value of every component, NaN where it is not defined
+     */
+    public double[] calculate(double[] x) {
+        budget.count();
+        double[] values = new double[components.length];
+        for (int i = 0; i < components.length; i++) {
+            values[i] = components[i].calculate(x);
+        }
+        return values;
+    }
+
+    public int size() {
+        return components.length;
+    }
+
+    public boolean checkSyntax() {
+        return validSyntax;
+    }
+}
@@ -0,0 +1,83 @@
+package com.numetrify.expression;
+
+import com.numetrify.dto.SolverResponse;
+
+/**
+ * Counts the function evaluations of one solve and enforces an optional limit on them.
+ *
+ * The functions of a solve (e.g. f and g for the fixed point method) share one budget. Methods check
+ * {@link #allows(int)} before each iteration with the number of evaluations the iteration needs, so a run
+ * stops at an iteration boundary and never exceeds the limit once it has started iterating; the evaluations
+ * needed to set up the method are always performed.
+ *
+ * Example usage:
+ * <pre>
+ * {@code
+ * EvaluationBudget budget = new EvaluationBudget(maxFunctionEvaluations);
+ * CompiledFunction function = CompiledFunction.of("f(x) = " + functionExpression, budget);
+ * while (error >= tolerance && budget.allows(1)) {
+ *     double y = function.calculate(x);
+ *     // ...
+ * }
+ * return budget.report(new SecantResponse(outcome, message, xValues, functionValues, errors, iterations));
+ * }
+ * </pre>
+ */
+public final class EvaluationBudget {
+
+    private final long limit;
+    private long evaluations;
+
+    /**
+     * Creates a budget.
+     *
+     * @param limit the maximum number of function evaluations, 0 or less for no limit
+     */
+    public EvaluationBudget(long limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Returns whether the given number of additional evaluations fits in the budget.
+     */
+    public boolean allows(int additionalEvaluations) {
+        return limit <= 0 || evaluations + additionalEvaluations <= limit;
+    }
+
+    /**
+     * Returns the message of a run stopped because the budget is exhausted.
+     */
+    public String exhaustedMessage() {
+        return "Stopped after " + evaluations + " function evaluations, the evaluation budget of " + limit + " is exhausted";
+    }
+
+    /**
+     * Stores the number of evaluations in the response of the method.
+     *
+     * @param response the response of the method
+     * @return the same response
+     */
+    public <T extends SolverResponse> T report(T response) {
+        response.setFunctionEvaluations(evaluations);
+        return response;
+    }
+
+    /**
+     * Returns the number of evaluations left, Long.MAX_VALUE without a limit.
+     */
+    public long remaining() {
+        return limit <= 0 ? Long.MAX_VALUE : Math.max(0, limit - evaluations);
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    void count() {
+        evaluations++;
+    }
+
+    void count(int count) {
+        evaluations += count;
+    }
+}
@@ -0,0 +1,789 @@
+package com.numetrify.expression;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An expression of one variable parsed into a tree, evaluated over intervals together with an enclosure of its
+ * derivative (forward-mode automatic differentiation in interval arithmetic), or over arrays of points.
+ *
+ * The tree covers the common subset of mXparser's syntax: numbers, {@code pi}, {@code e}, the variable,
+ * {@code + - * / ^}, parentheses and the functions {@code sin cos tan exp ln log10 log2 sqrt abs}.
+ * {@link #parse(String, String)} returns null for anything else, so that callers can report it or fall back to
+ * mXparser.
+ */
+public final class ExpressionTree {
+
+    private static final Interval LN_10 = Interval.rounded(Math.log(10), Math.log(10));
+    private static final Interval LN_2 = Interval.rounded(Math.log(2), Math.log(2));
+    private static final double LN_2_POINT = Math.log(2);
+
+    /**
+     * Largest integer exponent evaluated by repeated multiplication rather than through exp and ln.
+     */
+    private static final int MAX_INTEGER_EXPONENT = 1024;
+
+    /**
+     * Number of points evaluated together by {@link #evaluate(double[], double[])}, small enough for the
+     * buffers of the nodes to stay in cache.
+     */
+    private static final int BLOCK = 512;
+
+    private final Node root;
+
+    private ExpressionTree(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Ranges of an expression and of its derivative over an interval.
+     *
+     * @param value an enclosure of the values, null if the expression is defined nowhere in the interval
+     * @param derivative an enclosure of the derivative where the expression is defined
+     * @param differentiable false if the expression may be undefined at some points of the interval (ln, sqrt
+     *                       or a non-integer power of a range reaching zero or below), so that the mean value
+     *                       theorem does not apply to it
+     */
+    public record Enclosure(Interval value, Interval derivative, boolean differentiable) {
+    }
+
+    /**
+     * Parses an expression such as {@code "exp(-x) - x^2 + 1"}.
+     *
+     * @param expression the expression
+     * @param variable the name of the variable
+     * @return the tree, or null if the expression uses syntax outside the supported subset
+     */
+    public static ExpressionTree parse(String expression, String variable) {
+        if (expression == null) {
+            return null;
+        }
+        Parser parser = new Parser(expression, variable);
+        Node root = parser.sum();
+        return root != null && parser.atEnd() ? new ExpressionTree(root) : null;
+    }
+
+    /**
+     * Parses a function definition such as {@code "f(x) = exp(-x) - x^2 + 1"}.
+     *
+     * @param definition the mXparser function definition
+     * @return the tree, or null if the definition is not one of a single variable in the supported subset
+     */
+    public static ExpressionTree parseDefinition(String definition) {
+        int open = definition.indexOf('(');
+        int close = definition.indexOf(')');
+        int equals = definition.indexOf('=');
+        if (open < 0 || close < open || equals < close || !definition.substring(close + 1, equals).isBlank()) {
+            return null;
+        }
+        String variable = definition.substring(open + 1, close).trim();
+        return variable.isEmpty() || variable.contains(",") ? null : parse(definition.substring(equals + 1), variable);
+    }
+
+    /**
+     * Evaluates the expression at every point of an array.
+     *
+     * The points are taken in blocks, and each node of the tree runs one loop over a whole block, which the JIT
+     * can compile to vector instructions for + - *, abs and sqrt, instead of the tree being walked once per
+     * point. Points outside the domain of the expression give NaN, division by zero included,
+     * as with mXparser, whose values these agree with up to rounding.
+     *
+     * @param xs the points
+     * @param out the values at the points, at least as long as xs
+     */
+    public void evaluate(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("The output array is shorter than the points");
+        }
+        Batch batch = new Batch(xs, Math.min(BLOCK, xs.length));
+        for (int from = 0; from < xs.length; from += BLOCK) {
+            batch.from = from;
+            batch.length = Math.min(BLOCK, xs.length - from);
+            root.evaluate(batch, out, from);
+        }
+    }
+
+    /**
+     * Encloses the values of the expression over an interval.
+     *
+     * @param x the interval
+     * @return the enclosure, null if the expression is defined nowhere in x
+     */
+    public Interval evaluate(Interval x) {
+        return enclose(x).value();
+    }
+
+    /**
+     * Encloses the values of the expression and of its derivative over an interval.
+     *
+     * @param x the interval
+     * @return the enclosures
+     */
+    public Enclosure enclose(Interval x) {
+        Context context = new Context();
+        Dual result = root.enclose(x, context);
+        return result != null ? new Enclosure(result.value, result.slope, context.differentiable)
+                : new Enclosure(null, null, false);
+    }
+
+    private static final class Context {
+        boolean differentiable = true;
+    }
+
+    /**
+     * The block of points being evaluated and the buffers holding the values of the right operands, one per
+     * level of nesting.
+     */
+    private static final class Batch {
+        final double[] xs;
+        final int capacity;
+        final List<double[]> buffers = new ArrayList<>();
+        int depth;
+        int from;
+        int length;
+
+        Batch(double[] xs, int capacity) {
+            this.xs = xs;
+            this.capacity = capacity;
+        }
+
+        double[] acquire() {
+            if (depth == buffers.size()) {
+                buffers.add(new double[capacity]);
+            }
+            return buffers.get(depth++);
+        }
+
+        void release() {
+            depth--;
+        }
+    }
+
+    /**
+     * The value and the derivative of a node.
+     */
+    private record Dual(Interval value, Interval slope) {
+    }
+
+    private abstract static class Node {
+        /**
+         * @return the enclosures of the node, null if it is defined nowhere in x
+         */
+        abstract Dual enclose(Interval x, Context context);
+
+        /**
+         * Writes the values of the node at the points of the block to out, from the given offset.
+         */
+        abstract void evaluate(Batch batch, double[] out, int offset);
+    }
+
+    private static final class Constant extends Node {
+        final double point;
+        final Interval value;
+
+        Constant(double point, Interval value) {
+            this.point = point;
+            this.value = value;
+        }
+
+        @Override
+        Dual enclose(Interval x, Context context) {
+            return new Dual(value, Interval.point(0.0));
+        }
+
+        @Override
+        void evaluate(Batch batch, double[] out, int offset) {
+            Arrays.fill(out, offset, offset + batch.length, point);
+        }
+    }
+
+    private static final class Variable extends Node {
+        @Override
+        Dual enclose(Interval x, Context context) {
+            return new Dual(x, Interval.point(1.0));
+        }
+
+        @Override
+        void evaluate(Batch batch, double[] out, int offset) {
+            System.arraycopy(batch.xs, batch.from, out, offset, batch.length);
+        }
+    }
+
+    private static final class Negate extends Node {
+        final Node operand;
+
+        Negate(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        Dual enclose(Interval x, Context context) {
+            Dual u = operand.enclose(x, context);
+            return u != null ? new Dual(u.value.negate(), u.slope.negate()) : null;
+        }
+
+        @Override
+        void evaluate(Batch batch, double[] out, int offset) {
+            operand.evaluate(batch, out, offset);
+            for (int i = offset, end = offset + batch.length; i < end; i++) {
+                out[i] = -out[i];
+            }
+        }
+    }
+
+    private static final class Binary extends Node {
+        final char operator;
+        final Node left;
+        final Node right;
+
+        Binary(char operator, Node left, Node right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Dual enclose(Interval x, Context context) {
+            Dual u = left.enclose(x, context);
+            Dual v = right.enclose(x, context);
+            if (u == null || v == null) {
+                return null;
+            }
+            return switch (operator) {
+                case '+' -> new Dual(u.value.add(v.value), u.slope.add(v.slope));
+                case '-' -> new Dual(u.value.subtract(v.value), u.slope.subtract(v.slope));
+                case '*' -> new Dual(u.value.multiply(v.value), u.slope.multiply(v.value).add(u.value.multiply(v.slope)));
+                default -> {
+                    // (u / v)' = (u' - (u / v) v') / v
+                    Interval quotient = u.value.divide(v.value);
+                    yield quotient != null ? new Dual(quotient, u.slope.subtract(quotient.multiply(v.slope)).divide(v.value)) : null;
+                }
+            };
+        }
+
+        @Override
+        void evaluate(Batch batch, double[] out, int offset) {
+            int end = offset + batch.length;
+            // A constant operand is applied as a scalar, without a buffer
+            if (right instanceof Constant constant) {
+                left.evaluate(batch, out, offset);
+                double v = constant.point;
+                switch (operator) {
+                    case '+' -> {
+                        for (int i = offset; i < end; i++) {
+                            out[i] += v;
+                        }
+                    }
+                    case '-' -> {
+                        for (int i = offset; i < end; i++) {
+                            out[i] -= v;
+                        }
+                    }
+                    case '*' -> {
+                        for (int i = offset; i < end; i++) {
+                            out[i] *= v;
+                        }
+                    }
+                    default -> {
+                        for (int i = offset; i < end; i++) {
+                            out[i] = divide(out[i], v);
+                        }
+                    }
+                }
+                return;
+            }
+            if (left instanceof Constant constant) {
+                right.evaluate(batch, out, offset);
+                double u = constant.point;
+                switch (operator) {
+                    case '+' -> {
+                        for (int i = offset; i < end; i++) {
+                            out[i] = u + out[i];
+                        }
+                    }
+                    case '-' -> {
+                        for (int i = offset; i < end; i++) {
+                            out[i] = u - out[i];
+                        }
+                    }
+                    case '*' -> {
+                        for (int i = offset; i < end; i++) {
+                            out[i] = u * out[i];
+                        }
+                    }
+                    default -> {
+                        for (int i = offset; i < end; i++) {
+                            out[i] = divide(u, out[i]);
+                        }
+                    }
+                }
+                return;
+            }
+            left.evaluate(batch, out, offset);
+            double[] v = batch.acquire();
+            right.evaluate(batch, v, 0);
+            switch (operator) {
+                case '+' -> {
+                    for (int i = offset, j = 0; i < end; i++, j++) {
+                        out[i] += v[j];
+                    }
+                }
+                case '-' -> {
+                    for (int i = offset, j = 0; i < end; i++, j++) {
+                        out[i] -= v[j];
+                    }
+                }
+                case '*' -> {
+                    for (int i = offset, j = 0; i < end; i++, j++) {
+                        out[i] *= v[j];
+                    }
+                }
+                default -> {
+                    for (int i = offset, j = 0; i < end; i++, j++) {
+                        out[i] = divide(out[i], v[j]);
+                    }
+                }
+            }
+            batch.release();
+        }
+    }
+
+    private static final class IntegerPower extends Node {
+        final Node base;
+        final int exponent;
+
+        IntegerPower(Node base, int exponent) {
+            this.base = base;
+            this.exponent = exponent;
+        }
+
+        @Override
+        Dual enclose(Interval x, Context context) {
+            Dual u = base.enclose(x, context);
+            if (u == null) {
+                return null;
+            }
+            if (exponent >= 0) {
+                Interval slope = exponent == 0 ? Interval.point(0.0)
+                        : Interval.point(exponent).multiply(u.value.pow(exponent - 1)).multiply(u.slope);
+                return new Dual(u.value.pow(exponent), slope);
+            }
+            Interval value = Interval.point(1.0).divide(u.value.pow(-exponent));
+            if (value == null) {
+                return null;
+            }
+            Interval slope = Interval.point(exponent).divide(u.value.pow(1 - exponent));
+            return new Dual(value, slope != null ? slope.multiply(u.slope) : Interval.ENTIRE);
+        }
+
+        @Override
+        void evaluate(Batch batch, double[] out, int offset) {
+            base.evaluate(batch, out, offset);
+            int end = offset + batch.length;
+            switch (exponent) {
+                case 1 -> {
+                }
+                case 2 -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] *= out[i];
+                    }
+                }
+                case 3 -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] *= out[i] * out[i];
+                    }
+                }
+                default -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] = Math.pow(out[i], exponent);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * u^v = exp(v ln u) for u > 0. Below zero u^v is undefined or, as {@link #power(double, double)} computes it,
+     * an odd root such as (-8)^(1/3) = -2: its magnitude is still |u|^v, and it is negative unless v may be an
+     * integer.
+     */
+    private static final class Power extends Node {
+        final Node base;
+        final Node exponent;
+
+        Power(Node base, Node exponent) {
+            this.base = base;
+            this.exponent = exponent;
+        }
+
+        @Override
+        Dual enclose(Interval x, Context context) {
+            Dual u = base.enclose(x, context);
+            Dual v = exponent.enclose(x, context);
+            if (u == null || v == null) {
+                return null;
+            }
+            if (u.value.lower() > 0.0) {
+                Interval log = u.value.log();
+                Interval value = v.value.multiply(log).exp();
+                // (u^v)' = u^v (v' ln u + v u' / u)
+                Interval slope = value.multiply(v.slope.multiply(log).add(v.value.multiply(u.slope).divide(u.value)));
+                return new Dual(value, slope);
+            }
+            context.differentiable = false;
+            Interval magnitude = magnitude(u.value.abs(), v.value);
+            Interval value = u.value.lower() < 0.0 ? magnitude.negate() : magnitude;
+            boolean integral = Math.ceil(v.value.lower()) <= v.value.upper();
+            if (integral || u.value.upper() >= 0.0) {
+                value = value.hull(magnitude);
+            }
+            return new Dual(value, Interval.ENTIRE);
+        }
+
+        /**
+         * Encloses w^v for w >= 0, taking 0^v to be anywhere in [0, +inf] (0, 1 or +inf).
+         */
+        private static Interval magnitude(Interval w, Interval v) {
+            Interval log = w.log();
+            return log != null ? v.multiply(log).exp() : new Interval(0.0, Double.POSITIVE_INFINITY);
+        }
+
+        @Override
+        void evaluate(Batch batch, double[] out, int offset) {
+            base.evaluate(batch, out, offset);
+            double[] v = batch.acquire();
+            exponent.evaluate(batch, v, 0);
+            for (int i = offset, j = 0, end = offset + batch.length; i < end; i++, j++) {
+                out[i] = power(out[i], v[j]);
+            }
+            batch.release();
+        }
+    }
+
+    private enum Function {
+        SIN, COS, TAN, EXP, LN, LOG10, LOG2, SQRT, ABS
+    }
+
+    private static final class Call extends Node {
+        final Function function;
+        final Node argument;
+
+        Call(Function function, Node argument) {
+            this.function = function;
+            this.argument = argument;
+        }
+
+        @Override
+        Dual enclose(Interval x, Context context) {
+            Dual u = argument.enclose(x, context);
+            if (u == null) {
+                return null;
+            }
+            Interval value = u.value;
+            return switch (function) {
+                case SIN -> new Dual(value.sin(), value.cos().multiply(u.slope));
+                case COS -> new Dual(value.cos(), value.sin().negate().multiply(u.slope));
+                case TAN -> {
+                    Interval cos = value.cos();
+                    Interval tan = value.sin().divide(cos);
+                    yield tan != null ? new Dual(tan, u.slope.divide(cos.pow(2))) : null;
+                }
+                case EXP -> {
+                    Interval exp = value.exp();
+                    yield new Dual(exp, exp.multiply(u.slope));
+                }
+                case LN, LOG10, LOG2 -> {
+                    Interval log = function == Function.LOG10 ? value.log10() : value.log();
+                    if (log == null) {
+                        yield null;
+                    }
+                    context.differentiable &= value.lower() > 0.0;
+                    Interval slope = u.slope.divide(value);
+                    yield switch (function) {
+                        case LOG10 -> new Dual(log, slope.divide(LN_10));
+                        case LOG2 -> new Dual(log.divide(LN_2), slope.divide(LN_2));
+                        default -> new Dual(log, slope);
+                    };
+                }
+                case SQRT -> {
+                    Interval sqrt = value.sqrt();
+                    if (sqrt == null) {
+                        yield null;
+                    }
+                    context.differentiable &= value.lower() >= 0.0;
+                    yield new Dual(sqrt, u.slope.divide(Interval.point(2.0).multiply(sqrt)));
+                }
+                case ABS -> {
+                    // The derivative of |u| is sign(u) u', any value of [-1, 1] at u = 0
+                    Interval slope = value.lower() >= 0.0 ? u.slope
+                            : value.upper() <= 0.0 ? u.slope.negate()
+                            : u.slope.hull(u.slope.negate());
+                    yield new Dual(value.abs(), slope);
+                }
+            };
+        }
+
+        @Override
+        void evaluate(Batch batch, double[] out, int offset) {
+            argument.evaluate(batch, out, offset);
+            int end = offset + batch.length;
+            switch (function) {
+                case SIN -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] = Math.sin(out[i]);
+                    }
+                }
+                case COS -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] = Math.cos(out[i]);
+                    }
+                }
+                case TAN -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] = Math.tan(out[i]);
+                    }
+                }
+                case EXP -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] = Math.exp(out[i]);
+                    }
+                }
+                case LN -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] = Math.log(out[i]);
+                    }
+                }
+                case LOG10 -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] = Math.log10(out[i]);
+                    }
+                }
+                case LOG2 -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] = Math.log(out[i]) / LN_2_POINT;
+                    }
+                }
+                case SQRT -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] = Math.sqrt(out[i]);
+                    }
+                }
+                case ABS -> {
+                    for (int i = offset; i < end; i++) {
+                        out[i] = Math.abs(out[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * u / v with mXparser's convention of NaN for a zero divisor.
+     */
+    private static double divide(double u, double v) {
+        return v == 0.0 ? Double.NaN : u / v;
+    }
+
+    /**
+     * u^v as mXparser computes it: Math.pow, except that the odd roots of negative numbers, such as
+     * (-8)^(1/3) = -2, are real.
+     */
+    private static double power(double u, double v) {
+        if (u < 0.0 && Double.isFinite(v) && v != Math.rint(v)) {
+            double root = Math.abs(1.0 / v);
+            if (Math.abs(root - Math.rint(root)) <= 1e-12 * root && Math.rint(root) % 2 == 1) {
+                return -Math.pow(-u, v);
+            }
+        }
+        return Math.pow(u, v);
+    }
+
+    /**
+     * Recursive-descent parser producing the tree, null as soon as the input leaves the supported subset.
+     */
+    private static final class Parser {
+
+        private final String input;
+        private final String variable;
+        private int position;
+
+        Parser(String input, String variable) {
+            this.input = input;
+            this.variable = variable;
+        }
+
+        boolean atEnd() {
+            skipSpaces();
+            return position == input.length();
+        }
+
+        Node sum() {
+            Node result = product();
+            while (result != null) {
+                if (accept('+')) {
+                    result = binary('+', result, product());
+                } else if (accept('-')) {
+                    result = binary('-', result, product());
+                } else {
+                    return result;
+                }
+            }
+            return null;
+        }
+
+        Node product() {
+            Node result = unary();
+            while (result != null) {
+                if (accept('*')) {
+                    result = binary('*', result, unary());
+                } else if (accept('/')) {
+                    result = binary('/', result, unary());
+                } else {
+                    return result;
+                }
+            }
+            return null;
+        }
+
+        Node unary() {
+            if (accept('-')) {
+                Node operand = unary();
+                return operand != null ? new Negate(operand) : null;
+            }
+            if (accept('+')) {
+                return unary();
+            }
+            return power();
+        }
+
+        Node power() {
+            Node base = primary();
+            if (base == null || !accept('^')) {
+                return base;
+            }
+            boolean negative = accept('-');
+            Node exponent = primary();
+            // Chained powers are left to mXparser's associativity
+            if (exponent == null || peek('^')) {
+                return null;
+            }
+            if (exponent instanceof Constant constant && constant.value.width() == 0.0) {
+                double value = negative ? -constant.value.lower() : constant.value.lower();
+                if (value == Math.rint(value) && Math.abs(value) <= MAX_INTEGER_EXPONENT) {
+                    return new IntegerPower(base, (int) value);
+                }
+            }
+            return new Power(base, negative ? new Negate(exponent) : exponent);
+        }
+
+        Node primary() {
+            skipSpaces();
+            if (position == input.length()) {
+                return null;
+            }
+            char c = input.charAt(position);
+            if (c == '(') {
+                position++;
+                Node inner = sum();
+                return inner != null && accept(')') ? inner : null;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return number();
+            }
+            if (Character.isLetter(c) || c == '_') {
+                int start = position;
+                while (position < input.length() && (Character.isLetterOrDigit(input.charAt(position)) || input.charAt(position) == '_')) {
+                    position++;
+                }
+                String name = input.substring(start, position);
+                if (name.equals(variable)) {
+                    return new Variable();
+                }
+                if (name.equals("pi")) {
+                    return new Constant(Math.PI, Interval.rounded(Math.PI, Math.PI));
+                }
+                if (name.equals("e")) {
+                    return new Constant(Math.E, Interval.rounded(Math.E, Math.E));
+                }
+                Function function = function(name);
+                if (function == null || !accept('(')) {
+                    return null;
+                }
+                Node argument = sum();
+                return argument != null && accept(')') ? new Call(function, argument) : null;
+            }
+            return null;
+        }
+
+        Node number() {
+            int start = position;
+            while (position < input.length() && (Character.isDigit(input.charAt(position)) || input.charAt(position) == '.')) {
+                position++;
+            }
+            if (position < input.length() && (input.charAt(position) == 'e' || input.charAt(position) == 'E')) {
+                int exponent = position + 1;
+                if (exponent < input.length() && (input.charAt(exponent) == '+' || input.charAt(exponent) == '-')) {
+                    exponent++;
+                }
+                if (exponent < input.length() && Character.isDigit(input.charAt(exponent))) {
+                    position = exponent;
+                    while (position < input.length() && Character.isDigit(input.charAt(position))) {
+                        position++;
+                    }
+                }
+            }
+            String text = input.substring(start, position);
+            try {
+                double value = Double.parseDouble(text);
+                if (!Double.isFinite(value)) {
+                    return null;
+                }
+                // Decimal literals such as 0.1 are not doubles, their enclosure keeps the exact value
+                boolean exact = new BigDecimal(text).compareTo(new BigDecimal(value)) == 0;
+                return new Constant(value, exact ? Interval.point(value) : Interval.rounded(value, value));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static Function function(String name) {
+            return switch (name) {
+                case "sin" -> Function.SIN;
+                case "cos" -> Function.COS;
+                case "tan" -> Function.TAN;
+                case "exp" -> Function.EXP;
+                case "ln" -> Function.LN;
+                case "log10" -> Function.LOG10;
+                case "log2" -> Function.LOG2;
+                case "sqrt" -> Function.SQRT;
+                case "abs" -> Function.ABS;
+                default -> null;
+            };
+        }
+
+        private static Node binary(char operator, Node left, Node right) {
+            return right != null ? new Binary(operator, left, right) : null;
+        }
+
+        private boolean accept(char c) {
+            if (peek(c)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean peek(char c) {
+            skipSpaces();
+            return position < input.length() && input.charAt(position) == c;
+        }
+
+        private void skipSpaces() {
+            while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.numetrify.expression;
+
+/**
+ * A closed interval of reals with outward-rounded arithmetic: the result of every operation contains the exact
+ * result for every point of the operands.
+ *
+ * Basic operations are correctly rounded, so widening their results by one ulp on each side makes them rigorous;
+ * the elementary functions of {@link Math} are within one ulp and are widened the same way. Operations on points
+ * outside the domain of a function (ln of a non-positive interval, division by [0, 0], ...) return null.
+ *
+ * @param lower the lower bound
+ * @param upper the upper bound, not less than the lower one
+ */
+public record Interval(double lower, double upper) {
+
+    public static final Interval ENTIRE = new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    private static final double TWO_PI = 2 * Math.PI;
+
+    /**
+     * Creates the interval holding a single point, exactly.
+     */
+    public static Interval point(double x) {
+        return new Interval(x, x);
+    }
+
+    /**
+     * Creates the interval between two rounded bounds, widened by one ulp on each side. NaN bounds, the result of
+     * infinite operands, give the whole real line.
+     */
+    static Interval rounded(double lower, double upper) {
+        if (Double.isNaN(lower) || Double.isNaN(upper)) {
+            return ENTIRE;
+        }
+        return new Interval(Math.nextDown(lower), Math.nextUp(upper));
+    }
+
+    public double width() {
+        return upper - lower;
+    }
+
+    public double midpoint() {
+        double midpoint = 0.5 * (lower + upper);
+        return Double.isFinite(midpoint) ? midpoint : 0.5 * lower + 0.5 * upper;
+    }
+
+    public boolean contains(double x) {
+        return lower <= x && x <= upper;
+    }
+
+    /**
+     * Returns whether this interval lies in the interior of the other one.
+     */
+    public boolean isInteriorTo(Interval other) {
+        return other.lower < lower && upper < other.upper;
+    }
+
+    /**
+     * @return the intersection, null if the intervals are disjoint
+     */
+    public Interval intersect(Interval other) {
+        double lo = Math.max(lower, other.lower);
+        double hi = Math.min(upper, other.upper);
+        return lo <= hi ? new Interval(lo, hi) : null;
+    }
+
+    public Interval hull(Interval other) {
+        return new Interval(Math.min(lower, other.lower), Math.max(upper, other.upper));
+    }
+
+    public Interval negate() {
+        return new Interval(-upper, -lower);
+    }
+
+    public Interval add(Interval other) {
+        return rounded(lower + other.lower, upper + other.upper);
+    }
+
+    public Interval subtract(Interval other) {
+        return rounded(lower - other.upper, upper - other.lower);
+    }
+
+    public Interval multiply(Interval other) {
+        double a = product(lower, other.lower);
+        double b = product(lower, other.upper);
+        double c = product(upper, other.lower);
+        double d = product(upper, other.upper);
+        return rounded(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+    }
+
+    /**
+     * @return the quotient, the whole real line if the divisor contains zero, null if it is zero
+     */
+    public Interval divide(Interval other) {
+        if (other.lower == 0.0 && other.upper == 0.0) {
+            return null;
+        }
+        if (other.contains(0.0)) {
+            return ENTIRE;
+        }
+        double a = lower / other.lower;
+        double b = lower / other.upper;
+        double c = upper / other.lower;
+        double d = upper / other.upper;
+        return rounded(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+    }
+
+    /**
+     * Raises the interval to a non-negative integer power, keeping even powers non-negative.
+     */
+    public Interval pow(int exponent) {
+        if (exponent == 0) {
+            return point(1.0);
+        }
+        if (exponent == 1) {
+            return this;
+        }
+        double a = Math.pow(lower, exponent);
+        double b = Math.pow(upper, exponent);
+        if (exponent % 2 == 1 || lower >= 0.0) {
+            return rounded(Math.min(a, b), Math.max(a, b));
+        }
+        if (upper <= 0.0) {
+            return rounded(b, a);
+        }
+        return new Interval(0.0, Math.nextUp(Math.max(a, b)));
+    }
+
+    public Interval abs() {
+        if (lower >= 0.0) {
+            return this;
+        }
+        if (upper <= 0.0) {
+            return negate();
+        }
+        return new Interval(0.0, Math.max(-lower, upper));
+    }
+
+    public Interval sqrt() {
+        return upper < 0.0 ? null : rounded(Math.sqrt(Math.max(lower, 0.0)), Math.sqrt(upper)).clampBelow(0.0);
+    }
+
+    public Interval exp() {
+        return rounded(Math.exp(lower), Math.exp(upper)).clampBelow(0.0);
+    }
+
+    public Interval log() {
+        return upper <= 0.0 ? null : rounded(Math.log(Math.max(lower, 0.0)), Math.log(upper));
+    }
+
+    public Interval log10() {
+        return upper <= 0.0 ? null : rounded(Math.log10(Math.max(lower, 0.0)), Math.log10(upper));
+    }
+
+    public Interval sin() {
+        return sine(lower, upper);
+    }
+
+    public Interval cos() {
+        // cos(x) = sin(x + pi/2), with the shift widened so that it stays rigorous
+        return sine(Math.nextDown(lower + Math.PI / 2), Math.nextUp(upper + Math.PI / 2));
+    }
+
+    private static Interval sine(double lower, double upper) {
+        if (!(upper - lower < TWO_PI)) {
+            return new Interval(-1.0, 1.0);
+        }
+        double a = Math.sin(lower);
+        double b = Math.sin(upper);
+        double lo = Math.min(a, b);
+        double hi = Math.max(a, b);
+        // Extrema at pi/2 + 2k pi and -pi/2 + 2k pi, counted as reached when they are within the rounding of the bounds
+        double slack = 1e-12 * (1.0 + Math.max(Math.abs(lower), Math.abs(upper)));
+        if (Math.PI / 2 + TWO_PI * Math.ceil((lower - Math.PI / 2 - slack) / TWO_PI) <= upper + slack) {
+            hi = 1.0;
+        }
+        if (-Math.PI / 2 + TWO_PI * Math.ceil((lower + Math.PI / 2 - slack) / TWO_PI) <= upper + slack) {
+            lo = -1.0;
+        }
+        return new Interval(Math.max(-1.0, Math.nextDown(lo)), Math.min(1.0, Math.nextUp(hi)));
+    }
+
+    private Interval clampBelow(double bound) {
+        return lower >= bound ? this : new Interval(bound, Math.max(bound, upper));
+    }
+
+    /**
+     * Multiplies two bounds with 0 * infinity = 0, the convention of interval arithmetic.
+     */
+    private static double product(double a, double b) {
+        return a == 0.0 || b == 0.0 ? 0.0 : a * b;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + lower + ", " + upper + "]";
+    }
+}
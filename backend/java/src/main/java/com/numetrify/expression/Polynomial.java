@@ -0,0 +1,438 @@
+package com.numetrify.expression;
+
+import java.util.Arrays;
+
+/**
+ * A polynomial with real coefficients, evaluated by Horner's scheme.
+ *
+ * Most functions sent to the root-finding methods are polynomials written with {@code ^}, which mXparser
+ * evaluates through general powers. {@link #parse(String, String)} recognizes them so that they can be evaluated
+ * with n multiplications and additions, and differentiated exactly.
+ *
+ * Expanding a factored polynomial is not free: the coefficients of (x - 1)^10 alternate in sign and grow to 252,
+ * and their sum cancels near the root, where Horner's scheme then returns mostly rounding error. Functions are
+ * therefore only evaluated as polynomials when written as a sum of monomials, see
+ * {@link #parseExpanded(String, String)}; the roots of a factored polynomial still need its coefficients.
+ */
+public final class Polynomial {
+
+    /**
+     * Highest degree recognized by the parser; larger powers are left to mXparser.
+     */
+    public static final int MAX_DEGREE = 64;
+
+    /**
+     * Coefficients by increasing power, the leading one non-zero unless the polynomial is zero.
+     */
+    private final double[] coefficients;
+
+    private Polynomial(double[] coefficients) {
+        int length = coefficients.length;
+        while (length > 1 && coefficients[length - 1] == 0.0) {
+            length--;
+        }
+        this.coefficients = length == coefficients.length ? coefficients : Arrays.copyOf(coefficients, length);
+    }
+
+    /**
+     * Creates a polynomial from its coefficients by increasing power, e.g. {@code {-2, -1, 0, 1}} for
+     * x^3 - x - 2.
+     *
+     * @param coefficients the coefficients, copied
+     * @return the polynomial
+     */
+    public static Polynomial of(double... coefficients) {
+        return new Polynomial(coefficients.length > 0 ? coefficients.clone() : new double[1]);
+    }
+
+    /**
+     * Recognizes a polynomial expression of one variable, such as {@code "x^3 - 2*x + 1"} or
+     * {@code "(x - 1)^2*(x + 3)/2"}: numbers, {@code pi}, {@code e} and the variable combined with
+     * {@code + - * /}, parentheses and constant non-negative integer powers, dividing by constants only.
+     *
+     * @param expression the expression
+     * @param variable the name of the variable
+     * @return the polynomial, or null if the expression is not written as one, so that it is left to mXparser
+     */
+    public static Polynomial parse(String expression, String variable) {
+        return parse(expression, variable, false);
+    }
+
+    /**
+     * Recognizes a polynomial expression of one variable written as a sum of monomials, such as
+     * {@code "x^3 - 2*x + 1"} or {@code "(x^2 + 1)/2"}, whose coefficients are those written. Products and powers
+     * that would have to be expanded, such as {@code "(x - 1)^2*(x + 3)"}, are left to be evaluated as written.
+     *
+     * @param expression the expression
+     * @param variable the name of the variable
+     * @return the polynomial, or null if the expression is not written as a sum of monomials
+     */
+    public static Polynomial parseExpanded(String expression, String variable) {
+        return parse(expression, variable, true);
+    }
+
+    private static Polynomial parse(String expression, String variable, boolean expandedOnly) {
+        if (expression == null) {
+            return null;
+        }
+        Parser parser = new Parser(expression, variable);
+        double[] coefficients = parser.sum();
+        if (coefficients == null || !parser.atEnd() || (expandedOnly && !parser.expanded)) {
+            return null;
+        }
+        return new Polynomial(coefficients);
+    }
+
+    /**
+     * Recognizes a function definition such as {@code "f(x) = x^3 - x - 2"} whose body is a sum of monomials, see
+     * {@link #parseExpanded(String, String)}.
+     *
+     * @param definition the mXparser function definition of one argument
+     * @return the polynomial, or null if the body is not a polynomial written as a sum of monomials
+     */
+    public static Polynomial parseDefinition(String definition) {
+        int open = definition.indexOf('(');
+        int close = definition.indexOf(')');
+        int equals = definition.indexOf('=');
+        if (open < 0 || close < open || equals < close || !definition.substring(close + 1, equals).isBlank()) {
+            return null;
+        }
+        String variable = definition.substring(open + 1, close).trim();
+        return variable.isEmpty() || variable.contains(",") ? null : parseExpanded(definition.substring(equals + 1), variable);
+    }
+
+    /**
+     * Evaluates the polynomial by Horner's scheme.
+     *
+     * @param x the point
+     * @return the value of the polynomial at x
+     */
+    public double evaluate(double x) {
+        double value = coefficients[coefficients.length - 1];
+        for (int i = coefficients.length - 2; i >= 0; i--) {
+            value = value * x + coefficients[i];
+        }
+        return value;
+    }
+
+    /**
+     * Evaluates the polynomial at every point of an array by Horner's scheme, one pass over the array per
+     * coefficient, which the JIT compiles to vector instructions. The values are the same as those of
+     * {@link #evaluate(double)}.
+     *
+     * @param xs the points
+     * @param out the values at the points, at least as long as xs
+     */
+    public void evaluate(double[] xs, double[] out) {
+        int n = xs.length;
+        Arrays.fill(out, 0, n, coefficients[coefficients.length - 1]);
+        for (int k = coefficients.length - 2; k >= 0; k--) {
+            double coefficient = coefficients[k];
+            for (int i = 0; i < n; i++) {
+                out[i] = out[i] * xs[i] + coefficient;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the polynomial at a complex point by Horner's scheme.
+     *
+     * @param re the real part of the point
+     * @param im the imaginary part of the point
+     * @param value the real and imaginary parts of the value, written
+     */
+    public void evaluate(double re, double im, double[] value) {
+        double valueRe = coefficients[coefficients.length - 1];
+        double valueIm = 0.0;
+        for (int i = coefficients.length - 2; i >= 0; i--) {
+            double nextRe = valueRe * re - valueIm * im + coefficients[i];
+            valueIm = valueRe * im + valueIm * re;
+            valueRe = nextRe;
+        }
+        value[0] = valueRe;
+        value[1] = valueIm;
+    }
+
+    /**
+     * Evaluates the sum of |a_i| |z|^i, which times a small multiple of the machine epsilon bounds the rounding
+     * error of Horner's scheme at any point z of the given modulus.
+     *
+     * @param modulus the modulus of the point
+     * @return the sum of the absolute values of the terms
+     */
+    public double magnitude(double modulus) {
+        double value = Math.abs(coefficients[coefficients.length - 1]);
+        for (int i = coefficients.length - 2; i >= 0; i--) {
+            value = value * modulus + Math.abs(coefficients[i]);
+        }
+        return value;
+    }
+
+    /**
+     * @return the derivative of the polynomial
+     */
+    public Polynomial derivative() {
+        if (coefficients.length == 1) {
+            return new Polynomial(new double[1]);
+        }
+        double[] derivative = new double[coefficients.length - 1];
+        for (int i = 1; i < coefficients.length; i++) {
+            derivative[i - 1] = i * coefficients[i];
+        }
+        return new Polynomial(derivative);
+    }
+
+    /**
+     * Divides the polynomial by (x - root) by synthetic division, dropping the remainder.
+     *
+     * @param root the root to deflate
+     * @return the quotient, of one degree less
+     */
+    public Polynomial deflate(double root) {
+        if (coefficients.length == 1) {
+            return new Polynomial(new double[1]);
+        }
+        double[] quotient = new double[coefficients.length - 1];
+        double carry = coefficients[coefficients.length - 1];
+        for (int i = coefficients.length - 2; i >= 0; i--) {
+            quotient[i] = carry;
+            carry = carry * root + coefficients[i];
+        }
+        return new Polynomial(quotient);
+    }
+
+    /**
+     * @return the degree, 0 for constants including the zero polynomial
+     */
+    public int degree() {
+        return coefficients.length - 1;
+    }
+
+    /**
+     * @return a copy of the coefficients by increasing power
+     */
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    /**
+     * Recursive-descent parser producing coefficient arrays, null as soon as the input is not a polynomial.
+     */
+    private static final class Parser {
+
+        private final String input;
+        private final String variable;
+        private int position;
+
+        /**
+         * Whether no product or power so far multiplied out a factor of more than one term.
+         */
+        private boolean expanded = true;
+
+        Parser(String input, String variable) {
+            this.input = input;
+            this.variable = variable;
+        }
+
+        boolean atEnd() {
+            skipSpaces();
+            return position == input.length();
+        }
+
+        double[] sum() {
+            double[] result = product();
+            while (result != null) {
+                if (accept('+')) {
+                    result = add(result, product(), 1.0);
+                } else if (accept('-')) {
+                    result = add(result, product(), -1.0);
+                } else {
+                    return result;
+                }
+            }
+            return null;
+        }
+
+        double[] product() {
+            double[] result = unary();
+            while (result != null) {
+                if (accept('*')) {
+                    result = multiply(result, unary());
+                } else if (accept('/')) {
+                    double[] divisor = unary();
+                    if (divisor == null || degreeOf(divisor) > 0 || divisor[0] == 0.0) {
+                        return null;
+                    }
+                    result = scale(result, 1.0 / divisor[0]);
+                } else {
+                    return result;
+                }
+            }
+            return null;
+        }
+
+        double[] unary() {
+            if (accept('-')) {
+                double[] operand = unary();
+                return operand != null ? scale(operand, -1.0) : null;
+            }
+            if (accept('+')) {
+                return unary();
+            }
+            return power();
+        }
+
+        double[] power() {
+            double[] base = primary();
+            if (base == null || !accept('^')) {
+                return base;
+            }
+            boolean negative = accept('-');
+            double[] exponent = primary();
+            // x^-1 is not a polynomial, and chained powers are left to mXparser's associativity
+            if (negative || exponent == null || degreeOf(exponent) > 0 || peek('^')) {
+                return null;
+            }
+            double e = exponent[0];
+            if (e != Math.rint(e) || e < 0 || e * degreeOf(base) > MAX_DEGREE || e > MAX_DEGREE) {
+                return null;
+            }
+            double[] result = {1.0};
+            for (int i = 0; i < (int) e; i++) {
+                result = multiply(result, base);
+            }
+            return result;
+        }
+
+        double[] primary() {
+            skipSpaces();
+            if (position == input.length()) {
+                return null;
+            }
+            char c = input.charAt(position);
+            if (c == '(') {
+                position++;
+                double[] inner = sum();
+                return inner != null && accept(')') ? inner : null;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return number();
+            }
+            if (Character.isLetter(c) || c == '_') {
+                int start = position;
+                while (position < input.length() && (Character.isLetterOrDigit(input.charAt(position)) || input.charAt(position) == '_')) {
+                    position++;
+                }
+                String name = input.substring(start, position);
+                if (name.equals(variable)) {
+                    return new double[]{0.0, 1.0};
+                }
+                return name.equals("pi") ? new double[]{Math.PI} : name.equals("e") ? new double[]{Math.E} : null;
+            }
+            return null;
+        }
+
+        double[] number() {
+            int start = position;
+            while (position < input.length() && (Character.isDigit(input.charAt(position)) || input.charAt(position) == '.')) {
+                position++;
+            }
+            // Scientific notation, only when digits follow so that 2e stays an error rather than 2*e
+            if (position < input.length() && (input.charAt(position) == 'e' || input.charAt(position) == 'E')) {
+                int exponent = position + 1;
+                if (exponent < input.length() && (input.charAt(exponent) == '+' || input.charAt(exponent) == '-')) {
+                    exponent++;
+                }
+                if (exponent < input.length() && Character.isDigit(input.charAt(exponent))) {
+                    position = exponent;
+                    while (position < input.length() && Character.isDigit(input.charAt(position))) {
+                        position++;
+                    }
+                }
+            }
+            try {
+                double value = Double.parseDouble(input.substring(start, position));
+                return Double.isFinite(value) ? new double[]{value} : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private boolean accept(char c) {
+            if (peek(c)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean peek(char c) {
+            skipSpaces();
+            return position < input.length() && input.charAt(position) == c;
+        }
+
+        private void skipSpaces() {
+            while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static int degreeOf(double[] p) {
+            int degree = p.length - 1;
+            while (degree > 0 && p[degree] == 0.0) {
+                degree--;
+            }
+            return degree;
+        }
+
+        private static int terms(double[] p) {
+            int terms = 0;
+            for (double coefficient : p) {
+                if (coefficient != 0.0) {
+                    terms++;
+                }
+            }
+            return terms;
+        }
+
+        private static double[] add(double[] a, double[] b, double sign) {
+            if (b == null) {
+                return null;
+            }
+            double[] sum = Arrays.copyOf(a, Math.max(a.length, b.length));
+            for (int i = 0; i < b.length; i++) {
+                sum[i] += sign * b[i];
+            }
+            return sum;
+        }
+
+        private static double[] scale(double[] a, double factor) {
+            double[] scaled = new double[a.length];
+            for (int i = 0; i < a.length; i++) {
+                scaled[i] = a[i] * factor;
+            }
+            return scaled;
+        }
+
+        private double[] multiply(double[] a, double[] b) {
+            if (b == null) {
+                return null;
+            }
+            int degreeA = degreeOf(a);
+            int degreeB = degreeOf(b);
+            if (degreeA + degreeB > MAX_DEGREE) {
+                return null;
+            }
+            if (degreeA > 0 && degreeB > 0 && (terms(a) > 1 || terms(b) > 1)) {
+                expanded = false;
+            }
+            double[] product = new double[degreeA + degreeB + 1];
+            for (int i = 0; i <= degreeA; i++) {
+                for (int j = 0; j <= degreeB; j++) {
+                    product[i + j] += a[i] * b[j];
+                }
+            }
+            return product;
+        }
+    }
+}
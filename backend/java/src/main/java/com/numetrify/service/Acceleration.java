@@ -0,0 +1,43 @@
+package com.numetrify.service;
+
+/**
+ * Convergence acceleration of a fixed-point iteration x = g(x).
+ *
+ * Linearly convergent iterations gain the most: their error shrinks by a near-constant factor per step, which is
+ * exactly what the extrapolations below estimate and remove.
+ */
+public enum Acceleration {
+
+    /**
+     * Plain iteration x_{k+1} = g(x_k).
+     */
+    NONE,
+
+    /**
+     * Aitken's delta-squared extrapolation of the plain sequence: the iteration is unchanged and every three
+     * consecutive iterates give an extrapolated estimate, reported instead of the plain iterate. One evaluation of
+     * g per iteration.
+     */
+    AITKEN,
+
+    /**
+     * Steffensen's method: Aitken's extrapolation restarted from every extrapolated estimate, quadratically
+     * convergent near a simple fixed point. Two evaluations of g per iteration.
+     */
+    STEFFENSEN,
+
+    /**
+     * Anderson mixing: the next iterate combines the last few values of g so as to minimize the fixed-point
+     * residual g(x) - x in the least-squares sense (see {@link com.numetrify.service.matrix.AndersonMixing}).
+     * Applies to the scalar fixed point, where it reduces to the secant method on g(x) - x, and to the vector
+     * iterations of Jacobi and Gauss-Seidel. One evaluation of g per iteration.
+     */
+    ANDERSON;
+
+    /**
+     * Returns whether the acceleration applies to the vector iterations of the linear-system methods.
+     */
+    public boolean appliesToVectors() {
+        return this == NONE || this == ANDERSON;
+    }
+}
@@ -1,8 +1,12 @@
 package com.numetrify.service;
 
-import org.mariuszgromada.math.mxparser.Function;
 import org.springframework.stereotype.Service;
 import com.numetrify.dto.BisectionResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.expression.CompiledFunction;
+import com.numetrify.expression.EvaluationBudget;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
 import lombok.SneakyThrows;
 
 import java.math.BigDecimal;
@@ -25,6 +29,7 @@ public class BisectionService {
      * @param errorType the type of error to use (1 for absolute error, 2 for relative error)
      * @param toleranceValue the tolerance value for the stopping criterion
      * @param maxIterations the maximum number of iterations
+     * @param maxFunctionEvaluations the maximum number of function evaluations, 0 for no limit
      * @return BisectionResponse containing the result of the Bisection method
      * @throws IllegalArgumentException if the interval is inadequate
      *
@@ -37,28 +42,32 @@ public class BisectionService {
      * int errorType = 1;
      * double toleranceValue = 0.01;
      * int maxIterations = 100;
-     * BisectionResponse response = bisectionService.bisection(functionExpression, lowerBound, upperBound, errorType, toleranceValue, maxIterations);
+     * long maxFunctionEvaluations = 0;
+     * BisectionResponse response = bisectionService.bisection(functionExpression, lowerBound, upperBound, errorType, toleranceValue, maxIterations, maxFunctionEvaluations);
      * List<Double> xValues = response.getXValues();
      * List<Double> functionValues = response.getFunctionValues();
      * List<Double> errors = response.getErrors();
      * List<Integer> iterations = response.getIterations();
+     * Long functionEvaluations = response.getFunctionEvaluations();
      * }
      * </pre>
      */
     @SneakyThrows
-    public BisectionResponse bisection(String functionExpression, double lowerBound, double upperBound, int errorType, double toleranceValue, int maxIterations) {
-        Function function = new Function("f(x) = " + functionExpression);
+    public BisectionResponse bisection(String functionExpression, double lowerBound, double upperBound, int errorType, double toleranceValue, int maxIterations, long maxFunctionEvaluations) {
+        EvaluationBudget budget = new EvaluationBudget(maxFunctionEvaluations);
+        CompiledFunction function = CompiledFunction.of("f(x) = " + functionExpression, budget);
+        PhaseProfiler.mark("compilation");
 
         double functionAtLowerBound = function.calculate(lowerBound);
         double functionAtUpperBound = function.calculate(upperBound);
         BigDecimal tolerance = BigDecimal.valueOf(0.5).divide(BigDecimal.TEN.pow((int) toleranceValue), 20, RoundingMode.HALF_UP);
 
         if (functionAtLowerBound == 0) {
-            return new BisectionResponse(lowerBound + " is a root of f(x)", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            return budget.report(new BisectionResponse(SolverOutcome.CONVERGED, lowerBound + " is a root of f(x)", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
         } else if (functionAtUpperBound == 0) {
-            return new BisectionResponse(upperBound + " is a root of f(x)", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            return budget.report(new BisectionResponse(SolverOutcome.CONVERGED, upperBound + " is a root of f(x)", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
         } else if (functionAtLowerBound * functionAtUpperBound > 0) {
-            return new BisectionResponse("The interval is inadequate", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            return budget.report(new BisectionResponse(SolverOutcome.INVALID_INTERVAL, "The interval is inadequate", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
         }
 
         List<BigDecimal> xValues = new ArrayList<>();
@@ -78,15 +87,17 @@ public class BisectionService {
 
         BigDecimal previousMidPoint = midPoint;
 
-        while (iterationCount < maxIterations) {
+        double functionAtLower = functionAtLowerBound;
+        while (iterationCount < maxIterations && budget.allows(1) && !Deadline.reached(iterationCount)) {
             iterationCount++;
 
-            double tempX = function.calculate(lower.doubleValue()) * functionAtMidPoint;
+            double tempX = functionAtLower * functionAtMidPoint;
 
             if (tempX < 0 || tempX == 0) {
                 upper = midPoint;
             } else {
                 lower = midPoint;
+                functionAtLower = functionAtMidPoint;
             }
 
             midPoint = lower.add(upper).divide(BigDecimal.valueOf(2), 20, RoundingMode.HALF_UP);
@@ -107,10 +118,26 @@ public class BisectionService {
             previousMidPoint = midPoint;
         }
 
-        String message = functionAtMidPoint == 0 ? midPoint + " is a root of f(x)"
-                : errors.get(iterationCount).compareTo(tolerance) < 0 ? "The approximate solution is: " + midPoint + ", with a tolerance = " + tolerance
-                : "Failed in " + maxIterations + " iterations";
+        PhaseProfiler.mark("iteration");
+        String message;
+        SolverOutcome outcome;
+        if (functionAtMidPoint == 0) {
+            message = midPoint + " is a root of f(x)";
+            outcome = SolverOutcome.CONVERGED;
+        } else if (errors.get(iterationCount).compareTo(tolerance) < 0) {
+            message = "The approximate solution is: " + midPoint + ", with a tolerance = " + tolerance;
+            outcome = SolverOutcome.CONVERGED;
+        } else if (Deadline.expired()) {
+            message = Deadline.timeoutMessage(iterationCount);
+            outcome = SolverOutcome.TIMED_OUT;
+        } else if (!budget.allows(1)) {
+            message = budget.exhaustedMessage();
+            outcome = SolverOutcome.BUDGET_EXHAUSTED;
+        } else {
+            message = "Failed in " + maxIterations + " iterations";
+            outcome = SolverOutcome.FAILED;
+        }
 
-        return new BisectionResponse(message, xValues, functionValues, errors, iterations);
+        return budget.report(new BisectionResponse(outcome, message, xValues, functionValues, errors, iterations));
     }
 }
\ No newline at end of file
@@ -0,0 +1,309 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.ChebyshevRootsResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.execution.Progress;
+import com.numetrify.expression.CompiledFunction;
+import com.numetrify.expression.EvaluationBudget;
+import lombok.SneakyThrows;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.transform.DctNormalization;
+import org.apache.commons.math3.transform.FastCosineTransformer;
+import org.apache.commons.math3.transform.TransformType;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Service class to find all the roots of a smooth function in an interval through a Chebyshev proxy.
+ *
+ * The function is sampled at the n + 1 Chebyshev points cos(j pi / n) of the interval and the coefficients of
+ * its interpolant in the Chebyshev basis are obtained by a DCT-I. n doubles, reusing every previous sample since
+ * the grids are nested, until the trailing coefficients fall below the tolerance; the roots of the chopped series
+ * are then the real eigenvalues of its colleague matrix in [-1, 1]. Series of degree above
+ * {@link #MAX_EIGENVALUE_DEGREE} are restricted to two subintervals first, so that the eigenvalue problems stay
+ * small. A smooth function needs a few hundred evaluations at most, against one bisection run per root.
+ */
+@Service
+public class ChebyshevRootsService {
+
+    private static final int MIN_DEGREE = 16;
+
+    /**
+     * Largest degree whose roots are computed as eigenvalues directly, the O(n^3) QR algorithm being cheap below it.
+     */
+    private static final int MAX_EIGENVALUE_DEGREE = 50;
+
+    /**
+     * Largest imaginary part, and distance outside [-1, 1], of an eigenvalue accepted as a root.
+     */
+    private static final double ROOT_SLACK = 1e-8;
+
+    /**
+     * Largest number of nested subdivisions, past which the eigenvalues of the series are computed whatever its degree.
+     */
+    private static final int MAX_SUBDIVISIONS = 32;
+
+    /**
+     * Relative position of the splitting point of a subdivision, off the midpoint.
+     */
+    private static final double SPLIT = 0.4990234375;
+
+    private static final FastCosineTransformer DCT = new FastCosineTransformer(DctNormalization.STANDARD_DCT_I);
+
+    /**
+     * Finds all the roots of the given function in an interval.
+     *
+     * @param functionExpression the expression of the function
+     * @param lowerBound the lower bound of the interval
+     * @param upperBound the upper bound of the interval
+     * @param toleranceValue the tolerance value, the number of significant digits the interpolant resolves relative to the largest coefficient
+     * @param maxDegree the largest degree of the interpolant, rounded up to a power of two
+     * @param maxFunctionEvaluations the maximum number of function evaluations, 0 for no limit
+     * @return ChebyshevRootsResponse containing the roots and the coefficients of the interpolant
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * ChebyshevRootsResponse response = chebyshevRootsService.chebyshevRoots("sin(10*x) - x/2", -3, 3, 14, 4096, 0);
+     * List<Double> roots = response.getRoots();
+     * int degree = response.getDegree();
+     * }
+     * </pre>
+     */
+    @SneakyThrows
+    public ChebyshevRootsResponse chebyshevRoots(String functionExpression, double lowerBound, double upperBound, double toleranceValue, int maxDegree, long maxFunctionEvaluations) {
+        EvaluationBudget budget = new EvaluationBudget(maxFunctionEvaluations);
+        CompiledFunction function = CompiledFunction.of("f(x) = " + functionExpression, budget);
+        PhaseProfiler.mark("compilation");
+        if (!function.checkSyntax()) {
+            return budget.report(new ChebyshevRootsResponse(SolverOutcome.FAILED, "Invalid function syntax.", new ArrayList<>(), new double[0], 0, 0));
+        }
+        if (!(lowerBound < upperBound) || !Double.isFinite(lowerBound) || !Double.isFinite(upperBound)) {
+            String message = "The interval is inadequate, the lower bound must be less than the upper bound.";
+            return budget.report(new ChebyshevRootsResponse(SolverOutcome.INVALID_INTERVAL, message, new ArrayList<>(), new double[0], 0, 0));
+        }
+
+        // Below the rounding of the samples the coefficients stop decaying
+        double tolerance = Math.max(0.5 * Math.pow(10, -toleranceValue), 4 * Math.ulp(1.0));
+        int limit = Integer.highestOneBit(Math.max(MIN_DEGREE, maxDegree) - 1) << 1;
+        double center = 0.5 * (lowerBound + upperBound);
+        double radius = 0.5 * (upperBound - lowerBound);
+
+        int n = MIN_DEGREE;
+        double[] points = new double[n + 1];
+        for (int j = 0; j <= n; j++) {
+            points[j] = center + radius * Math.cos(Math.PI * j / n);
+        }
+        double[] values = new double[n + 1];
+        function.evaluate(points, values);
+        int refinements = 0;
+        double[] coefficients;
+        double threshold;
+        boolean resolved;
+        double previousTail = Double.NaN;
+        while (true) {
+            int invalid = firstNonFinite(values);
+            if (invalid >= 0) {
+                String message = "The function is not defined at x = " + (center + radius * Math.cos(Math.PI * invalid / n)) + ". The method fails.";
+                return budget.report(new ChebyshevRootsResponse(SolverOutcome.FAILED, message, new ArrayList<>(), new double[0], 0, refinements));
+            }
+            coefficients = coefficients(values);
+            double scale = maxAbs(coefficients);
+            double tail = maxAbs(Arrays.copyOfRange(coefficients, n - n / 8, n + 1));
+            threshold = tolerance * scale;
+            // Resolved once the last eighth of the coefficients is negligible, or once it stops decaying at a
+            // level far below the scale: the noise of the samples, above a tolerance too close to the epsilon
+            boolean noise = tail >= 0.75 * previousTail && tail <= Math.sqrt(tolerance) * scale;
+            resolved = tail <= threshold || noise;
+            if (noise) {
+                threshold = Math.max(threshold, 4 * tail);
+            }
+            Progress.report(refinements, tail / Math.max(scale, Double.MIN_NORMAL));
+            if (resolved || n >= limit || !budget.allows(n) || Deadline.reached(refinements)) {
+                break;
+            }
+            // Nested grids: the points of degree n are the even points of degree 2n, only the odd ones are new
+            double[] odd = new double[n];
+            for (int j = 0; j < n; j++) {
+                odd[j] = center + radius * Math.cos(Math.PI * (2 * j + 1) / (2 * n));
+            }
+            double[] oddValues = new double[n];
+            function.evaluate(odd, oddValues);
+            double[] refined = new double[2 * n + 1];
+            for (int j = 0; j <= n; j++) {
+                refined[2 * j] = values[j];
+            }
+            for (int j = 0; j < n; j++) {
+                refined[2 * j + 1] = oddValues[j];
+            }
+            values = refined;
+            previousTail = tail;
+            n *= 2;
+            refinements++;
+        }
+        int degree = chop(coefficients, threshold);
+        double[] series = Arrays.copyOf(coefficients, degree + 1);
+        PhaseProfiler.mark("interpolation");
+
+        List<Double> roots = new ArrayList<>();
+        String message;
+        SolverOutcome outcome;
+        try {
+            for (double t : roots(series, -1.0, 1.0, threshold, 0)) {
+                roots.add(center + radius * t);
+            }
+            if (resolved) {
+                message = "Success: " + roots.size() + " roots were found with an interpolant of degree " + degree;
+                outcome = SolverOutcome.CONVERGED;
+            } else if (Deadline.expired()) {
+                message = Deadline.timeoutMessage(refinements);
+                outcome = SolverOutcome.TIMED_OUT;
+            } else if (!budget.allows(n)) {
+                message = budget.exhaustedMessage();
+                outcome = SolverOutcome.BUDGET_EXHAUSTED;
+            } else {
+                message = "The function was not resolved by an interpolant of degree " + limit + ", the roots are approximate";
+                outcome = SolverOutcome.FAILED;
+            }
+        } catch (MaxCountExceededException e) {
+            message = "The QR algorithm did not converge on the colleague matrix.";
+            outcome = SolverOutcome.FAILED;
+        }
+        PhaseProfiler.mark("roots");
+        return budget.report(new ChebyshevRootsResponse(outcome, message, roots, series, degree, refinements));
+    }
+
+    /**
+     * Computes the Chebyshev coefficients of the interpolant through the values at cos(j pi / n), j = 0..n.
+     */
+    private static double[] coefficients(double[] values) {
+        int n = values.length - 1;
+        double[] coefficients = DCT.transform(values, TransformType.FORWARD);
+        for (int k = 0; k <= n; k++) {
+            coefficients[k] *= (k == 0 || k == n ? 1.0 : 2.0) / n;
+        }
+        return coefficients;
+    }
+
+    /**
+     * @return the degree of the series without its trailing coefficients below the threshold
+     */
+    private static int chop(double[] coefficients, double threshold) {
+        int degree = coefficients.length - 1;
+        while (degree > 0 && Math.abs(coefficients[degree]) <= threshold) {
+            degree--;
+        }
+        return degree;
+    }
+
+    /**
+     * Finds the roots in [a, b] of a Chebyshev series on [-1, 1], subdividing while the degree is too large for
+     * the colleague matrix.
+     */
+    private static List<Double> roots(double[] series, double a, double b, double threshold, int depth) {
+        int degree = chop(series, threshold);
+        List<Double> roots = new ArrayList<>();
+        if (degree == 0) {
+            return roots;
+        }
+        if (degree <= MAX_EIGENVALUE_DEGREE || depth >= MAX_SUBDIVISIONS) {
+            for (double t : colleagueRoots(Arrays.copyOf(series, degree + 1))) {
+                roots.add(a + (b - a) * 0.5 * (t + 1.0));
+            }
+            return roots;
+        }
+        // Restrict the series to [-1, s] and [s, 1]: a restriction has at most the same degree, so sampling it
+        // at the next power of two of Chebyshev points recovers its coefficients
+        double s = -1.0 + 2.0 * SPLIT;
+        double split = a + (b - a) * SPLIT;
+        int n = Integer.highestOneBit(degree - 1) << 1;
+        double[][] halves = {{-1.0, s}, {s, 1.0}};
+        for (double[] half : halves) {
+            double[] values = new double[n + 1];
+            for (int j = 0; j <= n; j++) {
+                double t = 0.5 * (half[0] + half[1]) + 0.5 * (half[1] - half[0]) * Math.cos(Math.PI * j / n);
+                values[j] = clenshaw(series, t);
+            }
+            double lo = half[0] == -1.0 ? a : split;
+            double hi = half[0] == -1.0 ? split : b;
+            for (double root : roots(coefficients(values), lo, hi, threshold, depth + 1)) {
+                // A root on the splitting point is found by both halves
+                if (roots.isEmpty() || root - roots.get(roots.size() - 1) > ROOT_SLACK * (b - a)) {
+                    roots.add(root);
+                }
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Computes the real roots in [-1, 1] of a Chebyshev series with a non-zero leading coefficient as the
+     * eigenvalues of its colleague matrix, in increasing order.
+     */
+    private static double[] colleagueRoots(double[] series) {
+        int m = series.length - 1;
+        if (m == 1) {
+            double root = -series[0] / series[1];
+            return Math.abs(root) <= 1.0 + ROOT_SLACK ? new double[]{Math.max(-1.0, Math.min(1.0, root))} : new double[0];
+        }
+        // x T_0 = T_1, x T_j = (T_{j-1} + T_{j+1}) / 2, and T_m = -(a_0 T_0 + ... + a_{m-1} T_{m-1}) / a_m at a root
+        double[][] colleague = new double[m][m];
+        colleague[0][1] = 1.0;
+        for (int j = 1; j < m; j++) {
+            colleague[j][j - 1] = 0.5;
+            if (j + 1 < m) {
+                colleague[j][j + 1] = 0.5;
+            }
+        }
+        for (int k = 0; k < m; k++) {
+            colleague[m - 1][k] -= series[k] / (2.0 * series[m]);
+        }
+        EigenDecomposition decomposition = new EigenDecomposition(new Array2DRowRealMatrix(colleague, false));
+        double[] re = decomposition.getRealEigenvalues();
+        double[] im = decomposition.getImagEigenvalues();
+        return IntStream.range(0, m)
+                .filter(k -> Math.abs(im[k]) <= ROOT_SLACK && Math.abs(re[k]) <= 1.0 + ROOT_SLACK)
+                .mapToDouble(k -> Math.max(-1.0, Math.min(1.0, re[k])))
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Evaluates a Chebyshev series at t in [-1, 1] by Clenshaw's recurrence.
+     */
+    private static double clenshaw(double[] series, double t) {
+        double next = 0.0;
+        double current = 0.0;
+        for (int k = series.length - 1; k >= 1; k--) {
+            double previous = 2 * t * current - next + series[k];
+            next = current;
+            current = previous;
+        }
+        return t * current - next + series[0];
+    }
+
+    private static int firstNonFinite(double[] values) {
+        for (int j = 0; j < values.length; j++) {
+            if (!Double.isFinite(values[j])) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    private static double maxAbs(double[] values) {
+        double max = 0.0;
+        for (double value : values) {
+            max = Math.max(max, Math.abs(value));
+        }
+        return max;
+    }
+}
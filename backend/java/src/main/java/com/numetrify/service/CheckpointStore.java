@@ -0,0 +1,181 @@
+package com.numetrify.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.numetrify.config.CheckpointProperties;
+import com.numetrify.execution.SolveKey;
+import com.numetrify.service.matrix.ParallelKernels;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Resumable checkpoints of the stationary iterative methods (Jacobi and Gauss-Seidel).
+ *
+ * The setup of these methods, building and inverting D or D - L to get the iteration x = Tx + C, costs O(n^3)
+ * while an iteration costs O(n^2). A checkpoint keeps T and C together with the last iterate, so a client can
+ * iterate in bounded chunks: each response that stopped without converging (or that asked for one, see
+ * {@link IterationOptions#saveCheckpoint()}) carries the handle of a new checkpoint, and passing it back with the
+ * same system continues from the last iterate without repeating the setup. Checkpoints are immutable, a handle
+ * can be resumed any number of times until it expires after {@code numetrify.checkpoints.ttl}; the spectral
+ * radius of T, reported in the messages, is computed once per system.
+ *
+ * The checkpoints of a system share its iteration matrices: they are kept once per method and system, weighed
+ * against {@code numetrify.checkpoints.max-memory}, while a checkpoint only holds its iterate, weighed against
+ * {@code numetrify.checkpoints.max-iterate-memory}. The matrices are dropped once none of their checkpoints was
+ * saved or resumed for a ttl, or earlier under memory pressure, which expires their checkpoints.
+ *
+ * A checkpoint only resumes the method and the system it was created for, identified by the {@link SolveKey}
+ * of A and b.
+ */
+@Component
+public class CheckpointStore {
+
+    private final Cache<String, Iterate> iterates;
+    private final Cache<MatricesKey, IterationMatrices> systems;
+
+    public CheckpointStore(CheckpointProperties properties) {
+        this.iterates = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumWeight(Math.max(1, properties.getMaxIterateMemory().toKilobytes()))
+                .<String, Iterate>weigher((handle, iterate) -> kilobytes(iterate.x().length))
+                .build();
+        this.systems = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getTtl())
+                .maximumWeight(Math.max(1, properties.getMaxMemory().toKilobytes()))
+                .<MatricesKey, IterationMatrices>weigher((key, shared) -> kilobytes((long) shared.rows().length * (shared.rows().length + 1)))
+                .build();
+    }
+
+    /**
+     * Returns the checkpoint to resume, or null if the handle is null, unknown, expired (with its iterate or with
+     * the iteration matrices of its system) or was created for another method or system. A caller passing a
+     * handle should report the null instead of silently starting from scratch.
+     *
+     * @param handle the handle of the checkpoint, may be null
+     * @param method the name of the method resuming it
+     * @param system the key of A and b
+     */
+    public Checkpoint resume(String handle, String method, SolveKey system) {
+        if (handle == null) {
+            return null;
+        }
+        Iterate iterate = iterates.getIfPresent(handle);
+        if (iterate == null || !iterate.key().equals(new MatricesKey(method, system))) {
+            return null;
+        }
+        IterationMatrices shared = systems.getIfPresent(iterate.key());
+        return shared == null ? null : new Checkpoint(shared, iterate.x(), iterate.iterations());
+    }
+
+    /**
+     * Stores a new checkpoint.
+     *
+     * @param matrices the iteration matrices of the system
+     * @param x the last iterate
+     * @param iterations the total number of iterations performed from the initial guess
+     * @return the handle of the checkpoint
+     */
+    public String save(IterationMatrices matrices, double[] x, long iterations) {
+        MatricesKey key = new MatricesKey(matrices.method(), matrices.system());
+        // Keeps the matrices already shared by the checkpoints of the system, which also refreshes their expiry
+        systems.get(key, k -> matrices);
+        String handle = UUID.randomUUID().toString();
+        iterates.put(handle, new Iterate(key, x, iterations));
+        return handle;
+    }
+
+    private static int kilobytes(long doubles) {
+        return (int) Math.min(Integer.MAX_VALUE, doubles * Double.BYTES / 1024 + 1);
+    }
+
+    /**
+     * State of a stationary iterative method after some iterations.
+     *
+     * @param matrices the iteration matrices
+     * @param x the last iterate
+     * @param iterations the total number of iterations performed from the initial guess
+     */
+    public record Checkpoint(IterationMatrices matrices, double[] x, long iterations) {
+    }
+
+    private record MatricesKey(String method, SolveKey system) {
+    }
+
+    /**
+     * What a handle holds: the key of the shared iteration matrices, the last iterate and the iteration count.
+     */
+    private record Iterate(MatricesKey key, double[] x, long iterations) {
+    }
+
+    /**
+     * Iteration x = Tx + C of a stationary method on a system, shared by all the checkpoints of that system.
+     *
+     * T and C are kept as plain arrays, the form the row-parallel {@link ParallelKernels#affineMap} iterates on.
+     */
+    public static final class IterationMatrices {
+
+        private final String method;
+        private final SolveKey system;
+        private final double[][] rows;
+        private final double[] constant;
+        private double spectralRadius = Double.NaN;
+
+        public IterationMatrices(String method, SolveKey system, RealMatrix T, RealVector C) {
+            this.method = method;
+            this.system = system;
+            this.rows = T instanceof Array2DRowRealMatrix array ? array.getDataRef() : T.getData();
+            this.constant = C.toArray();
+        }
+
+        public String method() {
+            return method;
+        }
+
+        public SolveKey system() {
+            return system;
+        }
+
+        public RealMatrix T() {
+            return new Array2DRowRealMatrix(rows, false);
+        }
+
+        public RealVector C() {
+            return new ArrayRealVector(constant, false);
+        }
+
+        /**
+         * Returns the rows of T, not to be modified.
+         */
+        public double[][] rows() {
+            return rows;
+        }
+
+        /**
+         * Returns C, not to be modified.
+         */
+        public double[] constant() {
+            return constant;
+        }
+
+        /**
+         * Returns the spectral radius of T, computed on first use.
+         */
+        public synchronized double spectralRadius() {
+            if (Double.isNaN(spectralRadius)) {
+                double[] realParts = new EigenDecomposition(T()).getRealEigenvalues();
+                double maxEigenvalue = 0;
+                for (double eigenvalue : realParts) {
+                    maxEigenvalue = Math.max(maxEigenvalue, Math.abs(eigenvalue));
+                }
+                spectralRadius = maxEigenvalue;
+            }
+            return spectralRadius;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.CholeskyResponse;
+import com.numetrify.execution.PhaseProfiler;
 import com.numetrify.service.matrix.CholeskyDecomposition;
 import org.springframework.stereotype.Service;
 
@@ -36,7 +37,9 @@ public class CholeskyService {
     public CholeskyResponse cholesky(double[][] A, double[] b) {
         try {
             CholeskyDecomposition cholesky = new CholeskyDecomposition(A);
+            PhaseProfiler.mark("factorization");
             double[] solution = cholesky.solve(b);
+            PhaseProfiler.mark("substitution");
             double[][] L = cholesky.getL();
             double[][] U = cholesky.getU();
             return new CholeskyResponse("Success", solution, L, U);
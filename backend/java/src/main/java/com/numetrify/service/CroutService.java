@@ -1,6 +1,9 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.CroutResponse;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.service.matrix.DenseKernels;
 import org.springframework.stereotype.Service;
 
 /**
@@ -43,42 +46,37 @@ public class CroutService {
             U[i][i] = 1.0;
         }
 
-        // Crout's algorithm for LU decomposition
-        for (int j = 0; j < n; j++) {
-            for (int i = j; i < n; i++) {
-                L[i][j] = A[i][j];
-                for (int k = 0; k < j; k++) {
-                    L[i][j] -= L[i][k] * U[k][j];
-                }
+        // Crout's algorithm for LU decomposition, one row of L and U at a time: row i of A is
+        // sum_j L[i][j] U[j], so the rows of U above are subtracted from it in turn, along contiguous rows
+        DenseKernels kernels = DenseKernels.selected();
+        double[] row = new double[n];
+        for (int i = 0; i < n; i++) {
+            Deadline.check();
+            System.arraycopy(A[i], 0, row, 0, n);
+            for (int j = 0; j < i; j++) {
+                L[i][j] = row[j];
+                kernels.axpy(-L[i][j], U[j], j + 1, row, j + 1, n - j - 1);
             }
-            for (int i = j + 1; i < n; i++) {
-                U[j][i] = A[j][i];
-                for (int k = 0; k < j; k++) {
-                    U[j][i] -= L[j][k] * U[k][i];
-                }
-                U[j][i] /= L[j][j];
+            L[i][i] = row[i];
+            for (int j = i + 1; j < n; j++) {
+                U[i][j] = row[j] / L[i][i];
             }
         }
 
+        PhaseProfiler.mark("factorization");
         // Solve Lz = B using forward substitution
         double[] z = new double[n];
         for (int i = 0; i < n; i++) {
-            z[i] = B[i];
-            for (int j = 0; j < i; j++) {
-                z[i] -= L[i][j] * z[j];
-            }
-            z[i] /= L[i][i];
+            z[i] = (B[i] - kernels.dot(L[i], 0, z, 0, i)) / L[i][i];
         }
 
         // Solve Ux = z using backward substitution
         double[] x = new double[n];
         for (int i = n - 1; i >= 0; i--) {
-            x[i] = z[i];
-            for (int j = i + 1; j < n; j++) {
-                x[i] -= U[i][j] * x[j];
-            }
+            x[i] = z[i] - kernels.dot(U[i], i + 1, x, i + 1, n - i - 1);
         }
 
+        PhaseProfiler.mark("substitution");
         return new CroutResponse(x, L, U);
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.DoolittleResponse;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.service.matrix.DenseKernels;
 import org.springframework.stereotype.Service;
 
 /**
@@ -43,46 +46,37 @@ public class DoolittleService {
             L[i][i] = 1.0;
         }
 
-        // Doolittle's algorithm for LU decomposition
+        // Doolittle's algorithm for LU decomposition, one row of L and U at a time: row i of A is
+        // sum_j L[i][j] U[j], so the rows of U above are subtracted from it in turn, along contiguous rows
+        DenseKernels kernels = DenseKernels.selected();
+        double[] row = new double[n];
         for (int i = 0; i < n; i++) {
-            // Upper Triangular
-            for (int k = i; k < n; k++) {
-                double sum = 0.0;
-                for (int j = 0; j < i; j++) {
-                    sum += (L[i][j] * U[j][k]);
-                }
-                U[i][k] = A[i][k] - sum;
-            }
-
+            Deadline.check();
+            System.arraycopy(A[i], 0, row, 0, n);
             // Lower Triangular
-            for (int k = i + 1; k < n; k++) {
-                double sum = 0.0;
-                for (int j = 0; j < i; j++) {
-                    sum += (L[k][j] * U[j][i]);
-                }
-                L[k][i] = (A[k][i] - sum) / U[i][i];
+            for (int j = 0; j < i; j++) {
+                L[i][j] = row[j] / U[j][j];
+                kernels.axpy(-L[i][j], U[j], j + 1, row, j + 1, n - j - 1);
             }
+
+            // Upper Triangular
+            System.arraycopy(row, i, U[i], i, n - i);
         }
 
+        PhaseProfiler.mark("factorization");
         // Solve Lz = B using forward substitution
         double[] z = new double[n];
         for (int i = 0; i < n; i++) {
-            z[i] = B[i];
-            for (int j = 0; j < i; j++) {
-                z[i] -= L[i][j] * z[j];
-            }
+            z[i] = B[i] - kernels.dot(L[i], 0, z, 0, i);
         }
 
         // Solve Ux = z using backward substitution
         double[] x = new double[n];
         for (int i = n - 1; i >= 0; i--) {
-            x[i] = z[i];
-            for (int j = i + 1; j < n; j++) {
-                x[i] -= U[i][j] * x[j];
-            }
-            x[i] /= U[i][i];
+            x[i] = (z[i] - kernels.dot(U[i], i + 1, x, i + 1, n - i - 1)) / U[i][i];
         }
 
+        PhaseProfiler.mark("substitution");
         return new DoolittleResponse(x, L, U);
     }
 }
\ No newline at end of file
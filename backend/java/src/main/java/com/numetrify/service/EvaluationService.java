@@ -0,0 +1,80 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.EvaluationResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.expression.CompiledFunction;
+import com.numetrify.expression.EvaluationBudget;
+import lombok.SneakyThrows;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class to sample a function on an interval, e.g. to plot it.
+ *
+ * The samples are computed with the batch evaluation of {@link CompiledFunction#evaluate(double[], double[])},
+ * which evaluates the common subset of mXparser's syntax node by node over the whole array.
+ */
+@Service
+public class EvaluationService {
+
+    /**
+     * Largest number of points of a request.
+     */
+    public static final int MAX_POINTS = 100_000;
+
+    /**
+     * Evaluates the given function at equally spaced points of an interval, both bounds included.
+     *
+     * @param functionExpression the expression of the function
+     * @param lowerBound the lower bound of the interval
+     * @param upperBound the upper bound of the interval
+     * @param points the number of points, between 2 and {@value #MAX_POINTS}
+     * @return EvaluationResponse containing the points and the values of the function at them
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * EvaluationResponse response = evaluationService.evaluate("sin(10*x) - x/2", -3, 3, 500);
+     * double[] xValues = response.getXValues();
+     * double[] functionValues = response.getFunctionValues();
+     * }
+     * </pre>
+     */
+    @SneakyThrows
+    public EvaluationResponse evaluate(String functionExpression, double lowerBound, double upperBound, int points) {
+        EvaluationBudget budget = new EvaluationBudget(0);
+        CompiledFunction function = CompiledFunction.of("f(x) = " + functionExpression, budget);
+        PhaseProfiler.mark("compilation");
+        if (!function.checkSyntax()) {
+            return budget.report(new EvaluationResponse(SolverOutcome.FAILED, "Invalid function syntax.", new double[0], new double[0]));
+        }
+        if (!(lowerBound < upperBound) || !Double.isFinite(lowerBound) || !Double.isFinite(upperBound)) {
+            String message = "The interval is inadequate, the lower bound must be less than the upper bound.";
+            return budget.report(new EvaluationResponse(SolverOutcome.INVALID_INTERVAL, message, new double[0], new double[0]));
+        }
+        if (points < 2 || points > MAX_POINTS) {
+            String message = "The number of points must be between 2 and " + MAX_POINTS + ".";
+            return budget.report(new EvaluationResponse(SolverOutcome.FAILED, message, new double[0], new double[0]));
+        }
+
+        double[] xValues = new double[points];
+        double step = (upperBound - lowerBound) / (points - 1);
+        for (int i = 0; i < points - 1; i++) {
+            xValues[i] = lowerBound + i * step;
+        }
+        xValues[points - 1] = upperBound;
+        double[] functionValues = new double[points];
+        function.evaluate(xValues, functionValues);
+        PhaseProfiler.mark("evaluation");
+
+        int undefined = 0;
+        for (double value : functionValues) {
+            if (!Double.isFinite(value)) {
+                undefined++;
+            }
+        }
+        String message = "Success: f(x) was evaluated at " + points + " points of [" + lowerBound + ", " + upperBound + "]"
+                + (undefined == 0 ? "" : ", it is not finite at " + undefined + " of them");
+        return budget.report(new EvaluationResponse(SolverOutcome.CONVERGED, message, xValues, functionValues));
+    }
+}
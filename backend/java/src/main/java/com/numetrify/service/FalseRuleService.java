@@ -1,8 +1,12 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.FalseRuleResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.expression.CompiledFunction;
+import com.numetrify.expression.EvaluationBudget;
 import lombok.SneakyThrows;
-import org.mariuszgromada.math.mxparser.Function;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -23,6 +27,7 @@ public class FalseRuleService {
      * @param errorType the type of error to use (1 for absolute error, 2 for relative error)
      * @param toleranceValue the tolerance value for the stopping criterion
      * @param maxIterations the maximum number of iterations
+     * @param maxFunctionEvaluations the maximum number of function evaluations, 0 for no limit
      * @return FalseRuleResponse containing the result of the False Position method
      * @throws IllegalArgumentException if the interval is inadequate
      *
@@ -35,7 +40,8 @@ public class FalseRuleService {
      * int errorType = 1;
      * double toleranceValue = 0.01;
      * int maxIterations = 100;
-     * FalsePositionResponse response = falseRuleService.falsePosition(functionExpression, lowerBound, upperBound, precisionType, errorType, toleranceValue, maxIterations);
+     * long maxFunctionEvaluations = 0;
+     * FalsePositionResponse response = falseRuleService.falsePosition(functionExpression, lowerBound, upperBound, precisionType, errorType, toleranceValue, maxIterations, maxFunctionEvaluations);
      * List<Double> xValues = response.getXValues();
      * List<Double> functionValues = response.getFunctionValues();
      * List<Double> errors = response.getErrors();
@@ -44,9 +50,11 @@ public class FalseRuleService {
      * </pre>
      */
     @SneakyThrows
-    public FalseRuleResponse falseRule(String functionExpression, double lowerBound, double upperBound, int errorType, double toleranceValue, int maxIterations) {
+    public FalseRuleResponse falseRule(String functionExpression, double lowerBound, double upperBound, int errorType, double toleranceValue, int maxIterations, long maxFunctionEvaluations) {
         // Create the function using the provided expression
-        Function function = new Function("f(x) = " + functionExpression);
+        EvaluationBudget budget = new EvaluationBudget(maxFunctionEvaluations);
+        CompiledFunction function = CompiledFunction.of("f(x) = " + functionExpression, budget);
+        PhaseProfiler.mark("compilation");
 
         // Calculate function values at the bounds
         double functionAtLowerBound = function.calculate(lowerBound);
@@ -55,11 +63,11 @@ public class FalseRuleService {
 
         // Check if the bounds are roots of the function
         if (functionAtLowerBound == 0) {
-            return new FalseRuleResponse(lowerBound + " is a root of f(x)", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            return budget.report(new FalseRuleResponse(SolverOutcome.CONVERGED, lowerBound + " is a root of f(x)", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
         } else if (functionAtUpperBound == 0) {
-            return new FalseRuleResponse(upperBound + " is a root of f(x)", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            return budget.report(new FalseRuleResponse(SolverOutcome.CONVERGED, upperBound + " is a root of f(x)", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
         } else if (functionAtLowerBound * functionAtUpperBound > 0) {
-            return new FalseRuleResponse("The interval is inadequate", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            return budget.report(new FalseRuleResponse(SolverOutcome.INVALID_INTERVAL, "The interval is inadequate", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
         }
 
         // Initialize lists to store the values of x, f(x), errors, and iterations
@@ -77,7 +85,7 @@ public class FalseRuleService {
         iterations.add(0);
 
         int iterationCount = 0;
-        while (errors.get(iterationCount) >= tolerance && functionAtRootApproximation != 0 && iterationCount < maxIterations) {
+        while (errors.get(iterationCount) >= tolerance && functionAtRootApproximation != 0 && iterationCount < maxIterations && budget.allows(2) && !Deadline.reached(iterationCount)) {
             // Update the bounds based on the sign of the function at the rootApproximation
             if (functionAtLowerBound * functionAtRootApproximation < 0) {
                 upperBound = rootApproximation;
@@ -101,11 +109,27 @@ public class FalseRuleService {
             errors.add(error);
         }
 
+        PhaseProfiler.mark("iteration");
         // Determine the result message
-        String message = functionAtRootApproximation == 0 ? rootApproximation + " is a root of f(x)"
-                : errors.get(iterationCount) < tolerance ? "The approximate solution is: " + rootApproximation + ", with a tolerance = " + tolerance
-                : "Failed in " + maxIterations + " iterations";
+        String message;
+        SolverOutcome outcome;
+        if (functionAtRootApproximation == 0) {
+            message = rootApproximation + " is a root of f(x)";
+            outcome = SolverOutcome.CONVERGED;
+        } else if (errors.get(iterationCount) < tolerance) {
+            message = "The approximate solution is: " + rootApproximation + ", with a tolerance = " + tolerance;
+            outcome = SolverOutcome.CONVERGED;
+        } else if (Deadline.expired()) {
+            message = Deadline.timeoutMessage(iterationCount);
+            outcome = SolverOutcome.TIMED_OUT;
+        } else if (!budget.allows(2)) {
+            message = budget.exhaustedMessage();
+            outcome = SolverOutcome.BUDGET_EXHAUSTED;
+        } else {
+            message = "Failed in " + maxIterations + " iterations";
+            outcome = SolverOutcome.FAILED;
+        }
 
-        return new FalseRuleResponse(message, xValues, functionValues, errors, iterations);
+        return budget.report(new FalseRuleResponse(outcome, message, xValues, functionValues, errors, iterations));
     }
 }
\ No newline at end of file
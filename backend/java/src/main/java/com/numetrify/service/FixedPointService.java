@@ -1,8 +1,13 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.FixedPointResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.expression.CompiledFunction;
+import com.numetrify.expression.EvaluationBudget;
+import com.numetrify.service.matrix.AndersonMixing;
 import lombok.SneakyThrows;
-import org.mariuszgromada.math.mxparser.Function;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -23,6 +28,7 @@ public class FixedPointService {
      * @param errorType the type of error to use (1 for absolute error, 2 for relative error)
      * @param toleranceValue the tolerance value for the stopping criterion
      * @param maxIterations the maximum number of iterations
+     * @param maxFunctionEvaluations the maximum number of function evaluations, 0 for no limit
      * @return FixedPointResponse containing the result of the Fixed Point method
      *
      * Example usage:
@@ -34,7 +40,8 @@ public class FixedPointService {
      * int errorType = 1;
      * double toleranceValue = 0.01;
      * int maxIterations = 100;
-     * FixedPointResponse response = fixedPointService.fixedPoint(functionExpression, gFunctionExpression, initialGuess, precisionType, errorType, toleranceValue, maxIterations);
+     * long maxFunctionEvaluations = 0;
+     * FixedPointResponse response = fixedPointService.fixedPoint(functionExpression, gFunctionExpression, initialGuess, precisionType, errorType, toleranceValue, maxIterations, maxFunctionEvaluations);
      * List<Double> xValues = response.getXValues();
      * List<Double> functionValues = response.getFunctionValues();
      * List<Double> errors = response.getErrors();
@@ -42,11 +49,29 @@ public class FixedPointService {
      * }
      * </pre>
      */
+    public FixedPointResponse fixedPoint(String functionExpression, String gFunctionExpression, double initialGuess, int errorType, double toleranceValue, int maxIterations, long maxFunctionEvaluations) {
+        return fixedPoint(functionExpression, gFunctionExpression, initialGuess, errorType, toleranceValue, maxIterations, maxFunctionEvaluations, Acceleration.NONE, 1);
+    }
+
+    /**
+     * Performs the Fixed Point method with a convergence acceleration, evaluating f only every few iterations.
+     *
+     * With Aitken the reported iterates are the extrapolated estimates, with Steffensen and Anderson they are the
+     * iterates of the accelerated iteration itself; the errors are measured between consecutive reported iterates.
+     * f(x) is only needed to report the iterates and to detect an exact root, so it can be evaluated every
+     * reportInterval iterations only, and always at the last iterate; the skipped function values are null.
+     *
+     * @param acceleration the convergence acceleration
+     * @param reportInterval the number of iterations between two evaluations of f, 1 or less for every iteration
+     * @return FixedPointResponse containing the result of the Fixed Point method
+     */
     @SneakyThrows
-    public FixedPointResponse fixedPoint(String functionExpression, String gFunctionExpression, double initialGuess, int errorType, double toleranceValue, int maxIterations) {
+    public FixedPointResponse fixedPoint(String functionExpression, String gFunctionExpression, double initialGuess, int errorType, double toleranceValue, int maxIterations, long maxFunctionEvaluations, Acceleration acceleration, int reportInterval) {
         // Create the function and gFunction using the provided expressions
-        Function function = new Function("f(x) = " + functionExpression);
-        Function gFunction = new Function("g(x) = " + gFunctionExpression);
+        EvaluationBudget budget = new EvaluationBudget(maxFunctionEvaluations);
+        CompiledFunction function = CompiledFunction.of("f(x) = " + functionExpression, budget);
+        CompiledFunction gFunction = CompiledFunction.of("g(x) = " + gFunctionExpression, budget);
+        PhaseProfiler.mark("compilation");
 
         // Calculate tolerance based on the type of error
         double tolerance = 0.5 * Math.pow(10, -toleranceValue);
@@ -57,9 +82,17 @@ public class FixedPointService {
         List<Double> errors = new ArrayList<>();
         List<Integer> iterations = new ArrayList<>();
 
+        // Evaluations of g per iteration, plus one kept in reserve for f at the last iterate
+        int evaluationsPerIteration = (acceleration == Acceleration.STEFFENSEN ? 2 : 1) + 1;
+        AndersonMixing anderson = acceleration == Acceleration.ANDERSON ? new AndersonMixing(1, AndersonMixing.DEFAULT_DEPTH) : null;
+
         // Initial values
         double currentX = initialGuess;
         double currentFunctionValue = function.calculate(currentX);
+        // Last three iterates of the plain sequence, for Aitken's extrapolation
+        double plainOlder = Double.NaN;
+        double plainPrevious = Double.NaN;
+        double plainCurrent = initialGuess;
         int iterationCount = 0;
         double error = 100.0; // Initial error set to 100%
         xValues.add(currentX);
@@ -68,12 +101,27 @@ public class FixedPointService {
         iterations.add(iterationCount);
 
         // Perform the fixed point method
-        while (error >= tolerance && currentFunctionValue != 0 && iterationCount < maxIterations) {
+        while (error >= tolerance && currentFunctionValue != 0 && iterationCount < maxIterations && budget.allows(evaluationsPerIteration) && !Deadline.reached(iterationCount)) {
             iterationCount++;
-            currentX = gFunction.calculate(currentX);
-            currentFunctionValue = function.calculate(currentX);
+            switch (acceleration) {
+                case AITKEN -> {
+                    plainOlder = plainPrevious;
+                    plainPrevious = plainCurrent;
+                    plainCurrent = gFunction.calculate(plainCurrent);
+                    currentX = Double.isNaN(plainOlder) ? plainCurrent : aitken(plainOlder, plainPrevious, plainCurrent);
+                }
+                case STEFFENSEN -> {
+                    double first = gFunction.calculate(currentX);
+                    double second = gFunction.calculate(first);
+                    currentX = aitken(currentX, first, second);
+                }
+                case ANDERSON -> currentX = anderson.mix(new double[]{currentX}, new double[]{gFunction.calculate(currentX)})[0];
+                default -> currentX = gFunction.calculate(currentX);
+            }
+            boolean report = reportInterval <= 1 || iterationCount % reportInterval == 0;
+            currentFunctionValue = report ? function.calculate(currentX) : Double.NaN;
             xValues.add(currentX);
-            functionValues.add(currentFunctionValue);
+            functionValues.add(report ? currentFunctionValue : null);
             iterations.add(iterationCount);
 
             // Calculate the error based on the error type
@@ -81,12 +129,45 @@ public class FixedPointService {
                     : Math.abs((xValues.get(iterationCount) - xValues.get(iterationCount - 1)) / xValues.get(iterationCount));
             errors.add(error);
         }
+        if (Double.isNaN(currentFunctionValue) && !Double.isNaN(currentX)) {
+            currentFunctionValue = function.calculate(currentX);
+            functionValues.set(iterationCount, currentFunctionValue);
+        }
 
+        PhaseProfiler.mark("iteration");
         // Determine the result message
-        String message = currentFunctionValue == 0 ? currentX + " is a root of f(x)"
-                : errors.get(iterationCount) < tolerance ? "The approximate solution is: " + currentX + ", with a tolerance = " + tolerance
-                : "Failed in " + maxIterations + " iterations";
+        String message;
+        SolverOutcome outcome;
+        if (currentFunctionValue == 0) {
+            message = currentX + " is a root of f(x)";
+            outcome = SolverOutcome.CONVERGED;
+        } else if (errors.get(iterationCount) < tolerance) {
+            message = "The approximate solution is: " + currentX + ", with a tolerance = " + tolerance;
+            outcome = SolverOutcome.CONVERGED;
+        } else if (Deadline.expired()) {
+            message = Deadline.timeoutMessage(iterationCount);
+            outcome = SolverOutcome.TIMED_OUT;
+        } else if (!budget.allows(evaluationsPerIteration)) {
+            message = budget.exhaustedMessage();
+            outcome = SolverOutcome.BUDGET_EXHAUSTED;
+        } else {
+            message = "Failed in " + maxIterations + " iterations";
+            outcome = SolverOutcome.failedOrDiverged(xValues);
+        }
+
+        return budget.report(new FixedPointResponse(outcome, message, xValues, functionValues, errors, iterations));
+    }
 
-        return new FixedPointResponse(message, xValues, functionValues, errors, iterations);
+    /**
+     * Extrapolates three consecutive iterates of a linearly convergent sequence with Aitken's delta-squared
+     * formula, falling back to the last iterate when the second difference vanishes.
+     */
+    private static double aitken(double x0, double x1, double x2) {
+        double secondDifference = x2 - 2 * x1 + x0;
+        if (secondDifference == 0 || !Double.isFinite(secondDifference)) {
+            return x2;
+        }
+        double extrapolated = x0 - (x1 - x0) * (x1 - x0) / secondDifference;
+        return Double.isFinite(extrapolated) ? extrapolated : x2;
     }
 }
\ No newline at end of file
@@ -1,9 +1,18 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.GaussSeidelResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.execution.Progress;
+import com.numetrify.execution.SolveKey;
+import com.numetrify.service.matrix.AndersonMixing;
+import com.numetrify.service.matrix.NormType;
+import com.numetrify.service.matrix.ParallelKernels;
 import com.numetrify.util.MathUtils;
 import lombok.SneakyThrows;
 import org.apache.commons.math3.linear.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -13,117 +22,153 @@ import java.util.List;
 @Service
 public class GaussSeidelService {
 
-    @SneakyThrows
-    public GaussSeidelResponse gaussSeidel(int size, String matrixData, String bData, String x0Data, int errorType, double toleranceValue, int maxIterations) {
-        // Parse matrix A
-        double[][] A = new double[size][size];
-        String[] rows = matrixData.split(";");
-        for (int i = 0; i < size; i++) {
-            String[] rowData = rows[i].trim().split("\\s+");
-            for (int j = 0; j < size; j++) {
-                A[i][j] = Double.parseDouble(rowData[j]);
-            }
-        }
+    private final CheckpointStore checkpointStore;
 
-        // Parse vector b and initial guess x0
-        double[] b = parseVector(bData, size);
-        double[] x0 = parseVector(x0Data, size);
+    @Autowired
+    public GaussSeidelService(CheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+    }
 
+    /**
+     * Performs the Gauss-Seidel iterative method to solve the system of linear equations Ax = b.
+     *
+     * With a checkpoint in the options (see {@link CheckpointStore}), the iteration matrices are reused and the
+     * iteration starts from the last iterate of the checkpoint instead of x0; a checkpoint that expired or was
+     * created for another method or system fails the solve rather than restarting it from x0. Each iteration
+     * computes the new iterate, the norm of the update, the norm of the new iterate (for the relative error) and,
+     * if requested, the norm of the residual b - Ax in a single pass over the rows (see
+     * {@link ParallelKernels#affineStep}).
+     *
+     * With {@link Acceleration#ANDERSON} each new iterate mixes the last values of x = Tx + C (see
+     * {@link AndersonMixing}); the error of an iterate stays the norm of its fixed-point residual Tx + C - x, and
+     * the step that meets the tolerance is not mixed, so the solution returned is the Tx + C the error judged. The
+     * window of past steps is not part of the checkpoints, a resumed solve starts a new one.
+     *
+     * @param options the checkpoint, norm, residual and acceleration options
+     * @return GaussSeidelResponse containing the result of the method, the residuals if requested and the handle
+     * of a new checkpoint if one was saved
+     */
+    @SneakyThrows
+    public GaussSeidelResponse gaussSeidel(int size, double[][] A, double[] b, double[] x0, int errorType, double toleranceValue, int maxIterations, IterationOptions options) {
+        NormType normType = options.normType();
+        boolean residual = options.residual();
+        Acceleration acceleration = options.acceleration();
         // Determine tolerance
         double tolerance = MathUtils.getTolerance(toleranceValue, errorType);
-
-        // Initialize matrices and vectors
-        RealMatrix matrixA = MatrixUtils.createRealMatrix(A);
-        RealVector vectorB = MatrixUtils.createRealVector(b);
-        RealVector vectorX0 = MatrixUtils.createRealVector(x0);
-
-        // Initialize D, L, U matrices
-        RealMatrix D = MatrixUtils.createRealDiagonalMatrix(matrixA.getColumn(0));
-        for (int i = 1; i < size; i++) {
-            D.setEntry(i, i, matrixA.getEntry(i, i));
+        if (!acceleration.appliesToVectors()) {
+            return new GaussSeidelResponse(SolverOutcome.FAILED, "The " + acceleration + " acceleration only applies to the fixed point method, use NONE or ANDERSON.", new ArrayList<>(), new ArrayList<>(), null, null);
         }
-        RealMatrix L = MatrixUtils.createRealMatrix(size, size);
-        RealMatrix U = MatrixUtils.createRealMatrix(size, size);
 
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (i > j) L.setEntry(i, j, -matrixA.getEntry(i, j));
-                if (i < j) U.setEntry(i, j, -matrixA.getEntry(i, j));
-            }
+        // Reuse the iteration matrices of the checkpoint, or build them
+        SolveKey system = SolveKey.of(A, b);
+        CheckpointStore.Checkpoint resumed = checkpointStore.resume(options.checkpoint(), "gauss-seidel", system);
+        if (options.checkpoint() != null && resumed == null) {
+            return new GaussSeidelResponse(SolverOutcome.FAILED, "The checkpoint expired or does not match this system.", new ArrayList<>(), new ArrayList<>(), null, null);
         }
-
-        // Check if matrix D-L is singular
-        if (new LUDecomposition(D.subtract(L)).getDeterminant() == 0) {
-            return new GaussSeidelResponse("The matrix (D - L) is not invertible. The method fails.", new ArrayList<>(), new ArrayList<>());
+        CheckpointStore.IterationMatrices matrices = resumed != null ? resumed.matrices() : setup(size, A, b, system);
+        if (matrices == null) {
+            return new GaussSeidelResponse(SolverOutcome.FAILED, "The matrix (D - L) is not invertible. The method fails.", new ArrayList<>(), new ArrayList<>(), null, null);
         }
-
-        // Calculate T and C
-        RealMatrix DL_inv = new LUDecomposition(D.subtract(L)).getSolver().getInverse();
-        RealMatrix T = DL_inv.multiply(U);
-        RealVector C = DL_inv.operate(vectorB);
+        double[][] T = matrices.rows();
+        double[] C = matrices.constant();
+        double[] x = (resumed != null ? resumed.x() : x0).clone();
+        long previousIterations = resumed != null ? resumed.iterations() : 0;
+        PhaseProfiler.mark("setup");
 
         // Perform Gauss-Seidel iteration
         List<double[]> xValues = new ArrayList<>();
         List<Double> errors = new ArrayList<>();
-        RealVector x1;
+        List<Double> residuals = residual ? new ArrayList<>() : null;
+        AndersonMixing anderson = acceleration == Acceleration.ANDERSON ? new AndersonMixing(x.length, AndersonMixing.DEFAULT_DEPTH) : null;
         int iterations = 0;
         double error = tolerance + 1;
-        xValues.add(vectorX0.toArray());
+        xValues.add(x);
         errors.add(error);
-        while (error > tolerance && iterations < maxIterations) {
-            x1 = T.operate(vectorX0).add(C);
-            error = calculateError(x1, vectorX0);
+        while (error > tolerance && iterations < maxIterations && !Deadline.reached(iterations)) {
+            // Double-buffered: the new iterate is a fresh array, kept as is in the history
+            double[] next = new double[x.length];
+            ParallelKernels.StepNorms norms = ParallelKernels.affineStep(T, C, x, next, normType, residual ? A : null, b);
+            error = norms.update();
             if (errorType == 2) {
-                error /= x1.getNorm();
+                error /= norms.iterate();
+            }
+            if (residual) {
+                residuals.add(norms.residual());
             }
             errors.add(error);
-            xValues.add(x1.toArray());
-            vectorX0 = x1;
+            Progress.report(iterations + 1, error);
+            // The error judges the plain step Tx + C, keep it unmixed once it meets the tolerance
+            if (anderson != null && error > tolerance) {
+                next = anderson.mix(x, next);
+            }
+            xValues.add(next);
+            x = next;
             iterations++;
         }
 
+        // Residual of the last iterate, the loop measured the ones before it
+        if (residual) {
+            residuals.add(ParallelKernels.residual(A, b, x, normType));
+        }
+
         // Calculate spectral radius
-        double spectralRadius = calculateSpectralRadius(T);
+        PhaseProfiler.mark("iteration");
+        // The spectral radius only explains the outcome, skip its O(n^3) eigendecomposition once out of time
+        double spectralRadius = Deadline.expired() ? Double.NaN : matrices.spectralRadius();
+        PhaseProfiler.mark("spectral-radius");
 
         // Check for convergence
         String message;
+        SolverOutcome outcome;
         if (error < tolerance) {
-            message = "The approximate solution is: " + Arrays.toString(vectorX0.toArray()) + ", with a tolerance = " + tolerance;
+            message = "The approximate solution is: " + Arrays.toString(x) + ", with a tolerance = " + tolerance;
             if (spectralRadius < 1) {
                 message += " This solution is unique because the spectral radius of T is " + spectralRadius + " and is less than 1.";
             }
+            outcome = SolverOutcome.CONVERGED;
+        } else if (Deadline.expired()) {
+            message = Deadline.timeoutMessage(iterations);
+            outcome = SolverOutcome.TIMED_OUT;
         } else {
             message = "Failed in " + maxIterations + " iterations.";
             if (spectralRadius >= 1) {
                 message += " It is possible that the method failed because the spectral radius of T is " + spectralRadius + " and is greater than or equal to 1.";
             }
+            outcome = spectralRadius >= 1 ? SolverOutcome.DIVERGED : SolverOutcome.failedOrDiverged(xValues);
         }
-        return new GaussSeidelResponse(message, xValues, errors);
+        String saved = options.saveCheckpoint() || outcome != SolverOutcome.CONVERGED ? checkpointStore.save(matrices, x, previousIterations + iterations) : null;
+        return new GaussSeidelResponse(outcome, message, xValues, errors, residuals, saved);
     }
 
-    private double[] parseVector(String data, int size) {
-        String[] elements = data.split("\\s+");
-        if (elements.length != size) {
-            throw new IllegalArgumentException("Vector size does not match the given matrix size.");
+    private CheckpointStore.IterationMatrices setup(int size, double[][] A, double[] b, SolveKey system) {
+        // Initialize matrices and vectors
+        RealMatrix matrixA = MatrixUtils.createRealMatrix(A);
+        RealVector vectorB = MatrixUtils.createRealVector(b);
+
+        // Initialize D, L, U matrices
+        RealMatrix D = MatrixUtils.createRealDiagonalMatrix(matrixA.getColumn(0));
+        for (int i = 1; i < size; i++) {
+            D.setEntry(i, i, matrixA.getEntry(i, i));
         }
-        double[] vector = new double[size];
+        RealMatrix L = MatrixUtils.createRealMatrix(size, size);
+        RealMatrix U = MatrixUtils.createRealMatrix(size, size);
+
         for (int i = 0; i < size; i++) {
-            vector[i] = Double.parseDouble(elements[i]);
+            for (int j = 0; j < size; j++) {
+                if (i > j) L.setEntry(i, j, -matrixA.getEntry(i, j));
+                if (i < j) U.setEntry(i, j, -matrixA.getEntry(i, j));
+            }
         }
-        return vector;
-    }
-
-    private double calculateError(RealVector x1, RealVector x0) {
-        return x1.subtract(x0).getNorm();
-    }
 
-    private double calculateSpectralRadius(RealMatrix T) {
-        EigenDecomposition eigenDecomposition = new EigenDecomposition(T);
-        double[] realParts = eigenDecomposition.getRealEigenvalues();
-        double maxEigenvalue = 0;
-        for (double eigenvalue : realParts) {
-            maxEigenvalue = Math.max(maxEigenvalue, Math.abs(eigenvalue));
+        // Check if matrix D-L is singular
+        if (new LUDecomposition(D.subtract(L)).getDeterminant() == 0) {
+            return null;
         }
-        return maxEigenvalue;
+
+        // Calculate T and C
+        RealMatrix DL_inv = new LUDecomposition(D.subtract(L)).getSolver().getInverse();
+        RealMatrix T = DL_inv.multiply(U);
+        RealVector C = DL_inv.operate(vectorB);
+        return new CheckpointStore.IterationMatrices("gauss-seidel", system, T, C);
     }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.IncrementalSearchResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.expression.CompiledFunction;
+import com.numetrify.expression.EvaluationBudget;
 import lombok.SneakyThrows;
-import org.mariuszgromada.math.mxparser.Function;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -10,10 +14,21 @@ import java.util.List;
 
 /**
  * Service class to perform Incremental Search for root finding.
+ *
+ * The points x0, x0 + h, x0 + 2h, ... are evaluated ahead in blocks with the batch evaluation of
+ * {@link CompiledFunction#evaluate(double[], double[])}, and the search then walks through the values.
  */
 @Service
 public class IncrementalSearchService {
 
+    /**
+     * Size of the first block of points of a function evaluated in batches; the blocks double up to
+     * {@link #MAX_BLOCK}, so that a search stopping early evaluates few points past its end.
+     */
+    private static final int MIN_BLOCK = 16;
+
+    private static final int MAX_BLOCK = 1024;
+
     /**
      * Performs Incremental Search to find intervals where the function changes sign, indicating the presence of a root.
      *
@@ -23,6 +38,7 @@ public class IncrementalSearchService {
      * @param Nmax the maximum number of iterations
      * @param errorType the type of error to use (1 for absolute error, 2 for relative error)
      * @param toleranceValue the tolerance value for the stopping criterion
+     * @param maxFunctionEvaluations the maximum number of function evaluations, 0 for no limit
      * @return IncrementalSearchResponse containing the result of the Incremental Search method
      *
      * Example usage:
@@ -34,7 +50,9 @@ public class IncrementalSearchService {
      * int Nmax = 100;
      * int errorType = 1;
      * double toleranceValue = 0.01;
-     * IncrementalSearchResponse response = incrementalSearchService.incrementalSearch(functionExpression, x0, h, Nmax, precisionType, errorType, toleranceValue);
+     * long maxFunctionEvaluations = 0;
+     * IncrementalSearchResponse response = incrementalSearchService.incrementalSearch(functionExpression, x0, h, Nmax, precisionType, errorType, toleranceValue, maxFunctionEvaluations);
+     * String message = response.getMessage();
      * double xPrevious = response.getXPrevious();
      * double xCurrent = response.getXCurrent();
      * int iterations = response.getIterations();
@@ -45,15 +63,20 @@ public class IncrementalSearchService {
      * </pre>
      */
     @SneakyThrows
-    public IncrementalSearchResponse incrementalSearch(String functionExpression, double x0, double h, int Nmax, int errorType, double toleranceValue) {
+    public IncrementalSearchResponse incrementalSearch(String functionExpression, double x0, double h, int Nmax, int errorType, double toleranceValue, long maxFunctionEvaluations) {
         // Create the function using the provided expression
-        Function function = new Function("f(x) = " + functionExpression);
+        EvaluationBudget budget = new EvaluationBudget(maxFunctionEvaluations);
+        CompiledFunction function = CompiledFunction.of("f(x) = " + functionExpression, budget);
+        PhaseProfiler.mark("compilation");
 
         // Initialize
-        double xPrevious = x0;
-        double fPrevious = function.calculate(xPrevious);
-        double xCurrent = xPrevious + h;
-        double fCurrent = function.calculate(xCurrent);
+        Samples samples = new Samples(function, budget, x0, h, Nmax + 2L);
+        samples.advance();
+        double xPrevious = samples.x();
+        double fPrevious = samples.value();
+        samples.advance();
+        double xCurrent = samples.x();
+        double fCurrent = samples.value();
         int iterations = 0;
         double tolerance = 0.5 * Math.pow(10, -toleranceValue);
 
@@ -67,13 +90,14 @@ public class IncrementalSearchService {
 
         // Loop
         for (iterations = 1; iterations <= Nmax; iterations++) {
-            if (fPrevious * fCurrent < 0 || errors.get(iterations - 1) < tolerance) {
+            if (fPrevious * fCurrent < 0 || errors.get(iterations - 1) < tolerance || !samples.hasNext() || Deadline.reached(iterations - 1)) {
                 break;
             }
             xPrevious = xCurrent;
             fPrevious = fCurrent;
-            xCurrent = xPrevious + h;
-            fCurrent = function.calculate(xCurrent);
+            samples.advance();
+            xCurrent = samples.x();
+            fCurrent = samples.value();
             xValues.add(xPrevious);
             functionValues.add(fPrevious);
 
@@ -83,7 +107,103 @@ public class IncrementalSearchService {
             errors.add(error);
         }
 
+        PhaseProfiler.mark("iteration");
         // Result
-        return new IncrementalSearchResponse(xPrevious, xCurrent, iterations, xValues, functionValues, errors);
+        String message;
+        SolverOutcome outcome;
+        if (fCurrent == 0) {
+            message = xCurrent + " is a root of f(x)";
+            outcome = SolverOutcome.CONVERGED;
+        } else if (fPrevious * fCurrent < 0) {
+            message = "There is a root of f(x) between " + xPrevious + " and " + xCurrent;
+            outcome = SolverOutcome.CONVERGED;
+        } else if (Deadline.expired()) {
+            message = Deadline.timeoutMessage(iterations - 1);
+            outcome = SolverOutcome.TIMED_OUT;
+        } else if (samples.budgetExhausted()) {
+            message = budget.exhaustedMessage();
+            outcome = SolverOutcome.BUDGET_EXHAUSTED;
+        } else {
+            message = "Failed in " + Nmax + " iterations";
+            outcome = SolverOutcome.FAILED;
+        }
+        return budget.report(new IncrementalSearchResponse(outcome, message, xPrevious, xCurrent, iterations, xValues, functionValues, errors));
+    }
+
+    /**
+     * The points of the search, each one the previous plus h, and the values of the function at them, evaluated
+     * by blocks. A block never goes past the number of points of the search nor past the evaluation budget,
+     * except for the first two points, which are always evaluated. Blocks only pay off for the functions
+     * evaluated in batches; the others, evaluated point by point by mXparser anyway, are evaluated one point at
+     * a time so that none is evaluated past the point where the search stops.
+     */
+    private static final class Samples {
+        private final CompiledFunction function;
+        private final EvaluationBudget budget;
+        private final double h;
+        private long left;
+        private double next;
+        private final int maxBlock;
+        private int block;
+        private double[] xs = new double[0];
+        private double[] values = new double[0];
+        private int position = -1;
+
+        Samples(CompiledFunction function, EvaluationBudget budget, double x0, double h, long points) {
+            this.function = function;
+            this.budget = budget;
+            this.h = h;
+            this.left = points;
+            this.next = x0;
+            boolean batches = function.evaluatesInBatches();
+            this.block = batches ? MIN_BLOCK : 1;
+            this.maxBlock = batches ? MAX_BLOCK : 1;
+        }
+
+        /**
+         * Returns whether there is a next point, already evaluated or within the budget.
+         */
+        boolean hasNext() {
+            return position + 1 < xs.length || (left > 0 && budget.allows(1));
+        }
+
+        /**
+         * Returns whether the points ran out because of the budget.
+         */
+        boolean budgetExhausted() {
+            return position + 1 == xs.length && left > 0 && !budget.allows(1);
+        }
+
+        /**
+         * Moves to the next point, evaluating a new block if needed.
+         */
+        void advance() {
+            position++;
+            if (position < xs.length) {
+                return;
+            }
+            int size = (int) Math.min(Math.min(block, left), budget.remaining());
+            if (xs.length == 0) {
+                size = Math.max(size, 2);
+            }
+            xs = new double[size];
+            values = new double[size];
+            for (int i = 0; i < size; i++) {
+                xs[i] = next;
+                next += h;
+            }
+            function.evaluate(xs, values);
+            left -= size;
+            block = Math.min(2 * block, maxBlock);
+            position = 0;
+        }
+
+        double x() {
+            return xs[position];
+        }
+
+        double value() {
+            return values[position];
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.IntervalRootsResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.ComputePool;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.expression.ExpressionTree;
+import com.numetrify.expression.Interval;
+import lombok.SneakyThrows;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Service class to isolate all the roots of a function in an interval with interval arithmetic.
+ *
+ * Unlike Incremental Search, which only sees sign changes between its samples, the branch and bound discards a
+ * box only when the interval enclosure of f over it excludes zero, so no root is missed: roots closer than a step,
+ * tangential roots without a sign change included. Boxes where f' excludes zero are contracted by the interval
+ * Newton operator N(X) = m - f(m) / f'(X), which also proves that a box holds exactly one root when N(X) lies in
+ * its interior. The other boxes are bisected, the halves being searched in parallel on the fork/join
+ * {@link ComputePool} running the solve, whose work stealing balances the uneven subtrees; a search cheap enough
+ * to run on the request thread searches them one after the other.
+ */
+@Service
+public class IntervalRootsService {
+
+    /**
+     * Relative position of the bisection point, off the midpoint so that roots at simple values such as 0 do not
+     * fall on the boundary of two boxes.
+     */
+    private static final double SPLIT = 0.4990234375;
+
+    /**
+     * Isolates all the roots of the given function in an interval.
+     *
+     * @param functionExpression the expression of the function, in the subset of mXparser's syntax supported by {@link ExpressionTree}
+     * @param lowerBound the lower bound of the interval
+     * @param upperBound the upper bound of the interval
+     * @param toleranceValue the tolerance value, the number of decimal digits of the widths of the enclosures
+     * @param maxIterations the maximum number of boxes examined
+     * @return IntervalRootsResponse containing the enclosures of the roots and the intervals that may hold further roots
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * IntervalRootsResponse response = intervalRootsService.intervalRoots("sin(10*x) - x/2", -3, 3, 10, 100000);
+     * List<Double> roots = response.getRoots();
+     * List<double[]> enclosures = response.getEnclosures();
+     * }
+     * </pre>
+     */
+    @SneakyThrows
+    public IntervalRootsResponse intervalRoots(String functionExpression, double lowerBound, double upperBound, double toleranceValue, int maxIterations) {
+        ExpressionTree function = ExpressionTree.parse(functionExpression, "x");
+        PhaseProfiler.mark("compilation");
+        if (function == null) {
+            String message = "The function is outside the syntax with an interval extension: numbers, pi, e, x, + - * / ^, parentheses and sin, cos, tan, exp, ln, log10, log2, sqrt, abs.";
+            return new IntervalRootsResponse(SolverOutcome.FAILED, message, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), 0);
+        }
+        if (!(lowerBound < upperBound) || !Double.isFinite(lowerBound) || !Double.isFinite(upperBound)) {
+            String message = "The interval is inadequate, the lower bound must be less than the upper bound.";
+            return new IntervalRootsResponse(SolverOutcome.INVALID_INTERVAL, message, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), 0);
+        }
+
+        Search search = new Search(function, 0.5 * Math.pow(10, -toleranceValue), maxIterations, Deadline.shared());
+        Isolate isolate = new Isolate(search, new Interval(lowerBound, upperBound));
+        ForkJoinPool pool = ComputePool.current();
+        if (pool != null) {
+            pool.invoke(isolate);
+        } else {
+            isolate.invoke();
+        }
+        PhaseProfiler.mark("iteration");
+
+        List<Interval> enclosures = new ArrayList<>(search.enclosures);
+        enclosures.sort(Comparator.comparingDouble(Interval::lower));
+        List<Double> roots = new ArrayList<>();
+        List<double[]> enclosureBounds = new ArrayList<>();
+        for (Interval enclosure : enclosures) {
+            roots.add(enclosure.midpoint());
+            enclosureBounds.add(new double[]{enclosure.lower(), enclosure.upper()});
+        }
+        List<double[]> candidates = merge(new ArrayList<>(search.candidates));
+        int boxes = Math.min(search.boxes.get(), maxIterations);
+
+        String range = "[" + lowerBound + ", " + upperBound + "]";
+        String message;
+        SolverOutcome outcome;
+        if (search.stopped && Deadline.expired()) {
+            message = Deadline.timeoutMessage(boxes);
+            outcome = SolverOutcome.TIMED_OUT;
+        } else if (search.stopped) {
+            message = "Stopped after examining " + maxIterations + " boxes, the intervals left unexamined are listed as candidates";
+            outcome = SolverOutcome.FAILED;
+        } else if (roots.isEmpty() && candidates.isEmpty()) {
+            message = "Success: the function has no root in " + range;
+            outcome = SolverOutcome.CONVERGED;
+        } else {
+            message = "Success: " + roots.size() + " roots were isolated in " + range
+                    + (candidates.isEmpty() ? "" : ", and " + candidates.size() + " intervals narrower than the tolerance may hold multiple or tangential roots, or poles");
+            outcome = SolverOutcome.CONVERGED;
+        }
+        return new IntervalRootsResponse(outcome, message, roots, enclosureBounds, candidates, boxes);
+    }
+
+    /**
+     * Merges the candidate boxes that overlap or touch into clusters.
+     */
+    private static List<double[]> merge(List<Interval> boxes) {
+        boxes.sort(Comparator.comparingDouble(Interval::lower));
+        List<double[]> clusters = new ArrayList<>();
+        double[] current = null;
+        for (Interval box : boxes) {
+            if (current != null && box.lower() <= current[1]) {
+                current[1] = Math.max(current[1], box.upper());
+            } else {
+                current = new double[]{box.lower(), box.upper()};
+                clusters.add(current);
+            }
+        }
+        return clusters;
+    }
+
+    /**
+     * State of a search shared by its tasks.
+     */
+    private static final class Search {
+        final ExpressionTree function;
+        final double tolerance;
+        final int maxBoxes;
+        final BooleanSupplier deadline;
+        final AtomicInteger boxes = new AtomicInteger();
+        final Queue<Interval> enclosures = new ConcurrentLinkedQueue<>();
+        final Queue<Interval> candidates = new ConcurrentLinkedQueue<>();
+        volatile boolean stopped;
+
+        Search(ExpressionTree function, double tolerance, int maxBoxes, BooleanSupplier deadline) {
+            this.function = function;
+            this.tolerance = tolerance;
+            this.maxBoxes = maxBoxes;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Counts one more box, false once the search must stop.
+         */
+        boolean examine() {
+            if (stopped || boxes.incrementAndGet() > maxBoxes || deadline.getAsBoolean()) {
+                stopped = true;
+            }
+            return !stopped;
+        }
+
+        /**
+         * Applies the interval Newton operator m - f(m) / D to x.
+         *
+         * @return the image of x, null if f is not defined at the midpoint
+         */
+        Interval newton(Interval x, Interval derivative) {
+            Interval m = Interval.point(x.midpoint());
+            Interval value = function.evaluate(m);
+            return value != null ? m.subtract(value.divide(derivative)) : null;
+        }
+    }
+
+    private static final class Isolate extends RecursiveAction {
+        private final Search search;
+        private final Interval box;
+
+        Isolate(Search search, Interval box) {
+            this.search = search;
+            this.box = box;
+        }
+
+        @Override
+        protected void compute() {
+            Interval x = box;
+            while (true) {
+                if (!search.examine()) {
+                    search.candidates.add(x);
+                    return;
+                }
+                ExpressionTree.Enclosure enclosure = search.function.enclose(x);
+                if (enclosure.value() == null || !enclosure.value().contains(0.0)) {
+                    return;
+                }
+                if (enclosure.differentiable() && !enclosure.derivative().contains(0.0)) {
+                    Interval image = search.newton(x, enclosure.derivative());
+                    if (image != null) {
+                        Interval next = x.intersect(image);
+                        if (next == null) {
+                            return;
+                        }
+                        if (image.isInteriorTo(x)) {
+                            search.enclosures.add(contract(next));
+                            return;
+                        }
+                        boolean contracted = next.width() < 0.5 * x.width();
+                        x = next;
+                        if (contracted) {
+                            continue;
+                        }
+                    }
+                }
+                double split = x.lower() + SPLIT * x.width();
+                if (x.width() <= search.tolerance || !(x.lower() < split && split < x.upper())) {
+                    search.candidates.add(x);
+                    return;
+                }
+                Isolate left = new Isolate(search, new Interval(x.lower(), split));
+                Isolate right = new Isolate(search, new Interval(split, x.upper()));
+                if (inForkJoinPool()) {
+                    invokeAll(left, right);
+                } else {
+                    // Outside a pool a fork would go to the common pool
+                    left.invoke();
+                    right.invoke();
+                }
+                return;
+            }
+        }
+
+        /**
+         * Narrows the enclosure of a root proven unique in x by Newton steps until it is within the tolerance or
+         * stops shrinking.
+         */
+        private Interval contract(Interval x) {
+            while (x.width() > search.tolerance) {
+                Interval derivative = search.function.enclose(x).derivative();
+                Interval image = derivative != null ? search.newton(x, derivative) : null;
+                Interval next = image != null ? x.intersect(image) : null;
+                if (next == null || next.width() >= x.width()) {
+                    break;
+                }
+                x = next;
+            }
+            return x;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.numetrify.service;
+
+import com.numetrify.service.matrix.NormType;
+
+/**
+ * Options of the stationary iterative methods (Jacobi and Gauss-Seidel), beyond the system and the stopping
+ * criterion.
+ *
+ * @param checkpoint the handle of a checkpoint returned by a previous solve of the same system, or null to start
+ *                   from x0 (see {@link CheckpointStore})
+ * @param saveCheckpoint whether to save a checkpoint of the last iterate even if the method converged; a run that
+ *                       stopped without converging always saves one, to be continued
+ * @param normType the norm of the errors and the residuals
+ * @param residual whether to report the norm of the residual b - Ax of every iterate
+ * @param acceleration the convergence acceleration, {@link Acceleration#NONE} or {@link Acceleration#ANDERSON}
+ */
+public record IterationOptions(String checkpoint, boolean saveCheckpoint, NormType normType, boolean residual, Acceleration acceleration) {
+
+    /**
+     * Starts from x0, measures the errors in the L2 norm, reports no residuals and does not accelerate.
+     */
+    public static final IterationOptions DEFAULT = new IterationOptions(null, false, NormType.L2, false, Acceleration.NONE);
+}
@@ -0,0 +1,32 @@
+package com.numetrify.service;
+
+/**
+ * How Newton's method for systems keeps its Jacobian between iterations.
+ *
+ * Evaluating the Jacobian costs n evaluations of F by finite differences and factoring it O(n^3), so reusing
+ * a factorization for several steps trades some convergence speed (quadratic for {@link #NEWTON}, linear for
+ * {@link #CHORD}, superlinear for {@link #SHAMANSKII} and {@link #BROYDEN}) for much cheaper iterations.
+ */
+public enum JacobianUpdate {
+
+    /**
+     * Evaluates and factors the Jacobian at every iterate.
+     */
+    NEWTON,
+
+    /**
+     * Evaluates and factors the Jacobian at the initial guess only.
+     */
+    CHORD,
+
+    /**
+     * Evaluates and factors the Jacobian every refresh interval iterations.
+     */
+    SHAMANSKII,
+
+    /**
+     * Corrects the inverse of the factored Jacobian with a rank-one (good Broyden) update per iteration, without
+     * evaluating the Jacobian again until the refresh interval is reached.
+     */
+    BROYDEN
+}
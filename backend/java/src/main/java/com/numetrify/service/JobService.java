@@ -0,0 +1,335 @@
+package com.numetrify.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.numetrify.config.JobProperties;
+import com.numetrify.dto.JobRequest;
+import com.numetrify.dto.JobState;
+import com.numetrify.dto.JobStatusResponse;
+import com.numetrify.dto.SolverResponse;
+import com.numetrify.execution.AdmissionRejectedException;
+import com.numetrify.execution.Progress;
+import com.numetrify.execution.SolverRunner;
+import com.numetrify.execution.Workload;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Service class running the numerical methods as asynchronous jobs.
+ *
+ * A job runs any of the methods of the synchronous API, named like its endpoint, on a bounded pool of job
+ * threads and through the {@link SolverRunner}, so it is admitted, measured and bounded by a deadline like a
+ * synchronous solve (with {@code numetrify.jobs.timeout} as its wall-clock limit). While it runs, the iterative
+ * matrix methods publish their current iteration and residual through {@link Progress}.
+ *
+ * Jobs are held in memory and forgotten {@code numetrify.jobs.retention} after they finish. When
+ * {@code numetrify.jobs.spill-directory} is set, results are written there as JSON and only read back when
+ * requested, so large factors do not stay on the heap.
+ */
+@Slf4j
+@Service
+public class JobService {
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor executor;
+
+    private final JobProperties properties;
+
+    private final SolverRunner solverRunner;
+
+    private final ObjectMapper objectMapper;
+
+    private final BisectionService bisectionService;
+    private final FalseRuleService falseRuleService;
+    private final FixedPointService fixedPointService;
+    private final IncrementalSearchService incrementalSearchService;
+    private final MultipleRootsService multipleRootsService;
+    private final NewtonRaphsonService newtonRaphsonService;
+    private final SecantService secantService;
+    private final NewtonSystemService newtonSystemService;
+    private final PolynomialRootsService polynomialRootsService;
+    private final IntervalRootsService intervalRootsService;
+    private final ChebyshevRootsService chebyshevRootsService;
+    private final CholeskyService choleskyService;
+    private final CroutService croutService;
+    private final DoolittleService doolittleService;
+    private final SimpleGaussianEliminationService simpleGaussianEliminationService;
+    private final PivotGaussianEliminationService pivotGaussianEliminationService;
+    private final LUGaussianEliminationService luGaussianEliminationService;
+    private final JacobiService jacobiService;
+    private final GaussSeidelService gaussSeidelService;
+    private final SolverSelectionService solverSelectionService;
+
+    public JobService(JobProperties properties, SolverRunner solverRunner, ObjectMapper objectMapper,
+                      BisectionService bisectionService, FalseRuleService falseRuleService,
+                      FixedPointService fixedPointService, IncrementalSearchService incrementalSearchService,
+                      MultipleRootsService multipleRootsService, NewtonRaphsonService newtonRaphsonService,
+                      SecantService secantService, NewtonSystemService newtonSystemService,
+                      PolynomialRootsService polynomialRootsService, IntervalRootsService intervalRootsService,
+                      ChebyshevRootsService chebyshevRootsService,
+                      CholeskyService choleskyService, CroutService croutService,
+                      DoolittleService doolittleService, SimpleGaussianEliminationService simpleGaussianEliminationService,
+                      PivotGaussianEliminationService pivotGaussianEliminationService,
+                      LUGaussianEliminationService luGaussianEliminationService, JacobiService jacobiService,
+                      GaussSeidelService gaussSeidelService, SolverSelectionService solverSelectionService) {
+        this.properties = properties;
+        this.solverRunner = solverRunner;
+        this.objectMapper = objectMapper;
+        this.bisectionService = bisectionService;
+        this.falseRuleService = falseRuleService;
+        this.fixedPointService = fixedPointService;
+        this.incrementalSearchService = incrementalSearchService;
+        this.multipleRootsService = multipleRootsService;
+        this.newtonRaphsonService = newtonRaphsonService;
+        this.secantService = secantService;
+        this.newtonSystemService = newtonSystemService;
+        this.polynomialRootsService = polynomialRootsService;
+        this.intervalRootsService = intervalRootsService;
+        this.chebyshevRootsService = chebyshevRootsService;
+        this.choleskyService = choleskyService;
+        this.croutService = croutService;
+        this.doolittleService = doolittleService;
+        this.simpleGaussianEliminationService = simpleGaussianEliminationService;
+        this.pivotGaussianEliminationService = pivotGaussianEliminationService;
+        this.luGaussianEliminationService = luGaussianEliminationService;
+        this.jacobiService = jacobiService;
+        this.gaussSeidelService = gaussSeidelService;
+        this.solverSelectionService = solverSelectionService;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), task -> {
+                    Thread thread = new Thread(task, "numetrify-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues a job.
+     *
+     * @param request the method and its parameters
+     * @return the status of the queued job
+     * @throws IllegalArgumentException if the method is unknown or its parameters are missing
+     * @throws AdmissionRejectedException if too many jobs are queued or held
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * JobRequest request = new JobRequest();
+     * request.setMethod("gauss-seidel");
+     * request.setMatrix(A);
+     * request.setVector(b);
+     * request.setToleranceValue(1e-10);
+     * request.setMaxIterations(100000);
+     * String id = jobService.submit(request).getId();
+     * JobStatusResponse status = jobService.status(id);
+     * }
+     * </pre>
+     */
+    public JobStatusResponse submit(JobRequest request) {
+        Task task = task(request);
+        evictExpired();
+        if (jobs.size() >= properties.getMaxJobs()) {
+            throw new AdmissionRejectedException("Error: too many jobs are held, retry later.", 60);
+        }
+        Job job = new Job(UUID.randomUUID().toString(), request.getMethod());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, task));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new AdmissionRejectedException("Error: too many jobs are queued, retry later.", 60);
+        }
+        return job.status();
+    }
+
+    /**
+     * Returns the status of a job, or null if it is unknown or expired.
+     */
+    public JobStatusResponse status(String id) {
+        evictExpired();
+        Job job = jobs.get(id);
+        return job != null ? job.status() : null;
+    }
+
+    /**
+     * Returns the response of a succeeded job, read back from disk if it was spilled, or null if the job did not
+     * succeed (yet).
+     *
+     * @param id the id of the job
+     * @return the response of the method, or null
+     */
+    public Object result(String id) {
+        Job job = jobs.get(id);
+        if (job == null || job.state != JobState.SUCCEEDED) {
+            return null;
+        }
+        if (job.spilled != null) {
+            try {
+                return objectMapper.readTree(job.spilled.toFile());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return job.result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, Task task) {
+        job.startedAt = Instant.now();
+        job.state = JobState.RUNNING;
+        Progress.bind(job.progress);
+        try {
+            SolverResponse response = solverRunner.run(job.method, task.workload(), properties.getTimeout(), task.solver());
+            job.outcome = response.outcome().getTag();
+            if (properties.getSpillDirectory() != null) {
+                Path file = properties.getSpillDirectory().resolve(job.id + ".json");
+                Files.createDirectories(file.getParent());
+                objectMapper.writeValue(file.toFile(), response);
+                job.spilled = file;
+            } else {
+                job.result = response;
+            }
+            job.finishedAt = Instant.now();
+            job.state = JobState.SUCCEEDED;
+        } catch (Exception e) {
+            log.warn("Job {} ({}) failed: {}", job.id, job.method, e.getMessage());
+            job.message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.finishedAt = Instant.now();
+            job.state = JobState.FAILED;
+        } finally {
+            Progress.bind(null);
+        }
+    }
+
+    private void evictExpired() {
+        Instant limit = Instant.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> {
+            Instant finishedAt = job.finishedAt;
+            if (finishedAt == null || finishedAt.isAfter(limit)) {
+                return false;
+            }
+            if (job.spilled != null) {
+                try {
+                    Files.deleteIfExists(job.spilled);
+                } catch (IOException e) {
+                    log.warn("Could not delete the result of job {}: {}", job.id, e.getMessage());
+                }
+            }
+            return true;
+        });
+    }
+
+    private Task task(JobRequest r) {
+        String method = r.getMethod();
+        if (method == null) {
+            throw new IllegalArgumentException("Error: the method of the job is required.");
+        }
+        int n = r.getVector() != null ? r.getVector().length : 0;
+        return switch (method) {
+            case "bisection" -> rootFinding(r, () -> bisectionService.bisection(r.getFunction(), r.getLowerBound(), r.getUpperBound(), r.getErrorType(), r.getToleranceValue(), r.getMaxIterations(), r.getMaxFunctionEvaluations()));
+            case "false-rule" -> rootFinding(r, () -> falseRuleService.falseRule(r.getFunction(), r.getLowerBound(), r.getUpperBound(), r.getErrorType(), r.getToleranceValue(), r.getMaxIterations(), r.getMaxFunctionEvaluations()));
+            case "fixed-point" -> rootFinding(r, () -> fixedPointService.fixedPoint(r.getFunction(), r.getGFunction(), r.getInitialGuess(), r.getErrorType(), r.getToleranceValue(), r.getMaxIterations(), r.getMaxFunctionEvaluations(), r.getAcceleration(), r.getReportInterval()));
+            case "incremental-search" -> rootFinding(r, () -> incrementalSearchService.incrementalSearch(r.getFunction(), r.getInitialGuess(), r.getStep(), r.getMaxIterations(), r.getErrorType(), r.getToleranceValue(), r.getMaxFunctionEvaluations()));
+            case "multiple-roots" -> rootFinding(r, () -> multipleRootsService.multipleRoots(r.getFunction(), r.getInitialGuess(), r.getErrorType(), r.getToleranceValue(), r.getMaxIterations(), r.getMaxFunctionEvaluations()));
+            case "newton-raphson" -> rootFinding(r, () -> newtonRaphsonService.newtonRaphson(r.getFunction(), r.getInitialGuess(), r.getErrorType(), r.getToleranceValue(), r.getMaxIterations(), r.getMaxFunctionEvaluations()));
+            case "secant" -> rootFinding(r, () -> secantService.secant(r.getFunction(), r.getInitialGuess(), r.getSecondGuess(), r.getErrorType(), r.getToleranceValue(), r.getMaxIterations(), r.getMaxFunctionEvaluations()));
+            case "polynomial-roots" -> rootFinding(r, () -> polynomialRootsService.polynomialRoots(r.getFunction(), r.getPolynomialMethod(), r.getToleranceValue(), r.getMaxIterations()));
+            case "interval-roots" -> rootFinding(r, () -> intervalRootsService.intervalRoots(r.getFunction(), r.getLowerBound(), r.getUpperBound(), r.getToleranceValue(), r.getMaxIterations()));
+            case "chebyshev-roots" -> rootFinding(r, () -> chebyshevRootsService.chebyshevRoots(r.getFunction(), r.getLowerBound(), r.getUpperBound(), r.getToleranceValue(), r.getMaxDegree(), r.getMaxFunctionEvaluations()));
+            case "newton-system" -> nonlinearSystem(r, () -> newtonSystemService.newtonSystem(r.getFunctions(), r.getVariables(), r.getX0(), r.getJacobian(), r.getUpdate(), r.getRefreshInterval(), r.isPivoting(), r.getErrorType(), r.getToleranceValue(), r.getMaxIterations(), r.getMaxFunctionEvaluations()));
+            case "cholesky" -> direct(r, () -> choleskyService.cholesky(r.getMatrix(), r.getVector()));
+            case "crout" -> direct(r, () -> croutService.crout(r.getMatrix(), r.getVector()));
+            case "doolittle" -> direct(r, () -> doolittleService.doolittle(r.getMatrix(), r.getVector()));
+            case "simple-gaussian-elimination" -> direct(r, () -> simpleGaussianEliminationService.simpleGaussianElimination(r.getMatrix(), r.getVector()));
+            case "pivot-gaussian-elimination" -> direct(r, () -> pivotGaussianEliminationService.pivotGaussianElimination(r.getMatrix(), r.getVector()));
+            case "lu-gaussian-elimination" -> direct(r, () -> luGaussianEliminationService.luGaussianElimination(r.getMatrix(), r.getVector()));
+            case "solve" -> direct(r, () -> solverSelectionService.solve(r.getMatrix(), r.getVector()));
+            case "jacobi" -> iterative(r, () -> jacobiService.jacobi(n, r.getMatrix(), r.getVector(), initialGuess(r), r.getErrorType(), r.getToleranceValue(), r.getMaxIterations(), new IterationOptions(r.getCheckpoint(), r.isSaveCheckpoint(), r.getNormType(), r.isResidual(), r.getAcceleration())));
+            case "gauss-seidel" -> iterative(r, () -> gaussSeidelService.gaussSeidel(n, r.getMatrix(), r.getVector(), initialGuess(r), r.getErrorType(), r.getToleranceValue(), r.getMaxIterations(), new IterationOptions(r.getCheckpoint(), r.isSaveCheckpoint(), r.getNormType(), r.isResidual(), r.getAcceleration())));
+            default -> throw new IllegalArgumentException("Error: unknown method " + method + ".");
+        };
+    }
+
+    private static Task rootFinding(JobRequest r, Supplier<SolverResponse> solver) {
+        if (r.getFunction() == null) {
+            throw new IllegalArgumentException("Error: the method " + r.getMethod() + " requires a function.");
+        }
+        return new Task(Workload.rootFinding(r.getMaxIterations(), r.getFunction(), r.getGFunction()), solver);
+    }
+
+    private static Task nonlinearSystem(JobRequest r, Supplier<SolverResponse> solver) {
+        if (r.getFunctions() == null || r.getX0() == null) {
+            throw new IllegalArgumentException("Error: the method " + r.getMethod() + " requires functions and x0.");
+        }
+        return new Task(Workload.nonlinearSystem(r.getFunctions().length, r.getMaxIterations(), r.getFunctions()), solver);
+    }
+
+    private static Task direct(JobRequest r, Supplier<SolverResponse> solver) {
+        requireSystem(r);
+        return new Task(Workload.direct(r.getVector().length), solver);
+    }
+
+    private static Task iterative(JobRequest r, Supplier<SolverResponse> solver) {
+        requireSystem(r);
+        return new Task(Workload.iterative(r.getVector().length, r.getMaxIterations()), solver);
+    }
+
+    private static void requireSystem(JobRequest r) {
+        if (r.getMatrix() == null || r.getVector() == null) {
+            throw new IllegalArgumentException("Error: the method " + r.getMethod() + " requires a matrix and a vector.");
+        }
+    }
+
+    private static double[] initialGuess(JobRequest r) {
+        return r.getX0() != null ? r.getX0() : new double[r.getVector().length];
+    }
+
+    private record Task(Workload workload, Supplier<SolverResponse> solver) {
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final String method;
+        private final Instant submittedAt = Instant.now();
+        private final Progress progress = new Progress();
+        private volatile JobState state = JobState.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile SolverResponse result;
+        private volatile Path spilled;
+        private volatile String outcome;
+        private volatile String message;
+
+        Job(String id, String method) {
+            this.id = id;
+            this.method = method;
+        }
+
+        JobStatusResponse status() {
+            return new JobStatusResponse(id, method, state, submittedAt, startedAt, finishedAt,
+                    progress.getIteration(), progress.getResidual(), outcome, message);
+        }
+    }
+}
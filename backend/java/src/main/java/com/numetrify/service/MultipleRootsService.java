@@ -1,6 +1,12 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.MultipleRootsResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.expression.CompiledFunction;
+import com.numetrify.expression.EvaluationBudget;
+import com.numetrify.expression.Polynomial;
 import com.numetrify.util.MathUtils;
 import lombok.SneakyThrows;
 import org.mariuszgromada.math.mxparser.Argument;
@@ -24,6 +30,7 @@ public class MultipleRootsService {
      * @param errorType the type of error to use (1 for absolute error, 2 for relative error)
      * @param toleranceValue the tolerance value for the stopping criterion
      * @param maxIterations the maximum number of iterations
+     * @param maxFunctionEvaluations the maximum number of function evaluations, 0 for no limit; f, f' and f'' count as one evaluation each
      * @return MultipleRootsResponse containing the result of the Multiple Roots method
      *
      * Example usage:
@@ -34,7 +41,8 @@ public class MultipleRootsService {
      * int errorType = 1;
      * double toleranceValue = 0.01;
      * int maxIterations = 100;
-     * MultipleRootsResponse response = multipleRootsService.multipleRoots(functionExpression, initialGuess, errorType, precisionType, toleranceValue, maxIterations);
+     * long maxFunctionEvaluations = 0;
+     * MultipleRootsResponse response = multipleRootsService.multipleRoots(functionExpression, initialGuess, errorType, precisionType, toleranceValue, maxIterations, maxFunctionEvaluations);
      * String message = response.getMessage();
      * List<Double> xValues = response.getXValues();
      * List<Double> functionValues = response.getFunctionValues();
@@ -46,12 +54,24 @@ public class MultipleRootsService {
      * </pre>
      */
     @SneakyThrows
-    public MultipleRootsResponse multipleRoots(String functionExpression, double initialGuess, int errorType, double toleranceValue, int maxIterations) {
+    public MultipleRootsResponse multipleRoots(String functionExpression, double initialGuess, int errorType, double toleranceValue, int maxIterations, long maxFunctionEvaluations) {
         // Create the function and its derivatives using mXparser
         Argument x = new Argument("x = " + initialGuess);
-        Expression function = new Expression(functionExpression, x);
-        Expression firstDerivative = new Expression("der(" + functionExpression + ", x)", x);
-        Expression secondDerivative = new Expression("der(der(" + functionExpression + ", x), x)", x);
+        EvaluationBudget budget = new EvaluationBudget(maxFunctionEvaluations);
+        // A factored polynomial, typical of multiple roots, is evaluated as written: expanded it cancels near them
+        Polynomial polynomial = Polynomial.parseExpanded(functionExpression, "x");
+        CompiledFunction function, firstDerivative, secondDerivative;
+        if (polynomial != null) {
+            // Exact derivatives by Horner's scheme instead of mXparser's numerical der(...)
+            function = CompiledFunction.of(polynomial, budget);
+            firstDerivative = function.derivative();
+            secondDerivative = firstDerivative.derivative();
+        } else {
+            function = CompiledFunction.of(new Expression(functionExpression, x), x, budget);
+            firstDerivative = CompiledFunction.of(new Expression("der(" + functionExpression + ", x)", x), x, budget);
+            secondDerivative = CompiledFunction.of(new Expression("der(der(" + functionExpression + ", x), x)", x), x, budget);
+        }
+        PhaseProfiler.mark("compilation");
 
         // Calculate tolerance based on the type of error
         double tolerance = 0.5 * Math.pow(10, -toleranceValue);
@@ -66,9 +86,9 @@ public class MultipleRootsService {
 
         // Initial values
         double currentX = initialGuess;
-        double currentValue = function.calculate();
-        double currentFirstDerivative = firstDerivative.calculate();
-        double currentSecondDerivative = secondDerivative.calculate();
+        double currentValue = function.calculate(currentX);
+        double currentFirstDerivative = firstDerivative.calculate(currentX);
+        double currentSecondDerivative = secondDerivative.calculate(currentX);
         int iterationCount = 0;
         double error = 100.0; // Initial error set to 100%
         xValues.add(currentX);
@@ -82,29 +102,29 @@ public class MultipleRootsService {
         if (Double.isNaN(currentValue) || Double.isNaN(currentFirstDerivative) || Double.isNaN(currentSecondDerivative) ||
                 Double.isInfinite(currentFirstDerivative) || Double.isInfinite(currentSecondDerivative)) {
             String message = "The function or its derivatives are not defined at x = " + initialGuess + ". The method fails.";
-            return new MultipleRootsResponse(message, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            return budget.report(new MultipleRootsResponse(SolverOutcome.FAILED, message, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
         }
 
         // Perform the multiple roots method
-        while (iterationCount < maxIterations) {
+        while (iterationCount < maxIterations && budget.allows(3) && !Deadline.reached(iterationCount)) {
             double denominator = (currentFirstDerivative * currentFirstDerivative - currentValue * currentSecondDerivative);
             if (denominator == 0) {
                 String message = "The method fails. The denominator is zero.";
-                return new MultipleRootsResponse(message, xValues, functionValues, firstDerivatives, secondDerivatives, errors, iterations);
+                return budget.report(new MultipleRootsResponse(SolverOutcome.FAILED, message, xValues, functionValues, firstDerivatives, secondDerivatives, errors, iterations));
             }
 
             iterationCount++;
             currentX = currentX - (currentValue * currentFirstDerivative) / denominator;
-            x.setArgumentValue(currentX);
-            currentValue = function.calculate();
-            currentFirstDerivative = firstDerivative.calculate();
-            currentSecondDerivative = secondDerivative.calculate();
+            currentValue = function.calculate(currentX);
+            currentFirstDerivative = firstDerivative.calculate(currentX);
+            currentSecondDerivative = secondDerivative.calculate(currentX);
 
             // Check if the current value is valid
             if (Double.isNaN(currentValue) || Double.isNaN(currentFirstDerivative) || Double.isNaN(currentSecondDerivative) ||
                     Double.isInfinite(currentFirstDerivative) || Double.isInfinite(currentSecondDerivative)) {
                 String message = "The function or its derivatives are not defined at x = " + currentX + ". The method fails.";
-                return new MultipleRootsResponse(message, xValues, functionValues, firstDerivatives, secondDerivatives, errors, iterations);
+                SolverOutcome outcome = Double.isFinite(currentX) ? SolverOutcome.FAILED : SolverOutcome.DIVERGED;
+                return budget.report(new MultipleRootsResponse(outcome, message, xValues, functionValues, firstDerivatives, secondDerivatives, errors, iterations));
             }
 
             xValues.add(currentX);
@@ -125,13 +145,12 @@ public class MultipleRootsService {
         }
 
         // Ensure a final iteration if the error tolerance was not met exactly
-        if (error >= tolerance && iterationCount < maxIterations) {
+        if (error >= tolerance && iterationCount < maxIterations && budget.allows(3) && !Deadline.reached(iterationCount)) {
             iterationCount++;
             currentX = currentX - (currentValue * currentFirstDerivative) / (currentFirstDerivative * currentFirstDerivative - currentValue * currentSecondDerivative);
-            x.setArgumentValue(currentX);
-            currentValue = function.calculate();
-            currentFirstDerivative = firstDerivative.calculate();
-            currentSecondDerivative = secondDerivative.calculate();
+            currentValue = function.calculate(currentX);
+            currentFirstDerivative = firstDerivative.calculate(currentX);
+            currentSecondDerivative = secondDerivative.calculate(currentX);
 
             xValues.add(currentX);
             functionValues.add(currentValue);
@@ -145,10 +164,26 @@ public class MultipleRootsService {
             errors.add(error);
         }
 
+        PhaseProfiler.mark("iteration");
         // Determine the result message
-        String message = currentValue == 0 ? currentX + " is a root of f(x)"
-                : errors.get(iterationCount) < tolerance ? "The approximate solution is: " + currentX + ", with a tolerance = " + tolerance
-                : "Failed in " + maxIterations + " iterations";
-        return new MultipleRootsResponse(message, xValues, functionValues, firstDerivatives, secondDerivatives, errors, iterations);
+        String message;
+        SolverOutcome outcome;
+        if (currentValue == 0) {
+            message = currentX + " is a root of f(x)";
+            outcome = SolverOutcome.CONVERGED;
+        } else if (errors.get(iterationCount) < tolerance) {
+            message = "The approximate solution is: " + currentX + ", with a tolerance = " + tolerance;
+            outcome = SolverOutcome.CONVERGED;
+        } else if (Deadline.expired()) {
+            message = Deadline.timeoutMessage(iterationCount);
+            outcome = SolverOutcome.TIMED_OUT;
+        } else if (!budget.allows(3)) {
+            message = budget.exhaustedMessage();
+            outcome = SolverOutcome.BUDGET_EXHAUSTED;
+        } else {
+            message = "Failed in " + maxIterations + " iterations";
+            outcome = SolverOutcome.failedOrDiverged(xValues);
+        }
+        return budget.report(new MultipleRootsResponse(outcome, message, xValues, functionValues, firstDerivatives, secondDerivatives, errors, iterations));
     }
 }
\ No newline at end of file
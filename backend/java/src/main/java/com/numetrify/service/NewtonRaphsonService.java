@@ -1,9 +1,12 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.NewtonRaphsonResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.expression.CompiledFunction;
+import com.numetrify.expression.EvaluationBudget;
 import lombok.SneakyThrows;
-import org.mariuszgromada.math.mxparser.Argument;
-import org.mariuszgromada.math.mxparser.Function;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -23,6 +26,7 @@ public class NewtonRaphsonService {
      * @param errorType the type of error to use (1 for absolute error, 2 for relative error)
      * @param toleranceValue the tolerance value for the stopping criterion
      * @param maxIterations the maximum number of iterations
+     * @param maxFunctionEvaluations the maximum number of function evaluations, 0 for no limit
      * @return NewtonRaphsonResponse containing the result of the Newton-Raphson method
      *
      * Example usage:
@@ -33,7 +37,8 @@ public class NewtonRaphsonService {
      * int errorType = 1;
      * double toleranceValue = 0.01;
      * int maxIterations = 100;
-     * NewtonRaphsonResponse response = newtonRaphsonService.newtonRaphson(functionExpression, initialGuess, errorType, precisionType, toleranceValue, maxIterations);
+     * long maxFunctionEvaluations = 0;
+     * NewtonRaphsonResponse response = newtonRaphsonService.newtonRaphson(functionExpression, initialGuess, errorType, precisionType, toleranceValue, maxIterations, maxFunctionEvaluations);
      * String message = response.getMessage();
      * List<Double> xValues = response.getXValues();
      * List<Double> functionValues = response.getFunctionValues();
@@ -44,16 +49,17 @@ public class NewtonRaphsonService {
      * </pre>
      */
     @SneakyThrows
-    public NewtonRaphsonResponse newtonRaphson(String functionExpression, double initialGuess, int errorType, double toleranceValue, int maxIterations) {
+    public NewtonRaphsonResponse newtonRaphson(String functionExpression, double initialGuess, int errorType, double toleranceValue, int maxIterations, long maxFunctionEvaluations) {
         // Define the function
-        Function function = new Function("f(x) = " + functionExpression);
-        // Define the argument for x
-        Argument x = new Argument("x = " + initialGuess);
+        EvaluationBudget budget = new EvaluationBudget(maxFunctionEvaluations);
+        CompiledFunction function = CompiledFunction.of("f(x) = " + functionExpression, budget);
+        CompiledFunction derivative = function.derivative();
+        PhaseProfiler.mark("compilation");
 
         // Ensure the function is valid
         if (!function.checkSyntax()) {
             String message = "Invalid function syntax.";
-            return new NewtonRaphsonResponse(message, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            return budget.report(new NewtonRaphsonResponse(SolverOutcome.FAILED, message, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
         }
 
         double tolerance = 0.5 * Math.pow(10, -toleranceValue);
@@ -68,7 +74,7 @@ public class NewtonRaphsonService {
         // Initial values
         double currentX = initialGuess;
         double currentFunctionValue = function.calculate(currentX);
-        double currentDerivativeValue = calculateDerivative(function, currentX);
+        double currentDerivativeValue = calculateDerivative(function, derivative, currentX, currentFunctionValue);
         int iterationCount = 0;
         double error = 100.0; // Initial error set to 100%
         xValues.add(currentX);
@@ -80,21 +86,21 @@ public class NewtonRaphsonService {
         // Check if the initial guess is valid
         if (Double.isNaN(currentFunctionValue) || Double.isNaN(currentDerivativeValue) || Double.isInfinite(currentDerivativeValue)) {
             String message = "The function is not defined or differentiable at x = " + initialGuess + ". The method fails.";
-            return new NewtonRaphsonResponse(message, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            return budget.report(new NewtonRaphsonResponse(SolverOutcome.FAILED, message, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
         }
 
         // Perform the Newton-Raphson method
-        while (error >= tolerance && currentFunctionValue != 0 && currentDerivativeValue != 0 && iterationCount < maxIterations) {
+        while (error >= tolerance && currentFunctionValue != 0 && currentDerivativeValue != 0 && iterationCount < maxIterations && budget.allows(2) && !Deadline.reached(iterationCount)) {
             iterationCount++;
             currentX = currentX - (currentFunctionValue / currentDerivativeValue);
-            x.setArgumentValue(currentX);
             currentFunctionValue = function.calculate(currentX);
-            currentDerivativeValue = calculateDerivative(function, currentX);
+            currentDerivativeValue = calculateDerivative(function, derivative, currentX, currentFunctionValue);
 
             // Check if the current value is valid
             if (Double.isNaN(currentFunctionValue) || Double.isNaN(currentDerivativeValue) || Double.isInfinite(currentDerivativeValue)) {
                 String message = "The function is not defined or differentiable at x = " + currentX + ". The method fails.";
-                return new NewtonRaphsonResponse(message, xValues, functionValues, derivatives, errors, iterations);
+                SolverOutcome outcome = Double.isFinite(currentX) ? SolverOutcome.FAILED : SolverOutcome.DIVERGED;
+                return budget.report(new NewtonRaphsonResponse(outcome, message, xValues, functionValues, derivatives, errors, iterations));
             }
 
             xValues.add(currentX);
@@ -108,24 +114,45 @@ public class NewtonRaphsonService {
             errors.add(error);
         }
 
+        PhaseProfiler.mark("iteration");
         // Determine the result message
-        String message = currentFunctionValue == 0 ? currentX + " is a root of f(x)"
-                : errors.get(iterationCount) < tolerance ? "The approximate solution is: " + currentX + ", with a tolerance = " + tolerance
-                : "Failed in " + maxIterations + " iterations";
-        return new NewtonRaphsonResponse(message, xValues, functionValues, derivatives, errors, iterations);
+        String message;
+        SolverOutcome outcome;
+        if (currentFunctionValue == 0) {
+            message = currentX + " is a root of f(x)";
+            outcome = SolverOutcome.CONVERGED;
+        } else if (errors.get(iterationCount) < tolerance) {
+            message = "The approximate solution is: " + currentX + ", with a tolerance = " + tolerance;
+            outcome = SolverOutcome.CONVERGED;
+        } else if (Deadline.expired()) {
+            message = Deadline.timeoutMessage(iterationCount);
+            outcome = SolverOutcome.TIMED_OUT;
+        } else if (!budget.allows(2)) {
+            message = budget.exhaustedMessage();
+            outcome = SolverOutcome.BUDGET_EXHAUSTED;
+        } else {
+            message = "Failed in " + maxIterations + " iterations";
+            outcome = SolverOutcome.failedOrDiverged(xValues);
+        }
+        return budget.report(new NewtonRaphsonResponse(outcome, message, xValues, functionValues, derivatives, errors, iterations));
     }
 
     /**
-     * Calculates the numerical derivative of the function at a given point.
+     * Calculates the derivative of the function at a given point: exactly for polynomials, otherwise numerically,
+     * reusing the value of the function at that point so that each derivative costs a single evaluation.
      *
      * @param function the function to differentiates
+     * @param derivative the exact derivative, or null
      * @param x the point at which to calculate the derivative
-     * @return the numerical derivative value
+     * @param f_x the value of the function at x
+     * @return the derivative value
      */
-    private double calculateDerivative(Function function, double x) {
+    private double calculateDerivative(CompiledFunction function, CompiledFunction derivative, double x, double f_x) {
+        if (derivative != null) {
+            return derivative.calculate(x);
+        }
         double h = 1e-7; // A small step size
         double f_x_h = function.calculate(x + h);
-        double f_x = function.calculate(x);
         return (f_x_h - f_x) / h;
     }
 }
\ No newline at end of file
@@ -0,0 +1,292 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.NewtonSystemResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.execution.Progress;
+import com.numetrify.expression.CompiledVectorFunction;
+import com.numetrify.expression.EvaluationBudget;
+import com.numetrify.service.matrix.LuFactorization;
+import com.numetrify.service.matrix.NormType;
+import com.numetrify.util.MathUtils;
+import lombok.SneakyThrows;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Service class to perform Newton's method for systems of nonlinear equations F(x) = 0.
+ *
+ * Each step solves J(x) s = -F(x) with the LU factorization of the Jacobian, which is either evaluated from the
+ * given expressions or approximated by forward differences (n evaluations of F, reusing F(x)). The Jacobian and
+ * its factorization can be kept for several steps, see {@link JacobianUpdate}; whatever the update, a reused
+ * Jacobian is evaluated again as soon as a step fails to decrease ||F||.
+ */
+@Service
+public class NewtonSystemService {
+
+    /**
+     * Relative step of the forward differences, the square root of the machine epsilon.
+     */
+    private static final double DIFFERENCE_STEP = Math.sqrt(Math.ulp(1.0));
+
+    /**
+     * Performs Newton's method to find a root of a system of nonlinear equations.
+     *
+     * @param functions the expressions of the components of F
+     * @param variables the names of the variables, null for x1, ..., xn
+     * @param x0 the initial guess
+     * @param jacobian the expressions of the entries of the Jacobian row by row, null for finite differences
+     * @param update how the Jacobian is kept between iterations
+     * @param refreshInterval the number of iterations a Jacobian is reused for by SHAMANSKII and BROYDEN
+     * @param pivoting whether the LU factorization uses partial pivoting
+     * @param errorType the type of error to use (1 for absolute error, 2 for relative error)
+     * @param toleranceValue the tolerance value for the stopping criterion
+     * @param maxIterations the maximum number of iterations
+     * @param maxFunctionEvaluations the maximum number of evaluations of F and of the Jacobian expressions, 0 for no limit
+     * @return NewtonSystemResponse containing the iterates, the norms of F and the work spent on Jacobians
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * String[] functions = {"x^2 + y^2 - 4", "x*y - 1"};
+     * String[] variables = {"x", "y"};
+     * double[] x0 = {2, 0.5};
+     * NewtonSystemResponse response = newtonSystemService.newtonSystem(functions, variables, x0, null, JacobianUpdate.BROYDEN, 5, true, 1, 7, 50, 0);
+     * List<double[]> xValues = response.getXValues();
+     * List<Double> functionNorms = response.getFunctionNorms();
+     * }
+     * </pre>
+     */
+    @SneakyThrows
+    public NewtonSystemResponse newtonSystem(String[] functions, String[] variables, double[] x0, String[][] jacobian, JacobianUpdate update, int refreshInterval, boolean pivoting, int errorType, double toleranceValue, int maxIterations, long maxFunctionEvaluations) {
+        EvaluationBudget budget = new EvaluationBudget(maxFunctionEvaluations);
+        List<double[]> xValues = new ArrayList<>();
+        List<Double> functionNorms = new ArrayList<>();
+        List<Double> errors = new ArrayList<>();
+
+        int n = functions != null ? functions.length : 0;
+        String[] names = variables != null ? variables : defaultVariables(n);
+        if (n == 0 || names.length != n || x0 == null || x0.length != n || (jacobian != null && !isSquare(jacobian, n))) {
+            String message = "The system needs as many functions, variables and initial values as unknowns, and an n x n Jacobian if given.";
+            return budget.report(new NewtonSystemResponse(SolverOutcome.FAILED, message, xValues, functionNorms, errors, 0, 0));
+        }
+        CompiledVectorFunction function = CompiledVectorFunction.of(functions, names, budget);
+        CompiledVectorFunction jacobianFunction = jacobian != null ? CompiledVectorFunction.of(flatten(jacobian), names, budget) : null;
+        PhaseProfiler.mark("compilation");
+        if (!function.checkSyntax() || (jacobianFunction != null && !jacobianFunction.checkSyntax())) {
+            return budget.report(new NewtonSystemResponse(SolverOutcome.FAILED, "Invalid function syntax.", xValues, functionNorms, errors, 0, 0));
+        }
+
+        double tolerance = MathUtils.getTolerance(toleranceValue, errorType);
+        int evaluationsPerJacobian = jacobianFunction != null ? 1 : n;
+        int interval = switch (update) {
+            case NEWTON -> 1;
+            case CHORD -> Integer.MAX_VALUE;
+            case SHAMANSKII, BROYDEN -> Math.max(1, refreshInterval);
+        };
+
+        double[] x = x0.clone();
+        double[] fx = function.calculate(x);
+        double functionNorm = NormType.L2.of(fx);
+        xValues.add(x);
+        functionNorms.add(functionNorm);
+        if (!Double.isFinite(functionNorm)) {
+            String message = "F is not defined at x = " + Arrays.toString(x) + ". The method fails.";
+            return budget.report(new NewtonSystemResponse(SolverOutcome.FAILED, message, xValues, functionNorms, errors, 0, 0));
+        }
+
+        LuFactorization lu = null;
+        // Good Broyden updates of the inverse: H_k = (I + u_{k-1} s_{k-1}^T) ... (I + u_0 s_0^T) J^-1
+        List<double[]> updateDirections = new ArrayList<>();
+        List<double[]> updateSteps = new ArrayList<>();
+        boolean refresh = true;
+        int reused = 0;
+        int jacobianEvaluations = 0;
+        int factorizations = 0;
+        int iterations = 0;
+        double error = tolerance + 1;
+        while (error >= tolerance && functionNorm != 0 && iterations < maxIterations
+                && budget.allows(1 + (refresh ? evaluationsPerJacobian : 0)) && !Deadline.reached(iterations)) {
+            if (refresh) {
+                double[][] J = jacobianFunction != null ? reshape(jacobianFunction.calculate(x), n) : finiteDifferences(function, x, fx);
+                jacobianEvaluations++;
+                if (!isFinite(J)) {
+                    String message = "The Jacobian is not defined at x = " + Arrays.toString(x) + ". The method fails.";
+                    return budget.report(new NewtonSystemResponse(SolverOutcome.FAILED, message, xValues, functionNorms, errors, jacobianEvaluations, factorizations));
+                }
+                try {
+                    lu = new LuFactorization(J, pivoting);
+                } catch (ArithmeticException e) {
+                    String message = "The Jacobian is singular at x = " + Arrays.toString(x) + ". The method fails.";
+                    return budget.report(new NewtonSystemResponse(SolverOutcome.FAILED, message, xValues, functionNorms, errors, jacobianEvaluations, factorizations));
+                }
+                factorizations++;
+                updateDirections.clear();
+                updateSteps.clear();
+                reused = 0;
+                refresh = false;
+            }
+
+            double[] step = applyInverse(lu, updateDirections, updateSteps, fx);
+            double[] next = new double[n];
+            for (int i = 0; i < n; i++) {
+                step[i] = -step[i];
+                next[i] = x[i] + step[i];
+            }
+            double[] fNext = function.calculate(next);
+            double nextNorm = NormType.L2.of(fNext);
+            iterations++;
+            reused++;
+            if (!Double.isFinite(nextNorm) || !Double.isFinite(NormType.L2.of(next))) {
+                String message = "F is not defined at x = " + Arrays.toString(next) + ". The method fails.";
+                SolverOutcome outcome = Double.isFinite(NormType.L2.of(next)) ? SolverOutcome.FAILED : SolverOutcome.DIVERGED;
+                return budget.report(new NewtonSystemResponse(outcome, message, xValues, functionNorms, errors, jacobianEvaluations, factorizations));
+            }
+
+            error = NormType.L2.of(step);
+            if (errorType == 2) {
+                error /= NormType.L2.of(next);
+            }
+            xValues.add(next);
+            functionNorms.add(nextNorm);
+            errors.add(error);
+            Progress.report(iterations, nextNorm);
+
+            if (update == JacobianUpdate.BROYDEN) {
+                double[] change = new double[n];
+                for (int i = 0; i < n; i++) {
+                    change[i] = fNext[i] - fx[i];
+                }
+                double[] inverseChange = applyInverse(lu, updateDirections, updateSteps, change);
+                double denominator = dot(step, inverseChange);
+                if (Math.abs(denominator) > Math.ulp(1.0) * NormType.L2.of(step) * NormType.L2.of(inverseChange)) {
+                    double[] direction = new double[n];
+                    for (int i = 0; i < n; i++) {
+                        direction[i] = (step[i] - inverseChange[i]) / denominator;
+                    }
+                    updateDirections.add(direction);
+                    updateSteps.add(step);
+                } else {
+                    reused = interval;
+                }
+            }
+            // A reused Jacobian that does not decrease ||F|| is no longer worth keeping
+            refresh = reused >= interval || nextNorm >= functionNorm;
+
+            x = next;
+            fx = fNext;
+            functionNorm = nextNorm;
+        }
+
+        PhaseProfiler.mark("iteration");
+        String message;
+        SolverOutcome outcome;
+        if (functionNorm == 0) {
+            message = Arrays.toString(x) + " is a root of F(x)";
+            outcome = SolverOutcome.CONVERGED;
+        } else if (error < tolerance) {
+            message = "The approximate solution is: " + Arrays.toString(x) + ", with a tolerance = " + tolerance;
+            outcome = SolverOutcome.CONVERGED;
+        } else if (Deadline.expired()) {
+            message = Deadline.timeoutMessage(iterations);
+            outcome = SolverOutcome.TIMED_OUT;
+        } else if (!budget.allows(1 + (refresh ? evaluationsPerJacobian : 0))) {
+            message = budget.exhaustedMessage();
+            outcome = SolverOutcome.BUDGET_EXHAUSTED;
+        } else {
+            message = "Failed in " + maxIterations + " iterations";
+            outcome = SolverOutcome.failedOrDiverged(xValues);
+        }
+        return budget.report(new NewtonSystemResponse(outcome, message, xValues, functionNorms, errors, jacobianEvaluations, factorizations));
+    }
+
+    /**
+     * Approximates the Jacobian at x by forward differences, one evaluation of F per column.
+     */
+    private static double[][] finiteDifferences(CompiledVectorFunction function, double[] x, double[] fx) {
+        int n = x.length;
+        double[][] J = new double[n][n];
+        for (int j = 0; j < n; j++) {
+            double[] shifted = x.clone();
+            shifted[j] += DIFFERENCE_STEP * Math.max(Math.abs(x[j]), 1.0);
+            // The step actually taken, after rounding of x + h
+            double h = shifted[j] - x[j];
+            double[] fShifted = function.calculate(shifted);
+            for (int i = 0; i < n; i++) {
+                J[i][j] = (fShifted[i] - fx[i]) / h;
+            }
+        }
+        return J;
+    }
+
+    /**
+     * Applies the current approximation of the inverse Jacobian: the LU solve followed by the Broyden updates,
+     * oldest first.
+     */
+    private static double[] applyInverse(LuFactorization lu, List<double[]> directions, List<double[]> steps, double[] v) {
+        double[] z = lu.solve(v);
+        for (int k = 0; k < directions.size(); k++) {
+            double projection = dot(steps.get(k), z);
+            double[] direction = directions.get(k);
+            for (int i = 0; i < z.length; i++) {
+                z[i] += direction[i] * projection;
+            }
+        }
+        return z;
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static boolean isFinite(double[][] matrix) {
+        for (double[] row : matrix) {
+            for (double value : row) {
+                if (!Double.isFinite(value)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String[] defaultVariables(int n) {
+        String[] variables = new String[n];
+        for (int i = 0; i < n; i++) {
+            variables[i] = "x" + (i + 1);
+        }
+        return variables;
+    }
+
+    private static boolean isSquare(String[][] matrix, int n) {
+        if (matrix.length != n) {
+            return false;
+        }
+        for (String[] row : matrix) {
+            if (row == null || row.length != n) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] flatten(String[][] matrix) {
+        return Arrays.stream(matrix).flatMap(Arrays::stream).toArray(String[]::new);
+    }
+
+    private static double[][] reshape(double[] values, int n) {
+        double[][] matrix = new double[n][];
+        for (int i = 0; i < n; i++) {
+            matrix[i] = Arrays.copyOfRange(values, i * n, (i + 1) * n);
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,225 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.OutOfCoreResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.SolveTimeoutException;
+import com.numetrify.service.matrix.MappedMatrix;
+import com.numetrify.service.matrix.OutOfCoreCholesky;
+import com.numetrify.service.matrix.OutOfCoreLU;
+import com.numetrify.util.BinaryMatrixCodec;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Service class to factorize dense systems too large for the heap, using file-backed tiled matrices.
+ *
+ * All files live in a working directory ({@code numetrify.out-of-core.directory}); input paths given by
+ * clients are resolved against it, symbolic links included, and may not escape it. The factors are written to a
+ * {@code .npy} file in the same directory, named after the input, the method and a random UUID so that concurrent
+ * factorizations of the same input do not share it; it can be opened with {@code numpy.load(path, mmap_mode="r")}
+ * or downloaded with {@link #factorFile}. Factor files are deleted with {@link #deleteFactor}, or once they are
+ * older than {@code numetrify.out-of-core.factor-retention} by the next factorization.
+ */
+@Service
+public class OutOfCoreService {
+
+    /**
+     * Name of the factor files: the name of the input without its extension, the method and a random UUID.
+     */
+    private static final Pattern FACTOR_FILE = Pattern.compile(".+-(cholesky|lu)-[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}\\.npy");
+
+    @Value("${numetrify.out-of-core.directory:${java.io.tmpdir}/numetrify}")
+    private String directory;
+
+    @Value("${numetrify.out-of-core.tile-size:512}")
+    private int tileSize;
+
+    @Value("${numetrify.out-of-core.factor-retention:1h}")
+    private Duration factorRetention;
+
+    /**
+     * Factorizes the matrix stored in a file of the working directory and optionally solves Ax = b.
+     *
+     * @param method the factorization to use ("cholesky" or "lu")
+     * @param inputFile the file holding the matrix (raw little-endian doubles or .npy), relative to the working directory
+     * @param b the right-hand side vector, or null to only factorize
+     * @return OutOfCoreResponse containing the name of the factor file and the solution, if requested
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * double[] b = {1, 2, 3};
+     * OutOfCoreResponse response = outOfCoreService.factorize("cholesky", "A.npy", b);
+     * String factorFile = response.getFactorFile();
+     * double[] x = response.getSolution();
+     * }
+     * </pre>
+     */
+    @SneakyThrows
+    public OutOfCoreResponse factorize(String method, String inputFile, double[] b) {
+        if (!method.equals("cholesky") && !method.equals("lu")) {
+            throw new IllegalArgumentException("Error: unknown method " + method + ", expected cholesky or lu.");
+        }
+        Path input = resolve(inputFile);
+        deleteExpiredFactors();
+        Path tiles = workingDirectory().resolve(UUID.randomUUID() + ".tiles");
+        try (MappedMatrix A = MappedMatrix.importFile(input, tiles, effectiveTileSize(Files.size(input)))) {
+            double[] solution;
+            try {
+                if (method.equals("cholesky")) {
+                    OutOfCoreCholesky cholesky = new OutOfCoreCholesky(A);
+                    solution = b != null ? cholesky.solve(b) : null;
+                } else {
+                    OutOfCoreLU lu = new OutOfCoreLU(A);
+                    solution = b != null ? lu.solve(b) : null;
+                }
+            } catch (SolveTimeoutException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                return new OutOfCoreResponse(SolverOutcome.FAILED, "Error: " + e.getMessage(), method, A.getSize(), A.getTileSize(), null, null);
+            }
+            String factorFile = stripExtension(input.getFileName().toString()) + "-" + method + "-" + UUID.randomUUID() + ".npy";
+            A.exportNpy(workingDirectory().resolve(factorFile), method.equals("cholesky"));
+            return new OutOfCoreResponse(SolverOutcome.CONVERGED, "Success", method, A.getSize(), A.getTileSize(), factorFile, solution);
+        } finally {
+            Files.deleteIfExists(tiles);
+        }
+    }
+
+    /**
+     * Returns the number of rows and columns of the matrix stored in a file of the working directory, read from
+     * its header or its length without reading the matrix.
+     *
+     * @param inputFile the file holding the matrix (raw little-endian doubles or .npy), relative to the working directory
+     * @return the size of the matrix
+     * @throws IllegalArgumentException if the file does not hold a square matrix of doubles
+     */
+    @SneakyThrows
+    public int size(String inputFile) {
+        try (FileChannel channel = FileChannel.open(resolve(inputFile))) {
+            return BinaryMatrixCodec.inspectSquareMatrixFile(channel).size();
+        }
+    }
+
+    /**
+     * Stores an uploaded matrix in the working directory.
+     *
+     * @param content the content of the uploaded file
+     * @return the name of the stored file, relative to the working directory
+     */
+    @SneakyThrows
+    public String store(InputStream content) {
+        String name = "upload-" + UUID.randomUUID() + ".bin";
+        Files.copy(content, workingDirectory().resolve(name), StandardCopyOption.REPLACE_EXISTING);
+        return name;
+    }
+
+    /**
+     * Deletes a file of the working directory.
+     *
+     * @param file the name of the file, relative to the working directory
+     */
+    @SneakyThrows
+    public void delete(String file) {
+        Files.deleteIfExists(resolve(file));
+    }
+
+    /**
+     * Returns the path of a factor file written by {@link #factorize}, to be streamed to the client.
+     *
+     * @param factorFile the name of the factor file, as returned in the response of the factorization
+     * @return the path of the factor file
+     * @throws IllegalArgumentException if the name is not the one of a factor file
+     * @throws java.nio.file.NoSuchFileException if the factor file was deleted or has expired
+     */
+    @SneakyThrows
+    public Path factorFile(String factorFile) {
+        if (!FACTOR_FILE.matcher(factorFile).matches()) {
+            throw new IllegalArgumentException("Error: " + factorFile + " is not an out-of-core factor file.");
+        }
+        return resolve(factorFile);
+    }
+
+    /**
+     * Deletes a factor file written by {@link #factorize}.
+     *
+     * @param factorFile the name of the factor file, as returned in the response of the factorization
+     * @throws IllegalArgumentException if the name is not the one of a factor file
+     * @throws java.nio.file.NoSuchFileException if the factor file was already deleted or has expired
+     */
+    @SneakyThrows
+    public void deleteFactor(String factorFile) {
+        Files.delete(factorFile(factorFile));
+    }
+
+    /**
+     * Deletes the factor files last modified more than {@code factorRetention} ago. Files that disappear or are
+     * still open meanwhile are left to the next sweep.
+     */
+    private void deleteExpiredFactors() throws IOException {
+        Instant oldest = Instant.now().minus(factorRetention);
+        try (Stream<Path> files = Files.list(workingDirectory())) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                try {
+                    if (FACTOR_FILE.matcher(file.getFileName().toString()).matches()
+                            && Files.getLastModifiedTime(file).toInstant().isBefore(oldest)) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException e) {
+                    // Deleted by a concurrent sweep or by a client, or not deletable yet
+                }
+            }
+        }
+    }
+
+    private Path workingDirectory() throws IOException {
+        return Files.createDirectories(Path.of(directory).toAbsolutePath().normalize());
+    }
+
+    /**
+     * Resolves a file of the working directory. Both paths are compared once real, with their symbolic links
+     * followed, so neither {@code ..} nor a link can reach a file outside the directory.
+     *
+     * @throws java.nio.file.NoSuchFileException if the file does not exist
+     */
+    private Path resolve(String file) throws IOException {
+        Path base = workingDirectory().toRealPath();
+        // Checked before following the links too, not to reveal whether a file outside the directory exists
+        Path real = requireInside(base.resolve(file).normalize(), base).toRealPath();
+        return requireInside(real, base);
+    }
+
+    private static Path requireInside(Path file, Path base) {
+        if (!file.startsWith(base) || file.equals(base)) {
+            throw new IllegalArgumentException("Error: the file must be inside the out-of-core working directory.");
+        }
+        return file;
+    }
+
+    /**
+     * Limits the tile size so that a band of tiles can be mapped at once (a mapping is at most 2 GB).
+     */
+    private int effectiveTileSize(long fileSize) {
+        long n = (long) Math.sqrt((double) fileSize / Double.BYTES);
+        long maxTileSize = Integer.MAX_VALUE / (Math.max(1, n) * Double.BYTES);
+        return (int) Math.max(1, Math.min(tileSize, maxTileSize));
+    }
+
+    private static String stripExtension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
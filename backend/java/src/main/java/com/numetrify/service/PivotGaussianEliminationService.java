@@ -1,6 +1,9 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.PivotGaussianEliminationResponse;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.service.matrix.DenseKernels;
 import lombok.SneakyThrows;
 import org.springframework.stereotype.Service;
 
@@ -22,7 +25,9 @@ public class PivotGaussianEliminationService {
             augmentedMatrix[i][n] = vectorB[i];
         }
 
+        DenseKernels kernels = DenseKernels.selected();
         for (int i = 0; i < n; i++) {
+            Deadline.check();
             int maxRow = i;
             for (int k = i + 1; k < n; k++) {
                 if (Math.abs(augmentedMatrix[k][i]) > Math.abs(augmentedMatrix[maxRow][i])) {
@@ -46,13 +51,12 @@ public class PivotGaussianEliminationService {
             for (int j = 0; j < n; j++) {
                 if (j != i) {
                     double factor = augmentedMatrix[j][i];
-                    for (int k = 0; k <= n; k++) {
-                        augmentedMatrix[j][k] -= factor * augmentedMatrix[i][k];
-                    }
+                    kernels.axpy(-factor, augmentedMatrix[i], 0, augmentedMatrix[j], 0, n + 1);
                 }
             }
         }
 
+        PhaseProfiler.mark("elimination");
         double[] solution = new double[n];
         for (int i = 0; i < n; i++) {
             solution[i] = augmentedMatrix[i][n];
@@ -0,0 +1,18 @@
+package com.numetrify.service;
+
+/**
+ * How all the roots of a polynomial are computed at once.
+ */
+public enum PolynomialRootMethod {
+
+    /**
+     * Aberth-Ehrlich iteration: Newton's method on every root simultaneously, each correction implicitly
+     * deflating the current approximations of the other roots. Converges cubically for simple roots.
+     */
+    ABERTH,
+
+    /**
+     * Eigenvalues of the companion matrix by the QR algorithm, O(n^3) but without starting points.
+     */
+    COMPANION
+}
@@ -0,0 +1,235 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.PolynomialRootsResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.execution.Progress;
+import com.numetrify.expression.Polynomial;
+import lombok.SneakyThrows;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Service class to compute all the real and complex roots of a polynomial in one call.
+ *
+ * Exact zero roots are deflated first; the remaining ones are found by the Aberth-Ehrlich iteration or as the
+ * eigenvalues of the companion matrix, see {@link PolynomialRootMethod}. The polynomial is always evaluated by
+ * Horner's scheme.
+ */
+@Service
+public class PolynomialRootsService {
+
+    private static final double EPSILON = Math.ulp(1.0);
+
+    /**
+     * Computes all the roots of a polynomial.
+     *
+     * @param functionExpression the expression of the polynomial in x
+     * @param method the method computing the roots
+     * @param toleranceValue the tolerance value, the number of correct decimal digits sought
+     * @param maxIterations the maximum number of Aberth iterations
+     * @return PolynomialRootsResponse containing the roots and the modulus of the polynomial at each one
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * PolynomialRootsResponse response = polynomialRootsService.polynomialRoots("x^3 - x - 2", PolynomialRootMethod.ABERTH, 12, 100);
+     * double[] realParts = response.getRealParts();
+     * double[] imaginaryParts = response.getImaginaryParts();
+     * }
+     * </pre>
+     */
+    @SneakyThrows
+    public PolynomialRootsResponse polynomialRoots(String functionExpression, PolynomialRootMethod method, double toleranceValue, int maxIterations) {
+        Polynomial polynomial = Polynomial.parse(functionExpression, "x");
+        PhaseProfiler.mark("compilation");
+        if (polynomial == null) {
+            String message = "The function is not a polynomial in x of degree at most " + Polynomial.MAX_DEGREE + ".";
+            return new PolynomialRootsResponse(SolverOutcome.FAILED, message, new double[0], new double[0], new double[0], new double[0], 0);
+        }
+        double[] coefficients = polynomial.getCoefficients();
+        if (polynomial.degree() == 0) {
+            String message = "The polynomial is constant and has no roots.";
+            return new PolynomialRootsResponse(SolverOutcome.FAILED, message, coefficients, new double[0], new double[0], new double[0], 0);
+        }
+
+        int n = polynomial.degree();
+        double[] re = new double[n];
+        double[] im = new double[n];
+        int zeros = 0;
+        Polynomial deflated = polynomial;
+        while (deflated.degree() > 0 && deflated.getCoefficients()[0] == 0.0) {
+            deflated = deflated.deflate(0.0);
+            zeros++;
+        }
+
+        double tolerance = 0.5 * Math.pow(10, -toleranceValue);
+        int iterations = 0;
+        String message;
+        SolverOutcome outcome;
+        if (deflated.degree() == 0) {
+            message = "Success: the " + n + " roots were found.";
+            outcome = SolverOutcome.CONVERGED;
+        } else if (method == PolynomialRootMethod.COMPANION) {
+            try {
+                companionRoots(deflated, re, im, zeros);
+                message = "Success: the " + n + " roots were found as the eigenvalues of the companion matrix.";
+                outcome = SolverOutcome.CONVERGED;
+            } catch (MaxCountExceededException e) {
+                message = "The QR algorithm did not converge on the companion matrix.";
+                outcome = SolverOutcome.FAILED;
+            }
+            iterations = 1;
+        } else {
+            AberthResult result = aberth(deflated, re, im, zeros, tolerance, maxIterations);
+            iterations = result.iterations();
+            if (result.converged()) {
+                message = "Success: the " + n + " roots were found with a tolerance = " + tolerance;
+                outcome = SolverOutcome.CONVERGED;
+            } else if (Deadline.expired()) {
+                message = Deadline.timeoutMessage(iterations);
+                outcome = SolverOutcome.TIMED_OUT;
+            } else {
+                message = "Failed in " + maxIterations + " iterations";
+                outcome = SolverOutcome.FAILED;
+            }
+        }
+        PhaseProfiler.mark("iteration");
+
+        // Parts below the tolerance are rounding errors of real or purely imaginary roots
+        for (int k = zeros; k < n; k++) {
+            if (Math.abs(im[k]) <= tolerance * Math.max(1.0, Math.abs(re[k]))) {
+                im[k] = 0.0;
+            } else if (Math.abs(re[k]) <= tolerance * Math.max(1.0, Math.abs(im[k]))) {
+                re[k] = 0.0;
+            }
+        }
+        Integer[] order = new Integer[n];
+        Arrays.setAll(order, k -> k);
+        Arrays.sort(order, Comparator.<Integer>comparingDouble(k -> re[k]).thenComparingDouble(k -> im[k]));
+        double[] realParts = new double[n];
+        double[] imaginaryParts = new double[n];
+        double[] residuals = new double[n];
+        double[] value = new double[2];
+        for (int k = 0; k < n; k++) {
+            realParts[k] = re[order[k]];
+            imaginaryParts[k] = im[order[k]];
+            polynomial.evaluate(realParts[k], imaginaryParts[k], value);
+            residuals[k] = Math.hypot(value[0], value[1]);
+        }
+        return new PolynomialRootsResponse(outcome, message, coefficients, realParts, imaginaryParts, residuals, iterations);
+    }
+
+    private record AberthResult(int iterations, boolean converged) {
+    }
+
+    /**
+     * Runs the Aberth-Ehrlich iteration on the roots from index offset on, updating each approximation as soon
+     * as its correction is known.
+     */
+    private static AberthResult aberth(Polynomial p, double[] re, double[] im, int offset, double tolerance, int maxIterations) {
+        int n = p.degree();
+        Polynomial derivative = p.derivative();
+        double[] a = p.getCoefficients();
+
+        // Starting points on a circle enclosing every root (Fujiwara's bound), rotated off the real axis
+        double radius = 0.0;
+        for (int k = 1; k <= n; k++) {
+            double ratio = Math.abs(a[n - k] / a[n]);
+            radius = Math.max(radius, Math.pow(k == n ? ratio / 2 : ratio, 1.0 / k));
+        }
+        radius *= 2;
+        for (int k = 0; k < n; k++) {
+            double angle = 2 * Math.PI * k / n + 0.4;
+            re[offset + k] = radius * Math.cos(angle);
+            im[offset + k] = radius * Math.sin(angle);
+        }
+
+        boolean[] converged = new boolean[n];
+        double[] value = new double[2];
+        double[] slope = new double[2];
+        int remaining = n;
+        int iterations = 0;
+        while (remaining > 0) {
+            if (iterations >= maxIterations || Deadline.reached(iterations)) {
+                return new AberthResult(iterations, false);
+            }
+            iterations++;
+            double maxCorrection = 0.0;
+            for (int k = 0; k < n; k++) {
+                if (converged[k]) {
+                    continue;
+                }
+                double zRe = re[offset + k];
+                double zIm = im[offset + k];
+                double modulus = Math.hypot(zRe, zIm);
+                p.evaluate(zRe, zIm, value);
+                // p(z) is zero up to the rounding error of Horner's scheme
+                if (Math.hypot(value[0], value[1]) <= 4 * n * EPSILON * p.magnitude(modulus)) {
+                    converged[k] = true;
+                    remaining--;
+                    continue;
+                }
+                derivative.evaluate(zRe, zIm, slope);
+
+                // S = sum over the other roots of 1 / (z - z_j)
+                double sRe = 0.0;
+                double sIm = 0.0;
+                for (int j = 0; j < n; j++) {
+                    if (j == k) {
+                        continue;
+                    }
+                    double dRe = zRe - re[offset + j];
+                    double dIm = zIm - im[offset + j];
+                    double d = dRe * dRe + dIm * dIm;
+                    sRe += dRe / d;
+                    sIm -= dIm / d;
+                }
+                // w = p / (p' - p S)
+                double denominatorRe = slope[0] - (value[0] * sRe - value[1] * sIm);
+                double denominatorIm = slope[1] - (value[0] * sIm + value[1] * sRe);
+                double d = denominatorRe * denominatorRe + denominatorIm * denominatorIm;
+                if (d == 0.0 || !Double.isFinite(d)) {
+                    continue;
+                }
+                double wRe = (value[0] * denominatorRe + value[1] * denominatorIm) / d;
+                double wIm = (value[1] * denominatorRe - value[0] * denominatorIm) / d;
+                re[offset + k] = zRe - wRe;
+                im[offset + k] = zIm - wIm;
+                double correction = Math.hypot(wRe, wIm);
+                maxCorrection = Math.max(maxCorrection, correction / Math.max(1.0, modulus));
+                if (correction <= tolerance * Math.max(1.0, modulus)) {
+                    converged[k] = true;
+                    remaining--;
+                }
+            }
+            Progress.report(iterations, maxCorrection);
+        }
+        return new AberthResult(iterations, true);
+    }
+
+    /**
+     * Computes the roots from index offset on as the eigenvalues of the companion matrix of p, whose last
+     * column holds the coefficients of the monic polynomial.
+     */
+    private static void companionRoots(Polynomial p, double[] re, double[] im, int offset) {
+        int n = p.degree();
+        double[] a = p.getCoefficients();
+        double[][] companion = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                companion[i][i - 1] = 1.0;
+            }
+            companion[i][n - 1] = -a[i] / a[n];
+        }
+        EigenDecomposition decomposition = new EigenDecomposition(new Array2DRowRealMatrix(companion, false));
+        System.arraycopy(decomposition.getRealEigenvalues(), 0, re, offset, n);
+        System.arraycopy(decomposition.getImagEigenvalues(), 0, im, offset, n);
+    }
+}
@@ -1,6 +1,11 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.SecantResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.expression.CompiledFunction;
+import com.numetrify.expression.EvaluationBudget;
 import com.numetrify.util.MathUtils;
 import lombok.SneakyThrows;
 import org.mariuszgromada.math.mxparser.Argument;
@@ -25,6 +30,7 @@ public class SecantService {
      * @param errorType the type of error to use (1 for absolute error, 2 for relative error)
      * @param toleranceValue the tolerance value for the stopping criterion
      * @param maxIterations the maximum number of iterations
+     * @param maxFunctionEvaluations the maximum number of function evaluations, 0 for no limit
      * @return SecantResponse containing the result of the Secant method
      *
      * Example usage:
@@ -36,7 +42,8 @@ public class SecantService {
      * int errorType = 1;
      * double toleranceValue = 0.01;
      * int maxIterations = 100;
-     * SecantResponse response = secantService.secant(functionExpression, initialGuess1, initialGuess2, errorType, precisionType, toleranceValue, maxIterations);
+     * long maxFunctionEvaluations = 0;
+     * SecantResponse response = secantService.secant(functionExpression, initialGuess1, initialGuess2, errorType, precisionType, toleranceValue, maxIterations, maxFunctionEvaluations);
      * String message = response.getMessage();
      * List<Double> xValues = response.getXValues();
      * List<Double> functionValues = response.getFunctionValues();
@@ -46,10 +53,12 @@ public class SecantService {
      * </pre>
      */
     @SneakyThrows
-    public SecantResponse secant(String functionExpression, double initialGuess1, double initialGuess2, int errorType, double toleranceValue, int maxIterations) {
+    public SecantResponse secant(String functionExpression, double initialGuess1, double initialGuess2, int errorType, double toleranceValue, int maxIterations, long maxFunctionEvaluations) {
         // Create the function using mXparser
         Argument x = new Argument("x");
-        Expression function = new Expression(functionExpression, x);
+        EvaluationBudget budget = new EvaluationBudget(maxFunctionEvaluations);
+        CompiledFunction function = CompiledFunction.of(new Expression(functionExpression, x), x, budget);
+        PhaseProfiler.mark("compilation");
 
         // Calculate tolerance based on the type of error
         double tolerance = MathUtils.getTolerance(toleranceValue, errorType);
@@ -63,10 +72,8 @@ public class SecantService {
         // Initial values
         double x0 = initialGuess1;
         double x1 = initialGuess2;
-        x.setArgumentValue(x0);
-        double f0 = function.calculate();
-        x.setArgumentValue(x1);
-        double f1 = function.calculate();
+        double f0 = function.calculate(x0);
+        double f1 = function.calculate(x1);
         int iterationCount = 0;
         double error = 100.0; // Initial error set to 100%
         xValues.add(x0);
@@ -81,23 +88,23 @@ public class SecantService {
         // Check if the initial guesses are valid
         if (Double.isNaN(f0) || Double.isNaN(f1) || Double.isInfinite(f0) || Double.isInfinite(f1)) {
             String message = "The function is not defined at x0 = " + initialGuess1 + " or x1 = " + initialGuess2 + ". The method fails.";
-            return new SecantResponse(message, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            return budget.report(new SecantResponse(SolverOutcome.FAILED, message, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
         }
 
         // Perform the secant method
-        while (iterationCount < maxIterations && errors.get(iterationCount + 1) >= tolerance && f1 != 0 && f1 - f0 != 0) {
+        while (iterationCount < maxIterations && errors.get(iterationCount + 1) >= tolerance && f1 != 0 && f1 - f0 != 0 && budget.allows(1) && !Deadline.reached(iterationCount)) {
             iterationCount++;
             double x2 = x1 - (f1 * (x1 - x0)) / (f1 - f0);
             x0 = x1;
             f0 = f1;
             x1 = x2;
-            x.setArgumentValue(x1);
-            f1 = function.calculate();
+            f1 = function.calculate(x1);
 
             // Check if the current value is valid
             if (Double.isNaN(f1) || Double.isInfinite(f1)) {
                 String message = "The function is not defined at x = " + x1 + ". The method fails.";
-                return new SecantResponse(message, xValues, functionValues, errors, iterations);
+                SolverOutcome outcome = Double.isFinite(x1) ? SolverOutcome.FAILED : SolverOutcome.DIVERGED;
+                return budget.report(new SecantResponse(outcome, message, xValues, functionValues, errors, iterations));
             }
 
             xValues.add(x1);
@@ -110,10 +117,26 @@ public class SecantService {
             errors.add(error);
         }
 
+        PhaseProfiler.mark("iteration");
         // Determine the result message
-        String message = f1 == 0 ? x1 + " is a root of f(x)"
-                : errors.get(iterationCount + 1) < tolerance ? "The approximate solution is: " + x1 + ", with a tolerance = " + tolerance
-                : "Failed in " + maxIterations + " iterations";
-        return new SecantResponse(message, xValues, functionValues, errors, iterations);
+        String message;
+        SolverOutcome outcome;
+        if (f1 == 0) {
+            message = x1 + " is a root of f(x)";
+            outcome = SolverOutcome.CONVERGED;
+        } else if (errors.get(iterationCount + 1) < tolerance) {
+            message = "The approximate solution is: " + x1 + ", with a tolerance = " + tolerance;
+            outcome = SolverOutcome.CONVERGED;
+        } else if (Deadline.expired()) {
+            message = Deadline.timeoutMessage(iterationCount);
+            outcome = SolverOutcome.TIMED_OUT;
+        } else if (!budget.allows(1)) {
+            message = budget.exhaustedMessage();
+            outcome = SolverOutcome.BUDGET_EXHAUSTED;
+        } else {
+            message = "Failed in " + maxIterations + " iterations";
+            outcome = SolverOutcome.failedOrDiverged(xValues);
+        }
+        return budget.report(new SecantResponse(outcome, message, xValues, functionValues, errors, iterations));
     }
 }
\ No newline at end of file
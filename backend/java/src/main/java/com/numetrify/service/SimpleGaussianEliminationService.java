@@ -1,6 +1,9 @@
 package com.numetrify.service;
 
 import com.numetrify.dto.SimpleGaussianEliminationResponse;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.service.matrix.DenseKernels;
 import lombok.SneakyThrows;
 import org.springframework.stereotype.Service;
 
@@ -22,27 +25,26 @@ public class SimpleGaussianEliminationService {
         }
 
         // Eliminación Gaussiana
+        DenseKernels kernels = DenseKernels.selected();
         for (int i = 0; i < n - 1; i++) {
+            Deadline.check();
             for (int j = i + 1; j < n; j++) {
                 if (M[j][i] != 0) {
                     double factor = M[j][i] / M[i][i];
-                    for (int k = i; k <= n; k++) {
-                        M[j][k] -= factor * M[i][k];
-                    }
+                    kernels.axpy(-factor, M[i], i, M[j], i, n + 1 - i);
                 }
             }
         }
 
+        PhaseProfiler.mark("elimination");
         // Sustitución regresiva
         double[] x = new double[n];
         for (int i = n - 1; i >= 0; i--) {
-            double sum = 0;
-            for (int j = i + 1; j < n; j++) {
-                sum += M[i][j] * x[j];
-            }
+            double sum = kernels.dot(M[i], i + 1, x, i + 1, n - i - 1);
             x[i] = (M[i][n] - sum) / M[i][i];
         }
 
+        PhaseProfiler.mark("substitution");
         return new SimpleGaussianEliminationResponse(x);
     }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.SolveResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.ComputePool;
+import com.numetrify.execution.Deadline;
+import com.numetrify.execution.PhaseProfiler;
+import com.numetrify.execution.Progress;
+import com.numetrify.service.matrix.CholeskyDecomposition;
+import com.numetrify.service.matrix.CsrMatrix;
+import com.numetrify.service.matrix.MulticolorGaussSeidel;
+import org.apache.commons.math3.linear.DecompositionSolver;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service class that inspects a linear system and solves it with the cheapest applicable method.
+ *
+ * The selection follows the structure of the matrix:
+ * <ul>
+ *     <li>large, sparse and strictly diagonally dominant matrices are solved with a sparse Gauss-Seidel
+ *     iteration, which is guaranteed to converge for them and costs O(nnz) per sweep; the sweeps of the larger
+ *     ones run in parallel, with a red-black or greedy multicolor ordering of the unknowns;</li>
+ *     <li>symmetric matrices with a positive diagonal are tried with Cholesky (n^3/3 flops), the attempt
+ *     itself being the positive definiteness test;</li>
+ *     <li>everything else falls back to LU with partial pivoting (2n^3/3 flops).</li>
+ * </ul>
+ */
+@Service
+public class SolverSelectionService {
+
+    /**
+     * Minimum size for which the sparse iterative path is considered.
+     */
+    private static final int ITERATIVE_MIN_SIZE = 200;
+
+    /**
+     * Maximum fraction of non-zero entries for which the sparse iterative path is considered.
+     */
+    private static final double ITERATIVE_MAX_DENSITY = 0.05;
+
+    /**
+     * Minimum number of non-zero entries for which the sweeps are parallelized with a multicolor ordering; below
+     * it a sweep is too short to amortize the coloring and the fork/join overhead.
+     */
+    private static final int MULTICOLOR_MIN_NON_ZEROS = 100_000;
+
+    private static final int ITERATIVE_MAX_SWEEPS = 10_000;
+
+    private static final double ITERATIVE_TOLERANCE = 1e-12;
+
+    private static final double SYMMETRY_TOLERANCE = 1e-12;
+
+    /**
+     * Analyzes the system Ax = b and solves it with the fastest applicable method.
+     *
+     * @param A the coefficient matrix
+     * @param b the right-hand side vector
+     * @return SolveResponse containing the solution, the chosen method, the matrix properties and the time spent per phase
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * double[][] A = {
+     *     {4, 12, -16},
+     *     {12, 37, -43},
+     *     {-16, -43, 98}
+     * };
+     * double[] b = {1, 2, 3};
+     * SolveResponse response = solverSelectionService.solve(A, b);
+     * String method = response.getMethod();
+     * double[] x = response.getSolution();
+     * Map<String, Long> phaseNanos = response.getPhaseNanos();
+     * }
+     * </pre>
+     */
+    public SolveResponse solve(double[][] A, double[] b) {
+        Map<String, Long> phaseNanos = new LinkedHashMap<>();
+        int n = A.length;
+
+        long start = System.nanoTime();
+        if (n == 0 || b.length != n) {
+            return new SolveResponse(SolverOutcome.FAILED, "Error: vector b length must be equal to the number of rows in matrix A", null, null, n, 0, false, false, null, 0, phaseNanos);
+        }
+        // Checked before the analysis, whose symmetry test reads A[j][i] ahead of row j
+        for (double[] row : A) {
+            if (row.length != n) {
+                return new SolveResponse(SolverOutcome.FAILED, "Error: Matrix A must be square", null, null, n, 0, false, false, null, 0, phaseNanos);
+            }
+        }
+        long nonZeros = 0;
+        boolean symmetric = true;
+        boolean diagonallyDominant = true;
+        boolean positiveDiagonal = true;
+        for (int i = 0; i < n; i++) {
+            double[] row = A[i];
+            double offDiagonalSum = 0.0;
+            for (int j = 0; j < n; j++) {
+                double value = row[j];
+                if (value != 0) {
+                    nonZeros++;
+                }
+                if (j != i) {
+                    offDiagonalSum += Math.abs(value);
+                    if (symmetric && j > i && Math.abs(value - A[j][i]) > SYMMETRY_TOLERANCE * Math.max(1.0, Math.abs(value))) {
+                        symmetric = false;
+                    }
+                }
+            }
+            diagonallyDominant &= Math.abs(row[i]) > offDiagonalSum;
+            positiveDiagonal &= row[i] > 0;
+        }
+        double density = (double) nonZeros / ((double) n * n);
+        phaseNanos.put("analysis", System.nanoTime() - start);
+        PhaseProfiler.mark("analysis");
+
+        if (diagonallyDominant && n >= ITERATIVE_MIN_SIZE && density <= ITERATIVE_MAX_DENSITY) {
+            start = System.nanoTime();
+            CsrMatrix csr = CsrMatrix.fromDense(A);
+            MulticolorGaussSeidel multicolor = csr.getNonZeros() >= MULTICOLOR_MIN_NON_ZEROS ? new MulticolorGaussSeidel(csr) : null;
+            String method = multicolor != null ? "multicolor-gauss-seidel" : "gauss-seidel";
+            phaseNanos.put("conversion", System.nanoTime() - start);
+            PhaseProfiler.mark("conversion");
+
+            start = System.nanoTime();
+            double[] x = new double[n];
+            int sweeps = 0;
+            boolean converged = false;
+            while (!converged && sweeps < ITERATIVE_MAX_SWEEPS && !Deadline.reached(sweeps)) {
+                double change = multicolor != null ? multicolor.sweep(ComputePool.current(), b, x) : csr.gaussSeidelSweep(b, x);
+                sweeps++;
+                Progress.report(sweeps, change);
+                converged = change <= ITERATIVE_TOLERANCE * Math.max(1.0, infinityNorm(x));
+            }
+            phaseNanos.put("iteration", System.nanoTime() - start);
+            PhaseProfiler.mark("iteration");
+            if (converged) {
+                return new SolveResponse(SolverOutcome.CONVERGED, "Success", method, x, n, density, symmetric, true, null, sweeps, phaseNanos);
+            }
+            if (Deadline.expired()) {
+                return new SolveResponse(SolverOutcome.TIMED_OUT, Deadline.timeoutMessage(sweeps), method, x, n, density, symmetric, true, null, sweeps, phaseNanos);
+            }
+        }
+
+        Boolean positiveDefinite = null;
+        if (symmetric && positiveDiagonal) {
+            start = System.nanoTime();
+            CholeskyDecomposition cholesky = null;
+            try {
+                cholesky = new CholeskyDecomposition(A);
+                positiveDefinite = true;
+            } catch (RuntimeException e) {
+                positiveDefinite = false;
+            }
+            phaseNanos.put("cholesky", System.nanoTime() - start);
+            PhaseProfiler.mark("cholesky");
+
+            if (cholesky != null) {
+                start = System.nanoTime();
+                double[] x = cholesky.solve(b);
+                phaseNanos.put("solve", System.nanoTime() - start);
+                PhaseProfiler.mark("solve");
+                return new SolveResponse(SolverOutcome.fromSolution(x), "Success", "cholesky", x, n, density, true, diagonallyDominant, true, 0, phaseNanos);
+            }
+        }
+
+        // The LU factorization cannot be interrupted, do not start it once out of time
+        Deadline.check();
+        start = System.nanoTime();
+        DecompositionSolver solver = new LUDecomposition(MatrixUtils.createRealMatrix(A)).getSolver();
+        phaseNanos.put("lu", System.nanoTime() - start);
+        PhaseProfiler.mark("lu");
+        if (!solver.isNonSingular()) {
+            return new SolveResponse(SolverOutcome.FAILED, "Error: Matrix is singular", "lu-partial-pivoting", null, n, density, symmetric, diagonallyDominant, positiveDefinite, 0, phaseNanos);
+        }
+
+        start = System.nanoTime();
+        double[] x = solver.solve(MatrixUtils.createRealVector(b)).toArray();
+        phaseNanos.put("solve", System.nanoTime() - start);
+        PhaseProfiler.mark("solve");
+        return new SolveResponse(SolverOutcome.fromSolution(x), "Success", "lu-partial-pivoting", x, n, density, symmetric, diagonallyDominant, positiveDefinite, 0, phaseNanos);
+    }
+
+    private static double infinityNorm(double[] x) {
+        double norm = 0.0;
+        for (double value : x) {
+            norm = Math.max(norm, Math.abs(value));
+        }
+        return norm;
+    }
+}
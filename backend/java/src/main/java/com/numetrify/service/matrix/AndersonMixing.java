@@ -0,0 +1,149 @@
+package com.numetrify.service.matrix;
+
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.SingularMatrixException;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Anderson mixing of a fixed-point iteration x = G(x), with a window of the last {@code depth} steps.
+ *
+ * With f_k = G(x_k) - x_k the residual of the iterate, the weights gamma minimize ||f_k - dF gamma||, dF holding
+ * the differences of the last residuals, and the next iterate is G(x_k) - dG gamma, dG holding the differences of
+ * the last values of G. The small least-squares problem is solved through its normal equations, scaled to a unit
+ * diagonal; when they are numerically singular the window is cleared and the step falls back to x = G(x).
+ *
+ * A step costs O(n depth) on top of the evaluation of G, negligible next to the O(n^2) of a dense Jacobi or
+ * Gauss-Seidel step.
+ *
+ * Example usage:
+ * <pre>
+ * {@code
+ * AndersonMixing anderson = new AndersonMixing(x.length, AndersonMixing.DEFAULT_DEPTH);
+ * while (error > tolerance) {
+ *     double[] g = G(x);
+ *     x = anderson.mix(x, g);
+ * }
+ * }
+ * </pre>
+ */
+public class AndersonMixing {
+
+    /**
+     * Number of past steps kept by default, enough for most linearly convergent iterations.
+     */
+    public static final int DEFAULT_DEPTH = 5;
+
+    /**
+     * Smallest pivot of the scaled normal equations, below which the window is considered degenerate.
+     */
+    private static final double SINGULARITY_THRESHOLD = 1e-12;
+
+    private final int depth;
+
+    private final ArrayDeque<double[]> residualDifferences = new ArrayDeque<>();
+
+    private final ArrayDeque<double[]> valueDifferences = new ArrayDeque<>();
+
+    private double[] previousResidual;
+
+    private double[] previousValue;
+
+    /**
+     * @param size the number of unknowns
+     * @param depth the number of past steps to combine, at most the number of unknowns
+     */
+    public AndersonMixing(int size, int depth) {
+        this.depth = Math.max(1, Math.min(depth, size));
+    }
+
+    /**
+     * Returns the next iterate.
+     *
+     * @param x the current iterate, only read
+     * @param g the value G(x), kept in the window and not to be modified afterwards
+     * @return the mixed iterate, g itself while the window is empty
+     */
+    public double[] mix(double[] x, double[] g) {
+        int n = x.length;
+        double[] residual = new double[n];
+        for (int i = 0; i < n; i++) {
+            residual[i] = g[i] - x[i];
+        }
+        if (previousResidual != null) {
+            residualDifferences.addLast(difference(residual, previousResidual));
+            valueDifferences.addLast(difference(g, previousValue));
+            if (residualDifferences.size() > depth) {
+                residualDifferences.removeFirst();
+                valueDifferences.removeFirst();
+            }
+        }
+        previousResidual = residual;
+        previousValue = g;
+        if (residualDifferences.isEmpty()) {
+            return g;
+        }
+
+        double[][] columns = residualDifferences.toArray(new double[0][]);
+        int m = columns.length;
+        double[] scale = new double[m];
+        for (int a = 0; a < m; a++) {
+            scale[a] = Math.sqrt(dot(columns[a], columns[a]));
+            if (scale[a] == 0 || !Double.isFinite(scale[a])) {
+                return restart(g);
+            }
+        }
+        double[][] gram = new double[m][m];
+        double[] rhs = new double[m];
+        for (int a = 0; a < m; a++) {
+            rhs[a] = dot(columns[a], residual) / scale[a];
+            for (int b = 0; b <= a; b++) {
+                gram[a][b] = dot(columns[a], columns[b]) / (scale[a] * scale[b]);
+                gram[b][a] = gram[a][b];
+            }
+        }
+        double[] gamma;
+        try {
+            gamma = new LUDecomposition(MatrixUtils.createRealMatrix(gram), SINGULARITY_THRESHOLD).getSolver()
+                    .solve(new ArrayRealVector(rhs, false)).toArray();
+        } catch (SingularMatrixException e) {
+            return restart(g);
+        }
+
+        double[] next = g.clone();
+        Iterator<double[]> values = valueDifferences.iterator();
+        for (int a = 0; a < m; a++) {
+            double weight = gamma[a] / scale[a];
+            double[] column = values.next();
+            for (int i = 0; i < n; i++) {
+                next[i] -= weight * column[i];
+            }
+        }
+        return next;
+    }
+
+    private double[] restart(double[] g) {
+        residualDifferences.clear();
+        valueDifferences.clear();
+        return g;
+    }
+
+    private static double[] difference(double[] a, double[] b) {
+        double[] difference = new double[a.length];
+        for (int i = 0; i < a.length; i++) {
+            difference[i] = a[i] - b[i];
+        }
+        return difference;
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
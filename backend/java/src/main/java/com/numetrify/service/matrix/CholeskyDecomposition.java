@@ -1,5 +1,7 @@
 package com.numetrify.service.matrix;
 
+import com.numetrify.execution.Deadline;
+
 public class CholeskyDecomposition {
 
     private int n;
@@ -11,13 +13,12 @@ public class CholeskyDecomposition {
         }
         n = A.length;
         L = new double[n][n];
+        DenseKernels kernels = DenseKernels.selected();
 
         for (int i = 0; i < n; i++) {
+            Deadline.check();
             for (int j = 0; j <= i; j++) {
-                double sum = 0.0;
-                for (int k = 0; k < j; k++) {
-                    sum += L[i][k] * L[j][k];
-                }
+                double sum = kernels.dot(L[i], 0, L[j], 0, j);
                 if (i == j) {
                     if (A[i][i] - sum <= 0) {
                         throw new RuntimeException("Matrix is not positive definite");
@@ -34,25 +35,18 @@ public class CholeskyDecomposition {
         if (b.length != n) {
             throw new IllegalArgumentException("Vector b length must be equal to the number of rows in matrix A");
         }
-        double[] y = new double[n];
+        DenseKernels kernels = DenseKernels.selected();
         double[] x = new double[n];
 
         // Solve L*y = b
         for (int i = 0; i < n; i++) {
-            double sum = 0.0;
-            for (int k = 0; k < i; k++) {
-                sum += L[i][k] * y[k];
-            }
-            y[i] = (b[i] - sum) / L[i][i];
+            x[i] = (b[i] - kernels.dot(L[i], 0, x, 0, i)) / L[i][i];
         }
 
-        // Solve L^T*x = y
+        // Solve L^T*x = y by columns of L^T, that is rows of L, subtracting each x[i] from the equations above it
         for (int i = n - 1; i >= 0; i--) {
-            double sum = 0.0;
-            for (int k = i + 1; k < n; k++) {
-                sum += L[k][i] * x[k];
-            }
-            x[i] = (y[i] - sum) / L[i][i];
+            x[i] /= L[i][i];
+            kernels.axpy(-x[i], L[i], 0, x, 0, i);
         }
 
         return x;
@@ -0,0 +1,177 @@
+package com.numetrify.service.matrix;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Square sparse matrix stored in compressed sparse row (CSR) format.
+ * Only the non-zero entries are kept, so a sweep over the matrix costs O(nnz) instead of O(n^2).
+ */
+public class CsrMatrix {
+
+    private final int n;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final double[] values;
+    private final double[] diagonal;
+
+    private CsrMatrix(int n, int[] rowPointers, int[] columnIndices, double[] values, double[] diagonal) {
+        this.n = n;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+        this.diagonal = diagonal;
+    }
+
+    /**
+     * Builds a CSR matrix from a dense square matrix, dropping the exact zeros.
+     *
+     * @param A the dense square matrix
+     * @return the CSR representation of A
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * double[][] A = {
+     *     {4, 1, 0},
+     *     {1, 5, 1},
+     *     {0, 1, 3}
+     * };
+     * CsrMatrix csr = CsrMatrix.fromDense(A);
+     * int nonZeros = csr.getNonZeros();
+     * }
+     * </pre>
+     */
+    public static CsrMatrix fromDense(double[][] A) {
+        int n = A.length;
+        int nonZeros = 0;
+        for (double[] row : A) {
+            if (row.length != n) {
+                throw new IllegalArgumentException("Matrix A must be square");
+            }
+            for (double value : row) {
+                if (value != 0) {
+                    nonZeros++;
+                }
+            }
+        }
+
+        int[] rowPointers = new int[n + 1];
+        int[] columnIndices = new int[nonZeros];
+        double[] values = new double[nonZeros];
+        double[] diagonal = new double[n];
+        int position = 0;
+        for (int i = 0; i < n; i++) {
+            double[] row = A[i];
+            for (int j = 0; j < n; j++) {
+                if (row[j] != 0) {
+                    columnIndices[position] = j;
+                    values[position] = row[j];
+                    position++;
+                }
+            }
+            diagonal[i] = row[i];
+            rowPointers[i + 1] = position;
+        }
+        return new CsrMatrix(n, rowPointers, columnIndices, values, diagonal);
+    }
+
+    /**
+     * Builds a CSR matrix from its arrays, without an intermediate dense matrix.
+     *
+     * @param n the size of the matrix
+     * @param rowPointers the start of every row in the entry arrays, followed by the number of entries
+     * @param columnIndices the column of every entry
+     * @param values the value of every entry
+     * @return the CSR matrix, sharing the given arrays
+     */
+    public static CsrMatrix fromArrays(int n, int[] rowPointers, int[] columnIndices, double[] values) {
+        if (rowPointers.length != n + 1 || columnIndices.length != values.length || rowPointers[n] != values.length) {
+            throw new IllegalArgumentException("Inconsistent CSR arrays");
+        }
+        double[] diagonal = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                if (columnIndices[p] == i) {
+                    diagonal[i] = values[p];
+                }
+            }
+        }
+        return new CsrMatrix(n, rowPointers, columnIndices, values, diagonal);
+    }
+
+    /**
+     * Performs one in-place Gauss-Seidel sweep over the system Ax = b.
+     *
+     * @param b the right-hand side vector
+     * @param x the current iterate, overwritten with the new iterate
+     * @return the infinity norm of the update applied to x
+     */
+    public double gaussSeidelSweep(double[] b, double[] x) {
+        double maxChange = 0.0;
+        for (int i = 0; i < n; i++) {
+            double sum = b[i];
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                int j = columnIndices[p];
+                if (j != i) {
+                    sum -= values[p] * x[j];
+                }
+            }
+            double updated = sum / diagonal[i];
+            maxChange = Math.max(maxChange, Math.abs(updated - x[i]));
+            x[i] = updated;
+        }
+        return maxChange;
+    }
+
+    /**
+     * Performs one Jacobi sweep over the system Ax = b, the rows split across the given pool.
+     *
+     * @param pool the pool running the row blocks, or null to run them on the calling thread
+     * @param b the right-hand side vector
+     * @param x the current iterate, only read
+     * @param next the new iterate, overwritten
+     * @return the infinity norm of the update
+     */
+    public double jacobiSweep(ForkJoinPool pool, double[] b, double[] x, double[] next) {
+        return ParallelKernels.forEachRowBlock(pool, n, Math.max(1, values.length / Math.max(1, n)), (from, to) -> {
+            double maxChange = 0.0;
+            for (int i = from; i < to; i++) {
+                double sum = b[i];
+                for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                    int j = columnIndices[p];
+                    if (j != i) {
+                        sum -= values[p] * x[j];
+                    }
+                }
+                double updated = sum / diagonal[i];
+                maxChange = Math.max(maxChange, Math.abs(updated - x[i]));
+                next[i] = updated;
+            }
+            return maxChange;
+        }, Math::max);
+    }
+
+    public int getSize() {
+        return n;
+    }
+
+    public int getNonZeros() {
+        return values.length;
+    }
+
+    public int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    public double[] getDiagonal() {
+        return diagonal;
+    }
+}
@@ -0,0 +1,133 @@
+package com.numetrify.service.matrix;
+
+/**
+ * Micro-kernels of the dense solvers: the dot product, the AXPY update y += alpha x and the GEMM update
+ * C -= A B, on row-major data addressed by offsets and leading dimensions so that they serve both the rows of
+ * {@code double[][]} matrices and the flat tiles of the out-of-core factorizations.
+ *
+ * The implementation is selected once, when the class is initialized: the one written with the Java Vector API
+ * (jdk.incubator.vector) when the JVM runs with {@code --add-modules jdk.incubator.vector} and its preferred
+ * species holds more than one double, which compiles to AVX2 / AVX-512 (or NEON) instructions, and portable
+ * scalar loops otherwise. The system property {@code numetrify.kernels=scalar} forces the scalar loops. The
+ * vectorized kernels sum in a different order, so results may differ from the scalar ones in the last bits.
+ *
+ * Example usage:
+ * <pre>
+ * {@code
+ * DenseKernels kernels = DenseKernels.selected();
+ * double sum = kernels.dot(L[i], 0, L[j], 0, j);
+ * kernels.axpy(-factor, pivotRow, k + 1, row, k + 1, n - k - 1);
+ * }
+ * </pre>
+ */
+public abstract class DenseKernels {
+
+    private static final String VECTOR_IMPLEMENTATION = "com.numetrify.service.matrix.VectorApiKernels";
+
+    private static final DenseKernels SELECTED = select();
+
+    /**
+     * Returns the implementation selected at startup.
+     */
+    public static DenseKernels selected() {
+        return SELECTED;
+    }
+
+    /**
+     * Returns the portable scalar implementation, whatever the selected one.
+     */
+    public static DenseKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    private static DenseKernels select() {
+        if ("scalar".equalsIgnoreCase(System.getProperty("numetrify.kernels"))) {
+            return ScalarKernels.INSTANCE;
+        }
+        try {
+            DenseKernels vector = (DenseKernels) Class.forName(VECTOR_IMPLEMENTATION).getDeclaredConstructor().newInstance();
+            return vector.lanes() > 1 ? vector : ScalarKernels.INSTANCE;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // jdk.incubator.vector is not in the module graph
+            return ScalarKernels.INSTANCE;
+        }
+    }
+
+    /**
+     * Returns a short description of the implementation, e.g. for logs.
+     */
+    public abstract String name();
+
+    /**
+     * Returns the number of doubles processed per instruction, 1 for the scalar loops.
+     */
+    public abstract int lanes();
+
+    /**
+     * Returns the sum of a[aOffset + k] * b[bOffset + k] for k in [0, length).
+     */
+    public abstract double dot(double[] a, int aOffset, double[] b, int bOffset, int length);
+
+    /**
+     * Adds alpha x[xOffset + k] to y[yOffset + k] for k in [0, length).
+     */
+    public abstract void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /**
+     * C -= A B, with C rows x columns, A rows x inner and B inner x columns, all row-major from index 0 with
+     * the given leading dimensions.
+     */
+    public abstract void subtractProduct(double[] c, int ldc, double[] a, int lda, double[] b, int ldb, int rows, int columns, int inner);
+
+    @Override
+    public String toString() {
+        return name();
+    }
+
+    /**
+     * Plain loops, left to the auto-vectorizer of the JIT, which does not vectorize reductions such as the dot
+     * product since it may not reorder floating-point sums.
+     */
+    private static final class ScalarKernels extends DenseKernels {
+
+        static final ScalarKernels INSTANCE = new ScalarKernels();
+
+        @Override
+        public String name() {
+            return "scalar";
+        }
+
+        @Override
+        public int lanes() {
+            return 1;
+        }
+
+        @Override
+        public double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+            double sum = 0.0;
+            for (int k = 0; k < length; k++) {
+                sum += a[aOffset + k] * b[bOffset + k];
+            }
+            return sum;
+        }
+
+        @Override
+        public void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+            for (int k = 0; k < length; k++) {
+                y[yOffset + k] += alpha * x[xOffset + k];
+            }
+        }
+
+        @Override
+        public void subtractProduct(double[] c, int ldc, double[] a, int lda, double[] b, int ldb, int rows, int columns, int inner) {
+            for (int i = 0; i < rows; i++) {
+                for (int k = 0; k < inner; k++) {
+                    double factor = a[i * lda + k];
+                    if (factor != 0) {
+                        axpy(-factor, b, k * ldb, c, i * ldc, columns);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.numetrify.service.matrix;
+
+import com.numetrify.execution.Deadline;
+
+/**
+ * LU factorization PA = LU of a square matrix, L unit lower triangular and U upper triangular, with optional
+ * partial pivoting.
+ *
+ * The factors are computed once and {@link #solve(double[])} reuses them for any number of right-hand sides at
+ * O(n^2) each, which is what the LU elimination endpoint and the Jacobian reuse of Newton's method for systems
+ * rely on. Without pivoting P is the identity and the factors are the Doolittle ones.
+ *
+ * Example usage:
+ * <pre>
+ * {@code
+ * LuFactorization lu = new LuFactorization(A, true);
+ * double[] x = lu.solve(b);
+ * }
+ * </pre>
+ */
+public class LuFactorization {
+
+    private final int n;
+    private final double[][] lu;
+    private final int[] permutation;
+
+    /**
+     * Factors a square matrix.
+     *
+     * @param A the square matrix, not modified
+     * @param pivoting whether to swap rows to use the largest pivot of each column
+     * @throws ArithmeticException if a pivot is zero
+     */
+    public LuFactorization(double[][] A, boolean pivoting) {
+        n = A.length;
+        lu = new double[n][];
+        permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (A[i].length != n) {
+                throw new IllegalArgumentException("Matrix A must be square");
+            }
+            lu[i] = A[i].clone();
+            permutation[i] = i;
+        }
+
+        DenseKernels kernels = DenseKernels.selected();
+        for (int k = 0; k < n; k++) {
+            Deadline.check();
+            if (pivoting) {
+                int pivotRow = k;
+                for (int i = k + 1; i < n; i++) {
+                    if (Math.abs(lu[i][k]) > Math.abs(lu[pivotRow][k])) {
+                        pivotRow = i;
+                    }
+                }
+                if (pivotRow != k) {
+                    double[] row = lu[k];
+                    lu[k] = lu[pivotRow];
+                    lu[pivotRow] = row;
+                    int index = permutation[k];
+                    permutation[k] = permutation[pivotRow];
+                    permutation[pivotRow] = index;
+                }
+            }
+            double[] pivotRow = lu[k];
+            double pivot = pivotRow[k];
+            if (pivot == 0) {
+                throw new ArithmeticException("Division by zero, the pivot of column " + (k + 1) + " is zero");
+            }
+            for (int i = k + 1; i < n; i++) {
+                double[] row = lu[i];
+                double factor = row[k] / pivot;
+                row[k] = factor;
+                if (factor != 0) {
+                    kernels.axpy(-factor, pivotRow, k + 1, row, k + 1, n - k - 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves Ax = b with the factors.
+     *
+     * @param b the right-hand side vector, not modified
+     * @return the solution x
+     */
+    public double[] solve(double[] b) {
+        if (b.length != n) {
+            throw new IllegalArgumentException("Vector b length must be equal to the number of rows in matrix A");
+        }
+        DenseKernels kernels = DenseKernels.selected();
+        // Solve Ly = Pb
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = b[permutation[i]] - kernels.dot(lu[i], 0, x, 0, i);
+        }
+        // Solve Ux = y
+        for (int i = n - 1; i >= 0; i--) {
+            double[] row = lu[i];
+            x[i] = (x[i] - kernels.dot(row, i + 1, x, i + 1, n - i - 1)) / row[i];
+        }
+        return x;
+    }
+
+    public double[][] getL() {
+        double[][] L = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(lu[i], 0, L[i], 0, i);
+            L[i][i] = 1.0;
+        }
+        return L;
+    }
+
+    public double[][] getU() {
+        double[][] U = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(lu[i], i, U[i], i, n - i);
+        }
+        return U;
+    }
+
+    /**
+     * Returns the original row of every row of the factors.
+     */
+    public int[] getPermutation() {
+        return permutation.clone();
+    }
+}
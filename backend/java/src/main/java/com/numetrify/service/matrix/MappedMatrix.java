@@ -0,0 +1,212 @@
+package com.numetrify.service.matrix;
+
+import com.numetrify.execution.Deadline;
+import com.numetrify.util.BinaryMatrixCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Square matrix stored in a file and accessed one tile at a time through {@link FileChannel#map}.
+ *
+ * The matrix is split into square tiles of {@code tileSize x tileSize} doubles, each tile stored contiguously
+ * (row-major inside the tile, tiles in row-major order, the last tile row and column padded). Only the tiles
+ * being worked on are copied to the heap, so matrices much larger than the heap can be factorized.
+ */
+public class MappedMatrix implements Closeable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int n;
+    private final int tileSize;
+    private final int tiles;
+
+    private MappedMatrix(Path path, FileChannel channel, int n, int tileSize) {
+        this.path = path;
+        this.channel = channel;
+        this.n = n;
+        this.tileSize = tileSize;
+        this.tiles = (n + tileSize - 1) / tileSize;
+    }
+
+    /**
+     * Creates an empty tiled matrix backed by a new file.
+     *
+     * @param path the backing file, created or truncated
+     * @param n the number of rows and columns
+     * @param tileSize the number of rows and columns of a tile
+     * @return the tiled matrix
+     * @throws IOException if the file cannot be created
+     */
+    public static MappedMatrix create(Path path, int n, int tileSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SPARSE);
+        return new MappedMatrix(path, channel, n, tileSize);
+    }
+
+    /**
+     * Copies a square matrix stored row-major in a raw little-endian or {@code .npy} file into a new tiled file.
+     *
+     * @param source the file holding the matrix
+     * @param path the backing file of the tiled matrix
+     * @param tileSize the number of rows and columns of a tile
+     * @return the tiled matrix
+     * @throws IOException if a file cannot be read or written
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * try (MappedMatrix A = MappedMatrix.importFile(Path.of("A.npy"), Path.of("A.tiles"), 512)) {
+     *     OutOfCoreCholesky cholesky = new OutOfCoreCholesky(A);
+     *     double[] x = cholesky.solve(b);
+     * }
+     * }
+     * </pre>
+     */
+    public static MappedMatrix importFile(Path source, Path path, int tileSize) throws IOException {
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ)) {
+            BinaryMatrixCodec.MatrixFileLayout layout = BinaryMatrixCodec.inspectSquareMatrixFile(input);
+            int n = layout.size();
+            MappedMatrix matrix = create(path, n, tileSize);
+            double[] tile = new double[tileSize * tileSize];
+            for (int I = 0; I < matrix.tiles; I++) {
+                Deadline.check();
+                int rows = matrix.tileRows(I);
+                long bandOffset = layout.dataOffset() + (long) I * tileSize * n * Double.BYTES;
+                DoubleBuffer band = input.map(FileChannel.MapMode.READ_ONLY, bandOffset, (long) rows * n * Double.BYTES)
+                        .order(layout.order())
+                        .asDoubleBuffer();
+                for (int J = 0; J < matrix.tiles; J++) {
+                    int columns = matrix.tileRows(J);
+                    if (rows < tileSize || columns < tileSize) {
+                        Arrays.fill(tile, 0.0);
+                    }
+                    for (int r = 0; r < rows; r++) {
+                        band.get(r * n + J * tileSize, tile, r * tileSize, columns);
+                    }
+                    matrix.writeTile(I, J, tile);
+                }
+            }
+            return matrix;
+        }
+    }
+
+    /**
+     * Writes the matrix row-major to a {@code .npy} file, mapping the output band by band.
+     *
+     * @param target the output file, created or truncated
+     * @param lowerOnly true to write zeros above the diagonal, e.g. for a Cholesky factor
+     * @throws IOException if the file cannot be written
+     */
+    public void exportNpy(Path target, boolean lowerOnly) throws IOException {
+        try (FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            byte[] header = BinaryMatrixCodec.npyHeader(n, n);
+            output.write(ByteBuffer.wrap(header), 0);
+            double[] tile = new double[tileSize * tileSize];
+            double[] zeros = new double[tileSize];
+            for (int I = 0; I < tiles; I++) {
+                Deadline.check();
+                int rows = tileRows(I);
+                long bandOffset = header.length + (long) I * tileSize * n * Double.BYTES;
+                MappedByteBuffer mapped = output.map(FileChannel.MapMode.READ_WRITE, bandOffset, (long) rows * n * Double.BYTES);
+                DoubleBuffer band = mapped.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                for (int J = 0; J < tiles; J++) {
+                    int columns = tileRows(J);
+                    if (lowerOnly && J > I) {
+                        for (int r = 0; r < rows; r++) {
+                            band.put(r * n + J * tileSize, zeros, 0, columns);
+                        }
+                        continue;
+                    }
+                    readTile(I, J, tile);
+                    if (lowerOnly && I == J) {
+                        for (int r = 0; r < rows; r++) {
+                            for (int c = r + 1; c < columns; c++) {
+                                tile[r * tileSize + c] = 0.0;
+                            }
+                        }
+                    }
+                    for (int r = 0; r < rows; r++) {
+                        band.put(r * n + J * tileSize, tile, r * tileSize, columns);
+                    }
+                }
+                mapped.force();
+            }
+        }
+    }
+
+    /**
+     * Copies tile (I, J) into the given buffer of {@code tileSize * tileSize} doubles.
+     */
+    public void readTile(int I, int J, double[] tile) throws IOException {
+        channel.map(FileChannel.MapMode.READ_WRITE, tileOffset(I, J), tileBytes())
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asDoubleBuffer()
+                .get(tile, 0, tileSize * tileSize);
+    }
+
+    /**
+     * Stores the given buffer of {@code tileSize * tileSize} doubles as tile (I, J).
+     */
+    public void writeTile(int I, int J, double[] tile) throws IOException {
+        channel.map(FileChannel.MapMode.READ_WRITE, tileOffset(I, J), tileBytes())
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asDoubleBuffer()
+                .put(tile, 0, tileSize * tileSize);
+    }
+
+    /**
+     * Returns the number of actual (non-padding) rows of the tiles in tile row I, which is also the number
+     * of actual columns of the tiles in tile column I.
+     */
+    public int tileRows(int I) {
+        return Math.min(tileSize, n - I * tileSize);
+    }
+
+    public int getSize() {
+        return n;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getTiles() {
+        return tiles;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Closes the backing file and deletes it.
+     */
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long tileOffset(int I, int J) {
+        return ((long) I * tiles + J) * tileBytes();
+    }
+
+    private long tileBytes() {
+        return (long) tileSize * tileSize * Double.BYTES;
+    }
+}
@@ -0,0 +1,96 @@
+package com.numetrify.service.matrix;
+
+/**
+ * Vector norm used to measure the errors and the residuals of the iterative methods.
+ *
+ * A norm is accumulated entry by entry, so it can be computed inside the pass that produces the vector: each
+ * block of rows accumulates its own partial, the partials are combined, and the result is finished once.
+ */
+public enum NormType {
+
+    /**
+     * Sum of the absolute values.
+     */
+    L1 {
+        @Override
+        public double accumulate(double partial, double value) {
+            return partial + Math.abs(value);
+        }
+
+        @Override
+        public double combine(double left, double right) {
+            return left + right;
+        }
+
+        @Override
+        public double finish(double partial) {
+            return partial;
+        }
+    },
+
+    /**
+     * Euclidean norm, the square root of the sum of the squares.
+     */
+    L2 {
+        @Override
+        public double accumulate(double partial, double value) {
+            return partial + value * value;
+        }
+
+        @Override
+        public double combine(double left, double right) {
+            return left + right;
+        }
+
+        @Override
+        public double finish(double partial) {
+            return Math.sqrt(partial);
+        }
+    },
+
+    /**
+     * Largest absolute value.
+     */
+    LINF {
+        @Override
+        public double accumulate(double partial, double value) {
+            return Math.max(partial, Math.abs(value));
+        }
+
+        @Override
+        public double combine(double left, double right) {
+            return Math.max(left, right);
+        }
+
+        @Override
+        public double finish(double partial) {
+            return partial;
+        }
+    };
+
+    /**
+     * Adds an entry to a partial norm, starting from 0.
+     */
+    public abstract double accumulate(double partial, double value);
+
+    /**
+     * Combines the partial norms of two disjoint sets of entries.
+     */
+    public abstract double combine(double left, double right);
+
+    /**
+     * Turns a partial norm over all the entries into the norm.
+     */
+    public abstract double finish(double partial);
+
+    /**
+     * Computes the norm of a vector.
+     */
+    public double of(double[] vector) {
+        double partial = 0.0;
+        for (double value : vector) {
+            partial = accumulate(partial, value);
+        }
+        return finish(partial);
+    }
+}
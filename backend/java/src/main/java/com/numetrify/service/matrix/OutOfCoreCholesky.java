@@ -0,0 +1,130 @@
+package com.numetrify.service.matrix;
+
+import com.numetrify.execution.Deadline;
+
+import java.io.IOException;
+
+/**
+ * Blocked right-looking Cholesky factorization of a {@link MappedMatrix}, performed in place tile by tile.
+ *
+ * At most four tiles are held in memory at any time, so the heap needed is {@code 4 * tileSize^2} doubles
+ * regardless of the size of the matrix. Only the lower tiles are read and written; the factor L replaces
+ * the lower triangle of A. The deadline of the solve is checked before every tile operation.
+ */
+public class OutOfCoreCholesky {
+
+    private final MappedMatrix L;
+
+    /**
+     * Factorizes the given matrix in place.
+     *
+     * @param A the symmetric positive definite matrix, overwritten with its Cholesky factor
+     * @throws IOException if a tile cannot be read or written
+     * @throws RuntimeException if the matrix is not positive definite
+     * @throws com.numetrify.execution.SolveTimeoutException if the deadline of the solve is reached
+     */
+    public OutOfCoreCholesky(MappedMatrix A) throws IOException {
+        this.L = A;
+        int t = A.getTileSize();
+        int tiles = A.getTiles();
+        double[] diagonal = new double[t * t];
+        double[] left = new double[t * t];
+        double[] right = new double[t * t];
+        double[] target = new double[t * t];
+
+        for (int K = 0; K < tiles; K++) {
+            Deadline.check();
+            int m = A.tileRows(K);
+            A.readTile(K, K, diagonal);
+            TileKernels.cholesky(diagonal, t, m);
+            A.writeTile(K, K, diagonal);
+
+            for (int I = K + 1; I < tiles; I++) {
+                Deadline.check();
+                A.readTile(I, K, left);
+                TileKernels.solveLowerTransposeRight(diagonal, left, t, A.tileRows(I), m);
+                A.writeTile(I, K, left);
+            }
+
+            for (int J = K + 1; J < tiles; J++) {
+                A.readTile(J, K, right);
+                for (int I = J; I < tiles; I++) {
+                    Deadline.check();
+                    A.readTile(I, K, left);
+                    A.readTile(I, J, target);
+                    TileKernels.subtractProductTransposed(target, left, right, t, A.tileRows(I), A.tileRows(J), m);
+                    A.writeTile(I, J, target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves Ax = b using the factor, with a forward substitution on L and a backward substitution on L^T.
+     *
+     * @param b the right-hand side vector
+     * @return the solution vector x
+     * @throws IOException if a tile cannot be read
+     */
+    public double[] solve(double[] b) throws IOException {
+        int n = L.getSize();
+        if (b.length != n) {
+            throw new IllegalArgumentException("Vector b length must be equal to the number of rows in matrix A");
+        }
+        int t = L.getTileSize();
+        int tiles = L.getTiles();
+        double[] tile = new double[t * t];
+        double[] x = b.clone();
+
+        // Solve L*y = b
+        for (int I = 0; I < tiles; I++) {
+            Deadline.check();
+            int rows = L.tileRows(I);
+            int offset = I * t;
+            for (int J = 0; J < I; J++) {
+                L.readTile(I, J, tile);
+                for (int r = 0; r < rows; r++) {
+                    double sum = 0.0;
+                    for (int c = 0; c < t; c++) {
+                        sum += tile[r * t + c] * x[J * t + c];
+                    }
+                    x[offset + r] -= sum;
+                }
+            }
+            L.readTile(I, I, tile);
+            for (int r = 0; r < rows; r++) {
+                double sum = x[offset + r];
+                for (int c = 0; c < r; c++) {
+                    sum -= tile[r * t + c] * x[offset + c];
+                }
+                x[offset + r] = sum / tile[r * t + r];
+            }
+        }
+
+        // Solve L^T*x = y
+        for (int I = tiles - 1; I >= 0; I--) {
+            Deadline.check();
+            int rows = L.tileRows(I);
+            int offset = I * t;
+            for (int J = I + 1; J < tiles; J++) {
+                L.readTile(J, I, tile);
+                int columns = L.tileRows(J);
+                for (int c = 0; c < columns; c++) {
+                    double value = x[J * t + c];
+                    for (int r = 0; r < rows; r++) {
+                        x[offset + r] -= tile[c * t + r] * value;
+                    }
+                }
+            }
+            L.readTile(I, I, tile);
+            for (int r = rows - 1; r >= 0; r--) {
+                double sum = x[offset + r];
+                for (int c = r + 1; c < rows; c++) {
+                    sum -= tile[c * t + r] * x[offset + c];
+                }
+                x[offset + r] = sum / tile[r * t + r];
+            }
+        }
+        return x;
+    }
+}
@@ -0,0 +1,164 @@
+package com.numetrify.service.matrix;
+
+import com.numetrify.execution.Deadline;
+
+import java.io.IOException;
+
+/**
+ * Blocked right-looking LU factorization without pivoting of a {@link MappedMatrix}, performed in place tile
+ * by tile, like Doolittle's method: L has a unit diagonal and both factors share the storage of A (the strict
+ * lower triangle holds L, the upper triangle holds U).
+ *
+ * Without pivoting the factorization is only stable when the entries of the factors stay small, e.g. for
+ * diagonally dominant matrices: its backward error grows with {@code max|L| max|U| / max|A|}. The factorization
+ * fails when this growth exceeds {@link #MAX_GROWTH}, as it does on a zero pivot.
+ *
+ * At most four tiles are held in memory at any time, so the heap needed is {@code 4 * tileSize^2} doubles
+ * regardless of the size of the matrix. The deadline of the solve is checked before every tile operation.
+ */
+public class OutOfCoreLU {
+
+    /**
+     * Largest growth of the factors accepted, beyond which about half the digits of a double may be lost.
+     */
+    public static final double MAX_GROWTH = 1e8;
+
+    private final MappedMatrix LU;
+
+    /**
+     * Factorizes the given matrix in place.
+     *
+     * @param A the matrix, overwritten with its L and U factors
+     * @throws IOException if a tile cannot be read or written
+     * @throws ArithmeticException if a zero pivot is found or the factors grow beyond {@link #MAX_GROWTH}
+     * @throws com.numetrify.execution.SolveTimeoutException if the deadline of the solve is reached
+     */
+    public OutOfCoreLU(MappedMatrix A) throws IOException {
+        this.LU = A;
+        int t = A.getTileSize();
+        int tiles = A.getTiles();
+        double[] diagonal = new double[t * t];
+        double[] left = new double[t * t];
+        double[] right = new double[t * t];
+        double[] target = new double[t * t];
+
+        double maxA = 0;
+        for (int I = 0; I < tiles; I++) {
+            Deadline.check();
+            for (int J = 0; J < tiles; J++) {
+                A.readTile(I, J, target);
+                maxA = Math.max(maxA, TileKernels.maxAbs(target, t, A.tileRows(I), A.tileRows(J)));
+            }
+        }
+        double maxL = 1;
+        double maxU = 0;
+
+        for (int K = 0; K < tiles; K++) {
+            Deadline.check();
+            int m = A.tileRows(K);
+            A.readTile(K, K, diagonal);
+            TileKernels.lu(diagonal, t, m);
+            A.writeTile(K, K, diagonal);
+            maxL = Math.max(maxL, TileKernels.maxAbsStrictLower(diagonal, t, m));
+            maxU = Math.max(maxU, TileKernels.maxAbsUpper(diagonal, t, m));
+
+            for (int J = K + 1; J < tiles; J++) {
+                Deadline.check();
+                A.readTile(K, J, right);
+                TileKernels.solveUnitLowerLeft(diagonal, right, t, m, A.tileRows(J));
+                A.writeTile(K, J, right);
+                maxU = Math.max(maxU, TileKernels.maxAbs(right, t, m, A.tileRows(J)));
+            }
+            for (int I = K + 1; I < tiles; I++) {
+                Deadline.check();
+                A.readTile(I, K, left);
+                TileKernels.solveUpperRight(diagonal, left, t, A.tileRows(I), m);
+                A.writeTile(I, K, left);
+                maxL = Math.max(maxL, TileKernels.maxAbs(left, t, A.tileRows(I), m));
+            }
+            // Checked once the panels are factorized, before the update spends O(n^3) on unstable factors
+            double growth = maxL * maxU / maxA;
+            if (!(growth <= MAX_GROWTH)) {
+                throw new ArithmeticException("Error: the factors grew " + growth + " times larger than A without pivoting, the factorization is unstable.");
+            }
+
+            for (int I = K + 1; I < tiles; I++) {
+                A.readTile(I, K, left);
+                for (int J = K + 1; J < tiles; J++) {
+                    Deadline.check();
+                    A.readTile(K, J, right);
+                    A.readTile(I, J, target);
+                    TileKernels.subtractProduct(target, left, right, t, A.tileRows(I), A.tileRows(J), m);
+                    A.writeTile(I, J, target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves Ax = b using the factors, with a forward substitution on L and a backward substitution on U.
+     *
+     * @param b the right-hand side vector
+     * @return the solution vector x
+     * @throws IOException if a tile cannot be read
+     */
+    public double[] solve(double[] b) throws IOException {
+        int n = LU.getSize();
+        if (b.length != n) {
+            throw new IllegalArgumentException("Vector b length must be equal to the number of rows in matrix A");
+        }
+        int t = LU.getTileSize();
+        int tiles = LU.getTiles();
+        double[] tile = new double[t * t];
+        double[] x = b.clone();
+
+        // Solve L*z = b
+        for (int I = 0; I < tiles; I++) {
+            Deadline.check();
+            int rows = LU.tileRows(I);
+            int offset = I * t;
+            for (int J = 0; J < I; J++) {
+                LU.readTile(I, J, tile);
+                subtractTileProduct(tile, x, t, rows, LU.tileRows(J), offset, J * t);
+            }
+            LU.readTile(I, I, tile);
+            for (int r = 0; r < rows; r++) {
+                double sum = x[offset + r];
+                for (int c = 0; c < r; c++) {
+                    sum -= tile[r * t + c] * x[offset + c];
+                }
+                x[offset + r] = sum;
+            }
+        }
+
+        // Solve U*x = z
+        for (int I = tiles - 1; I >= 0; I--) {
+            Deadline.check();
+            int rows = LU.tileRows(I);
+            int offset = I * t;
+            for (int J = I + 1; J < tiles; J++) {
+                LU.readTile(I, J, tile);
+                subtractTileProduct(tile, x, t, rows, LU.tileRows(J), offset, J * t);
+            }
+            LU.readTile(I, I, tile);
+            for (int r = rows - 1; r >= 0; r--) {
+                double sum = x[offset + r];
+                for (int c = r + 1; c < rows; c++) {
+                    sum -= tile[r * t + c] * x[offset + c];
+                }
+                x[offset + r] = sum / tile[r * t + r];
+            }
+        }
+        return x;
+    }
+
+    private static void subtractTileProduct(double[] tile, double[] x, int t, int rows, int columns, int rowOffset, int columnOffset) {
+        for (int r = 0; r < rows; r++) {
+            double sum = 0.0;
+            for (int c = 0; c < columns; c++) {
+                sum += tile[r * t + c] * x[columnOffset + c];
+            }
+            x[rowOffset + r] -= sum;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.numetrify.service.matrix;
+
+import com.numetrify.execution.ComputePool;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Row-partitioned parallel kernels of the iterative methods.
+ *
+ * The rows of a kernel are split recursively across a {@link ForkJoinPool} until a block holds about
+ * {@value #GRAIN} multiply-adds, and the per-block results are combined on the way back. Kernels too small to
+ * amortize the fork/join overhead run on the calling thread, so the same code serves a 3 x 3 system and a
+ * million unknowns. The iterates are double-buffered: a Jacobi sweep reads x and writes a separate array, so
+ * the rows are independent and the result does not depend on the number of threads. The norms judging a step
+ * (update, iterate, residual) are accumulated per block in the same pass, not in extra passes over the vectors.
+ * Within a block, the dense row dot products run on the {@link DenseKernels} selected at startup.
+ *
+ * The overloads without a pool fork on the {@link ComputePool} running the solve, whose threads are the ones
+ * admission control accounts for, and run on the calling thread outside of it; a null pool runs on the calling
+ * thread too.
+ */
+public final class ParallelKernels {
+
+    /**
+     * Multiply-adds per block below which the rows are not split further.
+     */
+    static final int GRAIN = 1 << 14;
+
+    private ParallelKernels() {
+    }
+
+    /**
+     * Computes one step of a stationary iteration, next = T x + c.
+     *
+     * @param pool the pool running the row blocks, or null to run them on the calling thread
+     * @param T the dense iteration matrix
+     * @param c the constant vector
+     * @param x the current iterate, only read
+     * @param next the next iterate, overwritten
+     */
+    public static void affineMap(ForkJoinPool pool, double[][] T, double[] c, double[] x, double[] next) {
+        int n = T.length;
+        DenseKernels kernels = DenseKernels.selected();
+        forEachRowBlock(pool, n, n, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double[] row = T[i];
+                next[i] = c[i] + kernels.dot(row, 0, x, 0, row.length);
+            }
+            return 0.0;
+        }, Math::max);
+    }
+
+    /**
+     * Same as {@link #affineMap(ForkJoinPool, double[][], double[], double[], double[])} on the pool of the
+     * current solve.
+     */
+    public static void affineMap(double[][] T, double[] c, double[] x, double[] next) {
+        affineMap(ComputePool.current(), T, c, x, next);
+    }
+
+    /**
+     * Computes one step of a stationary iteration, next = T x + c, together with the norms that judge it, in
+     * the same pass over the rows: the norm of the update next - x, the norm of next and, if A is given, the
+     * norm of the residual b - A x of the current iterate, each row of A being read along with the row of T.
+     *
+     * @param pool the pool running the row blocks, or null to run them on the calling thread
+     * @param T the dense iteration matrix
+     * @param c the constant vector
+     * @param x the current iterate, only read
+     * @param next the next iterate, overwritten
+     * @param norm the norm of the update, the iterate and the residual
+     * @param A the coefficient matrix, or null to skip the residual
+     * @param b the right-hand side vector, or null to skip the residual
+     * @return the norms of the step, the residual being NaN if skipped
+     */
+    public static StepNorms affineStep(ForkJoinPool pool, double[][] T, double[] c, double[] x, double[] next, NormType norm, double[][] A, double[] b) {
+        int n = T.length;
+        boolean residual = A != null && b != null;
+        DenseKernels kernels = DenseKernels.selected();
+        double[] partials = reduceRowBlocks(pool, n, residual ? 2L * n : n, (from, to) -> {
+            double update = 0.0;
+            double iterate = 0.0;
+            double residualPartial = 0.0;
+            for (int i = from; i < to; i++) {
+                double[] row = T[i];
+                double sum = c[i] + kernels.dot(row, 0, x, 0, row.length);
+                if (residual) {
+                    double[] coefficients = A[i];
+                    residualPartial = norm.accumulate(residualPartial, b[i] - kernels.dot(coefficients, 0, x, 0, coefficients.length));
+                }
+                next[i] = sum;
+                update = norm.accumulate(update, sum - x[i]);
+                iterate = norm.accumulate(iterate, sum);
+            }
+            return new double[]{update, iterate, residualPartial};
+        }, norm::combine);
+        return new StepNorms(norm.finish(partials[0]), norm.finish(partials[1]), residual ? norm.finish(partials[2]) : Double.NaN);
+    }
+
+    /**
+     * Same as {@link #affineStep(ForkJoinPool, double[][], double[], double[], double[], NormType, double[][], double[])}
+     * on the pool of the current solve.
+     */
+    public static StepNorms affineStep(double[][] T, double[] c, double[] x, double[] next, NormType norm, double[][] A, double[] b) {
+        return affineStep(ComputePool.current(), T, c, x, next, norm, A, b);
+    }
+
+    /**
+     * Computes the norm of the residual b - A x.
+     *
+     * @param pool the pool running the row blocks, or null to run them on the calling thread
+     * @param A the coefficient matrix
+     * @param b the right-hand side vector
+     * @param x the iterate
+     * @param norm the norm of the residual
+     * @return the norm of b - A x
+     */
+    public static double residual(ForkJoinPool pool, double[][] A, double[] b, double[] x, NormType norm) {
+        int n = A.length;
+        DenseKernels kernels = DenseKernels.selected();
+        return norm.finish(forEachRowBlock(pool, n, n, (from, to) -> {
+            double partial = 0.0;
+            for (int i = from; i < to; i++) {
+                double[] row = A[i];
+                partial = norm.accumulate(partial, b[i] - kernels.dot(row, 0, x, 0, row.length));
+            }
+            return partial;
+        }, norm::combine));
+    }
+
+    /**
+     * Same as {@link #residual(ForkJoinPool, double[][], double[], double[], NormType)} on the pool of the
+     * current solve.
+     */
+    public static double residual(double[][] A, double[] b, double[] x, NormType norm) {
+        return residual(ComputePool.current(), A, b, x, norm);
+    }
+
+    /**
+     * Runs a kernel over the rows [0, n), split into blocks across the pool, and combines the block results.
+     *
+     * @param pool the pool running the row blocks, or null to run them on the calling thread
+     * @param n the number of rows
+     * @param workPerRow the multiply-adds per row, used to size the blocks
+     * @param kernel the kernel over a block of rows
+     * @param combiner the associative combination of two block results
+     * @return the combined result of the blocks
+     */
+    static double forEachRowBlock(ForkJoinPool pool, int n, long workPerRow, RowKernel kernel, DoubleBinaryOperator combiner) {
+        return reduceRowBlocks(pool, n, workPerRow, (from, to) -> new double[]{kernel.apply(from, to)}, combiner)[0];
+    }
+
+    /**
+     * Runs a kernel over the rows [0, n), split into blocks across the pool, and combines the block results
+     * component by component.
+     *
+     * @param pool the pool running the row blocks, or null to run them on the calling thread
+     * @param n the number of rows
+     * @param workPerRow the multiply-adds per row, used to size the blocks
+     * @param kernel the kernel over a block of rows
+     * @param combiner the associative combination of two components
+     * @return the combined result of the blocks
+     */
+    static double[] reduceRowBlocks(ForkJoinPool pool, int n, long workPerRow, RowReduction kernel, DoubleBinaryOperator combiner) {
+        int grain = (int) Math.max(1, Math.min(n, GRAIN / Math.max(1, workPerRow)));
+        if (pool == null || n <= grain || pool.getParallelism() <= 1) {
+            return kernel.apply(0, n);
+        }
+        return pool.invoke(new RowBlock(kernel, combiner, 0, n, grain));
+    }
+
+    /**
+     * Norms of one step of a stationary iteration.
+     *
+     * @param update the norm of the update next - x
+     * @param iterate the norm of the next iterate
+     * @param residual the norm of the residual b - A x of the current iterate, NaN if not computed
+     */
+    public record StepNorms(double update, double iterate, double residual) {
+    }
+
+    /**
+     * Kernel over the block of rows [from, to), returning a partial result (e.g. a norm of the update).
+     */
+    @FunctionalInterface
+    interface RowKernel {
+        double apply(int from, int to);
+    }
+
+    /**
+     * Kernel over the block of rows [from, to), returning several partial results at once.
+     */
+    @FunctionalInterface
+    interface RowReduction {
+        double[] apply(int from, int to);
+    }
+
+    private static final class RowBlock extends RecursiveTask<double[]> {
+
+        private final RowReduction kernel;
+        private final DoubleBinaryOperator combiner;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        RowBlock(RowReduction kernel, DoubleBinaryOperator combiner, int from, int to, int grain) {
+            this.kernel = kernel;
+            this.combiner = combiner;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= grain) {
+                return kernel.apply(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            RowBlock right = new RowBlock(kernel, combiner, middle, to, grain);
+            right.fork();
+            double[] left = new RowBlock(kernel, combiner, from, middle, grain).compute();
+            double[] rightResult = right.join();
+            for (int k = 0; k < left.length; k++) {
+                left[k] = combiner.applyAsDouble(left[k], rightResult[k]);
+            }
+            return left;
+        }
+    }
+}
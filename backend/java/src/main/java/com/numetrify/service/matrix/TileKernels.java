@@ -0,0 +1,149 @@
+package com.numetrify.service.matrix;
+
+/**
+ * Dense kernels on square tiles stored row-major in {@code double[t * t]} buffers, used by the out-of-core
+ * factorizations. Each kernel only touches the actual (non-padding) rows and columns it is given, and runs its
+ * inner loops on the {@link DenseKernels} selected at startup.
+ */
+final class TileKernels {
+
+    private TileKernels() {
+    }
+
+    /**
+     * In-place Cholesky factorization of the leading m x m block: the lower triangle is replaced by L.
+     */
+    static void cholesky(double[] a, int t, int m) {
+        DenseKernels kernels = DenseKernels.selected();
+        for (int j = 0; j < m; j++) {
+            double sum = a[j * t + j] - kernels.dot(a, j * t, a, j * t, j);
+            if (sum <= 0) {
+                throw new RuntimeException("Matrix is not positive definite");
+            }
+            double diagonal = Math.sqrt(sum);
+            a[j * t + j] = diagonal;
+            for (int i = j + 1; i < m; i++) {
+                a[i * t + j] = (a[i * t + j] - kernels.dot(a, i * t, a, j * t, j)) / diagonal;
+            }
+        }
+    }
+
+    /**
+     * In-place LU factorization without pivoting of the leading m x m block: the strict lower triangle is
+     * replaced by the unit lower factor L and the upper triangle by U.
+     */
+    static void lu(double[] a, int t, int m) {
+        DenseKernels kernels = DenseKernels.selected();
+        for (int k = 0; k < m; k++) {
+            double pivot = a[k * t + k];
+            if (pivot == 0) {
+                throw new ArithmeticException("Error: Division by zero.");
+            }
+            for (int i = k + 1; i < m; i++) {
+                double factor = a[i * t + k] / pivot;
+                a[i * t + k] = factor;
+                kernels.axpy(-factor, a, k * t + k + 1, a, i * t + k + 1, m - k - 1);
+            }
+        }
+    }
+
+    /**
+     * Solves X L^T = B in place of B (rows x m), L being the lower triangle of l.
+     */
+    static void solveLowerTransposeRight(double[] l, double[] b, int t, int rows, int m) {
+        DenseKernels kernels = DenseKernels.selected();
+        for (int r = 0; r < rows; r++) {
+            for (int j = 0; j < m; j++) {
+                b[r * t + j] = (b[r * t + j] - kernels.dot(b, r * t, l, j * t, j)) / l[j * t + j];
+            }
+        }
+    }
+
+    /**
+     * Solves L X = B in place of B (m x columns), L being the unit lower triangle of l.
+     */
+    static void solveUnitLowerLeft(double[] l, double[] b, int t, int m, int columns) {
+        DenseKernels kernels = DenseKernels.selected();
+        for (int i = 0; i < m; i++) {
+            for (int k = 0; k < i; k++) {
+                double factor = l[i * t + k];
+                if (factor != 0) {
+                    kernels.axpy(-factor, b, k * t, b, i * t, columns);
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves X U = B in place of B (rows x m), U being the upper triangle of u. Each solved entry is subtracted
+     * from the rest of its row along a row of U, which keeps the accesses to u contiguous.
+     */
+    static void solveUpperRight(double[] u, double[] b, int t, int rows, int m) {
+        DenseKernels kernels = DenseKernels.selected();
+        for (int r = 0; r < rows; r++) {
+            for (int j = 0; j < m; j++) {
+                double value = b[r * t + j] / u[j * t + j];
+                b[r * t + j] = value;
+                kernels.axpy(-value, u, j * t + j + 1, b, r * t + j + 1, m - j - 1);
+            }
+        }
+    }
+
+    /**
+     * Returns the largest absolute value of the leading rows x columns block.
+     */
+    static double maxAbs(double[] a, int t, int rows, int columns) {
+        double max = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                max = Math.max(max, Math.abs(a[i * t + j]));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the largest absolute value of the strict lower triangle of the leading m x m block.
+     */
+    static double maxAbsStrictLower(double[] a, int t, int m) {
+        double max = 0;
+        for (int i = 1; i < m; i++) {
+            for (int j = 0; j < i; j++) {
+                max = Math.max(max, Math.abs(a[i * t + j]));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the largest absolute value of the upper triangle, diagonal included, of the leading m x m block.
+     */
+    static double maxAbsUpper(double[] a, int t, int m) {
+        double max = 0;
+        for (int i = 0; i < m; i++) {
+            for (int j = i; j < m; j++) {
+                max = Math.max(max, Math.abs(a[i * t + j]));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * C -= A B^T, with C rows x columns, A rows x inner and B columns x inner.
+     */
+    static void subtractProductTransposed(double[] c, double[] a, double[] b, int t, int rows, int columns, int inner) {
+        DenseKernels kernels = DenseKernels.selected();
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                c[i * t + j] -= kernels.dot(a, i * t, b, j * t, inner);
+            }
+        }
+    }
+
+    /**
+     * C -= A B, with C rows x columns, A rows x inner and B inner x columns.
+     */
+    static void subtractProduct(double[] c, double[] a, double[] b, int t, int rows, int columns, int inner) {
+        DenseKernels.selected().subtractProduct(c, t, a, t, b, t, rows, columns, inner);
+    }
+}
@@ -0,0 +1,119 @@
+package com.numetrify.service.matrix;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link DenseKernels} on the Java Vector API, with the preferred species of the host: 4 doubles with AVX2,
+ * 8 with AVX-512. Only loaded by {@link DenseKernels#selected()} through reflection, so that the rest of the
+ * package does not depend on the incubator module.
+ *
+ * The dot product keeps two accumulators to hide the latency of the fused multiply-adds, and the GEMM update
+ * is a register-blocked micro-kernel: a block of 4 rows of C times one vector of columns stays in registers for
+ * the whole inner dimension, each vector of B being loaded once for the 4 rows.
+ */
+final class VectorApiKernels extends DenseKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final int ROWS = 4;
+
+    VectorApiKernels() {
+    }
+
+    @Override
+    public String name() {
+        return "Vector API, " + SPECIES.length() + " doubles (" + SPECIES.vectorBitSize() + " bits)";
+    }
+
+    @Override
+    public int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        int step = SPECIES.length();
+        DoubleVector first = DoubleVector.zero(SPECIES);
+        DoubleVector second = DoubleVector.zero(SPECIES);
+        int k = 0;
+        for (int bound = length - 2 * step; k <= bound; k += 2 * step) {
+            first = DoubleVector.fromArray(SPECIES, a, aOffset + k).fma(DoubleVector.fromArray(SPECIES, b, bOffset + k), first);
+            second = DoubleVector.fromArray(SPECIES, a, aOffset + k + step).fma(DoubleVector.fromArray(SPECIES, b, bOffset + k + step), second);
+        }
+        for (int bound = SPECIES.loopBound(length); k < bound; k += step) {
+            first = DoubleVector.fromArray(SPECIES, a, aOffset + k).fma(DoubleVector.fromArray(SPECIES, b, bOffset + k), first);
+        }
+        double sum = first.add(second).reduceLanes(VectorOperators.ADD);
+        for (; k < length; k++) {
+            sum += a[aOffset + k] * b[bOffset + k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        DoubleVector factor = DoubleVector.broadcast(SPECIES, alpha);
+        int k = 0;
+        for (int bound = SPECIES.loopBound(length); k < bound; k += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, x, xOffset + k).fma(factor, DoubleVector.fromArray(SPECIES, y, yOffset + k))
+                    .intoArray(y, yOffset + k);
+        }
+        for (; k < length; k++) {
+            y[yOffset + k] += alpha * x[xOffset + k];
+        }
+    }
+
+    @Override
+    public void subtractProduct(double[] c, int ldc, double[] a, int lda, double[] b, int ldb, int rows, int columns, int inner) {
+        int step = SPECIES.length();
+        int vectorColumns = SPECIES.loopBound(columns);
+        int i = 0;
+        for (; i + ROWS <= rows; i += ROWS) {
+            int c0 = i * ldc;
+            int c1 = c0 + ldc;
+            int c2 = c1 + ldc;
+            int c3 = c2 + ldc;
+            int a0 = i * lda;
+            int a1 = a0 + lda;
+            int a2 = a1 + lda;
+            int a3 = a2 + lda;
+            for (int j = 0; j < vectorColumns; j += step) {
+                DoubleVector r0 = DoubleVector.fromArray(SPECIES, c, c0 + j);
+                DoubleVector r1 = DoubleVector.fromArray(SPECIES, c, c1 + j);
+                DoubleVector r2 = DoubleVector.fromArray(SPECIES, c, c2 + j);
+                DoubleVector r3 = DoubleVector.fromArray(SPECIES, c, c3 + j);
+                for (int k = 0; k < inner; k++) {
+                    DoubleVector row = DoubleVector.fromArray(SPECIES, b, k * ldb + j);
+                    r0 = row.fma(DoubleVector.broadcast(SPECIES, -a[a0 + k]), r0);
+                    r1 = row.fma(DoubleVector.broadcast(SPECIES, -a[a1 + k]), r1);
+                    r2 = row.fma(DoubleVector.broadcast(SPECIES, -a[a2 + k]), r2);
+                    r3 = row.fma(DoubleVector.broadcast(SPECIES, -a[a3 + k]), r3);
+                }
+                r0.intoArray(c, c0 + j);
+                r1.intoArray(c, c1 + j);
+                r2.intoArray(c, c2 + j);
+                r3.intoArray(c, c3 + j);
+            }
+            if (vectorColumns < columns) {
+                for (int r = i; r < i + ROWS; r++) {
+                    for (int k = 0; k < inner; k++) {
+                        double factor = a[r * lda + k];
+                        for (int j = vectorColumns; j < columns; j++) {
+                            c[r * ldc + j] -= factor * b[k * ldb + j];
+                        }
+                    }
+                }
+            }
+        }
+        for (; i < rows; i++) {
+            for (int k = 0; k < inner; k++) {
+                double factor = a[i * lda + k];
+                if (factor != 0) {
+                    axpy(-factor, b, k * ldb, c, i * ldc, columns);
+                }
+            }
+        }
+    }
+}
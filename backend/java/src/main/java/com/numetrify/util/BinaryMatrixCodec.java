@@ -0,0 +1,382 @@
+package com.numetrify.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Binary encoding of matrices and vectors for the linear-system endpoints.
+ *
+ * A linear system Ax = b is sent as the augmented matrix [A | b], i.e. n rows of n + 1 doubles, either as
+ * raw little-endian IEEE 754 doubles in row-major order or as a NumPy {@code .npy} file of shape (n, n + 1)
+ * and dtype {@code <f8} or {@code >f8}. Rows are read through NIO {@link ByteBuffer} views straight into
+ * the {@code double[][]} and {@code double[]} used by the solvers.
+ *
+ * Results are written either as raw little-endian doubles or as a NumPy {@code .npz} archive holding one
+ * {@code .npy} entry per array, which {@code numpy.load} opens directly.
+ */
+public final class BinaryMatrixCodec {
+
+    public static final String NPY_MEDIA_TYPE = "application/x-npy";
+
+    public static final String NPZ_MEDIA_TYPE = "application/x-npz";
+
+    private static final byte[] NPY_MAGIC = {(byte) 0x93, 'N', 'U', 'M', 'P', 'Y'};
+
+    /**
+     * Largest .npy header accepted; numpy pads its headers to 64 bytes, a few hundred for the longest shapes.
+     */
+    private static final int MAX_NPY_HEADER = 64 * 1024;
+
+    private static final Pattern DESCR = Pattern.compile("'descr'\\s*:\\s*'([^']*)'");
+
+    private static final Pattern FORTRAN_ORDER = Pattern.compile("'fortran_order'\\s*:\\s*(True|False)");
+
+    private static final Pattern SHAPE = Pattern.compile("'shape'\\s*:\\s*\\(([^)]*)\\)");
+
+    private BinaryMatrixCodec() {
+    }
+
+    /**
+     * Reads an augmented matrix [A | b] from a raw little-endian or {@code .npy} body.
+     *
+     * The number of equations, given or read from the {@code .npy} header, is checked against the length of the
+     * body when it is known and against {@code maxSize} before anything is allocated, and the rows are allocated
+     * as they arrive, so that a short body claiming a large system is rejected without allocating it.
+     *
+     * @param in the request body
+     * @param contentLength the length of the body in bytes, or -1 if unknown
+     * @param size the number of equations, or null to infer it from the body
+     * @param maxSize the largest number of equations accepted
+     * @return the decoded linear system
+     * @throws IOException if the body cannot be read
+     * @throws IllegalArgumentException if the body is malformed, its size is inconsistent or larger than maxSize
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * LinearSystem system = BinaryMatrixCodec.readLinearSystem(request.getInputStream(), request.getContentLengthLong(), null, 4096);
+     * double[][] A = system.matrix();
+     * double[] b = system.vector();
+     * }
+     * </pre>
+     */
+    public static LinearSystem readLinearSystem(InputStream in, long contentLength, Integer size, int maxSize) throws IOException {
+        ReadableByteChannel channel = Channels.newChannel(in);
+        ByteBuffer prefix = ByteBuffer.allocate(NPY_MAGIC.length);
+        int prefixLength = readFully(channel, prefix);
+        prefix.flip();
+
+        ByteOrder order = ByteOrder.LITTLE_ENDIAN;
+        long dataOffset = 0;
+        int n;
+        if (prefixLength == NPY_MAGIC.length && Arrays.equals(prefix.array(), NPY_MAGIC)) {
+            NpyHeader header = readNpyHeader(channel, contentLength);
+            if (header.fortranOrder) {
+                throw new IllegalArgumentException("Error: .npy arrays in Fortran order are not supported.");
+            }
+            if (header.shape.length != 2 || header.shape[1] != header.shape[0] + 1) {
+                throw new IllegalArgumentException("Error: the .npy array must have shape (n, n + 1) holding [A | b].");
+            }
+            order = header.order;
+            dataOffset = header.dataOffset;
+            n = header.shape[0];
+            prefix = ByteBuffer.allocate(0);
+        } else {
+            n = size != null ? size : inferSize(contentLength);
+        }
+        if (size != null && size != n) {
+            throw new IllegalArgumentException("Vector size does not match the given matrix size.");
+        }
+        if (n <= 0 || n > maxSize) {
+            throw new IllegalArgumentException("Error: the system must have between 1 and " + maxSize + " equations, got " + n + ".");
+        }
+        if (contentLength >= 0 && contentLength != dataOffset + (long) n * (n + 1) * Double.BYTES) {
+            throw new IllegalArgumentException("Error: the body must contain n * (n + 1) doubles holding [A | b], "
+                    + "n = " + n + " does not match its length of " + contentLength + " bytes.");
+        }
+
+        double[][] A = new double[n][];
+        double[] b = new double[n];
+        ByteBuffer row = ByteBuffer.allocate((n + 1) * Double.BYTES).order(order);
+        for (int i = 0; i < n; i++) {
+            row.clear();
+            if (prefix.hasRemaining()) {
+                row.put(prefix);
+            }
+            readFully(channel, row);
+            if (row.hasRemaining()) {
+                throw new EOFException("Unexpected end of matrix data at row " + i + ".");
+            }
+            row.flip();
+            DoubleBuffer values = row.asDoubleBuffer();
+            A[i] = new double[n];
+            values.get(A[i]);
+            b[i] = values.get();
+        }
+        return new LinearSystem(A, b);
+    }
+
+    /**
+     * Writes the given arrays back to back as raw little-endian doubles, matrices in row-major order.
+     *
+     * @param out the destination stream
+     * @param arrays the vectors ({@code double[]}) and matrices ({@code double[][]}) to write, nulls are skipped
+     * @throws IOException if writing fails
+     */
+    public static void writeRaw(OutputStream out, Object... arrays) throws IOException {
+        for (Object array : arrays) {
+            if (array != null) {
+                writeValues(out, array);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Describes the layout of {@link #writeRaw(OutputStream, Object...)} as {@code name[shape]} entries.
+     *
+     * @param names the names of the arrays
+     * @param arrays the arrays, nulls are skipped
+     * @return the layout description, e.g. {@code solution[3];L[3,3];U[3,3]}
+     */
+    public static String describeLayout(String[] names, Object... arrays) {
+        StringBuilder layout = new StringBuilder();
+        for (int k = 0; k < arrays.length; k++) {
+            if (arrays[k] == null) {
+                continue;
+            }
+            int[] shape = shapeOf(arrays[k]);
+            if (layout.length() > 0) {
+                layout.append(';');
+            }
+            layout.append(names[k]).append('[').append(shape[0]);
+            if (shape.length == 2) {
+                layout.append(',').append(shape[1]);
+            }
+            layout.append(']');
+        }
+        return layout.toString();
+    }
+
+    /**
+     * Writes the given arrays as a NumPy {@code .npz} archive with one {@code <name>.npy} entry per array.
+     *
+     * @param out the destination stream
+     * @param names the names of the arrays
+     * @param arrays the vectors ({@code double[]}) and matrices ({@code double[][]}) to write, nulls are skipped
+     * @throws IOException if writing fails
+     */
+    public static void writeNpz(OutputStream out, String[] names, Object... arrays) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.setLevel(Deflater.BEST_SPEED);
+        for (int k = 0; k < arrays.length; k++) {
+            if (arrays[k] == null) {
+                continue;
+            }
+            zip.putNextEntry(new ZipEntry(names[k] + ".npy"));
+            writeNpy(zip, arrays[k]);
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * Writes a vector or a matrix as a NumPy {@code .npy} array of little-endian doubles.
+     *
+     * @param out the destination stream
+     * @param array the vector ({@code double[]}) or matrix ({@code double[][]}) to write
+     * @throws IOException if writing fails
+     */
+    public static void writeNpy(OutputStream out, Object array) throws IOException {
+        out.write(npyHeader(shapeOf(array)));
+        writeValues(out, array);
+    }
+
+    /**
+     * Builds the header of a NumPy {@code .npy} file holding C-ordered little-endian doubles.
+     *
+     * @param shape the dimensions of the array
+     * @return the header bytes; the data starts right after them
+     */
+    public static byte[] npyHeader(int... shape) {
+        String shapeText = shape.length == 1 ? "(" + shape[0] + ",)" : "(" + shape[0] + ", " + shape[1] + ")";
+        StringBuilder header = new StringBuilder("{'descr': '<f8', 'fortran_order': False, 'shape': " + shapeText + ", }");
+        // Magic (6) + version (2) + header length (2) + header, padded with spaces to a multiple of 64 and ended by '\n'
+        int unpadded = NPY_MAGIC.length + 4 + header.length() + 1;
+        header.append(" ".repeat((64 - unpadded % 64) % 64)).append('\n');
+
+        ByteBuffer bytes = ByteBuffer.allocate(NPY_MAGIC.length + 4 + header.length()).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.put(NPY_MAGIC).put((byte) 1).put((byte) 0).putShort((short) header.length());
+        bytes.put(header.toString().getBytes(StandardCharsets.US_ASCII));
+        return bytes.array();
+    }
+
+    /**
+     * Describes a file holding a square matrix, either as raw little-endian doubles or as a {@code .npy} array.
+     *
+     * @param channel the channel of the file, positioned at its start
+     * @return the byte order, the size and the offset of the first element
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file does not hold a square matrix of doubles
+     */
+    public static MatrixFileLayout inspectSquareMatrixFile(FileChannel channel) throws IOException {
+        ByteBuffer prefix = ByteBuffer.allocate(NPY_MAGIC.length);
+        int prefixLength = readFully(channel, prefix);
+        if (prefixLength == NPY_MAGIC.length && Arrays.equals(prefix.array(), NPY_MAGIC)) {
+            NpyHeader header = readNpyHeader(channel, channel.size());
+            if (header.fortranOrder) {
+                throw new IllegalArgumentException("Error: .npy arrays in Fortran order are not supported.");
+            }
+            if (header.shape.length != 2 || header.shape[0] != header.shape[1]) {
+                throw new IllegalArgumentException("Error: the .npy array must hold a square matrix.");
+            }
+            if (header.shape[0] <= 0 || channel.size() < header.dataOffset + (long) header.shape[0] * header.shape[0] * Double.BYTES) {
+                throw new IllegalArgumentException("Error: the .npy file is shorter than its " + header.shape[0] + " x " + header.shape[0] + " matrix.");
+            }
+            return new MatrixFileLayout(header.order, header.shape[0], header.dataOffset);
+        }
+        long size = channel.size();
+        long n = (long) Math.sqrt((double) (size / Double.BYTES));
+        if (size % Double.BYTES != 0 || n == 0 || n * n * Double.BYTES != size) {
+            throw new IllegalArgumentException("Error: the file must contain n * n doubles.");
+        }
+        return new MatrixFileLayout(ByteOrder.LITTLE_ENDIAN, (int) n, 0);
+    }
+
+    private static void writeValues(OutputStream out, Object array) throws IOException {
+        if (array instanceof double[] vector) {
+            writeRow(out, vector);
+        } else if (array instanceof double[][] matrix) {
+            for (double[] row : matrix) {
+                writeRow(out, row);
+            }
+        } else {
+            throw new IllegalArgumentException("Only double[] and double[][] can be encoded.");
+        }
+    }
+
+    private static void writeRow(OutputStream out, double[] row) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(row.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(row);
+        out.write(buffer.array());
+    }
+
+    private static int[] shapeOf(Object array) {
+        if (array instanceof double[] vector) {
+            return new int[]{vector.length};
+        }
+        double[][] matrix = (double[][]) array;
+        return new int[]{matrix.length, matrix.length == 0 ? 0 : matrix[0].length};
+    }
+
+    private static int inferSize(long contentLength) {
+        if (contentLength < 0) {
+            throw new IllegalArgumentException("Error: the size parameter is required when the body length is unknown.");
+        }
+        if (contentLength % Double.BYTES != 0) {
+            throw new IllegalArgumentException("Error: the body length is not a multiple of 8 bytes.");
+        }
+        long count = contentLength / Double.BYTES;
+        long n = (long) ((Math.sqrt(1.0 + 4.0 * count) - 1) / 2);
+        while (n * (n + 1) < count) {
+            n++;
+        }
+        if (n == 0 || n * (n + 1) != count) {
+            throw new IllegalArgumentException("Error: the body must contain n * (n + 1) doubles holding [A | b].");
+        }
+        return (int) n;
+    }
+
+    /**
+     * Reads the .npy header following the magic string, its length checked against {@link #MAX_NPY_HEADER} and
+     * against the length of the input before it is allocated.
+     *
+     * @param available the length of the whole input in bytes, magic string included, or -1 if unknown
+     */
+    private static NpyHeader readNpyHeader(ReadableByteChannel channel, long available) throws IOException {
+        ByteBuffer version = ByteBuffer.allocate(2);
+        if (readFully(channel, version) < 2) {
+            throw new EOFException("Unexpected end of .npy header.");
+        }
+        int major = version.get(0);
+        if (major < 1 || major > 3) {
+            throw new IllegalArgumentException("Error: unsupported .npy format version " + major + ".");
+        }
+        ByteBuffer length = ByteBuffer.allocate(major == 1 ? 2 : 4).order(ByteOrder.LITTLE_ENDIAN);
+        if (readFully(channel, length) < length.capacity()) {
+            throw new EOFException("Unexpected end of .npy header.");
+        }
+        // Versions 2 and 3 store a 4-byte length: a few bytes could otherwise claim a header of 2 GB
+        long headerLength = major == 1 ? Short.toUnsignedInt(length.getShort(0)) : Integer.toUnsignedLong(length.getInt(0));
+        long prefixLength = NPY_MAGIC.length + version.capacity() + length.capacity();
+        if (headerLength > MAX_NPY_HEADER || (available >= 0 && headerLength > available - prefixLength)) {
+            throw new IllegalArgumentException("Error: the .npy header length of " + headerLength + " bytes exceeds the body or the limit of " + MAX_NPY_HEADER + " bytes.");
+        }
+        ByteBuffer headerBytes = ByteBuffer.allocate((int) headerLength);
+        if (readFully(channel, headerBytes) < headerLength) {
+            throw new EOFException("Unexpected end of .npy header.");
+        }
+        String header = new String(headerBytes.array(), major == 3 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1);
+
+        Matcher descr = DESCR.matcher(header);
+        Matcher fortranOrder = FORTRAN_ORDER.matcher(header);
+        Matcher shape = SHAPE.matcher(header);
+        if (!descr.find() || !fortranOrder.find() || !shape.find()) {
+            throw new IllegalArgumentException("Error: malformed .npy header.");
+        }
+        ByteOrder order;
+        switch (descr.group(1)) {
+            case "<f8" -> order = ByteOrder.LITTLE_ENDIAN;
+            case ">f8" -> order = ByteOrder.BIG_ENDIAN;
+            default -> throw new IllegalArgumentException("Error: unsupported .npy dtype " + descr.group(1) + ", expected float64.");
+        }
+        int[] dimensions = Arrays.stream(shape.group(1).split(","))
+                .map(String::trim)
+                .filter(dimension -> !dimension.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        long dataOffset = prefixLength + headerLength;
+        return new NpyHeader(order, Boolean.parseBoolean(fortranOrder.group(1).toLowerCase()), dimensions, dataOffset);
+    }
+
+    private static int readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Layout of a file holding a square matrix of doubles in row-major order.
+     *
+     * @param order the byte order of the elements
+     * @param size the number of rows and columns
+     * @param dataOffset the offset in bytes of the first element
+     */
+    public record MatrixFileLayout(ByteOrder order, int size, long dataOffset) {
+    }
+
+    private record NpyHeader(ByteOrder order, boolean fortranOrder, int[] shape, long dataOffset) {
+    }
+}
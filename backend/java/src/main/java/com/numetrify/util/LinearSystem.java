@@ -0,0 +1,14 @@
+package com.numetrify.util;
+
+/**
+ * A system of linear equations Ax = b decoded from a request body.
+ *
+ * @param matrix the coefficient matrix A
+ * @param vector the right-hand side vector b
+ */
+public record LinearSystem(double[][] matrix, double[] vector) {
+
+    public int size() {
+        return vector.length;
+    }
+}
@@ -0,0 +1,147 @@
+package com.numetrify.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.numetrify.dto.LinearSystemRequest;
+import com.numetrify.service.Acceleration;
+import com.numetrify.service.matrix.NormType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming deserializer for {@link LinearSystemRequest} JSON bodies such as
+ * {@code {"matrix": [[4, 1], [1, 3]], "vector": [1, 2], "x0": [0, 0], "errorType": 1, "toleranceValue": 7, "maxIterations": 100,
+ * "normType": "L2", "residual": true, "acceleration": "ANDERSON"}}.
+ *
+ * Tokens are pulled one by one from the {@link JsonParser} and every number is stored straight into the
+ * destination {@code double[][]} or {@code double[]}, so no {@code List<List<Double>>} or boxed values are
+ * ever built. Unknown fields are skipped.
+ */
+public class LinearSystemRequestDeserializer extends StdDeserializer<LinearSystemRequest> {
+
+    public LinearSystemRequestDeserializer() {
+        super(LinearSystemRequest.class);
+    }
+
+    @Override
+    public LinearSystemRequest deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw JsonMappingException.from(parser, "Expected a JSON object describing the linear system.");
+        }
+        LinearSystemRequest request = new LinearSystemRequest();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "matrix" -> request.setMatrix(readMatrix(parser));
+                case "vector" -> request.setVector(readVector(parser));
+                case "x0" -> request.setX0(readVector(parser));
+                case "errorType" -> request.setErrorType(parser.getIntValue());
+                case "toleranceValue" -> request.setToleranceValue(parser.getDoubleValue());
+                case "maxIterations" -> request.setMaxIterations(parser.getIntValue());
+                case "checkpoint" -> request.setCheckpoint(parser.getValueAsString());
+                case "saveCheckpoint" -> request.setSaveCheckpoint(parser.getValueAsBoolean());
+                case "normType" -> request.setNormType(readNormType(parser));
+                case "residual" -> request.setResidual(parser.getValueAsBoolean());
+                case "acceleration" -> request.setAcceleration(readAcceleration(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        if (request.getMatrix() == null || request.getVector() == null) {
+            throw JsonMappingException.from(parser, "Both \"matrix\" and \"vector\" are required.");
+        }
+        if (request.getVector().length != request.getMatrix().length
+                || (request.getX0() != null && request.getX0().length != request.getMatrix().length)) {
+            throw JsonMappingException.from(parser, "Vector size does not match the given matrix size.");
+        }
+        return request;
+    }
+
+    private static NormType readNormType(JsonParser parser) throws IOException {
+        String name = parser.getValueAsString();
+        try {
+            return NormType.valueOf(name);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw JsonMappingException.from(parser, "Unknown norm type " + name + ", expected one of " + Arrays.toString(NormType.values()) + ".");
+        }
+    }
+
+    private static Acceleration readAcceleration(JsonParser parser) throws IOException {
+        String name = parser.getValueAsString();
+        try {
+            return Acceleration.valueOf(name);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw JsonMappingException.from(parser, "Unknown acceleration " + name + ", expected one of " + Arrays.toString(Acceleration.values()) + ".");
+        }
+    }
+
+    private static double[][] readMatrix(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        List<double[]> rows = new ArrayList<>();
+        int columns = -1;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expect(parser, JsonToken.START_ARRAY);
+            double[] row;
+            if (columns < 0) {
+                row = readNumbers(parser, new double[16]);
+                columns = row.length;
+            } else {
+                row = new double[columns];
+                int count = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (count == columns) {
+                        throw JsonMappingException.from(parser, "Error: all rows must have the same number of columns.");
+                    }
+                    row[count++] = number(parser);
+                }
+                if (count != columns) {
+                    throw JsonMappingException.from(parser, "Error: all rows must have the same number of columns.");
+                }
+            }
+            rows.add(row);
+        }
+        if (rows.isEmpty()) {
+            throw JsonMappingException.from(parser, "Error: the matrix is empty.");
+        }
+        return rows.toArray(new double[0][]);
+    }
+
+    private static double[] readVector(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        return readNumbers(parser, new double[16]);
+    }
+
+    /**
+     * Reads the numbers of the current array into a growable buffer and trims it to size.
+     */
+    private static double[] readNumbers(JsonParser parser, double[] buffer) throws IOException {
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, count * 2);
+            }
+            buffer[count++] = number(parser);
+        }
+        return count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+    }
+
+    private static double number(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw JsonMappingException.from(parser, "Expected a number but found " + token + ".");
+        }
+        return parser.getDoubleValue();
+    }
+
+    private static void expect(JsonParser parser, JsonToken expected) throws IOException {
+        if (parser.currentToken() != expected) {
+            throw JsonMappingException.from(parser, "Expected " + expected + " but found " + parser.currentToken() + ".");
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.numetrify.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-pass parser for the textual matrix and vector format used by the API.
+ *
+ * Matrices are written row by row, rows separated by {@code ;} and elements by any amount of whitespace,
+ * e.g. {@code "4 1 2; 1 5 1; 2 1 3"}. Vectors are whitespace separated, e.g. {@code "4 7 3"}.
+ *
+ * The input is scanned once, character by character, and every number is converted straight into the
+ * destination primitive array: no intermediate {@code String} is created per row or per element.
+ * Numbers with at most 15 significant digits and a decimal exponent of at most 22 in absolute value are
+ * converted exactly with a single multiplication or division; anything else falls back to
+ * {@link Double#parseDouble(String)}.
+ */
+public final class MatrixParser {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int MAX_FAST_DIGITS = 15;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final CharSequence text;
+    private final char[] buffer;
+    private int textOffset;
+    private int position;
+    private int limit;
+
+    private char[] token = new char[32];
+    private int tokenLength;
+
+    private MatrixParser(CharSequence text) {
+        this.text = text;
+        this.buffer = new char[Math.min(BUFFER_SIZE, Math.max(1, text.length()))];
+    }
+
+    /**
+     * Parses a matrix whose rows are separated by {@code ;} and whose elements are separated by whitespace.
+     *
+     * @param matrixText the textual representation of the matrix
+     * @return the parsed matrix
+     * @throws IllegalArgumentException if the rows do not have the same number of columns or the matrix is empty
+     * @throws NumberFormatException if an element is not a valid number
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * double[][] A = MatrixParser.parseMatrix("4 1 2; 1 5 1; 2 1 3");
+     * }
+     * </pre>
+     */
+    public static double[][] parseMatrix(CharSequence matrixText) {
+        return new MatrixParser(matrixText).readMatrix();
+    }
+
+    /**
+     * Parses a vector whose elements are separated by whitespace.
+     *
+     * @param vectorText the textual representation of the vector
+     * @return the parsed vector
+     * @throws NumberFormatException if an element is not a valid number
+     *
+     * Example usage:
+     * <pre>
+     * {@code
+     * double[] b = MatrixParser.parseVector("4 7 3");
+     * }
+     * </pre>
+     */
+    public static double[] parseVector(CharSequence vectorText) {
+        return new MatrixParser(vectorText).readVector();
+    }
+
+    /**
+     * Parses a vector whose elements are separated by whitespace and checks its size.
+     *
+     * @param vectorText the textual representation of the vector
+     * @param size the expected size of the vector
+     * @return the parsed vector
+     * @throws IllegalArgumentException if the size of the parsed vector does not match the expected size
+     */
+    public static double[] parseVector(CharSequence vectorText, int size) {
+        double[] vector = parseVector(vectorText);
+        if (vector.length != size) {
+            throw new IllegalArgumentException("Vector size does not match the given matrix size.");
+        }
+        return vector;
+    }
+
+    private double[][] readMatrix() {
+        List<double[]> rows = new ArrayList<>();
+        double[] firstRow = new double[16];
+        int columns = -1;
+        double[] row = null;
+        int count = 0;
+
+        int c;
+        while ((c = skipWhitespace()) != -1) {
+            if (c == ';') {
+                position++;
+                if (count > 0) {
+                    if (columns < 0) {
+                        columns = count;
+                        row = Arrays.copyOf(firstRow, columns);
+                    } else if (count != columns) {
+                        throw new IllegalArgumentException("Error: all rows must have the same number of columns.");
+                    }
+                    rows.add(row);
+                    row = columns > 0 ? new double[columns] : null;
+                    count = 0;
+                }
+                continue;
+            }
+            double value = readNumber();
+            if (columns < 0) {
+                if (count == firstRow.length) {
+                    firstRow = Arrays.copyOf(firstRow, count * 2);
+                }
+                firstRow[count++] = value;
+            } else {
+                if (count == columns) {
+                    throw new IllegalArgumentException("Error: all rows must have the same number of columns.");
+                }
+                row[count++] = value;
+            }
+        }
+        if (count > 0) {
+            if (columns < 0) {
+                row = Arrays.copyOf(firstRow, count);
+            } else if (count != columns) {
+                throw new IllegalArgumentException("Error: all rows must have the same number of columns.");
+            }
+            rows.add(row);
+        }
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Error: the matrix is empty.");
+        }
+        return rows.toArray(new double[0][]);
+    }
+
+    private double[] readVector() {
+        double[] vector = new double[16];
+        int count = 0;
+        int c;
+        while ((c = skipWhitespace()) != -1) {
+            if (c == ';') {
+                position++;
+                continue;
+            }
+            if (count == vector.length) {
+                vector = Arrays.copyOf(vector, count * 2);
+            }
+            vector[count++] = readNumber();
+        }
+        return count == vector.length ? vector : Arrays.copyOf(vector, count);
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it, or -1 at the end of the input.
+     */
+    private int skipWhitespace() {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[position];
+            if (!Character.isWhitespace(c)) {
+                return c;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Copies the next token into the reusable token buffer and converts it to a double.
+     */
+    private double readNumber() {
+        tokenLength = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            char c = buffer[position];
+            if (c == ';' || Character.isWhitespace(c)) {
+                break;
+            }
+            if (tokenLength == token.length) {
+                token = Arrays.copyOf(token, tokenLength * 2);
+            }
+            token[tokenLength++] = c;
+            position++;
+        }
+        double value = parseFast();
+        if (Double.isNaN(value)) {
+            return Double.parseDouble(new String(token, 0, tokenLength));
+        }
+        return value;
+    }
+
+    /**
+     * Converts the current token when it can be done exactly, returning NaN to request the slow path.
+     */
+    private double parseFast() {
+        int i = 0;
+        boolean negative = false;
+        if (token[0] == '-' || token[0] == '+') {
+            negative = token[0] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        for (; i < tokenLength && token[i] >= '0' && token[i] <= '9'; i++) {
+            anyDigit = true;
+            if (mantissa != 0 || token[i] != '0') {
+                mantissa = mantissa * 10 + (token[i] - '0');
+                if (++significantDigits > MAX_FAST_DIGITS) {
+                    return Double.NaN;
+                }
+            }
+        }
+        if (i < tokenLength && token[i] == '.') {
+            i++;
+            for (; i < tokenLength && token[i] >= '0' && token[i] <= '9'; i++) {
+                anyDigit = true;
+                if (mantissa != 0 || token[i] != '0') {
+                    mantissa = mantissa * 10 + (token[i] - '0');
+                    if (++significantDigits > MAX_FAST_DIGITS) {
+                        return Double.NaN;
+                    }
+                }
+                exponent--;
+            }
+        }
+        if (!anyDigit) {
+            return Double.NaN;
+        }
+        if (i < tokenLength && (token[i] == 'e' || token[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < tokenLength && (token[i] == '-' || token[i] == '+')) {
+                negativeExponent = token[i] == '-';
+                i++;
+            }
+            if (i == tokenLength) {
+                return Double.NaN;
+            }
+            int explicitExponent = 0;
+            for (; i < tokenLength && token[i] >= '0' && token[i] <= '9'; i++) {
+                explicitExponent = explicitExponent * 10 + (token[i] - '0');
+                if (explicitExponent > 1000) {
+                    return Double.NaN;
+                }
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (i != tokenLength) {
+            return Double.NaN;
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0.0;
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            value = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return Double.NaN;
+        }
+        return negative ? -value : value;
+    }
+
+    private boolean fill() {
+        int remaining = text.length() - textOffset;
+        if (remaining <= 0) {
+            return false;
+        }
+        int length = Math.min(remaining, buffer.length);
+        if (text instanceof String string) {
+            string.getChars(textOffset, textOffset + length, buffer, 0);
+        } else {
+            for (int k = 0; k < length; k++) {
+                buffer[k] = text.charAt(textOffset + k);
+            }
+        }
+        textOffset += length;
+        position = 0;
+        limit = length;
+        return true;
+    }
+}
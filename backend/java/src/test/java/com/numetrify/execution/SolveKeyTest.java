@@ -0,0 +1,52 @@
+package com.numetrify.execution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SolveKeyTest {
+
+    private static final double[][] A = {{4, 1, 2}, {1, 5, 1}, {2, 1, 3}};
+    private static final double[] B = {7, 7, 6};
+
+    @Test
+    void equalParametersGiveEqualKeys() {
+        SolveKey key = SolveKey.of("jacobi", A, B, 1, 7.0, null, new String[]{"x"});
+        SolveKey copy = SolveKey.of("jacobi", new double[][]{A[0].clone(), A[1].clone(), A[2].clone()}, B.clone(), 1L, 7.0f, null, new String[]{"x"});
+
+        assertEquals(key, copy);
+        assertEquals(key.hashCode(), copy.hashCode());
+        assertEquals(key.toString(), copy.toString());
+    }
+
+    @Test
+    void anyDifferenceGivesADifferentKey() {
+        SolveKey key = SolveKey.of(A, B);
+
+        assertNotEquals(key, SolveKey.of(A, new double[]{7, 7, 6.000000000000001}));
+        assertNotEquals(SolveKey.of(0.0), SolveKey.of(-0.0));
+        // Type tags and length prefixes keep differently split parameters apart
+        assertNotEquals(SolveKey.of(1.0), SolveKey.of(1));
+        assertNotEquals(SolveKey.of("ab", "c"), SolveKey.of("a", "bc"));
+        assertNotEquals(SolveKey.of(new double[]{1, 2}, new double[]{3}), SolveKey.of(new double[]{1}, new double[]{2, 3}));
+        assertNotEquals(SolveKey.of((Object) null), SolveKey.of(""));
+        assertNotEquals(SolveKey.of((Object) new double[][]{{1, 2}, {3, 4}}), SolveKey.of((Object) new double[][]{{1, 2, 3, 4}}));
+    }
+
+    @Test
+    void hashesParametersLongerThanABuffer() {
+        double[][] large = new double[40][300];
+        large[39][299] = 1;
+        double[][] other = new double[40][300];
+
+        assertEquals(SolveKey.of(large, "x".repeat(10000)), SolveKey.of(large, "x".repeat(10000)));
+        assertNotEquals(SolveKey.of((Object) large), SolveKey.of((Object) other));
+    }
+
+    @Test
+    void rejectsUnsupportedParameters() {
+        assertThrows(IllegalArgumentException.class, () -> SolveKey.of(new int[]{1}));
+    }
+}
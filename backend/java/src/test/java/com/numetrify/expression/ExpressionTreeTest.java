@@ -0,0 +1,80 @@
+package com.numetrify.expression;
+
+import org.junit.jupiter.api.Test;
+import org.mariuszgromada.math.mxparser.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpressionTreeTest {
+
+    @Test
+    void batchEvaluationAgreesWithMxparser() {
+        String[] expressions = {
+                "exp(-x) - x^2 + 1", "sin(10*x) - x/2", "ln(x) + sqrt(x)", "x^(1/3) + 1", "abs(x)*cos(x)/(x - 1)",
+                "log10(x^2 + 1) - log2(abs(x) + 1)", "tan(x)*x^3", "2^x - e*pi", "-(x - 0.5)^5/3 + x"
+        };
+        // Longer than a block of the tree, with x = 1 and x = 0 on the grid
+        double[] xs = new double[1201];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = -3 + i * 0.005;
+        }
+        xs[600] = 0;
+        xs[800] = 1;
+        double[] values = new double[xs.length];
+        for (String expression : expressions) {
+            ExpressionTree tree = ExpressionTree.parse(expression, "x");
+            Function function = new Function("f(x) = " + expression);
+            assertNotNull(tree, expression);
+            tree.evaluate(xs, values);
+            for (int i = 0; i < xs.length; i++) {
+                double expected = function.calculate(xs[i]);
+                String message = expression + " at x = " + xs[i];
+                if (Double.isFinite(expected)) {
+                    assertEquals(expected, values[i], 1e-12 * Math.max(1, Math.abs(expected)), message);
+                } else {
+                    assertFalse(Double.isFinite(values[i]), message + " = " + values[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void enclosesOddRootsOfNegativeBases() {
+        ExpressionTree tree = ExpressionTree.parse("x^(1/3) + 1", "x");
+
+        ExpressionTree.Enclosure enclosure = tree.enclose(new Interval(-2, 0));
+        assertNotNull(enclosure.value());
+        assertTrue(enclosure.value().contains(0.0));
+        assertTrue(enclosure.value().contains(1 - Math.cbrt(2)));
+        assertFalse(enclosure.differentiable());
+        assertFalse(tree.enclose(new Interval(-0.5, -0.25)).value().contains(0.0));
+        assertTrue(tree.enclose(new Interval(-1.25, -0.75)).value().contains(0.0));
+    }
+
+    @Test
+    void enclosesEveryPointValue() {
+        String[] expressions = {"x^(1/3) + 1", "(x - 1)^(1/5)*x", "x^0.5", "x^x", "(-x)^(2/3)", "2^x - x^2", "x^(-1/3)"};
+        double[][] boxes = {{-2, 0}, {-2, -1}, {-1, 1}, {0, 0.5}, {0.5, 3}, {-3, 2}};
+        for (String expression : expressions) {
+            ExpressionTree tree = ExpressionTree.parse(expression, "x");
+            double[] xs = new double[101];
+            double[] values = new double[xs.length];
+            for (double[] box : boxes) {
+                for (int i = 0; i < xs.length; i++) {
+                    xs[i] = box[0] + (box[1] - box[0]) * i / (xs.length - 1);
+                }
+                tree.evaluate(xs, values);
+                Interval enclosure = tree.evaluate(new Interval(box[0], box[1]));
+                for (int i = 0; i < xs.length; i++) {
+                    if (Double.isFinite(values[i])) {
+                        assertNotNull(enclosure, expression + " on [" + box[0] + ", " + box[1] + "]");
+                        assertTrue(enclosure.contains(values[i]), expression + " at " + xs[i] + " = " + values[i] + " outside " + enclosure);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.numetrify.expression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PolynomialTest {
+
+    @Test
+    void parsesSumsOfMonomials() {
+        assertArrayEquals(new double[]{1, -2, 0, 1}, Polynomial.parseExpanded("x^3 - 2*x + 1", "x").getCoefficients());
+        assertArrayEquals(new double[]{0.5, 0, 0.5}, Polynomial.parseExpanded("(x^2 + 1)/2", "x").getCoefficients());
+        assertArrayEquals(new double[]{0, 0, 2}, Polynomial.parseExpanded("2*x*x", "x").getCoefficients());
+        assertArrayEquals(new double[]{-3, 0, 0, 0, 8}, Polynomial.parseExpanded("-3 + (2*x)^3*x", "x").getCoefficients());
+    }
+
+    @Test
+    void expandsFactoredPolynomialsOnlyForTheirCoefficients() {
+        for (String factored : new String[]{"(x - 1)^10", "x*(x + 1)", "(x - 1)^2*(x + 3)/2"}) {
+            assertNull(Polynomial.parseExpanded(factored, "x"), factored);
+            assertNotNull(Polynomial.parse(factored, "x"), factored);
+            assertNull(Polynomial.parseDefinition("f(x) = " + factored), factored);
+        }
+        assertArrayEquals(new double[]{-3, 5, -1, -1}, Polynomial.parse("-(x - 1)^2*(x + 3)", "x").getCoefficients());
+    }
+
+    @Test
+    void rejectsNonPolynomials() {
+        for (String expression : new String[]{"sin(x)", "x^-1", "1/x", "x^0.5", "y + 1", "x^2^2", "2e"}) {
+            assertNull(Polynomial.parse(expression, "x"), expression);
+        }
+    }
+
+    @Test
+    void evaluatesByHornersScheme() {
+        Polynomial p = Polynomial.of(-2, -1, 0, 1);
+        double[] xs = {-2, -0.5, 0, 1.5213797068045676, 3};
+        double[] out = new double[xs.length];
+        p.evaluate(xs, out);
+
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            assertEquals(x * x * x - x - 2, p.evaluate(x), 1e-14);
+            assertEquals(p.evaluate(x), out[i]);
+        }
+        double[] value = new double[2];
+        p.evaluate(0, 1, value);
+        assertArrayEquals(new double[]{-2, -2}, value);
+        assertArrayEquals(new double[]{-1, 0, 3}, p.derivative().getCoefficients());
+        assertArrayEquals(new double[]{1, 1, 1}, Polynomial.of(-1, 0, 0, 1).deflate(1).getCoefficients());
+    }
+}
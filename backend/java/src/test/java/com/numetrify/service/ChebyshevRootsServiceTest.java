@@ -0,0 +1,70 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.ChebyshevRootsResponse;
+import com.numetrify.dto.SolverOutcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChebyshevRootsServiceTest {
+
+    private final ChebyshevRootsService service = new ChebyshevRootsService();
+
+    @Test
+    void findsTheRootsOfAPolynomial() {
+        ChebyshevRootsResponse response = service.chebyshevRoots("(x - 0.5)*(x + 0.25)*(x - 0.9)", -1, 1, 14, 4096, 0);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertArrayEquals(new double[]{-0.25, 0.5, 0.9}, sortedRoots(response), 1e-12);
+        assertTrue(response.getDegree() <= 3);
+    }
+
+    @Test
+    void findsEveryRootOfAnOscillatingFunction() {
+        DoubleUnaryOperator f = x -> Math.sin(10 * x) - x / 2;
+        ChebyshevRootsResponse response = service.chebyshevRoots("sin(10*x) - x/2", -3, 3, 14, 4096, 0);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertEquals(signChanges(f, -3, 3), response.getRoots().size());
+        for (double root : response.getRoots()) {
+            assertEquals(0, f.applyAsDouble(root), 1e-10, "f(" + root + ")");
+        }
+    }
+
+    @Test
+    void findsRootsOfTranscendentalFunctions() {
+        ChebyshevRootsResponse response = service.chebyshevRoots("exp(x) - 2", 0, 1, 14, 4096, 0);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertArrayEquals(new double[]{Math.log(2)}, sortedRoots(response), 1e-12);
+    }
+
+    @Test
+    void reportsFailures() {
+        assertEquals(SolverOutcome.INVALID_INTERVAL, service.chebyshevRoots("x", 1, -1, 14, 4096, 0).outcome());
+        assertEquals(SolverOutcome.FAILED, service.chebyshevRoots("ln(x)", -1, 1, 14, 4096, 0).outcome());
+        assertEquals(SolverOutcome.BUDGET_EXHAUSTED, service.chebyshevRoots("sin(100*x)", -3, 3, 14, 4096, 20).outcome());
+    }
+
+    private static double[] sortedRoots(ChebyshevRootsResponse response) {
+        return response.getRoots().stream().mapToDouble(Double::doubleValue).sorted().toArray();
+    }
+
+    private static int signChanges(DoubleUnaryOperator f, double lower, double upper) {
+        int samples = 100000;
+        int changes = 0;
+        double previous = f.applyAsDouble(lower);
+        for (int i = 1; i <= samples; i++) {
+            double value = f.applyAsDouble(lower + (upper - lower) * i / samples);
+            if (previous * value < 0) {
+                changes++;
+            }
+            previous = value;
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,46 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.FixedPointResponse;
+import com.numetrify.dto.SolverOutcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FixedPointServiceTest {
+
+    // Root of cos(x) - x, the fixed point of cos
+    private static final double DOTTIE = 0.7390851332151607;
+
+    private final FixedPointService service = new FixedPointService();
+
+    @Test
+    void plainIterationConverges() {
+        FixedPointResponse response = solve(Acceleration.NONE);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertEquals(DOTTIE, last(response.getXValues()), 1e-9);
+    }
+
+    @Test
+    void accelerationsConvergeInFewerIterations() {
+        int plain = solve(Acceleration.NONE).iterationCount();
+        for (Acceleration acceleration : List.of(Acceleration.AITKEN, Acceleration.STEFFENSEN, Acceleration.ANDERSON)) {
+            FixedPointResponse response = solve(acceleration);
+
+            assertEquals(SolverOutcome.CONVERGED, response.outcome(), acceleration.name());
+            assertEquals(DOTTIE, last(response.getXValues()), 1e-9, acceleration.name());
+            assertTrue(response.iterationCount() < plain, acceleration + " took " + response.iterationCount() + " iterations, plain " + plain);
+        }
+    }
+
+    private FixedPointResponse solve(Acceleration acceleration) {
+        return service.fixedPoint("cos(x) - x", "cos(x)", 1, 1, 10, 500, 0, acceleration, 1);
+    }
+
+    private static <T> T last(List<T> values) {
+        return values.get(values.size() - 1);
+    }
+}
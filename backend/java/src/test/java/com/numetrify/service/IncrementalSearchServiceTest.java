@@ -0,0 +1,43 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.IncrementalSearchResponse;
+import com.numetrify.dto.SolverOutcome;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalSearchServiceTest {
+
+    private final IncrementalSearchService service = new IncrementalSearchService();
+
+    @Test
+    void bracketsTheFirstSignChange() {
+        IncrementalSearchResponse response = service.incrementalSearch("x^3 - x - 2", 1, 0.1, 100, 1, 10, 0);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertEquals(1.5, response.getA(), 1e-12);
+        assertEquals(1.6, response.getB(), 1e-12);
+        // Evaluated in batches, at most the first block past the sign change
+        assertTrue(response.getFunctionEvaluations() <= 16);
+    }
+
+    @Test
+    void evaluatesNoPointPastTheStopWithoutBatches() {
+        // sinh is outside the expression tree, so mXparser evaluates it point by point
+        IncrementalSearchResponse response = service.incrementalSearch("sinh(x) - 1", 0, 0.1, 100, 1, 10, 0);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertEquals(0.8, response.getA(), 1e-12);
+        assertEquals(0.9, response.getB(), 1e-12);
+        assertEquals(10, response.getFunctionEvaluations().longValue());
+    }
+
+    @Test
+    void stopsAtTheBudget() {
+        IncrementalSearchResponse response = service.incrementalSearch("x^2 + 1", 0, 0.1, 1000, 1, 10, 50);
+
+        assertEquals(SolverOutcome.BUDGET_EXHAUSTED, response.outcome());
+        assertEquals(50, response.getFunctionEvaluations().longValue());
+    }
+}
@@ -0,0 +1,74 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.IntervalRootsResponse;
+import com.numetrify.dto.SolverOutcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalRootsServiceTest {
+
+    private final IntervalRootsService service = new IntervalRootsService();
+
+    @Test
+    void provesSimpleRootsUnique() {
+        IntervalRootsResponse response = service.intervalRoots("x^3 - x", -2, 2.5, 10, 100000);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertEquals(3, response.getRoots().size());
+        assertArrayEquals(new double[]{-1, 0, 1}, response.getRoots().stream().mapToDouble(Double::doubleValue).toArray(), 1e-10);
+        assertTrue(response.getCandidates().isEmpty());
+    }
+
+    @Test
+    void findsRootsCloserThanAnySamplingStep() {
+        IntervalRootsResponse response = service.intervalRoots("(x - 1)*(x - 1.000001)", 0, 2, 12, 100000);
+
+        assertEquals(2, response.getRoots().size());
+        assertEquals(1, response.getRoots().get(0), 1e-11);
+        assertEquals(1.000001, response.getRoots().get(1), 1e-11);
+    }
+
+    @Test
+    void keepsTangentialRootsAsCandidates() {
+        IntervalRootsResponse response = service.intervalRoots("(x - 1)^2", 0, 3, 8, 100000);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertTrue(response.getRoots().isEmpty());
+        assertTrue(covers(response.getCandidates(), 1));
+    }
+
+    @Test
+    void findsOddRootsOfNegativeNumbers() {
+        IntervalRootsResponse response = service.intervalRoots("x^(1/3) + 1", -2, 0, 10, 100000);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertTrue(covers(response.getCandidates(), -1), "no candidate holds the root -1");
+        for (double[] candidate : response.getCandidates()) {
+            assertTrue(candidate[0] > -1.001 && candidate[1] < -0.999, candidate[0] + ", " + candidate[1]);
+        }
+    }
+
+    @Test
+    void reportsRangesWithoutRoots() {
+        IntervalRootsResponse response = service.intervalRoots("x^2 + 1", -3, 3, 10, 100000);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertTrue(response.getRoots().isEmpty());
+        assertTrue(response.getCandidates().isEmpty());
+    }
+
+    @Test
+    void rejectsInvalidIntervals() {
+        assertEquals(SolverOutcome.INVALID_INTERVAL, service.intervalRoots("x", 1, -1, 10, 100).outcome());
+        assertEquals(SolverOutcome.FAILED, service.intervalRoots("gamma(x)", 1, 2, 10, 100).outcome());
+    }
+
+    private static boolean covers(List<double[]> intervals, double x) {
+        return intervals.stream().anyMatch(interval -> interval[0] <= x && x <= interval[1]);
+    }
+}
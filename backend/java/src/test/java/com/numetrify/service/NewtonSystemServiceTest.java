@@ -0,0 +1,70 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.NewtonSystemResponse;
+import com.numetrify.dto.SolverOutcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NewtonSystemServiceTest {
+
+    private static final String[] FUNCTIONS = {"x^2 + y^2 - 4", "x*y - 1"};
+    private static final String[] VARIABLES = {"x", "y"};
+    private static final String[][] JACOBIAN = {{"2*x", "2*y"}, {"y", "x"}};
+    private static final double[] X0 = {2, 0.5};
+    private static final double[] ROOT = {Math.sqrt(2 + Math.sqrt(3)), Math.sqrt(2 - Math.sqrt(3))};
+
+    private final NewtonSystemService service = new NewtonSystemService();
+
+    @Test
+    void newtonFactorsAtEveryIterate() {
+        NewtonSystemResponse response = solve(JACOBIAN, JacobianUpdate.NEWTON);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertArrayEquals(ROOT, last(response.getXValues()), 1e-9);
+        assertEquals(response.iterationCount(), response.getFactorizations());
+    }
+
+    @Test
+    void chordFactorsOnce() {
+        NewtonSystemResponse newton = solve(JACOBIAN, JacobianUpdate.NEWTON);
+        NewtonSystemResponse chord = solve(JACOBIAN, JacobianUpdate.CHORD);
+
+        assertEquals(SolverOutcome.CONVERGED, chord.outcome());
+        assertArrayEquals(ROOT, last(chord.getXValues()), 1e-9);
+        assertEquals(1, chord.getJacobianEvaluations());
+        assertEquals(1, chord.getFactorizations());
+        assertTrue(chord.iterationCount() > newton.iterationCount());
+    }
+
+    @Test
+    void broydenConvergesFasterThanChordOnOneJacobian() {
+        NewtonSystemResponse chord = solve(JACOBIAN, JacobianUpdate.CHORD);
+        NewtonSystemResponse broyden = solve(JACOBIAN, JacobianUpdate.BROYDEN);
+
+        assertEquals(SolverOutcome.CONVERGED, broyden.outcome());
+        assertArrayEquals(ROOT, last(broyden.getXValues()), 1e-9);
+        assertEquals(1, broyden.getJacobianEvaluations());
+        assertTrue(broyden.iterationCount() < chord.iterationCount());
+    }
+
+    @Test
+    void broydenConvergesWithFiniteDifferences() {
+        NewtonSystemResponse response = solve(null, JacobianUpdate.BROYDEN);
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertArrayEquals(ROOT, last(response.getXValues()), 1e-9);
+    }
+
+    private NewtonSystemResponse solve(String[][] jacobian, JacobianUpdate update) {
+        return service.newtonSystem(FUNCTIONS, VARIABLES, X0, jacobian, update, 50, true, 1, 10, 100, 0);
+    }
+
+    private static <T> T last(List<T> values) {
+        return values.get(values.size() - 1);
+    }
+}
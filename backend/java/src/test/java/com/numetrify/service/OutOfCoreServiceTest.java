@@ -0,0 +1,96 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.OutOfCoreResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.util.BinaryMatrixCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutOfCoreServiceTest {
+
+    private static final double[][] A = {{4, 1, 0, 0, 0}, {1, 4, 1, 0, 0}, {0, 1, 4, 1, 0}, {0, 0, 1, 4, 1}, {0, 0, 0, 1, 4}};
+    private static final double[] B = {5, 6, 6, 6, 5};
+
+    @TempDir
+    Path directory;
+
+    private Path workingDirectory;
+
+    private final OutOfCoreService service = new OutOfCoreService();
+
+    @BeforeEach
+    void configure() throws IOException {
+        workingDirectory = directory.resolve("work");
+        ReflectionTestUtils.setField(service, "directory", workingDirectory.toString());
+        ReflectionTestUtils.setField(service, "tileSize", 3);
+        ReflectionTestUtils.setField(service, "factorRetention", Duration.ofHours(1));
+        Files.createDirectories(workingDirectory);
+        write(workingDirectory.resolve("A.npy"), A);
+    }
+
+    @Test
+    void writesEveryFactorizationToItsOwnFactorFile() {
+        OutOfCoreResponse first = service.factorize("cholesky", "A.npy", B);
+        OutOfCoreResponse second = service.factorize("cholesky", "A.npy", null);
+
+        assertEquals(SolverOutcome.CONVERGED, first.outcome());
+        assertArrayEquals(new double[]{1, 1, 1, 1, 1}, first.getSolution(), 1e-12);
+        assertNotEquals(first.getFactorFile(), second.getFactorFile());
+        assertTrue(first.getFactorFile().startsWith("A-cholesky-"), first.getFactorFile());
+
+        service.deleteFactor(first.getFactorFile());
+        assertThrows(NoSuchFileException.class, () -> service.factorFile(first.getFactorFile()));
+        assertTrue(Files.exists(service.factorFile(second.getFactorFile())));
+    }
+
+    @Test
+    void deletesTheFactorFilesOlderThanTheRetention() throws IOException {
+        String expired = service.factorize("lu", "A.npy", null).getFactorFile();
+        Files.setLastModifiedTime(workingDirectory.resolve(expired), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        String kept = service.factorize("lu", "A.npy", null).getFactorFile();
+
+        service.factorize("lu", "A.npy", null);
+
+        assertFalse(Files.exists(workingDirectory.resolve(expired)));
+        assertTrue(Files.exists(workingDirectory.resolve(kept)));
+        assertTrue(Files.exists(workingDirectory.resolve("A.npy")));
+    }
+
+    @Test
+    void keepsFilesInsideTheWorkingDirectory() throws IOException {
+        Path outside = directory.resolve("outside.npy");
+        write(outside, A);
+        Files.createSymbolicLink(workingDirectory.resolve("link.npy"), outside);
+
+        assertThrows(IllegalArgumentException.class, () -> service.size("../outside.npy"));
+        assertThrows(IllegalArgumentException.class, () -> service.size("link.npy"));
+        assertThrows(IllegalArgumentException.class, () -> service.factorize("lu", "link.npy", null));
+        assertThrows(IllegalArgumentException.class, () -> service.factorFile("A.npy"));
+        assertThrows(IllegalArgumentException.class, () -> service.deleteFactor("../outside-lu-" + "0".repeat(8) + "-0000-0000-0000-" + "0".repeat(12) + ".npy"));
+        assertEquals(5, service.size("A.npy"));
+    }
+
+    private static void write(Path file, double[][] matrix) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            BinaryMatrixCodec.writeNpy(out, matrix);
+        }
+    }
+}
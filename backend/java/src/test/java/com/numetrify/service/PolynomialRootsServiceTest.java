@@ -0,0 +1,53 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.PolynomialRootsResponse;
+import com.numetrify.dto.SolverOutcome;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolynomialRootsServiceTest {
+
+    // (x - 1)(x - 2)(x - 3)(x^2 + 1)
+    private static final String QUINTIC = "x^5 - 6*x^4 + 12*x^3 - 12*x^2 + 11*x - 6";
+
+    private final PolynomialRootsService service = new PolynomialRootsService();
+
+    @Test
+    void aberthFindsRealAndComplexRoots() {
+        assertRoots(service.polynomialRoots(QUINTIC, PolynomialRootMethod.ABERTH, 12, 100));
+    }
+
+    @Test
+    void companionFindsRealAndComplexRoots() {
+        assertRoots(service.polynomialRoots(QUINTIC, PolynomialRootMethod.COMPANION, 12, 100));
+    }
+
+    @Test
+    void deflatesZeroRoots() {
+        for (PolynomialRootMethod method : PolynomialRootMethod.values()) {
+            PolynomialRootsResponse response = service.polynomialRoots("x^3*(x - 2)", method, 12, 100);
+
+            assertEquals(SolverOutcome.CONVERGED, response.outcome());
+            assertArrayEquals(new double[]{0, 0, 0, 2}, response.getRealParts(), 1e-9);
+            assertArrayEquals(new double[4], response.getImaginaryParts(), 1e-9);
+        }
+    }
+
+    @Test
+    void failsOnNonPolynomials() {
+        assertEquals(SolverOutcome.FAILED, service.polynomialRoots("sin(x)", PolynomialRootMethod.ABERTH, 12, 100).outcome());
+        assertEquals(SolverOutcome.FAILED, service.polynomialRoots("7", PolynomialRootMethod.ABERTH, 12, 100).outcome());
+    }
+
+    private static void assertRoots(PolynomialRootsResponse response) {
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertArrayEquals(new double[]{0, 0, 1, 2, 3}, response.getRealParts(), 1e-9);
+        assertArrayEquals(new double[]{-1, 1, 0, 0, 0}, response.getImaginaryParts(), 1e-9);
+        for (double residual : response.getResiduals()) {
+            assertTrue(residual < 1e-9, "residual " + residual);
+        }
+    }
+}
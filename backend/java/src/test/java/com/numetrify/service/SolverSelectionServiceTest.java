@@ -0,0 +1,36 @@
+package com.numetrify.service;
+
+import com.numetrify.dto.SolveResponse;
+import com.numetrify.dto.SolverOutcome;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SolverSelectionServiceTest {
+
+    private final SolverSelectionService service = new SolverSelectionService();
+
+    @Test
+    void rejectsRaggedMatricesBeforeAnalyzingThem() {
+        // The symmetry test of row 0 would read A[1][2] and A[2][1] of the short rows
+        double[][] shortRows = {{4, 1, 1}, {1, 4}, {1}};
+        double[][] longRow = {{4, 1, 1}, {1, 4, 1}, {1, 1, 4, 1}};
+
+        for (double[][] A : new double[][][]{shortRows, longRow}) {
+            SolveResponse response = service.solve(A, new double[]{6, 6, 6});
+
+            assertEquals(SolverOutcome.FAILED, response.outcome());
+            assertEquals("Error: Matrix A must be square", response.getMessage());
+        }
+    }
+
+    @Test
+    void solvesSymmetricPositiveDefiniteSystemsWithCholesky() {
+        SolveResponse response = service.solve(new double[][]{{4, 1, 1}, {1, 4, 1}, {1, 1, 4}}, new double[]{6, 6, 6});
+
+        assertEquals(SolverOutcome.CONVERGED, response.outcome());
+        assertEquals("cholesky", response.getMethod());
+        assertArrayEquals(new double[]{1, 1, 1}, response.getSolution(), 1e-12);
+    }
+}
@@ -0,0 +1,163 @@
+package com.numetrify.service;
+
+import com.numetrify.config.CheckpointProperties;
+import com.numetrify.dto.GaussSeidelResponse;
+import com.numetrify.dto.JacobiResponse;
+import com.numetrify.dto.SolverOutcome;
+import com.numetrify.execution.SolveKey;
+import com.numetrify.service.matrix.NormType;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the stationary iterative methods, Jacobi and Gauss-Seidel, through their services.
+ */
+class StationaryIterationTest {
+
+    private static final double[][] A = {{4, 1, 2}, {1, 5, 1}, {2, 1, 3}};
+    private static final double[] B = {7, 7, 6};
+    private static final double[] X0 = {0, 0, 0};
+
+    private final CheckpointStore checkpointStore = new CheckpointStore(new CheckpointProperties());
+
+    @ParameterizedTest
+    @EnumSource(Method.class)
+    void convergesToTheSolution(Method method) {
+        Result result = method.solve(checkpointStore, IterationOptions.DEFAULT, 500);
+
+        assertEquals(SolverOutcome.CONVERGED, result.outcome());
+        assertArrayEquals(new double[]{1, 1, 1}, last(result.xValues()), 1e-9);
+        assertNull(result.checkpoint());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Method.class)
+    void andersonReturnsTheIterateItsErrorMeasured(Method method) {
+        Result plain = method.solve(checkpointStore, options(Acceleration.NONE), 500);
+        Result anderson = method.solve(checkpointStore, options(Acceleration.ANDERSON), 500);
+
+        assertEquals(SolverOutcome.CONVERGED, anderson.outcome());
+        assertTrue(anderson.iterationCount() < plain.iterationCount());
+        List<double[]> xValues = anderson.xValues();
+        double[] x = xValues.get(xValues.size() - 2);
+        double[] next = last(xValues);
+        double step = 0;
+        for (int i = 0; i < x.length; i++) {
+            step = Math.max(step, Math.abs(next[i] - x[i]));
+        }
+        assertEquals(last(anderson.errors()), step);
+        assertArrayEquals(new double[]{1, 1, 1}, next, 1e-9);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Method.class)
+    void savesACheckpointWhenNotConverged(Method method) {
+        Result result = method.solve(checkpointStore, IterationOptions.DEFAULT, 3);
+
+        assertEquals(3, result.iterationCount());
+        assertNotNull(result.checkpoint());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Method.class)
+    void resumesFromTheIterateOfTheCheckpoint(Method method) {
+        Result first = method.solve(checkpointStore, IterationOptions.DEFAULT, 3);
+        Result resumed = method.solve(checkpointStore, resume(first.checkpoint()), 4);
+        Result straight = method.solve(checkpointStore, IterationOptions.DEFAULT, 7);
+
+        assertArrayEquals(last(first.xValues()), resumed.xValues().get(0), 0);
+        assertArrayEquals(last(straight.xValues()), last(resumed.xValues()), 0);
+        CheckpointStore.Checkpoint checkpoint = checkpointStore.resume(resumed.checkpoint(), method.key, SolveKey.of(A, B));
+        assertEquals(7, checkpoint.iterations());
+        assertArrayEquals(last(resumed.xValues()), checkpoint.x(), 0);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Method.class)
+    void failsOnACheckpointOfAnotherMethodOrSystem(Method method) {
+        Method other = method == Method.JACOBI ? Method.GAUSS_SEIDEL : Method.JACOBI;
+        String handle = method.solve(checkpointStore, IterationOptions.DEFAULT, 3).checkpoint();
+        String otherHandle = other.solve(checkpointStore, IterationOptions.DEFAULT, 3).checkpoint();
+
+        assertFailedToResume(method.solve(checkpointStore, A, new double[]{7, 7, 7}, resume(handle), 10));
+        assertFailedToResume(method.solve(checkpointStore, resume(otherHandle), 10));
+        assertFailedToResume(method.solve(checkpointStore, resume("unknown"), 10));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Method.class)
+    void failsOnAnExpiredCheckpoint(Method method) {
+        CheckpointProperties properties = new CheckpointProperties();
+        properties.setTtl(Duration.ZERO);
+        CheckpointStore expiring = new CheckpointStore(properties);
+        String handle = method.solve(expiring, IterationOptions.DEFAULT, 3).checkpoint();
+
+        assertFailedToResume(method.solve(expiring, resume(handle), 10));
+    }
+
+    private static void assertFailedToResume(Result result) {
+        assertEquals(SolverOutcome.FAILED, result.outcome());
+        assertTrue(result.message().contains("checkpoint expired"), result.message());
+        assertEquals(0, result.iterationCount());
+        assertNull(result.checkpoint());
+    }
+
+    private static IterationOptions resume(String checkpoint) {
+        return new IterationOptions(checkpoint, false, NormType.L2, false, Acceleration.NONE);
+    }
+
+    private static IterationOptions options(Acceleration acceleration) {
+        return new IterationOptions(null, false, NormType.LINF, false, acceleration);
+    }
+
+    private static <T> T last(List<T> values) {
+        return values.get(values.size() - 1);
+    }
+
+    /**
+     * The fields of a response the tests check, common to both methods.
+     */
+    private record Result(SolverOutcome outcome, String message, int iterationCount, List<double[]> xValues, List<Double> errors, String checkpoint) {
+    }
+
+    enum Method {
+        JACOBI("jacobi") {
+            @Override
+            Result solve(CheckpointStore checkpointStore, double[][] a, double[] b, IterationOptions options, int maxIterations) {
+                JacobiResponse response = new JacobiService(checkpointStore).jacobi(3, a, b, X0, 1, 10, maxIterations, options);
+                return new Result(response.outcome(), response.getMessage(), response.iterationCount(), response.getXValues(), response.getErrors(), response.getCheckpoint());
+            }
+        },
+        GAUSS_SEIDEL("gauss-seidel") {
+            @Override
+            Result solve(CheckpointStore checkpointStore, double[][] a, double[] b, IterationOptions options, int maxIterations) {
+                GaussSeidelResponse response = new GaussSeidelService(checkpointStore).gaussSeidel(3, a, b, X0, 1, 10, maxIterations, options);
+                return new Result(response.outcome(), response.getMessage(), response.iterationCount(), response.getXValues(), response.getErrors(), response.getCheckpoint());
+            }
+        };
+
+        /**
+         * The name the method saves its checkpoints under.
+         */
+        final String key;
+
+        Method(String key) {
+            this.key = key;
+        }
+
+        abstract Result solve(CheckpointStore checkpointStore, double[][] a, double[] b, IterationOptions options, int maxIterations);
+
+        Result solve(CheckpointStore checkpointStore, IterationOptions options, int maxIterations) {
+            return solve(checkpointStore, A, B, options, maxIterations);
+        }
+    }
+}
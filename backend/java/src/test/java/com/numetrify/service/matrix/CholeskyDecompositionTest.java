@@ -0,0 +1,50 @@
+package com.numetrify.service.matrix;
+
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CholeskyDecompositionTest {
+
+    @Test
+    void agreesWithCommonsMath() {
+        Random random = new Random(7);
+        for (int n : new int[]{1, 2, 5, 16, 37}) {
+            double[][] A = symmetricPositiveDefinite(n, random);
+            double[] b = random.doubles(n).toArray();
+
+            CholeskyDecomposition cholesky = new CholeskyDecomposition(A);
+            org.apache.commons.math3.linear.CholeskyDecomposition reference = new org.apache.commons.math3.linear.CholeskyDecomposition(MatrixUtils.createRealMatrix(A));
+
+            double[][] L = reference.getL().getData();
+            for (int i = 0; i < n; i++) {
+                assertArrayEquals(L[i], cholesky.getL()[i], 1e-12, "row " + i + " of L, n = " + n);
+            }
+            assertArrayEquals(reference.getSolver().solve(MatrixUtils.createRealVector(b)).toArray(), cholesky.solve(b), 1e-10);
+        }
+    }
+
+    @Test
+    void rejectsMatricesThatAreNotPositiveDefinite() {
+        assertThrows(RuntimeException.class, () -> new CholeskyDecomposition(new double[][]{{1, 2}, {2, 1}}));
+        assertThrows(IllegalArgumentException.class, () -> new CholeskyDecomposition(new double[][]{{1, 2}}));
+    }
+
+    /**
+     * Returns B^T B + n I for a random B.
+     */
+    static double[][] symmetricPositiveDefinite(int n, Random random) {
+        RealMatrix B = MatrixUtils.createRealMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                B.setEntry(i, j, random.nextGaussian());
+            }
+        }
+        return B.transpose().multiply(B).add(MatrixUtils.createRealIdentityMatrix(n).scalarMultiply(n)).getData();
+    }
+}
@@ -0,0 +1,79 @@
+package com.numetrify.service.matrix;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DenseKernelsTest {
+
+    private static final double TOLERANCE = 1e-12;
+
+    // The Vector API kernels, the tests running with the incubator module, unless the host has no SIMD lanes
+    private final DenseKernels vector = DenseKernels.selected();
+    private final DenseKernels scalar = DenseKernels.scalar();
+    private final Random random = new Random(42);
+
+    @Test
+    void dotAgreesWithTheScalarLoop() {
+        for (int length = 0; length <= 67; length++) {
+            double[] a = randomArray(length + 3);
+            double[] b = randomArray(length + 5);
+            for (int offset = 0; offset <= 3; offset++) {
+                double expected = scalar.dot(a, offset, b, 2, length);
+                assertEquals(expected, vector.dot(a, offset, b, 2, length), TOLERANCE * Math.max(1, length), "length " + length);
+            }
+        }
+    }
+
+    @Test
+    void axpyAgreesWithTheScalarLoop() {
+        for (int length = 0; length <= 67; length++) {
+            double[] x = randomArray(length + 3);
+            double[] y = randomArray(length + 4);
+            double[] expected = y.clone();
+            double alpha = random.nextGaussian();
+            scalar.axpy(alpha, x, 3, expected, 1, length);
+            vector.axpy(alpha, x, 3, y, 1, length);
+            assertClose(expected, y, "length " + length);
+        }
+    }
+
+    @Test
+    void subtractProductAgreesWithTheScalarLoop() {
+        int[] sizes = {0, 1, 3, 4, 5, 8, 9, 17, 33};
+        for (int rows : sizes) {
+            for (int columns : sizes) {
+                for (int inner : new int[]{1, 7, 16}) {
+                    // Leading dimensions wider than the blocks, as in the tiles of the out-of-core factorizations
+                    int ldc = columns + 2;
+                    int lda = inner + 1;
+                    int ldb = columns + 3;
+                    double[] a = randomArray(rows * lda);
+                    double[] b = randomArray(inner * ldb);
+                    double[] c = randomArray(rows * ldc);
+                    double[] expected = c.clone();
+                    scalar.subtractProduct(expected, ldc, a, lda, b, ldb, rows, columns, inner);
+                    vector.subtractProduct(c, ldc, a, lda, b, ldb, rows, columns, inner);
+                    assertClose(expected, c, rows + " x " + columns + " x " + inner);
+                }
+            }
+        }
+    }
+
+    private double[] randomArray(int length) {
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextGaussian();
+        }
+        return values;
+    }
+
+    private static void assertClose(double[] expected, double[] actual, String message) {
+        assertEquals(expected.length, actual.length, message);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], TOLERANCE * Math.max(1, Math.abs(expected[i])), message + ", index " + i);
+        }
+    }
+}
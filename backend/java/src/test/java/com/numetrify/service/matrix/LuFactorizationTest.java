@@ -0,0 +1,65 @@
+package com.numetrify.service.matrix;
+
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LuFactorizationTest {
+
+    @Test
+    void pivotedFactorsAgreeWithCommonsMath() {
+        Random random = new Random(11);
+        for (int n : new int[]{1, 2, 5, 16, 37}) {
+            double[][] A = randomMatrix(n, random);
+            double[] b = random.doubles(n).toArray();
+
+            LuFactorization lu = new LuFactorization(A, true);
+            LUDecomposition reference = new LUDecomposition(MatrixUtils.createRealMatrix(A));
+
+            assertArrayEquals(reference.getPivot(), lu.getPermutation());
+            assertMatrixEquals(reference.getL().getData(), lu.getL(), 1e-12);
+            assertMatrixEquals(reference.getU().getData(), lu.getU(), 1e-12);
+            assertArrayEquals(reference.getSolver().solve(MatrixUtils.createRealVector(b)).toArray(), lu.solve(b), 1e-9);
+        }
+    }
+
+    @Test
+    void unpivotedFactorsReproduceTheMatrix() {
+        double[][] A = CholeskyDecompositionTest.symmetricPositiveDefinite(20, new Random(3));
+
+        LuFactorization lu = new LuFactorization(A, false);
+
+        RealMatrix product = MatrixUtils.createRealMatrix(lu.getL()).multiply(MatrixUtils.createRealMatrix(lu.getU()));
+        assertMatrixEquals(A, product.getData(), 1e-10);
+        assertArrayEquals(IntStream.range(0, 20).toArray(), lu.getPermutation());
+    }
+
+    @Test
+    void rejectsZeroPivots() {
+        assertThrows(ArithmeticException.class, () -> new LuFactorization(new double[][]{{1, 2}, {2, 4}}, true));
+        assertThrows(ArithmeticException.class, () -> new LuFactorization(new double[][]{{0, 1}, {1, 0}}, false));
+    }
+
+    private static double[][] randomMatrix(int n, Random random) {
+        double[][] A = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                A[i][j] = random.nextGaussian();
+            }
+        }
+        return A;
+    }
+
+    private static void assertMatrixEquals(double[][] expected, double[][] actual, double delta) {
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], actual[i], delta, "row " + i);
+        }
+    }
+}
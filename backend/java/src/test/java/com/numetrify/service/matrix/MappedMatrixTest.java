@@ -0,0 +1,120 @@
+package com.numetrify.service.matrix;
+
+import com.numetrify.util.BinaryMatrixCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedMatrixTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void padsTheLastTileWithZeros() throws IOException {
+        double[][] A = matrix(7);
+
+        try (MappedMatrix tiled = tiled(directory, A, 3)) {
+            assertEquals(3, tiled.getTiles());
+            assertEquals(1, tiled.tileRows(2));
+            double[] tile = new double[9];
+            tiled.readTile(2, 1, tile);
+            assertArrayEquals(new double[]{A[6][3], A[6][4], A[6][5], 0, 0, 0, 0, 0, 0}, tile);
+            tiled.readTile(1, 2, tile);
+            assertArrayEquals(new double[]{A[3][6], 0, 0, A[4][6], 0, 0, A[5][6], 0, 0}, tile);
+        }
+    }
+
+    @Test
+    void exportsTheMatrixItImported() throws IOException {
+        for (int n : new int[]{1, 4, 7, 8}) {
+            double[][] A = matrix(n);
+            Path raw = directory.resolve("A" + n + ".bin");
+            ByteBuffer bytes = ByteBuffer.allocate(n * n * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            DoubleBuffer values = bytes.asDoubleBuffer();
+            for (double[] row : A) {
+                values.put(row);
+            }
+            Files.write(raw, bytes.array());
+
+            try (MappedMatrix fromNpy = tiled(directory, A, 3);
+                 MappedMatrix fromRaw = MappedMatrix.importFile(raw, directory.resolve("raw.tiles"), 3)) {
+                assertMatrixEquals(A, exported(directory, fromNpy, false), 0);
+                assertMatrixEquals(A, exported(directory, fromRaw, false), 0);
+            }
+        }
+    }
+
+    @Test
+    void exportsOnlyTheLowerTriangleWhenAsked() throws IOException {
+        double[][] A = matrix(5);
+
+        try (MappedMatrix tiled = tiled(directory, A, 2)) {
+            double[][] lower = exported(directory, tiled, true);
+            for (int i = 0; i < 5; i++) {
+                for (int j = 0; j < 5; j++) {
+                    assertEquals(j <= i ? A[i][j] : 0, lower[i][j], "entry " + i + ", " + j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the n x n matrix with a(i, j) = 10 i + j + 1, every entry distinct and nonzero.
+     */
+    private static double[][] matrix(int n) {
+        double[][] A = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                A[i][j] = 10 * i + j + 1;
+            }
+        }
+        return A;
+    }
+
+    /**
+     * Writes A to a .npy file of the directory and imports it as a tiled matrix.
+     */
+    static MappedMatrix tiled(Path directory, double[][] A, int tileSize) throws IOException {
+        Path npy = Files.createTempFile(directory, "A", ".npy");
+        try (OutputStream out = Files.newOutputStream(npy)) {
+            BinaryMatrixCodec.writeNpy(out, A);
+        }
+        return MappedMatrix.importFile(npy, Files.createTempFile(directory, "A", ".tiles"), tileSize);
+    }
+
+    /**
+     * Exports the tiled matrix to a .npy file of the directory and reads it back.
+     */
+    static double[][] exported(Path directory, MappedMatrix matrix, boolean lowerOnly) throws IOException {
+        int n = matrix.getSize();
+        Path npy = Files.createTempFile(directory, "factor", ".npy");
+        matrix.exportNpy(npy, lowerOnly);
+        byte[] content = Files.readAllBytes(npy);
+        int header = BinaryMatrixCodec.npyHeader(n, n).length;
+        assertEquals(header + n * n * Double.BYTES, content.length);
+        DoubleBuffer values = ByteBuffer.wrap(content, header, n * n * Double.BYTES).slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        double[][] result = new double[n][n];
+        for (double[] row : result) {
+            values.get(row);
+        }
+        return result;
+    }
+
+    static void assertMatrixEquals(double[][] expected, double[][] actual, double delta) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], actual[i], delta, "row " + i);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.numetrify.service.matrix;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OutOfCoreCholeskyTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void agreesWithCholeskyDecomposition() throws IOException {
+        Random random = new Random(11);
+        // Tiles of 3 and 4 rows, dividing n or leaving a padded last tile
+        for (int n : new int[]{1, 5, 7, 8, 10}) {
+            for (int tileSize : new int[]{3, 4}) {
+                double[][] A = CholeskyDecompositionTest.symmetricPositiveDefinite(n, random);
+                double[] b = random.doubles(n).toArray();
+                CholeskyDecomposition reference = new CholeskyDecomposition(A);
+
+                try (MappedMatrix tiled = MappedMatrixTest.tiled(directory, A, tileSize)) {
+                    OutOfCoreCholesky cholesky = new OutOfCoreCholesky(tiled);
+
+                    MappedMatrixTest.assertMatrixEquals(reference.getL(), MappedMatrixTest.exported(directory, tiled, true), 1e-12);
+                    assertArrayEquals(reference.solve(b), cholesky.solve(b), 1e-10, "n = " + n + ", tile size " + tileSize);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsMatricesThatAreNotPositiveDefinite() throws IOException {
+        double[][] A = {{4, 1, 0, 0, 0}, {1, 4, 1, 0, 0}, {0, 1, 4, 1, 0}, {0, 0, 1, 4, 1}, {0, 0, 0, 1, -4}};
+
+        try (MappedMatrix tiled = MappedMatrixTest.tiled(directory, A, 3)) {
+            assertThrows(RuntimeException.class, () -> new OutOfCoreCholesky(tiled));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.numetrify.service.matrix;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutOfCoreLUTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void agreesWithLuFactorizationWithoutPivoting() throws IOException {
+        Random random = new Random(13);
+        // Tiles of 3 and 4 rows, dividing n or leaving a padded last tile
+        for (int n : new int[]{1, 5, 7, 8, 10}) {
+            for (int tileSize : new int[]{3, 4}) {
+                double[][] A = diagonallyDominant(n, random);
+                double[] b = random.doubles(n).toArray();
+                LuFactorization reference = new LuFactorization(A, false);
+
+                try (MappedMatrix tiled = MappedMatrixTest.tiled(directory, A, tileSize)) {
+                    OutOfCoreLU lu = new OutOfCoreLU(tiled);
+
+                    // The strict lower triangle holds L, its unit diagonal implied, the upper triangle holds U
+                    double[][] factors = MappedMatrixTest.exported(directory, tiled, false);
+                    double[][] expected = new double[n][n];
+                    for (int i = 0; i < n; i++) {
+                        for (int j = 0; j < n; j++) {
+                            expected[i][j] = j < i ? reference.getL()[i][j] : reference.getU()[i][j];
+                        }
+                    }
+                    MappedMatrixTest.assertMatrixEquals(expected, factors, 1e-12);
+                    assertArrayEquals(reference.solve(b), lu.solve(b), 1e-10, "n = " + n + ", tile size " + tileSize);
+                }
+            }
+        }
+    }
+
+    @Test
+    void failsOnAZeroPivot() throws IOException {
+        double[][] A = {{0, 1, 2, 3, 4}, {1, 5, 1, 0, 0}, {2, 1, 6, 1, 0}, {3, 0, 1, 7, 1}, {4, 0, 0, 1, 8}};
+
+        try (MappedMatrix tiled = MappedMatrixTest.tiled(directory, A, 3)) {
+            assertThrows(ArithmeticException.class, () -> new OutOfCoreLU(tiled));
+        }
+    }
+
+    @Test
+    void failsWhenTheFactorsGrowWithoutPivoting() throws IOException {
+        // A tiny first pivot makes the entries of L and U about 1e12, while those of A are at most 2
+        double[][] A = {{1e-12, 1, 1, 1, 1}, {1, 1, 2, 0, 0}, {1, 2, 1, 0, 0}, {1, 0, 0, 1, 2}, {1, 0, 0, 2, 1}};
+
+        try (MappedMatrix tiled = MappedMatrixTest.tiled(directory, A, 3)) {
+            ArithmeticException e = assertThrows(ArithmeticException.class, () -> new OutOfCoreLU(tiled));
+            assertTrue(e.getMessage().contains("unstable"), e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a random matrix whose diagonal dominates its rows, which LU factorizes stably without pivoting.
+     */
+    private static double[][] diagonallyDominant(int n, Random random) {
+        double[][] A = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                A[i][j] = random.nextDouble() * 2 - 1;
+            }
+            A[i][i] += n * (random.nextBoolean() ? 1 : -1);
+        }
+        return A;
+    }
+}
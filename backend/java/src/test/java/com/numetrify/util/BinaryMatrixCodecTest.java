@@ -0,0 +1,164 @@
+package com.numetrify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryMatrixCodecTest {
+
+    private static final double[][] AUGMENTED = {
+            {4, 1, 2, 4},
+            {1, 5, 1, 7},
+            {2, 1, 3, 3}
+    };
+
+    @Test
+    void rawRoundTrip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryMatrixCodec.writeRaw(out, (Object) AUGMENTED);
+
+        assertSystem(read(out.toByteArray(), null));
+        assertSystem(read(out.toByteArray(), 3));
+    }
+
+    @Test
+    void npyRoundTrip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryMatrixCodec.writeNpy(out, AUGMENTED);
+
+        byte[] bytes = out.toByteArray();
+        assertEquals(0, (bytes.length - 3 * 4 * Double.BYTES) % 64);
+        assertSystem(read(bytes, null));
+    }
+
+    @Test
+    void readsBigEndianNpy() throws IOException {
+        byte[] header = BinaryMatrixCodec.npyHeader(3, 4);
+        String text = new String(header, StandardCharsets.ISO_8859_1).replace("'<f8'", "'>f8'");
+        ByteBuffer body = ByteBuffer.allocate(header.length + 12 * Double.BYTES).order(ByteOrder.BIG_ENDIAN);
+        body.put(text.getBytes(StandardCharsets.ISO_8859_1));
+        for (double[] row : AUGMENTED) {
+            for (double value : row) {
+                body.putDouble(value);
+            }
+        }
+
+        assertSystem(read(body.array(), null));
+    }
+
+    @Test
+    void npzRoundTrip() throws IOException {
+        double[] solution = {0.5, 1.25, -2};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryMatrixCodec.writeNpz(out, new String[]{"system", "solution", "L"}, AUGMENTED, solution, null);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                byte[] bytes = zip.readAllBytes();
+                if (entry.getName().equals("system.npy")) {
+                    assertSystem(read(bytes, null));
+                } else {
+                    byte[] header = BinaryMatrixCodec.npyHeader(3);
+                    ByteBuffer values = ByteBuffer.wrap(bytes, header.length, bytes.length - header.length).order(ByteOrder.LITTLE_ENDIAN);
+                    double[] decoded = new double[3];
+                    values.asDoubleBuffer().get(decoded);
+                    assertArrayEquals(solution, decoded);
+                }
+            }
+        }
+        assertEquals(List.of("system.npy", "solution.npy"), names);
+        assertEquals("system[3,4];solution[3]", BinaryMatrixCodec.describeLayout(new String[]{"system", "solution", "L"}, AUGMENTED, solution, null));
+    }
+
+    @Test
+    void rejectsSizesInconsistentWithTheBody() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryMatrixCodec.writeRaw(out, (Object) AUGMENTED);
+        byte[] raw = out.toByteArray();
+
+        assertThrows(IllegalArgumentException.class, () -> read(raw, 4));
+        assertThrows(IllegalArgumentException.class, () -> read(new byte[raw.length - 8], null));
+        assertThrows(IllegalArgumentException.class, () -> read(new byte[raw.length - 3], null));
+        assertThrows(IllegalArgumentException.class, () -> read(new byte[0], null));
+    }
+
+    @Test
+    void rejectsLargeSystemsBeforeAllocatingThem() throws IOException {
+        // A few bytes claiming a system of 10^5 equations, with and without a known length
+        byte[] header = BinaryMatrixCodec.npyHeader(100_000, 100_001);
+        byte[] small = new byte[16];
+
+        assertThrows(IllegalArgumentException.class, () -> read(header, null));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMatrixCodec.readLinearSystem(new ByteArrayInputStream(small), -1, 100_000, 4096));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMatrixCodec.readLinearSystem(new ByteArrayInputStream(small), small.length, 1000, 4096));
+        assertThrows(EOFException.class, () -> BinaryMatrixCodec.readLinearSystem(new ByteArrayInputStream(small), -1, 1000, 4096));
+    }
+
+    @Test
+    void readsVersion2Headers() throws IOException {
+        assertSystem(read(npyVersion2(BinaryMatrixCodec.npyHeader(3, 4), 0), null));
+    }
+
+    @Test
+    void rejectsVersion2HeaderLengthsBeforeAllocatingThem() {
+        byte[] header = BinaryMatrixCodec.npyHeader(3, 4);
+        // 12 bytes claiming a header of 2 GB or of a negative length as a signed int, and headers longer than the body
+        byte[] huge = Arrays.copyOf(npyVersion2(header, 0x7fff_fff0), 12);
+        byte[] negative = Arrays.copyOf(npyVersion2(header, 0xffff_fff0), 12);
+        byte[] truncated = npyVersion2(header, 0);
+        byte[] longer = npyVersion2(header, 1000);
+
+        assertThrows(IllegalArgumentException.class, () -> read(huge, null));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMatrixCodec.readLinearSystem(new ByteArrayInputStream(huge), -1, null, 4096));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMatrixCodec.readLinearSystem(new ByteArrayInputStream(negative), -1, null, 4096));
+        assertThrows(IllegalArgumentException.class, () -> read(longer, null));
+        assertThrows(IllegalArgumentException.class, () -> read(Arrays.copyOf(truncated, 40), null));
+    }
+
+    /**
+     * Rewrites a version 1 .npy header with the data of {@link #AUGMENTED} as version 2, with a 4-byte header
+     * length, the given length replacing the actual one unless it is 0.
+     */
+    private static byte[] npyVersion2(byte[] header, int headerLength) {
+        int textLength = Short.toUnsignedInt(ByteBuffer.wrap(header, 8, 2).order(ByteOrder.LITTLE_ENDIAN).getShort());
+        ByteBuffer body = ByteBuffer.allocate(header.length + 2 + 12 * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        body.put(header, 0, 6).put((byte) 2).put((byte) 0).putInt(headerLength != 0 ? headerLength : textLength);
+        body.put(header, 10, textLength);
+        for (double[] row : AUGMENTED) {
+            for (double value : row) {
+                body.putDouble(value);
+            }
+        }
+        return body.array();
+    }
+
+    private static LinearSystem read(byte[] body, Integer size) throws IOException {
+        return BinaryMatrixCodec.readLinearSystem(new ByteArrayInputStream(body), body.length, size, 4096);
+    }
+
+    private static void assertSystem(LinearSystem system) {
+        assertEquals(3, system.size());
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(new double[]{AUGMENTED[i][0], AUGMENTED[i][1], AUGMENTED[i][2]}, system.matrix()[i]);
+            assertEquals(AUGMENTED[i][3], system.vector()[i]);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.numetrify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MatrixParserTest {
+
+    @Test
+    void parsesRowsSeparatedBySemicolons() {
+        double[][] A = MatrixParser.parseMatrix(" 4 1\t2;1   5 1 ;\n2 1 3; ");
+
+        assertArrayEquals(new double[]{4, 1, 2}, A[0]);
+        assertArrayEquals(new double[]{1, 5, 1}, A[1]);
+        assertArrayEquals(new double[]{2, 1, 3}, A[2]);
+        assertEquals(3, A.length);
+    }
+
+    @Test
+    void fastPathMatchesParseDouble() {
+        String[] tokens = {
+                "0", "-0", "+1", "1.", ".5", "-.25", "0.1", "0.3", "3.141592653589793", "123456789012345",
+                "1234567890123456", "0.000001", "1e22", "1e23", "1E-22", "1e-23", "2.5e+3", "-7.125E-4",
+                "9007199254740993", "4.9e-324", "1.7976931348623157e308", "1e400", "000123.4500", "NaN", "-Infinity"
+        };
+        for (String token : tokens) {
+            assertParsedExactly(token);
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long mantissa = random.nextLong() % 1_000_000_000_000_000L;
+            int exponent = random.nextInt(61) - 30;
+            assertParsedExactly(mantissa + "e" + exponent);
+            assertParsedExactly(Double.toString(random.nextGaussian() * Math.pow(10, random.nextInt(21) - 10)));
+        }
+    }
+
+    @Test
+    void parsesVectorsOfTheExpectedSize() {
+        assertArrayEquals(new double[]{4, 7, 3}, MatrixParser.parseVector("4 7 3", 3));
+        assertThrows(IllegalArgumentException.class, () -> MatrixParser.parseVector("4 7", 3));
+    }
+
+    @Test
+    void rejectsRaggedAndEmptyMatrices() {
+        assertThrows(IllegalArgumentException.class, () -> MatrixParser.parseMatrix("1 2; 3"));
+        assertThrows(IllegalArgumentException.class, () -> MatrixParser.parseMatrix("1; 2 3"));
+        assertThrows(IllegalArgumentException.class, () -> MatrixParser.parseMatrix(" ; "));
+        assertThrows(NumberFormatException.class, () -> MatrixParser.parseMatrix("1 x; 2 3"));
+    }
+
+    private static void assertParsedExactly(String token) {
+        double expected = Double.parseDouble(token);
+        double actual = MatrixParser.parseVector(token)[0];
+        assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual), token);
+    }
+}